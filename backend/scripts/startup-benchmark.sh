@@ -0,0 +1,45 @@
+#!/bin/bash
+# Measures time from process launch to the first successfully served request.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [java options...]
+#   scripts/startup-benchmark.sh 5
+#   scripts/startup-benchmark.sh 5 -Dspring.aot.enabled=true     (after mvn -Pfast-startup package)
+#
+# Each run starts the packaged jar on the in-memory H2 defaults, polls GET /api/users until it
+# answers 200, records the elapsed time and stops the process.
+
+RUNS=${1:-5}
+shift
+JAVA_OPTS=("$@")
+JAR=target/task-management-api-0.0.1-SNAPSHOT.jar
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/users"
+
+cd "$(dirname "$0")/.." || exit 1
+if [ ! -f "$JAR" ]; then
+    echo "Missing $JAR - run mvn package first" >&2
+    exit 1
+fi
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    java "${JAVA_OPTS[@]}" -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        --logging.level.root=WARN > /dev/null 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during run $run" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+    results+=("$elapsed")
+    echo "run $run: ${elapsed} ms to first served request"
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "min ${sorted[0]} ms, median ${sorted[$(( RUNS / 2 ))]} ms, max ${sorted[$(( RUNS - 1 ))]} ms"
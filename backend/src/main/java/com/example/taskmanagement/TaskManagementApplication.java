@@ -2,12 +2,14 @@ package com.example.taskmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TaskManagementApplication {
-
+    
     public static void main(String[] args) { 
         SpringApplication.run(TaskManagementApplication.class, args);
     }
-
+    
 } 
\ No newline at end of file
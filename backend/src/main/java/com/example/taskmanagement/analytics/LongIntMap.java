@@ -0,0 +1,120 @@
+package com.example.taskmanagement.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Map from long keys to non-negative int values in two parallel arrays, with linear probing and
+ * no entry objects: 12 bytes per bucket and at most four buckets for every three entries.
+ * Not thread-safe.
+ */
+final class LongIntMap {
+    
+    // Returned for keys that are not in the map
+    static final int MISSING = -1;
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] keys;
+    // The value plus one, so that 0 marks an empty bucket
+    private int[] values;
+    private int size;
+    
+    LongIntMap(int expectedSize) {
+        int capacity = capacityFor(Math.max(MIN_CAPACITY, expectedSize));
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+    
+    int get(long key) {
+        return values[bucketOf(key)] - 1;
+    }
+    
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        int bucket = bucketOf(key);
+        if (values[bucket] == 0) {
+            keys[bucket] = key;
+            size++;
+        }
+        values[bucket] = value + 1;
+        if (size * 4L > values.length * 3L) {
+            resize(values.length * 2);
+        }
+    }
+    
+    // The removed value, or MISSING
+    int remove(long key) {
+        int bucket = bucketOf(key);
+        int value = values[bucket] - 1;
+        if (value != MISSING) {
+            size--;
+            removeAt(bucket);
+        }
+        return value;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+    
+    long residentBytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+    }
+    
+    // Linear probing: the bucket holding the key, or the empty bucket where it would go
+    private int bucketOf(long key) {
+        int mask = values.length - 1;
+        int bucket = hash(key) & mask;
+        while (values[bucket] != 0 && keys[bucket] != key) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+    
+    // Shifts later entries of the probe run back into the gap, so lookups need no tombstones
+    private void removeAt(int bucket) {
+        int mask = values.length - 1;
+        int gap = bucket;
+        for (int i = (gap + 1) & mask; values[i] != 0; i = (i + 1) & mask) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = 0;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != 0) {
+                int bucket = bucketOf(oldKeys[i]);
+                keys[bucket] = oldKeys[i];
+                values[bucket] = oldValues[i];
+            }
+        }
+    }
+    
+    // The power of two that holds the entries at a load of at most three quarters
+    private static int capacityFor(int entries) {
+        long buckets = Math.max(MIN_CAPACITY, (entries * 4L + 2) / 3);
+        return (int) Math.min(1 << 30, Long.highestOneBit(buckets - 1) << 1);
+    }
+    
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.taskmanagement.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the task attributes used for reporting.
+ * Each task occupies one slot across a set of primitive arrays, so scans never touch
+ * entities or the database and can be split across a fork-join pool.
+ */
+public class TaskColumnarSnapshot {
+    
+    // Marks a free slot in the status column
+    private static final byte EMPTY = -1;
+    
+    // Marks a missing due date or user in the numeric columns
+    public static final long NONE = Long.MIN_VALUE;
+    public static final int NO_USER = -1;
+    
+    // Filter code for a user that no task references, matches no row
+    public static final int UNKNOWN_USER = -2;
+    
+    // Scans below this many slots run on the calling thread
+    private static final int SCAN_THRESHOLD = 1 << 16;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ForkJoinPool pool;
+    
+    private byte[] statuses;
+    private byte[] priorities;
+    private long[] dueDates;
+    private int[] owners;
+    private int[] assignees;
+    
+    private int size;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private final LongIntMap slotsById;
+    
+    // Users are dictionary encoded so per-user histograms can use plain int arrays
+    private final LongIntMap userCodes = new LongIntMap(16);
+    private long[] userIds = new long[16];
+    
+    public TaskColumnarSnapshot(int initialCapacity, ForkJoinPool pool) {
+        int capacity = Math.max(16, initialCapacity);
+        this.pool = pool;
+        this.statuses = new byte[capacity];
+        this.priorities = new byte[capacity];
+        this.dueDates = new long[capacity];
+        this.owners = new int[capacity];
+        this.assignees = new int[capacity];
+        this.slotsById = new LongIntMap(capacity);
+    }
+    
+    /**
+     * Inserts or replaces the row for a task. Due dates are epoch seconds or {@link #NONE},
+     * user ids may be null.
+     */
+    public void upsert(long id, int status, int priority, long dueDate, Long ownerId, Long assigneeId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            if (slot == LongIntMap.MISSING) {
+                slot = allocateSlot();
+                slotsById.put(id, slot);
+            }
+            statuses[slot] = (byte) status;
+            priorities[slot] = (byte) priority;
+            dueDates[slot] = dueDate;
+            owners[slot] = encodeUser(ownerId);
+            assignees[slot] = encodeUser(assigneeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.remove(id);
+            if (slot == LongIntMap.MISSING) {
+                return;
+            }
+            statuses[slot] = EMPTY;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            freeCount = 0;
+            slotsById.clear();
+            userCodes.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int rowCount() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Approximate heap held by the columns and indexes in bytes, excluding object headers.
+     * Capacity grows ahead of the row count, so this is an upper bound for the rows held.
+     */
+    public long residentBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) statuses.length * (Byte.BYTES * 2 + Long.BYTES + Integer.BYTES * 2);
+            return columns + (long) freeSlots.length * Integer.BYTES + (long) userIds.length * Long.BYTES
+                    + slotsById.residentBytes() + userCodes.residentBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public long count(Filter filter) {
+        long[] counts = histogram(filter, 1, Bucketing.CONSTANT, 0, 0);
+        return counts[0];
+    }
+    
+    public long[] countByStatus(Filter filter, int statusCount) {
+        return histogram(filter, statusCount, Bucketing.STATUS, 0, 0);
+    }
+    
+    public long[] countByPriority(Filter filter, int priorityCount) {
+        return histogram(filter, priorityCount, Bucketing.PRIORITY, 0, 0);
+    }
+    
+    /**
+     * Counts tasks whose due date falls into consecutive buckets of {@code bucketSeconds}
+     * starting at {@code fromEpochSecond}. Tasks outside the range are not counted.
+     */
+    public long[] countByDueDate(Filter filter, long fromEpochSecond, long bucketSeconds, int buckets) {
+        return histogram(filter, buckets, Bucketing.DUE_DATE, fromEpochSecond, bucketSeconds);
+    }
+    
+    /**
+     * Returns the assignees with the most matching tasks as {@code [userId, count]} pairs,
+     * ordered by count descending. Unassigned tasks are ignored.
+     */
+    public long[][] topAssignees(Filter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            int userCount = userCodes.size();
+            long[] counts = scan(filter, userCount, Bucketing.ASSIGNEE, 0, 0);
+            Integer[] codes = new Integer[userCount];
+            int candidates = 0;
+            for (int code = 0; code < userCount; code++) {
+                if (counts[code] > 0) {
+                    codes[candidates++] = code;
+                }
+            }
+            Integer[] ranked = Arrays.copyOf(codes, candidates);
+            Arrays.sort(ranked, (a, b) -> Long.compare(counts[b], counts[a]));
+            int resultSize = Math.min(limit, ranked.length);
+            long[][] result = new long[resultSize][];
+            for (int i = 0; i < resultSize; i++) {
+                result[i] = new long[] { userIds[ranked[i]], counts[ranked[i]] };
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Resolves a user id to the code stored in the owner/assignee columns. Returns
+     * {@link #NO_USER} for a null id and {@link #UNKNOWN_USER} when no task references the user.
+     */
+    public int userCode(Long userId) {
+        if (userId == null) {
+            return NO_USER;
+        }
+        lock.readLock().lock();
+        try {
+            int code = userCodes.get(userId);
+            return code != LongIntMap.MISSING ? code : UNKNOWN_USER;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private long[] histogram(Filter filter, int buckets, Bucketing bucketing, long origin, long width) {
+        lock.readLock().lock();
+        try {
+            return scan(filter, buckets, bucketing, origin, width);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Caller must hold the read lock
+    private long[] scan(Filter filter, int buckets, Bucketing bucketing, long origin, long width) {
+        if (buckets <= 0) {
+            return new long[0];
+        }
+        ScanTask task = new ScanTask(filter, buckets, bucketing, origin, width, 0, size);
+        if (size <= SCAN_THRESHOLD) {
+            return task.compute();
+        }
+        return pool.invoke(task);
+    }
+    
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (size == statuses.length) {
+            int capacity = size + (size >> 1);
+            statuses = Arrays.copyOf(statuses, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            dueDates = Arrays.copyOf(dueDates, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+            assignees = Arrays.copyOf(assignees, capacity);
+        }
+        return size++;
+    }
+    
+    private int encodeUser(Long userId) {
+        if (userId == null) {
+            return NO_USER;
+        }
+        int code = userCodes.get(userId);
+        if (code == LongIntMap.MISSING) {
+            code = userCodes.size();
+            if (code == userIds.length) {
+                userIds = Arrays.copyOf(userIds, code * 2);
+            }
+            userIds[code] = userId;
+            userCodes.put(userId, code);
+        }
+        return code;
+    }
+    
+    private enum Bucketing {
+        CONSTANT, STATUS, PRIORITY, DUE_DATE, ASSIGNEE
+    }
+    
+    private class ScanTask extends RecursiveTask<long[]> {
+        
+        private final Filter filter;
+        private final int buckets;
+        private final Bucketing bucketing;
+        private final long origin;
+        private final long width;
+        private final int from;
+        private final int to;
+        
+        ScanTask(Filter filter, int buckets, Bucketing bucketing, long origin, long width, int from, int to) {
+            this.filter = filter;
+            this.buckets = buckets;
+            this.bucketing = bucketing;
+            this.origin = origin;
+            this.width = width;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (to - from > SCAN_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                ScanTask left = new ScanTask(filter, buckets, bucketing, origin, width, from, mid);
+                ScanTask right = new ScanTask(filter, buckets, bucketing, origin, width, mid, to);
+                left.fork();
+                long[] counts = right.compute();
+                long[] leftCounts = left.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += leftCounts[i];
+                }
+                return counts;
+            }
+            
+            long[] counts = new long[buckets];
+            for (int slot = from; slot < to; slot++) {
+                if (statuses[slot] == EMPTY || !filter.matches(statuses[slot], priorities[slot],
+                        dueDates[slot], owners[slot], assignees[slot])) {
+                    continue;
+                }
+                int bucket = bucketOf(slot);
+                if (bucket >= 0 && bucket < buckets) {
+                    counts[bucket]++;
+                }
+            }
+            return counts;
+        }
+        
+        private int bucketOf(int slot) {
+            switch (bucketing) {
+                case STATUS:
+                    return statuses[slot];
+                case PRIORITY:
+                    return priorities[slot];
+                case ASSIGNEE:
+                    return assignees[slot];
+                case DUE_DATE:
+                    long due = dueDates[slot];
+                    if (due == NONE || due < origin) {
+                        return -1;
+                    }
+                    return (int) Math.min(Integer.MAX_VALUE, (due - origin) / width);
+                default:
+                    return 0;
+            }
+        }
+    }
+    
+    /**
+     * Row predicate over the encoded columns. Masks are bit sets of enum ordinals,
+     * a mask of zero or a code of {@link #NO_USER} means "any".
+     */
+    public static class Filter {
+        
+        private final int statusMask;
+        private final int priorityMask;
+        private final long dueFrom;
+        private final long dueTo;
+        private final int ownerCode;
+        private final int assigneeCode;
+        
+        public Filter(int statusMask, int priorityMask, long dueFrom, long dueTo, int ownerCode, int assigneeCode) {
+            this.statusMask = statusMask;
+            this.priorityMask = priorityMask;
+            this.dueFrom = dueFrom;
+            this.dueTo = dueTo;
+            this.ownerCode = ownerCode;
+            this.assigneeCode = assigneeCode;
+        }
+        
+        public static Filter all() {
+            return new Filter(0, 0, NONE, NONE, NO_USER, NO_USER);
+        }
+        
+        boolean matches(byte status, byte priority, long dueDate, int owner, int assignee) {
+            if (statusMask != 0 && (statusMask & (1 << status)) == 0) {
+                return false;
+            }
+            if (priorityMask != 0 && (priorityMask & (1 << priority)) == 0) {
+                return false;
+            }
+            if (dueFrom != NONE && (dueDate == NONE || dueDate < dueFrom)) {
+                return false;
+            }
+            if (dueTo != NONE && (dueDate == NONE || dueDate >= dueTo)) {
+                return false;
+            }
+            if (ownerCode != NO_USER && owner != ownerCode) {
+                return false;
+            }
+            return assigneeCode == NO_USER || assignee == assigneeCode;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache regions for Hibernate, backed by Caffeine through JCache.
+ * Sizes and TTLs come from {@code app.cache.*}; hit/miss statistics per region are
+ * published through the actuator metrics endpoint.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    
+    public static final String USERS_REGION = "users";
+    public static final String USER_LOOKUPS_REGION = "user-lookups";
+    
+    // Hibernate's default regions for uncategorised query results and invalidation timestamps
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.users.max-entries:10000}") long usersMaxEntries,
+            @Value("${app.cache.users.ttl-seconds:600}") long usersTtlSeconds,
+            @Value("${app.cache.user-lookups.max-entries:10000}") long lookupsMaxEntries,
+            @Value("${app.cache.user-lookups.ttl-seconds:300}") long lookupsTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        
+        createRegion(cacheManager, USERS_REGION, usersMaxEntries, usersTtlSeconds);
+        createRegion(cacheManager, USER_LOOKUPS_REGION, lookupsMaxEntries, lookupsTtlSeconds);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, lookupsMaxEntries, lookupsTtlSeconds);
+        // Timestamps must outlive every cached query result, so this region is never evicted
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    // A value of zero disables the size bound or the expiry
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
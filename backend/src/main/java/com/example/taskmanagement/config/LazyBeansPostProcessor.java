@@ -0,0 +1,63 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Marks beans from the packages in {@code app.startup.lazy-packages} (e.g. springdoc) as lazy,
+ * so they are created on first use instead of during startup. Everything else stays eager.
+ */
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+    
+    private List<String> lazyPackages = List.of();
+    
+    @Override
+    public void setEnvironment(Environment environment) {
+        lazyPackages = Binder.get(environment)
+                .bind("app.startup.lazy-packages", String[].class)
+                .map(List::of)
+                .orElse(List.of());
+    }
+    
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (lazyPackages.isEmpty()) {
+            return;
+        }
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String source = sourceClassName(beanFactory, definition);
+            if (source != null && isLazyPackage(source)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+    
+    // @Bean methods have no class name of their own, so use the declaring configuration class
+    private String sourceClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition.getBeanClassName() != null) {
+            return definition.getBeanClassName();
+        }
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return null;
+    }
+    
+    private boolean isLazyPackage(String className) {
+        for (String lazyPackage : lazyPackages) {
+            if (className.startsWith(lazyPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Configuration
+public class StartupConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+    
+    // Static so it runs before other bean definitions are instantiated
+    @Bean
+    public static LazyBeansPostProcessor lazyBeansPostProcessor() {
+        return new LazyBeansPostProcessor();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logTimeToReady() {
+        log.info("Startup: application ready {} ms after JVM start", millisSinceJvmStart());
+    }
+    
+    // Logs the time from JVM start until the first response has been written
+    @Bean
+    public OncePerRequestFilter firstRequestTimingFilter() {
+        AtomicBoolean served = new AtomicBoolean();
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                filterChain.doFilter(request, response);
+                if (!served.get() && served.compareAndSet(false, true)) {
+                    log.info("Startup: first request ({} {}) served {} ms after JVM start",
+                            request.getMethod(), request.getRequestURI(), millisSinceJvmStart());
+                }
+            }
+        };
+    }
+    
+    private static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
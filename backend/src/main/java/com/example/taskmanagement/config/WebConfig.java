@@ -0,0 +1,44 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.sql.SqlMonitoringProperties;
+import com.example.taskmanagement.web.JfrRequestInterceptor;
+import com.example.taskmanagement.web.StatementBudgetInterceptor;
+import com.example.taskmanagement.web.TaskJsonCache;
+import com.example.taskmanagement.web.TaskJsonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final TaskJsonCache taskJsonCache;
+    private final boolean gzipTasks;
+    private final SqlMonitoringProperties sqlMonitoringProperties;
+    private final MeterRegistry meterRegistry;
+    
+    public WebConfig(TaskJsonCache taskJsonCache, @Value("${app.task-json-cache.gzip:false}") boolean gzipTasks,
+                     SqlMonitoringProperties sqlMonitoringProperties, MeterRegistry meterRegistry) {
+        this.taskJsonCache = taskJsonCache;
+        this.gzipTasks = gzipTasks;
+        this.sqlMonitoringProperties = sqlMonitoringProperties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    // Ahead of Jackson, which still handles every other type
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new TaskJsonHttpMessageConverter(taskJsonCache, gzipTasks));
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrRequestInterceptor());
+        registry.addInterceptor(new StatementBudgetInterceptor(sqlMonitoringProperties, meterRegistry));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.ProfileSummaryDto;
+import com.example.taskmanagement.profiling.RequestProfiler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@ConditionalOnProperty(name = "app.profiling.enabled", havingValue = "true")
+@RequestMapping("/api/admin/profiling")
+@Tag(name = "Profiling", description = "On-demand Java Flight Recorder sessions summarised per endpoint")
+public class ProfilingController {
+    
+    private static final int MAX_TOP = 50;
+    
+    private final RequestProfiler requestProfiler;
+    
+    public ProfilingController(RequestProfiler requestProfiler) {
+        this.requestProfiler = requestProfiler;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Profile the application",
+               description = "Record for the given number of seconds, then return hot frames, allocation sites and lock contention per endpoint")
+    public ResponseEntity<ProfileSummaryDto> profile(@RequestParam(defaultValue = "30") long seconds,
+                                                     @RequestParam(defaultValue = "10") int top) {
+        int limit = Math.max(1, Math.min(top, MAX_TOP));
+        return ResponseEntity.ok(requestProfiler.profile(Duration.ofSeconds(seconds), limit));
+    }
+}
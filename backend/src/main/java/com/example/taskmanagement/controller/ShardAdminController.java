@@ -0,0 +1,37 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.ShardRebalanceDto;
+import com.example.taskmanagement.dto.ShardStatusDto;
+import com.example.taskmanagement.sharding.ShardRebalancer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@Tag(name = "Shard Administration", description = "Inspect and rebalance sharded task storage")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardAdminController {
+    
+    private final ShardRebalancer shardRebalancer;
+    
+    public ShardAdminController(ShardRebalancer shardRebalancer) {
+        this.shardRebalancer = shardRebalancer;
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get shard status", description = "Task and user row counts per shard")
+    public ResponseEntity<List<ShardStatusDto>> getStatus() {
+        return ResponseEntity.ok(shardRebalancer.getStatus());
+    }
+    
+    @PostMapping("/rebalance")
+    @Operation(summary = "Rebalance shards", description = "Replicate users to all shards and move tasks to their owner's shard")
+    public ResponseEntity<ShardRebalanceDto> rebalance() {
+        return ResponseEntity.ok(shardRebalancer.rebalance());
+    }
+}
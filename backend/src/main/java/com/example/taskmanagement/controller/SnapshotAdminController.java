@@ -0,0 +1,35 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.DatasetSnapshotDto;
+import com.example.taskmanagement.service.DatasetSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnProperty(name = "app.snapshot.enabled", havingValue = "true")
+@RequestMapping("/api/admin/snapshots")
+@Tag(name = "Dataset Snapshots", description = "Save users and tasks to a binary snapshot file and restore them")
+public class SnapshotAdminController {
+    
+    private final DatasetSnapshotService datasetSnapshotService;
+    
+    public SnapshotAdminController(DatasetSnapshotService datasetSnapshotService) {
+        this.datasetSnapshotService = datasetSnapshotService;
+    }
+    
+    @PostMapping("/{name}")
+    @Operation(summary = "Create a snapshot", description = "Write all users and tasks to the named snapshot, replacing an existing one")
+    public ResponseEntity<DatasetSnapshotDto> createSnapshot(@PathVariable String name) {
+        return ResponseEntity.ok(datasetSnapshotService.createSnapshot(name));
+    }
+    
+    @PostMapping("/{name}/restore")
+    @Operation(summary = "Restore a snapshot",
+               description = "Replace all users and tasks with those of the named snapshot; task series and dependencies are removed")
+    public ResponseEntity<DatasetSnapshotDto> restoreSnapshot(@PathVariable String name) {
+        return ResponseEntity.ok(datasetSnapshotService.restoreSnapshot(name));
+    }
+}
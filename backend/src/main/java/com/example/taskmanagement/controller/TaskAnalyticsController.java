@@ -0,0 +1,67 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.AssigneeTaskCountDto;
+import com.example.taskmanagement.dto.TaskAnalyticsFilter;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.service.TaskAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/analytics")
+@Tag(name = "Task Analytics", description = "Aggregations over an in-memory snapshot of all tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskAnalyticsController {
+    
+    private static final int MAX_DAYS = 366;
+    
+    private final TaskAnalyticsService taskAnalyticsService;
+    
+    public TaskAnalyticsController(TaskAnalyticsService taskAnalyticsService) {
+        this.taskAnalyticsService = taskAnalyticsService;
+    }
+    
+    @GetMapping("/count")
+    @Operation(summary = "Count tasks", description = "Count tasks matching the given filters")
+    public ResponseEntity<Long> countTasks(TaskAnalyticsFilter filter) {
+        return ResponseEntity.ok(taskAnalyticsService.countTasks(filter));
+    }
+    
+    @GetMapping("/status-counts")
+    @Operation(summary = "Count tasks by status", description = "Count matching tasks per status")
+    public ResponseEntity<Map<Task.TaskStatus, Long>> countByStatus(TaskAnalyticsFilter filter) {
+        return ResponseEntity.ok(taskAnalyticsService.countByStatus(filter));
+    }
+    
+    @GetMapping("/priority-counts")
+    @Operation(summary = "Count tasks by priority", description = "Count matching tasks per priority")
+    public ResponseEntity<Map<Task.Priority, Long>> countByPriority(TaskAnalyticsFilter filter) {
+        return ResponseEntity.ok(taskAnalyticsService.countByPriority(filter));
+    }
+    
+    @GetMapping("/due-histogram")
+    @Operation(summary = "Due date histogram", description = "Count matching tasks due on each day of a date range")
+    public ResponseEntity<Map<LocalDate, Long>> countByDueDay(
+            TaskAnalyticsFilter filter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        int range = Math.max(1, Math.min(days, MAX_DAYS));
+        return ResponseEntity.ok(taskAnalyticsService.countByDueDay(filter, start, range));
+    }
+    
+    @GetMapping("/top-assignees")
+    @Operation(summary = "Top assignees", description = "Users with the most matching assigned tasks")
+    public ResponseEntity<List<AssigneeTaskCountDto>> getTopAssignees(
+            TaskAnalyticsFilter filter,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskAnalyticsService.getTopAssignees(filter, Math.max(1, limit)));
+    }
+}
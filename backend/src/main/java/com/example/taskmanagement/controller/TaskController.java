@@ -1,8 +1,21 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.dto.CreateTaskRequest;
+import com.example.taskmanagement.dto.MoveTaskRequest;
+import com.example.taskmanagement.dto.NextTaskDto;
+import com.example.taskmanagement.dto.TaskBatchGetRequest;
+import com.example.taskmanagement.dto.TaskColumnPageDto;
 import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskLookupDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.dto.TaskQuery;
 import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.service.IdempotencyService;
+import com.example.taskmanagement.service.NextTaskService;
+import com.example.taskmanagement.service.TaskBatchLoader;
+import com.example.taskmanagement.service.TaskRankService;
+import com.example.taskmanagement.service.TaskReadCoalescer;
+import com.example.taskmanagement.service.TaskSeriesService;
 import com.example.taskmanagement.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,10 +36,24 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TaskController {
     
+    private static final int MAX_NEXT_TASKS = 50;
+    
     private final TaskService taskService;
+    private final NextTaskService nextTaskService;
+    private final TaskBatchLoader taskBatchLoader;
+    private final IdempotencyService idempotencyService;
+    private final TaskReadCoalescer taskReadCoalescer;
+    private final TaskRankService taskRankService;
     
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, NextTaskService nextTaskService, TaskBatchLoader taskBatchLoader,
+                          IdempotencyService idempotencyService, TaskReadCoalescer taskReadCoalescer,
+                          TaskRankService taskRankService) {
         this.taskService = taskService;
+        this.nextTaskService = nextTaskService;
+        this.taskBatchLoader = taskBatchLoader;
+        this.idempotencyService = idempotencyService;
+        this.taskReadCoalescer = taskReadCoalescer;
+        this.taskRankService = taskRankService;
     }
     
     @GetMapping
@@ -37,16 +64,30 @@ public class TaskController {
         
         if (page == 0 && size == 10) {
             // Return all tasks without pagination
-            List<TaskDto> tasks = taskService.getAllTasks();
+            List<TaskDto> tasks = taskReadCoalescer.getAllTasks();
             return ResponseEntity.ok(tasks);
         } else {
             // Return paginated tasks
             Pageable pageable = PageRequest.of(page, size);
-            Page<TaskDto> tasks = taskService.getAllTasksPaginated(pageable);
+            Page<TaskDto> tasks = taskReadCoalescer.getAllTasksPaginated(pageable);
             return ResponseEntity.ok(tasks.getContent());
         }
     }
     
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get tasks by IDs", description = "Retrieve several tasks in one request; ids without a task are marked as not found")
+    public ResponseEntity<List<TaskLookupDto>> getTasksByIds(@RequestParam List<Long> ids) {
+        List<TaskLookupDto> tasks = taskBatchLoader.lookUp(ids);
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get tasks by IDs (POST)", description = "Same as GET /api/tasks?ids=..., for id lists too long for a URL")
+    public ResponseEntity<List<TaskLookupDto>> batchGetTasks(@Valid @RequestBody TaskBatchGetRequest request) {
+        List<TaskLookupDto> tasks = taskBatchLoader.lookUp(request.getIds());
+        return ResponseEntity.ok(tasks);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID", description = "Retrieve a specific task by its ID")
     public ResponseEntity<TaskDto> getTaskById(@PathVariable Long id) {
@@ -57,34 +98,79 @@ public class TaskController {
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get tasks by user", description = "Retrieve all tasks for a specific user")
     public ResponseEntity<List<TaskDto>> getTasksByUser(@PathVariable Long userId) {
-        List<TaskDto> tasks = taskService.getTasksByUser(userId);
+        List<TaskDto> tasks = taskReadCoalescer.getTasksByUser(userId);
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/user/{userId}/next")
+    @Operation(summary = "Get next tasks for user", description = "Retrieve the user's most urgent open tasks by priority and due date")
+    public ResponseEntity<List<NextTaskDto>> getNextTasks(@PathVariable Long userId,
+                                                          @RequestParam(defaultValue = "5") int limit) {
+        List<NextTaskDto> tasks = nextTaskService.getNextTasks(userId, Math.max(1, Math.min(limit, MAX_NEXT_TASKS)));
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/assigned/{userId}")
+    @Operation(summary = "Get tasks assigned to user", description = "Retrieve all tasks assigned to a specific user")
+    public ResponseEntity<List<TaskDto>> getTasksAssignedTo(@PathVariable Long userId) {
+        List<TaskDto> tasks = taskReadCoalescer.getTasksAssignedTo(userId);
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/upcoming")
+    @Operation(summary = "Get upcoming tasks for user", description = "Retrieve tasks a user owns or is assigned to that are due in the next days, including occurrences of recurring series not created yet")
+    public ResponseEntity<List<TaskDto>> getUpcomingTasks(@RequestParam Long userId,
+                                                          @RequestParam(defaultValue = "7") int days) {
+        List<TaskDto> tasks = taskService.getUpcomingTasks(userId, Math.max(1, Math.min(days, TaskSeriesService.MAX_PROJECTED_DAYS)));
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/query")
+    @Operation(summary = "Query tasks", description = "Retrieve a page of tasks matching any combination of filters")
+    public ResponseEntity<TaskPageDto> queryTasks(TaskQuery query) {
+        TaskPageDto tasks = taskService.queryTasks(query);
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/status/{status}")
     @Operation(summary = "Get tasks by status", description = "Retrieve all tasks with a specific status")
     public ResponseEntity<List<TaskDto>> getTasksByStatus(@PathVariable Task.TaskStatus status) {
-        List<TaskDto> tasks = taskService.getTasksByStatus(status);
+        List<TaskDto> tasks = taskReadCoalescer.getTasksByStatus(status);
         return ResponseEntity.ok(tasks);
     }
     
+    @GetMapping("/board/{status}")
+    @Operation(summary = "Get a board column",
+               description = "Retrieve a page of tasks with a specific status in their manual order; pass nextCursor as cursor for the following page")
+    public ResponseEntity<TaskColumnPageDto> getColumn(@PathVariable Task.TaskStatus status,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int size) {
+        TaskColumnPageDto column = taskRankService.getColumn(status, cursor, size);
+        return ResponseEntity.ok(column);
+    }
+    
     @GetMapping("/priority/{priority}")
     @Operation(summary = "Get tasks by priority", description = "Retrieve all tasks with a specific priority")
     public ResponseEntity<List<TaskDto>> getTasksByPriority(@PathVariable Task.Priority priority) {
-        List<TaskDto> tasks = taskService.getTasksByPriority(priority);
+        List<TaskDto> tasks = taskReadCoalescer.getTasksByPriority(priority);
         return ResponseEntity.ok(tasks);
     }
     
     @PostMapping
-    @Operation(summary = "Create a new task", description = "Create a new task for the authenticated user")
+    @Operation(summary = "Create a new task",
+               description = "Create a new task for the authenticated user. A retry with the same Idempotency-Key returns the first response")
     public ResponseEntity<TaskDto> createTask(@Valid @RequestBody CreateTaskRequest request,
+                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                              Authentication authentication) {
         // In a real application, you would get the user ID from the authentication
         // For now, we'll use a default user ID (1)
         Long userId = 1L; // TODO: Extract from authentication
         
-        TaskDto createdTask = taskService.createTask(request, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+        IdempotencyService.Result<TaskDto> createdTask = idempotencyService.execute("tasks:" + userId, idempotencyKey,
+                request, TaskDto.class, () -> taskService.createTask(request, userId));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(createdTask.replayed()))
+                .body(createdTask.body());
     }
     
     @PutMapping("/{id}")
@@ -95,6 +181,13 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
     
+    @PutMapping("/{id}/rank")
+    @Operation(summary = "Move a task within its column", description = "Place a task after one task, before another, or between both")
+    public ResponseEntity<Void> moveTask(@PathVariable Long id, @RequestBody MoveTaskRequest request) {
+        taskRankService.moveTask(id, request);
+        return ResponseEntity.noContent().build();
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a task", description = "Delete a task by ID")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
@@ -105,14 +198,14 @@ public class TaskController {
     @GetMapping("/search")
     @Operation(summary = "Search tasks", description = "Search tasks by title or description")
     public ResponseEntity<List<TaskDto>> searchTasks(@RequestParam String keyword) {
-        List<TaskDto> tasks = taskService.searchTasks(keyword);
+        List<TaskDto> tasks = taskReadCoalescer.searchTasks(keyword);
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/overdue")
-    @Operation(summary = "Get overdue tasks", description = "Retrieve all tasks that are overdue")
+    @Operation(summary = "Get overdue tasks", description = "Retrieve all tasks that are overdue, including occurrences of recurring series not created yet")
     public ResponseEntity<List<TaskDto>> getOverdueTasks() {
-        List<TaskDto> tasks = taskService.getOverdueTasks();
+        List<TaskDto> tasks = taskReadCoalescer.getOverdueTasks();
         return ResponseEntity.ok(tasks);
     }
 } 
\ No newline at end of file
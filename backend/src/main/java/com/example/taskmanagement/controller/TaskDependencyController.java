@@ -0,0 +1,69 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.CriticalPathDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.service.TaskDependencyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Task Dependencies", description = "Blocked-by relations between tasks, ready tasks and critical paths")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskDependencyController {
+    
+    private final TaskDependencyService taskDependencyService;
+    
+    public TaskDependencyController(TaskDependencyService taskDependencyService) {
+        this.taskDependencyService = taskDependencyService;
+    }
+    
+    @GetMapping("/{id}/blockers")
+    @Operation(summary = "Get blockers", description = "Retrieve the tasks this task is directly blocked by, done or not")
+    public ResponseEntity<List<TaskDto>> getBlockers(@PathVariable Long id) {
+        List<TaskDto> blockers = taskDependencyService.getBlockers(id);
+        return ResponseEntity.ok(blockers);
+    }
+    
+    @PutMapping("/{id}/blockers/{blockerId}")
+    @Operation(summary = "Add a blocker", description = "Mark the task as blocked by another task; rejected with 409 if it would create a cycle")
+    public ResponseEntity<Void> addBlocker(@PathVariable Long id, @PathVariable Long blockerId) {
+        taskDependencyService.addBlocker(id, blockerId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping("/{id}/blockers/{blockerId}")
+    @Operation(summary = "Remove a blocker", description = "Remove the relation between the task and its blocker")
+    public ResponseEntity<Void> removeBlocker(@PathVariable Long id, @PathVariable Long blockerId) {
+        taskDependencyService.removeBlocker(id, blockerId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/ready")
+    @Operation(summary = "Get ready tasks", description = "Retrieve open tasks whose blockers are all done, optionally only those a user is responsible for")
+    public ResponseEntity<List<TaskDto>> getReadyTasks(@RequestParam(required = false) Long userId,
+                                                       @RequestParam(defaultValue = "50") int limit) {
+        List<TaskDto> tasks = taskDependencyService.getReadyTasks(userId, Math.max(1, limit));
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/blocked")
+    @Operation(summary = "Get blocked tasks", description = "Retrieve open tasks waiting for at least one open blocker")
+    public ResponseEntity<List<TaskDto>> getBlockedTasks(@RequestParam(required = false) Long userId,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        List<TaskDto> tasks = taskDependencyService.getBlockedTasks(userId, Math.max(1, limit));
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @GetMapping("/{id}/critical-path")
+    @Operation(summary = "Get critical path", description = "Retrieve the longest chain of open tasks that must be done before this task, ending with it")
+    public ResponseEntity<CriticalPathDto> getCriticalPath(@PathVariable Long id,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        CriticalPathDto path = taskDependencyService.getCriticalPath(id, Math.max(1, limit));
+        return ResponseEntity.ok(path);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskImportJobDto;
+import com.example.taskmanagement.service.TaskImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/tasks/imports")
+@Tag(name = "Task Import", description = "Bulk import of tasks from CSV or NDJSON uploads")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskImportController {
+    
+    private final TaskImportService taskImportService;
+    
+    public TaskImportController(TaskImportService taskImportService) {
+        this.taskImportService = taskImportService;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Create an import job", description = "Create an import job for tasks owned by an existing user")
+    public ResponseEntity<TaskImportJobDto> createJob(@RequestParam Long userId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskImportService.createJob(userId));
+    }
+    
+    @PutMapping(value = "/{id}", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Upload import data", description = "Stream a CSV or NDJSON file of tasks into the import job")
+    public ResponseEntity<TaskImportJobDto> upload(@PathVariable String id,
+                                                   @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) {
+        return ResponseEntity.ok(taskImportService.runImport(id, contentType, body));
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import progress", description = "Row counts and per-row errors of an import job")
+    public ResponseEntity<TaskImportJobDto> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(taskImportService.getJob(id));
+    }
+}
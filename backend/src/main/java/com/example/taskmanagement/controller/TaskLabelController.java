@@ -0,0 +1,39 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.LabelCountDto;
+import com.example.taskmanagement.dto.TaskLabelFilter;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.service.TaskLabelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Task Labels", description = "Labels in use and filtering tasks by label combinations")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskLabelController {
+    
+    private final TaskLabelService taskLabelService;
+    
+    public TaskLabelController(TaskLabelService taskLabelService) {
+        this.taskLabelService = taskLabelService;
+    }
+    
+    @GetMapping("/labels")
+    @Operation(summary = "Get labels", description = "Retrieve the labels in use with their task counts, most used first")
+    public ResponseEntity<List<LabelCountDto>> getLabels() {
+        List<LabelCountDto> labels = taskLabelService.getLabels();
+        return ResponseEntity.ok(labels);
+    }
+    
+    @GetMapping("/labeled")
+    @Operation(summary = "Filter tasks by labels", description = "Retrieve a page of tasks, ordered by id, carrying all labels of 'all', one of 'any' and none of 'none', optionally restricted to statuses and priorities")
+    public ResponseEntity<TaskPageDto> getLabeledTasks(TaskLabelFilter filter) {
+        TaskPageDto tasks = taskLabelService.findTasks(filter);
+        return ResponseEntity.ok(tasks);
+    }
+}
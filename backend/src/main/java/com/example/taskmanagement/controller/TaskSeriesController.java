@@ -0,0 +1,68 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.CreateTaskSeriesRequest;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskSeriesDto;
+import com.example.taskmanagement.service.TaskSeriesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/task-series")
+@Tag(name = "Recurring Tasks", description = "APIs for managing recurring task series")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskSeriesController {
+    
+    private final TaskSeriesService taskSeriesService;
+    
+    public TaskSeriesController(TaskSeriesService taskSeriesService) {
+        this.taskSeriesService = taskSeriesService;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Create a recurring task series", description = "Create a series from a recurrence rule; occurrences become tasks shortly before they are due")
+    public ResponseEntity<TaskSeriesDto> createSeries(@Valid @RequestBody CreateTaskSeriesRequest request,
+                                                      Authentication authentication) {
+        // Same placeholder owner as task creation until the user ID comes from the authentication
+        Long userId = 1L;
+        
+        TaskSeriesDto createdSeries = taskSeriesService.createSeries(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSeries);
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get series by ID", description = "Retrieve a recurring task series by its ID")
+    public ResponseEntity<TaskSeriesDto> getSeriesById(@PathVariable Long id) {
+        TaskSeriesDto series = taskSeriesService.getSeriesById(id);
+        return ResponseEntity.ok(series);
+    }
+    
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get series by user", description = "Retrieve the recurring task series a user owns")
+    public ResponseEntity<List<TaskSeriesDto>> getSeriesByUser(@PathVariable Long userId) {
+        List<TaskSeriesDto> series = taskSeriesService.getSeriesByUser(userId);
+        return ResponseEntity.ok(series);
+    }
+    
+    @GetMapping("/{id}/occurrences")
+    @Operation(summary = "Get upcoming occurrences", description = "Compute the occurrences of a series due in the next days that are not tasks yet")
+    public ResponseEntity<List<TaskDto>> getOccurrences(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "30") int days) {
+        List<TaskDto> occurrences = taskSeriesService.getProjectedOccurrences(id, Math.max(1, Math.min(days, TaskSeriesService.MAX_PROJECTED_DAYS)));
+        return ResponseEntity.ok(occurrences);
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a series", description = "Stop a recurring series; tasks it already created are kept")
+    public ResponseEntity<Void> deleteSeries(@PathVariable Long id) {
+        taskSeriesService.deleteSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+}
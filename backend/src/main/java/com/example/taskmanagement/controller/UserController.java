@@ -3,6 +3,7 @@ package com.example.taskmanagement.controller;
 import com.example.taskmanagement.dto.CreateUserRequest;
 import com.example.taskmanagement.dto.UserDto;
 import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.service.IdempotencyService;
 import com.example.taskmanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,9 +21,11 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
     
-    public UserController(UserService userService) {
+    public UserController(UserService userService, IdempotencyService idempotencyService) {
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
     }
     
     @GetMapping
@@ -40,10 +43,15 @@ public class UserController {
     }
     
     @PostMapping
-    @Operation(summary = "Create a new user", description = "Create a new user")
-    public ResponseEntity<UserDto> createUser(@Valid @RequestBody CreateUserRequest request) {
-        UserDto createdUser = userService.createUser(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+    @Operation(summary = "Create a new user",
+               description = "Create a new user. A retry with the same Idempotency-Key returns the first response")
+    public ResponseEntity<UserDto> createUser(@Valid @RequestBody CreateUserRequest request,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        IdempotencyService.Result<UserDto> createdUser = idempotencyService.execute("users", idempotencyKey,
+                request, UserDto.class, () -> userService.createUser(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(createdUser.replayed()))
+                .body(createdUser.body());
     }
     
     @PutMapping("/{id}")
@@ -55,9 +63,11 @@ public class UserController {
     }
     
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a user", description = "Delete a user by ID")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    @Operation(summary = "Delete a user",
+               description = "Delete a user by ID. Assigned tasks are moved to reassignTo or left unassigned; owned tasks are removed in the background")
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id,
+                                           @RequestParam(required = false) Long reassignTo) {
+        userService.deleteUser(id, reassignTo);
         return ResponseEntity.noContent().build();
     }
 } 
\ No newline at end of file
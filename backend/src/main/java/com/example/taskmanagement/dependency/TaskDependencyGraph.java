@@ -0,0 +1,517 @@
+package com.example.taskmanagement.dependency;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Blocked-by relations between tasks. Each task occupies a slot, and its blockers and the
+ * tasks it blocks are kept as primitive int arrays of slots, so traversals touch no objects.
+ * <p>
+ * The graph stays acyclic. It keeps every task at a position in a topological order and checks
+ * a new edge against it (Pearce and Kelly): an edge whose blocker already comes first costs
+ * O(1), any other searches only the tasks placed between its two ends and reorders those.
+ * Every task counts its open blockers, and open tasks without any form the ready set, which
+ * edge and status changes update in place.
+ * Not thread-safe.
+ */
+public class TaskDependencyGraph {
+    
+    private static final long FREE = 0;
+    private static final int[] NO_EDGES = new int[0];
+    
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private long[] ids;
+    private long[] users;
+    private boolean[] open;
+    private int[] positions;
+    private int[] openBlockers;
+    private int[][] blockers;
+    private int[] blockerCounts;
+    private int[][] dependents;
+    private int[] dependentCounts;
+    
+    private int size;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextPosition;
+    
+    // Indexed set of ready slots; readyIndex is -1 for slots outside it
+    private int[] ready;
+    private int readyCount;
+    private int[] readyIndex;
+    
+    // Scratch space for searches, marked with an increasing stamp instead of being cleared
+    private int[] marks;
+    private int stamp;
+    private int[] stack;
+    private int[] lengths;
+    private int[] via;
+    
+    public TaskDependencyGraph(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        users = new long[capacity];
+        open = new boolean[capacity];
+        positions = new int[capacity];
+        openBlockers = new int[capacity];
+        blockers = new int[capacity][];
+        blockerCounts = new int[capacity];
+        dependents = new int[capacity][];
+        dependentCounts = new int[capacity];
+        ready = new int[capacity];
+        readyIndex = new int[capacity];
+        marks = new int[capacity];
+        stack = new int[capacity];
+        lengths = new int[capacity];
+        via = new int[capacity];
+    }
+    
+    public int taskCount() {
+        return slotsById.size();
+    }
+    
+    public int readyCount() {
+        return readyCount;
+    }
+    
+    public boolean contains(long taskId) {
+        return slotsById.containsKey(taskId);
+    }
+    
+    /**
+     * Adds a task or updates its state. A task counts for one user, its assignee or its owner
+     * while unassigned; null if it has neither.
+     */
+    public void upsertTask(long taskId, boolean isOpen, Long userId) {
+        Integer slot = slotsById.get(taskId);
+        if (slot == null) {
+            slot = allocateSlot(taskId);
+        }
+        users[slot] = userId != null ? userId : FREE;
+        setOpen(slot, isOpen);
+    }
+    
+    // Removes the task with all its edges
+    public boolean removeTask(long taskId) {
+        Integer slot = slotsById.remove(taskId);
+        if (slot == null) {
+            return false;
+        }
+        setOpen(slot, false);
+        for (int i = 0; i < blockerCounts[slot]; i++) {
+            int blocker = blockers[slot][i];
+            dependentCounts[blocker] = removeFrom(dependents[blocker], dependentCounts[blocker], slot);
+        }
+        for (int i = 0; i < dependentCounts[slot]; i++) {
+            int dependent = dependents[slot][i];
+            blockerCounts[dependent] = removeFrom(blockers[dependent], blockerCounts[dependent], slot);
+        }
+        ids[slot] = FREE;
+        blockers[slot] = NO_EDGES;
+        blockerCounts[slot] = 0;
+        dependents[slot] = NO_EDGES;
+        dependentCounts[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+    
+    /**
+     * Records that {@code taskId} is blocked by {@code blockerId}; both must be in the graph.
+     * An edge that would close a cycle, including a task blocking itself, is not added.
+     */
+    public AddResult addEdge(long taskId, long blockerId) {
+        int task = slotOf(taskId);
+        int blocker = slotOf(blockerId);
+        if (task == blocker) {
+            return AddResult.CYCLE;
+        }
+        if (indexOf(dependents[blocker], dependentCounts[blocker], task) >= 0) {
+            return AddResult.EXISTS;
+        }
+        if (positions[blocker] > positions[task] && !reorder(blocker, task)) {
+            return AddResult.CYCLE;
+        }
+        link(task, blocker);
+        return AddResult.ADDED;
+    }
+    
+    /**
+     * Adds an edge without checking for cycles, for loading many edges at once; call
+     * {@link #rebuildOrder()} afterwards.
+     */
+    public void addEdgeUnchecked(long taskId, long blockerId) {
+        int task = slotOf(taskId);
+        int blocker = slotOf(blockerId);
+        if (task != blocker && indexOf(dependents[blocker], dependentCounts[blocker], task) < 0) {
+            link(task, blocker);
+        }
+    }
+    
+    public boolean removeEdge(long taskId, long blockerId) {
+        Integer task = slotsById.get(taskId);
+        Integer blocker = slotsById.get(blockerId);
+        if (task == null || blocker == null || indexOf(dependents[blocker], dependentCounts[blocker], task) < 0) {
+            return false;
+        }
+        dependentCounts[blocker] = removeFrom(dependents[blocker], dependentCounts[blocker], task);
+        blockerCounts[task] = removeFrom(blockers[task], blockerCounts[task], blocker);
+        if (open[blocker]) {
+            openBlockers[task]--;
+            updateReady(task);
+        }
+        return true;
+    }
+    
+    /**
+     * Recomputes the topological order from scratch (Kahn's algorithm) in O(tasks + edges).
+     * Returns the number of tasks on or behind a cycle, which keep their old positions.
+     */
+    public int rebuildOrder() {
+        int[] pending = new int[size];
+        int head = 0;
+        int tail = 0;
+        int[] queue = new int[size];
+        for (int slot = 0; slot < size; slot++) {
+            if (ids[slot] != FREE) {
+                pending[slot] = blockerCounts[slot];
+                if (pending[slot] == 0) {
+                    queue[tail++] = slot;
+                }
+            }
+        }
+        int[] slotsInOrder = new int[size];
+        int ordered = 0;
+        while (head < tail) {
+            int slot = queue[head++];
+            slotsInOrder[ordered++] = slot;
+            for (int i = 0; i < dependentCounts[slot]; i++) {
+                int dependent = dependents[slot][i];
+                if (--pending[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+        nextPosition = 0;
+        for (int i = 0; i < ordered; i++) {
+            positions[slotsInOrder[i]] = nextPosition++;
+        }
+        int unordered = slotsById.size() - ordered;
+        if (unordered > 0) {
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot] != FREE && pending[slot] > 0) {
+                    positions[slot] = nextPosition++;
+                }
+            }
+        }
+        return unordered;
+    }
+    
+    public void clear() {
+        slotsById.clear();
+        Arrays.fill(ids, 0, size, FREE);
+        Arrays.fill(blockers, 0, size, NO_EDGES);
+        Arrays.fill(blockerCounts, 0, size, 0);
+        Arrays.fill(dependents, 0, size, NO_EDGES);
+        Arrays.fill(dependentCounts, 0, size, 0);
+        size = 0;
+        freeCount = 0;
+        nextPosition = 0;
+        readyCount = 0;
+    }
+    
+    public long[] blockersOf(long taskId) {
+        int slot = slotOf(taskId);
+        long[] result = new long[blockerCounts[slot]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[blockers[slot][i]];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public boolean isBlocked(long taskId) {
+        return openBlockers[slotOf(taskId)] > 0;
+    }
+    
+    // Open tasks without open blockers, lowest ids first; a null user matches every task
+    public long[] readyTasks(Long userId, int limit) {
+        long[] matches = new long[readyCount];
+        int count = 0;
+        for (int i = 0; i < readyCount; i++) {
+            int slot = ready[i];
+            if (userId == null || users[slot] == userId) {
+                matches[count++] = ids[slot];
+            }
+        }
+        return lowest(matches, count, limit);
+    }
+    
+    // Open tasks waiting for at least one open blocker, lowest ids first
+    public long[] blockedTasks(Long userId, int limit) {
+        long[] matches = new long[16];
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (ids[slot] != FREE && open[slot] && openBlockers[slot] > 0 && (userId == null || users[slot] == userId)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ids[slot];
+            }
+        }
+        return lowest(matches, count, limit);
+    }
+    
+    /**
+     * The longest chain of open tasks that have to be finished, one after the other, before the
+     * given task, ending with the task itself. Only the task's upstream tasks are visited; they
+     * are processed in topological order, so each edge is looked at once.
+     */
+    public long[] criticalPath(long taskId) {
+        int target = slotOf(taskId);
+        int upstream = collectOpenUpstream(target);
+        long[] byPosition = new long[upstream];
+        for (int i = 0; i < upstream; i++) {
+            byPosition[i] = (long) positions[stack[i]] << 32 | stack[i];
+        }
+        Arrays.sort(byPosition);
+        
+        for (long entry : byPosition) {
+            int slot = (int) entry;
+            lengths[slot] = 1;
+            via[slot] = -1;
+            for (int i = 0; i < blockerCounts[slot]; i++) {
+                int blocker = blockers[slot][i];
+                if (marks[blocker] == stamp && lengths[blocker] + 1 > lengths[slot]) {
+                    lengths[slot] = lengths[blocker] + 1;
+                    via[slot] = blocker;
+                }
+            }
+        }
+        
+        long[] path = new long[lengths[target]];
+        int slot = target;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = ids[slot];
+            slot = via[slot];
+        }
+        return path;
+    }
+    
+    // Marks the target and the open tasks it waits for, directly or not, and leaves them on the stack
+    private int collectOpenUpstream(int target) {
+        nextStamp();
+        marks[target] = stamp;
+        stack[0] = target;
+        int count = 1;
+        for (int next = 0; next < count; next++) {
+            int slot = stack[next];
+            for (int i = 0; i < blockerCounts[slot]; i++) {
+                int blocker = blockers[slot][i];
+                if (open[blocker] && marks[blocker] != stamp) {
+                    marks[blocker] = stamp;
+                    stack[count++] = blocker;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Makes room for the edge blocker -> task when the task comes first in the order. Finds the
+     * tasks reachable from the task and positioned before the blocker, and the tasks reaching the
+     * blocker and positioned after the task, then gives their positions to the second group
+     * followed by the first. Returns false if the blocker is reachable from the task.
+     */
+    private boolean reorder(int blocker, int task) {
+        int lower = positions[task];
+        int upper = positions[blocker];
+        nextStamp();
+        
+        int forwardCount = 0;
+        marks[task] = stamp;
+        stack[forwardCount++] = task;
+        for (int next = 0; next < forwardCount; next++) {
+            int slot = stack[next];
+            for (int i = 0; i < dependentCounts[slot]; i++) {
+                int dependent = dependents[slot][i];
+                if (dependent == blocker) {
+                    return false;
+                }
+                if (marks[dependent] != stamp && positions[dependent] < upper) {
+                    marks[dependent] = stamp;
+                    stack[forwardCount++] = dependent;
+                }
+            }
+        }
+        
+        // Both searches share the stack: forward results first, then backward ones
+        int count = forwardCount;
+        marks[blocker] = stamp;
+        stack[count++] = blocker;
+        for (int next = forwardCount; next < count; next++) {
+            int slot = stack[next];
+            for (int i = 0; i < blockerCounts[slot]; i++) {
+                int upstream = blockers[slot][i];
+                if (marks[upstream] != stamp && positions[upstream] > lower) {
+                    marks[upstream] = stamp;
+                    stack[count++] = upstream;
+                }
+            }
+        }
+        
+        long[] forward = sortedByPosition(0, forwardCount);
+        long[] backward = sortedByPosition(forwardCount, count);
+        int[] freed = new int[count];
+        for (int i = 0; i < count; i++) {
+            freed[i] = positions[stack[i]];
+        }
+        Arrays.sort(freed);
+        int next = 0;
+        for (long entry : backward) {
+            positions[(int) entry] = freed[next++];
+        }
+        for (long entry : forward) {
+            positions[(int) entry] = freed[next++];
+        }
+        return true;
+    }
+    
+    private long[] sortedByPosition(int from, int to) {
+        long[] entries = new long[to - from];
+        for (int i = from; i < to; i++) {
+            entries[i - from] = (long) positions[stack[i]] << 32 | stack[i];
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+    
+    private void link(int task, int blocker) {
+        dependents[blocker] = append(dependents[blocker], dependentCounts[blocker]++, task);
+        blockers[task] = append(blockers[task], blockerCounts[task]++, blocker);
+        if (open[blocker]) {
+            openBlockers[task]++;
+            updateReady(task);
+        }
+    }
+    
+    private void setOpen(int slot, boolean isOpen) {
+        if (open[slot] != isOpen) {
+            open[slot] = isOpen;
+            int delta = isOpen ? 1 : -1;
+            for (int i = 0; i < dependentCounts[slot]; i++) {
+                int dependent = dependents[slot][i];
+                openBlockers[dependent] += delta;
+                updateReady(dependent);
+            }
+        }
+        updateReady(slot);
+    }
+    
+    private void updateReady(int slot) {
+        boolean isReady = open[slot] && openBlockers[slot] == 0;
+        int index = readyIndex[slot];
+        if (isReady && index < 0) {
+            readyIndex[slot] = readyCount;
+            ready[readyCount++] = slot;
+        } else if (!isReady && index >= 0) {
+            int last = ready[--readyCount];
+            ready[index] = last;
+            readyIndex[last] = index;
+            readyIndex[slot] = -1;
+        }
+    }
+    
+    private int allocateSlot(long taskId) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (size == ids.length) {
+                grow(size * 2);
+            }
+            slot = size++;
+        }
+        ids[slot] = taskId;
+        open[slot] = false;
+        openBlockers[slot] = 0;
+        blockers[slot] = NO_EDGES;
+        dependents[slot] = NO_EDGES;
+        readyIndex[slot] = -1;
+        positions[slot] = nextPosition++;
+        slotsById.put(taskId, slot);
+        return slot;
+    }
+    
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        users = Arrays.copyOf(users, capacity);
+        open = Arrays.copyOf(open, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        openBlockers = Arrays.copyOf(openBlockers, capacity);
+        blockers = Arrays.copyOf(blockers, capacity);
+        blockerCounts = Arrays.copyOf(blockerCounts, capacity);
+        dependents = Arrays.copyOf(dependents, capacity);
+        dependentCounts = Arrays.copyOf(dependentCounts, capacity);
+        ready = Arrays.copyOf(ready, capacity);
+        readyIndex = Arrays.copyOf(readyIndex, capacity);
+        marks = Arrays.copyOf(marks, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        via = Arrays.copyOf(via, capacity);
+    }
+    
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            stamp = 1;
+        }
+    }
+    
+    private int slotOf(long taskId) {
+        Integer slot = slotsById.get(taskId);
+        if (slot == null) {
+            throw new IllegalArgumentException("Task " + taskId + " is not in the dependency graph");
+        }
+        return slot;
+    }
+    
+    private static long[] lowest(long[] values, int count, int limit) {
+        Arrays.sort(values, 0, count);
+        return Arrays.copyOf(values, Math.min(count, limit));
+    }
+    
+    private static int[] append(int[] edges, int count, int slot) {
+        if (count == edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(4, count * 2));
+        }
+        edges[count] = slot;
+        return edges;
+    }
+    
+    private static int indexOf(int[] edges, int count, int slot) {
+        for (int i = 0; i < count; i++) {
+            if (edges[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    // Swaps the last edge into the removed one's place; returns the new count
+    private static int removeFrom(int[] edges, int count, int slot) {
+        int index = indexOf(edges, count, slot);
+        if (index < 0) {
+            return count;
+        }
+        edges[index] = edges[count - 1];
+        return count - 1;
+    }
+    
+    public enum AddResult {
+        ADDED, EXISTS, CYCLE
+    }
+}
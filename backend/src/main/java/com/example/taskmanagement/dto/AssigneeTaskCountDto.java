@@ -0,0 +1,31 @@
+package com.example.taskmanagement.dto;
+
+public class AssigneeTaskCountDto {
+    private Long userId;
+    private long taskCount;
+    
+    // Constructors
+    public AssigneeTaskCountDto() {}
+    
+    public AssigneeTaskCountDto(Long userId, long taskCount) {
+        this.userId = userId;
+        this.taskCount = taskCount;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.taskmanagement.dto;
 
 import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskDescription;
+import com.example.taskmanagement.entity.TaskLabelsConverter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CreateTaskRequest {
     
     @NotBlank(message = "Title is required")
     private String title;
     
+    @Size(max = TaskDescription.MAX_LENGTH, message = "Description must be at most {max} characters")
     private String description;
     
     @NotNull(message = "Status is required")
@@ -23,6 +29,11 @@ public class CreateTaskRequest {
     
     private Long assignedToId;
     
+    // Left unchanged on update when null
+    @Size(max = TaskLabelsConverter.MAX_LABELS, message = "A task can have at most {max} labels")
+    private List<@Pattern(regexp = TaskLabelsConverter.LABEL_PATTERN,
+            message = "Labels are up to 50 letters, digits, '_', '.', ':' or '-', starting with a letter or digit") String> labels;
+    
     // Constructors
     public CreateTaskRequest() {}
     
@@ -84,4 +95,12 @@ public class CreateTaskRequest {
     public void setAssignedToId(Long assignedToId) {
         this.assignedToId = assignedToId;
     }
+    
+    public List<String> getLabels() {
+        return labels;
+    }
+    
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public class CreateTaskSeriesRequest {
+    
+    @NotBlank(message = "Title is required")
+    private String title;
+    
+    private String description;
+    
+    @NotNull(message = "Priority is required")
+    private Task.Priority priority;
+    
+    // e.g. FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10
+    @NotBlank(message = "Recurrence rule is required")
+    private String recurrenceRule;
+    
+    // The first occurrence and the time of day of all occurrences
+    @NotNull(message = "Start is required")
+    private LocalDateTime startsAt;
+    
+    private Long assignedToId;
+    
+    // Constructors
+    public CreateTaskSeriesRequest() {}
+    
+    public CreateTaskSeriesRequest(String title, String description, Task.Priority priority,
+                                   String recurrenceRule, LocalDateTime startsAt, Long assignedToId) {
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.recurrenceRule = recurrenceRule;
+        this.startsAt = startsAt;
+        this.assignedToId = assignedToId;
+    }
+    
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+    
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+    
+    public Long getAssignedToId() {
+        return assignedToId;
+    }
+    
+    public void setAssignedToId(Long assignedToId) {
+        this.assignedToId = assignedToId;
+    }
+}
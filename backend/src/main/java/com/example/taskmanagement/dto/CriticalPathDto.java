@@ -0,0 +1,37 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+public class CriticalPathDto {
+    
+    // Open tasks on the longest chain, including the task itself
+    private int length;
+    
+    // The first tasks of the chain, in the order they have to be done
+    private List<TaskDto> tasks;
+    
+    // Constructors
+    public CriticalPathDto() {}
+    
+    public CriticalPathDto(int length, List<TaskDto> tasks) {
+        this.length = length;
+        this.tasks = tasks;
+    }
+    
+    // Getters and Setters
+    public int getLength() {
+        return length;
+    }
+    
+    public void setLength(int length) {
+        this.length = length;
+    }
+    
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<TaskDto> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.dto;
+
+public class DatasetSnapshotDto {
+    
+    private String name;
+    private long users;
+    private long tasks;
+    private long sizeBytes;
+    private long durationMs;
+    
+    // Constructors
+    public DatasetSnapshotDto() {}
+    
+    public DatasetSnapshotDto(String name, long users, long tasks, long sizeBytes, long durationMs) {
+        this.name = name;
+        this.users = users;
+        this.tasks = tasks;
+        this.sizeBytes = sizeBytes;
+        this.durationMs = durationMs;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public long getUsers() {
+        return users;
+    }
+    
+    public void setUsers(long users) {
+        this.users = users;
+    }
+    
+    public long getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+public class EndpointProfileDto {
+    
+    private String endpoint;
+    
+    private long requests;
+    
+    private double totalMillis;
+    
+    private double maxMillis;
+    
+    private List<String> users;
+    
+    // Execution samples whose top frame is this method
+    private List<HotSpotDto> hotFrames;
+    
+    // Sampled bytes allocated at this frame
+    private List<HotSpotDto> allocationSites;
+    
+    // Milliseconds blocked on a monitor or lock, by the waiting frame
+    private List<HotSpotDto> lockContention;
+    
+    // Constructors
+    public EndpointProfileDto() {}
+    
+    public EndpointProfileDto(String endpoint, long requests, double totalMillis, double maxMillis, List<String> users,
+                              List<HotSpotDto> hotFrames, List<HotSpotDto> allocationSites,
+                              List<HotSpotDto> lockContention) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.users = users;
+        this.hotFrames = hotFrames;
+        this.allocationSites = allocationSites;
+        this.lockContention = lockContention;
+    }
+    
+    // Getters and Setters
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public long getRequests() {
+        return requests;
+    }
+    
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+    
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+    
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+    
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+    
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+    
+    public List<String> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(List<String> users) {
+        this.users = users;
+    }
+    
+    public List<HotSpotDto> getHotFrames() {
+        return hotFrames;
+    }
+    
+    public void setHotFrames(List<HotSpotDto> hotFrames) {
+        this.hotFrames = hotFrames;
+    }
+    
+    public List<HotSpotDto> getAllocationSites() {
+        return allocationSites;
+    }
+    
+    public void setAllocationSites(List<HotSpotDto> allocationSites) {
+        this.allocationSites = allocationSites;
+    }
+    
+    public List<HotSpotDto> getLockContention() {
+        return lockContention;
+    }
+    
+    public void setLockContention(List<HotSpotDto> lockContention) {
+        this.lockContention = lockContention;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanagement.dto;
+
+public class HotSpotDto {
+    private String frame;
+    private long value;
+    
+    // Constructors
+    public HotSpotDto() {}
+    
+    public HotSpotDto(String frame, long value) {
+        this.frame = frame;
+        this.value = value;
+    }
+    
+    // Getters and Setters
+    public String getFrame() {
+        return frame;
+    }
+    
+    public void setFrame(String frame) {
+        this.frame = frame;
+    }
+    
+    public long getValue() {
+        return value;
+    }
+    
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
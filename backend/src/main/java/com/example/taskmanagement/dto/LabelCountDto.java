@@ -0,0 +1,31 @@
+package com.example.taskmanagement.dto;
+
+public class LabelCountDto {
+    private String label;
+    private long taskCount;
+    
+    // Constructors
+    public LabelCountDto() {}
+    
+    public LabelCountDto(String label, long taskCount) {
+        this.label = label;
+        this.taskCount = taskCount;
+    }
+    
+    // Getters and Setters
+    public String getLabel() {
+        return label;
+    }
+    
+    public void setLabel(String label) {
+        this.label = label;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanagement.dto;
+
+// Where a task goes in its column: directly after one task, directly before another, or between both
+public class MoveTaskRequest {
+    
+    private Long afterId;
+    
+    private Long beforeId;
+    
+    // Constructors
+    public MoveTaskRequest() {}
+    
+    public MoveTaskRequest(Long afterId, Long beforeId) {
+        this.afterId = afterId;
+        this.beforeId = beforeId;
+    }
+    
+    // Getters and Setters
+    public Long getAfterId() {
+        return afterId;
+    }
+    
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+    
+    public Long getBeforeId() {
+        return beforeId;
+    }
+    
+    public void setBeforeId(Long beforeId) {
+        this.beforeId = beforeId;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class NextTaskDto {
+    private Long id;
+    private String title;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime dueDate;
+    
+    // Constructors
+    public NextTaskDto() {}
+    
+    public NextTaskDto(Long id, String title, Task.TaskStatus status, Task.Priority priority, LocalDateTime dueDate) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+    }
+    
+    // Static factory method to convert from TaskDto
+    public static NextTaskDto fromDto(TaskDto task) {
+        return new NextTaskDto(
+            task.getId(),
+            task.getTitle(),
+            task.getStatus(),
+            task.getPriority(),
+            task.getDueDate()
+        );
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public Task.TaskStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Task.TaskStatus status) {
+        this.status = status;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProfileSummaryDto {
+    
+    private LocalDateTime startedAt;
+    
+    private long durationSeconds;
+    
+    private long recordingBytes;
+    
+    private List<EndpointProfileDto> endpoints;
+    
+    // Constructors
+    public ProfileSummaryDto() {}
+    
+    public ProfileSummaryDto(LocalDateTime startedAt, long durationSeconds, long recordingBytes,
+                             List<EndpointProfileDto> endpoints) {
+        this.startedAt = startedAt;
+        this.durationSeconds = durationSeconds;
+        this.recordingBytes = recordingBytes;
+        this.endpoints = endpoints;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+    
+    public long getRecordingBytes() {
+        return recordingBytes;
+    }
+    
+    public void setRecordingBytes(long recordingBytes) {
+        this.recordingBytes = recordingBytes;
+    }
+    
+    public List<EndpointProfileDto> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(List<EndpointProfileDto> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
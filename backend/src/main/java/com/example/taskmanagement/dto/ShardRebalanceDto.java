@@ -0,0 +1,42 @@
+package com.example.taskmanagement.dto;
+
+public class ShardRebalanceDto {
+    
+    private long usersReplicated;
+    private long tasksMoved;
+    private long seriesMoved;
+    
+    // Constructors
+    public ShardRebalanceDto() {}
+    
+    public ShardRebalanceDto(long usersReplicated, long tasksMoved, long seriesMoved) {
+        this.usersReplicated = usersReplicated;
+        this.tasksMoved = tasksMoved;
+        this.seriesMoved = seriesMoved;
+    }
+    
+    // Getters and Setters
+    public long getUsersReplicated() {
+        return usersReplicated;
+    }
+    
+    public void setUsersReplicated(long usersReplicated) {
+        this.usersReplicated = usersReplicated;
+    }
+    
+    public long getTasksMoved() {
+        return tasksMoved;
+    }
+    
+    public void setTasksMoved(long tasksMoved) {
+        this.tasksMoved = tasksMoved;
+    }
+    
+    public long getSeriesMoved() {
+        return seriesMoved;
+    }
+    
+    public void setSeriesMoved(long seriesMoved) {
+        this.seriesMoved = seriesMoved;
+    }
+}
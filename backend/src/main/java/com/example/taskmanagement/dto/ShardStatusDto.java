@@ -0,0 +1,42 @@
+package com.example.taskmanagement.dto;
+
+public class ShardStatusDto {
+    
+    private int shard;
+    private long tasks;
+    private long users;
+    
+    // Constructors
+    public ShardStatusDto() {}
+    
+    public ShardStatusDto(int shard, long tasks, long users) {
+        this.shard = shard;
+        this.tasks = tasks;
+        this.users = users;
+    }
+    
+    // Getters and Setters
+    public int getShard() {
+        return shard;
+    }
+    
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+    
+    public long getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+    
+    public long getUsers() {
+        return users;
+    }
+    
+    public void setUsers(long users) {
+        this.users = users;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaskAnalyticsFilter {
+    
+    private List<Task.TaskStatus> statuses;
+    
+    private List<Task.Priority> priorities;
+    
+    private Long ownerId;
+    
+    private Long assigneeId;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+    
+    // Constructors
+    public TaskAnalyticsFilter() {}
+    
+    // Getters and Setters
+    public List<Task.TaskStatus> getStatuses() {
+        return statuses;
+    }
+    
+    public void setStatuses(List<Task.TaskStatus> statuses) {
+        this.statuses = statuses;
+    }
+    
+    public List<Task.Priority> getPriorities() {
+        return priorities;
+    }
+    
+    public void setPriorities(List<Task.Priority> priorities) {
+        this.priorities = priorities;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+    
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+    
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+    
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+    
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+    
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+    
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class TaskBatchGetRequest {
+    
+    @NotNull(message = "Task ids are required")
+    private List<Long> ids;
+    
+    // Constructors
+    public TaskBatchGetRequest() {}
+    
+    public TaskBatchGetRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
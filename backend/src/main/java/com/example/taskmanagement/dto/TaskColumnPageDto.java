@@ -0,0 +1,36 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+public class TaskColumnPageDto {
+    
+    private List<TaskDto> tasks;
+    
+    // Pass as cursor to get the following page; null on the last page
+    private String nextCursor;
+    
+    // Constructors
+    public TaskColumnPageDto() {}
+    
+    public TaskColumnPageDto(List<TaskDto> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<TaskDto> tasks) {
+        this.tasks = tasks;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -2,13 +2,20 @@ package com.example.taskmanagement.dto;
 
 import com.example.taskmanagement.entity.Task;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TaskDto {
     private Long id;
     private String title;
+    
+    // Stored apart from the task (see TaskDescription); set on single tasks, left out of lists
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+    
     private Task.TaskStatus status;
     private Task.Priority priority;
     
@@ -18,6 +25,11 @@ public class TaskDto {
     private UserDto user;
     private UserDto assignedTo;
     
+    // Set for occurrences of a recurring series; projected occurrences have no id yet
+    private Long seriesId;
+    
+    private List<String> labels = new ArrayList<>();
+    
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
     
@@ -44,10 +56,10 @@ public class TaskDto {
     
     // Static factory method to convert from Entity
     public static TaskDto fromEntity(Task task) {
-        return new TaskDto(
+        TaskDto dto = new TaskDto(
             task.getId(),
             task.getTitle(),
-            task.getDescription(),
+            null,
             task.getStatus(),
             task.getPriority(),
             task.getDueDate(),
@@ -56,6 +68,9 @@ public class TaskDto {
             task.getCreatedAt(),
             task.getUpdatedAt()
         );
+        dto.setSeriesId(task.getSeriesId());
+        dto.setLabels(new ArrayList<>(task.getLabels()));
+        return dto;
     }
     
     // Getters and Setters
@@ -123,6 +138,22 @@ public class TaskDto {
         this.assignedTo = assignedTo;
     }
     
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public List<String> getLabels() {
+        return labels;
+    }
+    
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
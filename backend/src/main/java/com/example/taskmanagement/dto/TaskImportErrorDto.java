@@ -0,0 +1,33 @@
+package com.example.taskmanagement.dto;
+
+public class TaskImportErrorDto {
+    
+    private long row;
+    
+    private String message;
+    
+    // Constructors
+    public TaskImportErrorDto() {}
+    
+    public TaskImportErrorDto(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+    
+    public void setRow(long row) {
+        this.row = row;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
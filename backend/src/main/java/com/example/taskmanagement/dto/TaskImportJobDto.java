@@ -0,0 +1,151 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.importer.TaskImportFormat;
+import com.example.taskmanagement.importer.TaskImportJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaskImportJobDto {
+    
+    private String id;
+    
+    private Long ownerId;
+    
+    private TaskImportJob.Status status;
+    
+    private TaskImportFormat format;
+    
+    private long rowsRead;
+    
+    private long imported;
+    
+    private long failed;
+    
+    private List<TaskImportErrorDto> errors;
+    
+    private String failureMessage;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime finishedAt;
+    
+    // Constructors
+    public TaskImportJobDto() {}
+    
+    public static TaskImportJobDto fromJob(TaskImportJob job) {
+        TaskImportJobDto dto = new TaskImportJobDto();
+        dto.setId(job.getId());
+        dto.setOwnerId(job.getOwnerId());
+        dto.setStatus(job.getStatus());
+        dto.setFormat(job.getFormat());
+        dto.setRowsRead(job.getRowsRead());
+        dto.setImported(job.getImported());
+        dto.setFailed(job.getFailed());
+        dto.setErrors(job.getErrors());
+        dto.setFailureMessage(job.getFailureMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        return dto;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+    
+    public TaskImportJob.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(TaskImportJob.Status status) {
+        this.status = status;
+    }
+    
+    public TaskImportFormat getFormat() {
+        return format;
+    }
+    
+    public void setFormat(TaskImportFormat format) {
+        this.format = format;
+    }
+    
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    
+    public List<TaskImportErrorDto> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<TaskImportErrorDto> errors) {
+        this.errors = errors;
+    }
+    
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+    
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+
+import java.util.List;
+
+public class TaskLabelFilter {
+    
+    // Labels a task must all carry
+    private List<String> all;
+    
+    // Labels of which a task must carry at least one
+    private List<String> any;
+    
+    // Labels a task must not carry
+    private List<String> none;
+    
+    private List<Task.TaskStatus> statuses;
+    
+    private List<Task.Priority> priorities;
+    
+    private int page = 0;
+    
+    private int size = 20;
+    
+    // Constructors
+    public TaskLabelFilter() {}
+    
+    // Getters and Setters
+    public List<String> getAll() {
+        return all;
+    }
+    
+    public void setAll(List<String> all) {
+        this.all = all;
+    }
+    
+    public List<String> getAny() {
+        return any;
+    }
+    
+    public void setAny(List<String> any) {
+        this.any = any;
+    }
+    
+    public List<String> getNone() {
+        return none;
+    }
+    
+    public void setNone(List<String> none) {
+        this.none = none;
+    }
+    
+    public List<Task.TaskStatus> getStatuses() {
+        return statuses;
+    }
+    
+    public void setStatuses(List<Task.TaskStatus> statuses) {
+        this.statuses = statuses;
+    }
+    
+    public List<Task.Priority> getPriorities() {
+        return priorities;
+    }
+    
+    public void setPriorities(List<Task.Priority> priorities) {
+        this.priorities = priorities;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanagement.dto;
+
+public class TaskLookupDto {
+    
+    private Long id;
+    
+    private boolean found;
+    
+    private TaskDto task;
+    
+    // Constructors
+    public TaskLookupDto() {}
+    
+    public TaskLookupDto(Long id, boolean found, TaskDto task) {
+        this.id = id;
+        this.found = found;
+        this.task = task;
+    }
+    
+    public static TaskLookupDto of(Long id, TaskDto task) {
+        return new TaskLookupDto(id, task != null, task);
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public boolean isFound() {
+        return found;
+    }
+    
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+    
+    public TaskDto getTask() {
+        return task;
+    }
+    
+    public void setTask(TaskDto task) {
+        this.task = task;
+    }
+}
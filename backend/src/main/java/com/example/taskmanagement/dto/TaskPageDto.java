@@ -0,0 +1,80 @@
+package com.example.taskmanagement.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public class TaskPageDto {
+    
+    private List<TaskDto> content;
+    
+    private int page;
+    
+    private int size;
+    
+    private long totalElements;
+    
+    private int totalPages;
+    
+    // Constructors
+    public TaskPageDto() {}
+    
+    public TaskPageDto(List<TaskDto> content, int page, int size, long totalElements, int totalPages) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+    
+    public static TaskPageDto fromPage(Page<TaskDto> page) {
+        return new TaskPageDto(
+            page.getContent(),
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements(),
+            page.getTotalPages()
+        );
+    }
+    
+    // Getters and Setters
+    public List<TaskDto> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<TaskDto> content) {
+        this.content = content;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public long getTotalElements() {
+        return totalElements;
+    }
+    
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+    
+    public int getTotalPages() {
+        return totalPages;
+    }
+    
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.repository.TaskSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaskQuery {
+    
+    private List<Task.TaskStatus> statuses;
+    
+    private List<Task.Priority> priorities;
+    
+    private Long ownerId;
+    
+    private Long assigneeId;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+    
+    private String keyword;
+    
+    private TaskSpecifications.SortField sortBy = TaskSpecifications.SortField.DUE_DATE;
+    
+    private Sort.Direction direction = Sort.Direction.ASC;
+    
+    private int page = 0;
+    
+    private int size = 20;
+    
+    // Descriptions are left out of task lists unless asked for
+    private boolean includeDescriptions;
+    
+    // Constructors
+    public TaskQuery() {}
+    
+    // Getters and Setters
+    public List<Task.TaskStatus> getStatuses() {
+        return statuses;
+    }
+    
+    public void setStatuses(List<Task.TaskStatus> statuses) {
+        this.statuses = statuses;
+    }
+    
+    public List<Task.Priority> getPriorities() {
+        return priorities;
+    }
+    
+    public void setPriorities(List<Task.Priority> priorities) {
+        this.priorities = priorities;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+    
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+    
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+    
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+    
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+    
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+    
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+    
+    public String getKeyword() {
+        return keyword;
+    }
+    
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+    
+    public TaskSpecifications.SortField getSortBy() {
+        return sortBy;
+    }
+    
+    public void setSortBy(TaskSpecifications.SortField sortBy) {
+        this.sortBy = sortBy;
+    }
+    
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+    
+    public void setDirection(Sort.Direction direction) {
+        this.direction = direction;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isIncludeDescriptions() {
+        return includeDescriptions;
+    }
+    
+    public void setIncludeDescriptions(boolean includeDescriptions) {
+        this.includeDescriptions = includeDescriptions;
+    }
+}
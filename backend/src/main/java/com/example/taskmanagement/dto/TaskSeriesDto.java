@@ -0,0 +1,150 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskSeries;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class TaskSeriesDto {
+    private Long id;
+    private String title;
+    private String description;
+    private Task.Priority priority;
+    private String recurrenceRule;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startsAt;
+    
+    // First occurrence not yet created as a task, null once the series has ended
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime nextOccurrence;
+    
+    private int occurrenceCount;
+    private UserDto user;
+    private UserDto assignedTo;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public TaskSeriesDto() {}
+    
+    // Static factory method to convert from Entity
+    public static TaskSeriesDto fromEntity(TaskSeries series) {
+        TaskSeriesDto dto = new TaskSeriesDto();
+        dto.setId(series.getId());
+        dto.setTitle(series.getTitle());
+        dto.setDescription(series.getDescription());
+        dto.setPriority(series.getPriority());
+        dto.setRecurrenceRule(series.getRecurrenceRule());
+        dto.setStartsAt(series.getStartsAt());
+        dto.setNextOccurrence(series.getNextOccurrence());
+        dto.setOccurrenceCount(series.getOccurrenceCount());
+        dto.setUser(series.getUser() != null ? UserDto.fromEntity(series.getUser()) : null);
+        dto.setAssignedTo(series.getAssignedTo() != null ? UserDto.fromEntity(series.getAssignedTo()) : null);
+        dto.setCreatedAt(series.getCreatedAt());
+        dto.setUpdatedAt(series.getUpdatedAt());
+        return dto;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+    
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+    
+    public LocalDateTime getNextOccurrence() {
+        return nextOccurrence;
+    }
+    
+    public void setNextOccurrence(LocalDateTime nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+    
+    public int getOccurrenceCount() {
+        return occurrenceCount;
+    }
+    
+    public void setOccurrenceCount(int occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+    
+    public UserDto getUser() {
+        return user;
+    }
+    
+    public void setUser(UserDto user) {
+        this.user = user;
+    }
+    
+    public UserDto getAssignedTo() {
+        return assignedTo;
+    }
+    
+    public void setAssignedTo(UserDto assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
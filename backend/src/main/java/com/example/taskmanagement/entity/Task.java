@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "tasks")
@@ -17,8 +19,6 @@ public class Task {
     @NotBlank
     private String title;
     
-    private String description;
-    
     @Enumerated(EnumType.STRING)
     @NotNull
     private TaskStatus status = TaskStatus.TODO;
@@ -38,6 +38,18 @@ public class Task {
     @JoinColumn(name = "assigned_to")
     private User assignedTo;
     
+    // The recurring series this task is an occurrence of, if any
+    @Column(name = "series_id")
+    private Long seriesId;
+    
+    // Position within the status column, compared as a string (see RankKeys)
+    @Column(name = "rank_key")
+    private String rankKey;
+    
+    // Normalized labels (see TaskLabelsConverter), filtered through TaskLabelService
+    @Convert(converter = TaskLabelsConverter.class)
+    private List<String> labels = new ArrayList<>();
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -72,14 +84,6 @@ public class Task {
         this.title = title;
     }
     
-    public String getDescription() {
-        return description;
-    }
-    
-    public void setDescription(String description) {
-        this.description = description;
-    }
-    
     public TaskStatus getStatus() {
         return status;
     }
@@ -120,6 +124,30 @@ public class Task {
         this.assignedTo = assignedTo;
     }
     
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public String getRankKey() {
+        return rankKey;
+    }
+    
+    public void setRankKey(String rankKey) {
+        this.rankKey = rankKey;
+    }
+    
+    public List<String> getLabels() {
+        return labels;
+    }
+    
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
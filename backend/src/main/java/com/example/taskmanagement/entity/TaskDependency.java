@@ -0,0 +1,68 @@
+package com.example.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task that cannot start before another one is done. The tasks are referenced by id
+ * only, since they may live on different shards.
+ */
+@Entity
+@Table(name = "task_dependencies")
+public class TaskDependency {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @NotNull
+    @Column(name = "blocked_by_id")
+    private Long blockedById;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public Long getBlockedById() {
+        return blockedById;
+    }
+    
+    public void setBlockedById(Long blockedById) {
+        this.blockedById = blockedById;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
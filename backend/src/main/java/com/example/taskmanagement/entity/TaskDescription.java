@@ -0,0 +1,127 @@
+package com.example.taskmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The description of a task, stored apart from the task so that task lists do not read it.
+ * Text longer than the compression threshold is kept deflated, with its beginning in
+ * {@code content}; keyword search matches the rest after inflating it. Lives on the task's shard.
+ */
+@Entity
+@Table(name = "task_descriptions")
+public class TaskDescription {
+    
+    public static final int MAX_LENGTH = 200_000;
+    
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    // The whole text, or the beginning of it when compressed is set
+    private String content;
+    
+    // The whole text as deflated UTF-8
+    private byte[] compressed;
+    
+    @Column(name = "original_length")
+    private int originalLength;
+    
+    // Compresses text longer than the threshold, unless deflating does not make it smaller
+    public static TaskDescription of(Long taskId, String text, int compressThreshold) {
+        TaskDescription description = new TaskDescription();
+        description.setTaskId(taskId);
+        description.setOriginalLength(text.length());
+        description.setContent(text);
+        if (text.length() > compressThreshold) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                int prefix = Character.isHighSurrogate(text.charAt(compressThreshold - 1)) ? compressThreshold - 1 : compressThreshold;
+                description.setContent(text.substring(0, prefix));
+                description.setCompressed(deflated);
+            }
+        }
+        return description;
+    }
+    
+    public String getText() {
+        return compressed != null ? inflate(compressed, originalLength) : content;
+    }
+    
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public byte[] getCompressed() {
+        return compressed;
+    }
+    
+    public void setCompressed(byte[] compressed) {
+        this.compressed = compressed;
+    }
+    
+    public int getOriginalLength() {
+        return originalLength;
+    }
+    
+    public void setOriginalLength(int originalLength) {
+        this.originalLength = originalLength;
+    }
+    
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    // The text of a compressed description of the given length
+    public static String inflate(byte[] input, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length + 16);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed description");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed description", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
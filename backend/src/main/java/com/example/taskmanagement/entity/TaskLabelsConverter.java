@@ -0,0 +1,55 @@
+package com.example.taskmanagement.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Stores the labels of a task in one column as a sorted, comma-separated list; no labels is null.
+ * Labels are compared in lower case, so {@link #normalize} is applied before they are stored.
+ */
+@Converter
+public class TaskLabelsConverter implements AttributeConverter<List<String>, String> {
+    
+    public static final int MAX_LABELS = 20;
+    public static final int MAX_LABEL_LENGTH = 50;
+    public static final String LABEL_PATTERN = "[A-Za-z0-9][A-Za-z0-9_.:-]{0," + (MAX_LABEL_LENGTH - 1) + "}";
+    
+    @Override
+    public String convertToDatabaseColumn(List<String> labels) {
+        return format(labels);
+    }
+    
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        return parse(column);
+    }
+    
+    public static String format(List<String> labels) {
+        return labels == null || labels.isEmpty() ? null : String.join(",", labels);
+    }
+    
+    public static List<String> parse(String column) {
+        return column == null || column.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(column.split(",")));
+    }
+    
+    // Lower-cased, without duplicates and sorted
+    public static List<String> normalize(Collection<String> labels) {
+        if (labels == null) {
+            return new ArrayList<>();
+        }
+        return labels.stream()
+                .filter(Objects::nonNull)
+                .map(label -> label.trim().toLowerCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+}
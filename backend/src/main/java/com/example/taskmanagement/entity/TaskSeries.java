@@ -0,0 +1,167 @@
+package com.example.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Template of a recurring task. Occurrences up to {@code nextOccurrence} have been
+ * materialized as tasks; later ones are computed from the recurrence rule when needed.
+ */
+@Entity
+@Table(name = "task_series")
+public class TaskSeries {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    private String title;
+    
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private Task.Priority priority = Task.Priority.MEDIUM;
+    
+    @NotBlank
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+    
+    @NotNull
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+    
+    // The first occurrence not materialized yet, null once the series has ended
+    @Column(name = "next_occurrence")
+    private LocalDateTime nextOccurrence;
+    
+    // Occurrences before nextOccurrence, for rules with a COUNT
+    @Column(name = "occurrence_count")
+    private int occurrenceCount;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to")
+    private User assignedTo;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+    
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+    
+    public LocalDateTime getNextOccurrence() {
+        return nextOccurrence;
+    }
+    
+    public void setNextOccurrence(LocalDateTime nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+    
+    public int getOccurrenceCount() {
+        return occurrenceCount;
+    }
+    
+    public void setOccurrenceCount(int occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public User getAssignedTo() {
+        return assignedTo;
+    }
+    
+    public void setAssignedTo(User assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
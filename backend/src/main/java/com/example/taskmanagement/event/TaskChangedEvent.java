@@ -0,0 +1,59 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.dto.TaskDto;
+
+/**
+ * Published by {@code TaskService} whenever a task is created, updated or deleted.
+ * In-memory indexes listen for it after the surrounding transaction commits.
+ * {@link Type#BULK} signals a set-based change to many tasks; listeners should rebuild.
+ */
+public class TaskChangedEvent {
+    
+    private final Type type;
+    private final Long taskId;
+    private final TaskDto task;
+    
+    public TaskChangedEvent(Type type, Long taskId, TaskDto task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+    
+    public static TaskChangedEvent created(TaskDto task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task);
+    }
+    
+    public static TaskChangedEvent updated(TaskDto task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task);
+    }
+    
+    // The task is the last known state before deletion
+    public static TaskChangedEvent deleted(TaskDto task) {
+        return new TaskChangedEvent(Type.DELETED, task.getId(), task);
+    }
+    
+    // Deleted by a set-based statement, the task state is not available
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null);
+    }
+    
+    public static TaskChangedEvent bulk() {
+        return new TaskChangedEvent(Type.BULK, null, null);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public TaskDto getTask() {
+        return task;
+    }
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED, BULK
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanagement.event;
+
+/**
+ * Published after a user row is created, updated or soft-deleted.
+ */
+public class UserChangedEvent {
+    
+    private final Long userId;
+    
+    public UserChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagement.exception;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
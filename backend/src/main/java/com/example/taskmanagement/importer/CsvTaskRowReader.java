@@ -0,0 +1,169 @@
+package com.example.taskmanagement.importer;
+
+import com.example.taskmanagement.dto.CreateTaskRequest;
+import com.example.taskmanagement.entity.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming {@link CreateTaskRequest} properties in any order
+ * ({@code title, description, status, priority, dueDate, assignedToId, labels}; case-insensitive).
+ * Labels are separated by commas within their field.
+ * Quoted fields may contain commas, line breaks and doubled quotes. Empty fields are null.
+ */
+public class CsvTaskRowReader implements TaskRowReader {
+    
+    private enum Column { TITLE, DESCRIPTION, STATUS, PRIORITY, DUEDATE, ASSIGNEDTOID, LABELS }
+    
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private Column[] columns;
+    private boolean unterminatedQuote;
+    private long rowNumber;
+    
+    public CsvTaskRowReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+    
+    @Override
+    public TaskImportRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        
+        rowNumber++;
+        if (unterminatedQuote) {
+            return TaskImportRow.failed(rowNumber, "Unterminated quoted field");
+        }
+        if (record.size() != columns.length) {
+            return TaskImportRow.failed(rowNumber,
+                    "Expected " + columns.length + " fields but found " + record.size());
+        }
+        try {
+            return TaskImportRow.parsed(rowNumber, toRequest(record));
+        } catch (IllegalArgumentException e) {
+            return TaskImportRow.failed(rowNumber, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            columns = new Column[0];
+            return;
+        }
+        columns = new Column[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet exports often start with a byte order mark
+            String name = header.get(i).replace("\uFEFF", "").trim();
+            try {
+                columns[i] = Column.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+        }
+    }
+    
+    private CreateTaskRequest toRequest(List<String> record) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        for (int i = 0; i < columns.length; i++) {
+            String value = record.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (columns[i]) {
+                case TITLE -> request.setTitle(value);
+                case DESCRIPTION -> request.setDescription(value);
+                case STATUS -> request.setStatus(parseEnum(Task.TaskStatus.class, "status", value));
+                case PRIORITY -> request.setPriority(parseEnum(Task.Priority.class, "priority", value));
+                case DUEDATE -> request.setDueDate(parseDateTime(value));
+                case ASSIGNEDTOID -> request.setAssignedToId(parseId(value));
+                case LABELS -> request.setLabels(List.of(value.trim().split("\\s*,\\s*")));
+            }
+        }
+        return request;
+    }
+    
+    // Returns null at end of input; a record ends at an unquoted line break
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        unterminatedQuote = false;
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    record.add(field.toString());
+                    return record;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                record.add(field.toString());
+                return record;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+    
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid dueDate: " + value);
+        }
+    }
+    
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid assignedToId: " + value);
+        }
+    }
+}
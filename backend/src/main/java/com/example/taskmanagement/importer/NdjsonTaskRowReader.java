@@ -0,0 +1,53 @@
+package com.example.taskmanagement.importer;
+
+import com.example.taskmanagement.dto.CreateTaskRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Newline-delimited JSON: one {@link CreateTaskRequest} object per line. Each line is parsed
+ * on its own, so a malformed line fails only its row. Blank lines are skipped.
+ */
+public class NdjsonTaskRowReader implements TaskRowReader {
+    
+    private final BufferedReader reader;
+    private final ObjectReader requestReader;
+    private long rowNumber;
+    
+    public NdjsonTaskRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader);
+        this.requestReader = objectMapper.readerFor(CreateTaskRequest.class);
+    }
+    
+    @Override
+    public TaskImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        
+        rowNumber++;
+        try {
+            CreateTaskRequest request = requestReader.readValue(line);
+            if (request == null) {
+                return TaskImportRow.failed(rowNumber, "Row is not a JSON object");
+            }
+            return TaskImportRow.parsed(rowNumber, request);
+        } catch (JsonProcessingException e) {
+            return TaskImportRow.failed(rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanagement.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.Reader;
+
+public enum TaskImportFormat {
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+    
+    private final MediaType mediaType;
+    
+    TaskImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public static TaskImportFormat forContentType(MediaType contentType) {
+        for (TaskImportFormat format : values()) {
+            if (format.mediaType.includes(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+    
+    public TaskRowReader open(Reader reader, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvTaskRowReader(reader) : new NdjsonTaskRowReader(reader, objectMapper);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.taskmanagement.importer;
+
+import com.example.taskmanagement.dto.TaskImportErrorDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import. The uploading request thread is the only writer; status
+ * requests read the counters concurrently. Only the first {@code maxErrors} row
+ * errors are kept, the failed count covers all of them.
+ */
+public class TaskImportJob {
+    
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+    
+    private final String id;
+    private final Long ownerId;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<TaskImportErrorDto> errors = new ArrayList<>();
+    private volatile Status status = Status.PENDING;
+    private volatile TaskImportFormat format;
+    private volatile String failureMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    
+    public TaskImportJob(String id, Long ownerId, int maxErrors) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.maxErrors = maxErrors;
+    }
+    
+    // A job accepts exactly one upload
+    public synchronized boolean start(TaskImportFormat format) {
+        if (status != Status.PENDING) {
+            return false;
+        }
+        this.format = format;
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+        return true;
+    }
+    
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+    
+    public void rowsImported(int count) {
+        imported.addAndGet(count);
+    }
+    
+    public void rowFailed(long rowNumber, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new TaskImportErrorDto(rowNumber, message));
+            }
+        }
+    }
+    
+    public void complete() {
+        finish(Status.COMPLETED, null);
+    }
+    
+    public void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+    
+    private void finish(Status status, String message) {
+        this.failureMessage = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+    
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+    
+    public List<TaskImportErrorDto> getErrors() {
+        List<TaskImportErrorDto> copy;
+        synchronized (errors) {
+            copy = new ArrayList<>(errors);
+        }
+        // Assignee and insert failures are found per chunk, after later rows failed validation
+        copy.sort(Comparator.comparingLong(TaskImportErrorDto::getRow));
+        return copy;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+    
+    public long getImported() {
+        return imported.get();
+    }
+    
+    public long getFailed() {
+        return failed.get();
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public TaskImportFormat getFormat() {
+        return format;
+    }
+    
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanagement.importer;
+
+import com.example.taskmanagement.dto.CreateTaskRequest;
+
+/**
+ * One data record of an import file: either a parsed request or the reason it could not be parsed.
+ * Row numbers count data records from 1; a CSV header is not counted.
+ */
+public class TaskImportRow {
+    
+    private final long rowNumber;
+    private final CreateTaskRequest request;
+    private final String error;
+    
+    private TaskImportRow(long rowNumber, CreateTaskRequest request, String error) {
+        this.rowNumber = rowNumber;
+        this.request = request;
+        this.error = error;
+    }
+    
+    public static TaskImportRow parsed(long rowNumber, CreateTaskRequest request) {
+        return new TaskImportRow(rowNumber, request, null);
+    }
+    
+    public static TaskImportRow failed(long rowNumber, String error) {
+        return new TaskImportRow(rowNumber, null, error);
+    }
+    
+    public long getRowNumber() {
+        return rowNumber;
+    }
+    
+    public CreateTaskRequest getRequest() {
+        return request;
+    }
+    
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads import records one at a time from an upload stream, so the file is never held in memory.
+ */
+public interface TaskRowReader extends Closeable {
+    
+    // Returns null once the input is exhausted
+    TaskImportRow next() throws IOException;
+}
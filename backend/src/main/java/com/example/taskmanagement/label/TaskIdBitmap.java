@@ -0,0 +1,482 @@
+package com.example.taskmanagement.label;
+
+import java.util.Arrays;
+
+/**
+ * A compressed set of task ids in the manner of Roaring bitmaps. Ids are grouped into chunks by
+ * their upper 16 bits. A chunk of up to {@link #ARRAY_LIMIT} ids is a sorted array of their lower
+ * 16 bits, a fuller one a 65536-bit bitmap, so sparse and dense sets both stay small and dense
+ * chunks are combined a 64-bit word at a time. Ids must lie in [0, 2^32).
+ * <p>
+ * {@link #and}, {@link #or} and {@link #andNot} return new bitmaps and leave their operands
+ * unchanged. Not thread-safe.
+ */
+public class TaskIdBitmap {
+    
+    static final int ARRAY_LIMIT = 4096;
+    
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+    private static final char[] NO_KEYS = new char[0];
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+    
+    // Upper 16 bits of the ids in each chunk, ascending
+    private char[] keys;
+    private Chunk[] chunks;
+    private int size;
+    
+    public TaskIdBitmap() {
+        this(NO_KEYS, NO_CHUNKS, 0);
+    }
+    
+    private TaskIdBitmap(char[] keys, Chunk[] chunks, int size) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.size = size;
+    }
+    
+    public boolean add(long id) {
+        char key = key(id);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            int before = chunks[index].cardinality();
+            chunks[index] = chunks[index].add((char) id);
+            return chunks[index].cardinality() > before;
+        }
+        insertChunk(-index - 1, key, new ArrayChunk((char) id));
+        return true;
+    }
+    
+    public boolean remove(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        int before = chunks[index].cardinality();
+        chunks[index] = chunks[index].remove((char) id);
+        if (chunks[index].cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+            chunks[--size] = null;
+            return true;
+        }
+        return chunks[index].cardinality() < before;
+    }
+    
+    public boolean contains(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (id >>> 16));
+        return index >= 0 && chunks[index].contains((char) id);
+    }
+    
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+        return cardinality;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    // Up to limit ids in ascending order, starting with the offset-th; whole chunks are skipped by their counts
+    public long[] select(long offset, int limit) {
+        long[] ids = new long[(int) Math.max(0, Math.min(limit, cardinality() - offset))];
+        int count = 0;
+        long skip = offset;
+        for (int i = 0; i < size && count < ids.length; i++) {
+            int cardinality = chunks[i].cardinality();
+            if (skip >= cardinality) {
+                skip -= cardinality;
+                continue;
+            }
+            count = chunks[i].copyTo((long) keys[i] << 16, (int) skip, ids, count);
+            skip = 0;
+        }
+        return ids;
+    }
+    
+    public static TaskIdBitmap and(TaskIdBitmap left, TaskIdBitmap right) {
+        TaskIdBitmap result = new TaskIdBitmap(new char[Math.min(left.size, right.size)],
+                new Chunk[Math.min(left.size, right.size)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.append(left.keys[i], left.chunks[i++].and(right.chunks[j++]));
+            }
+        }
+        return result;
+    }
+    
+    public static TaskIdBitmap or(TaskIdBitmap left, TaskIdBitmap right) {
+        TaskIdBitmap result = new TaskIdBitmap(new char[left.size + right.size], new Chunk[left.size + right.size], 0);
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.append(left.keys[i], left.chunks[i++].copy());
+            } else if (i == left.size || left.keys[i] > right.keys[j]) {
+                result.append(right.keys[j], right.chunks[j++].copy());
+            } else {
+                result.append(left.keys[i], left.chunks[i++].or(right.chunks[j++]));
+            }
+        }
+        return result;
+    }
+    
+    // Ids in left but not in right
+    public static TaskIdBitmap andNot(TaskIdBitmap left, TaskIdBitmap right) {
+        TaskIdBitmap result = new TaskIdBitmap(new char[left.size], new Chunk[left.size], 0);
+        int j = 0;
+        for (int i = 0; i < left.size; i++) {
+            while (j < right.size && right.keys[j] < left.keys[i]) {
+                j++;
+            }
+            result.append(left.keys[i], j < right.size && right.keys[j] == left.keys[i]
+                    ? left.chunks[i].andNot(right.chunks[j])
+                    : left.chunks[i].copy());
+        }
+        return result;
+    }
+    
+    private static char key(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Task id out of bitmap range: " + id);
+        }
+        return (char) (id >>> 16);
+    }
+    
+    // Keys are appended in ascending order into arrays sized for the result; empty chunks are dropped
+    private void append(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            keys[size] = key;
+            chunks[size++] = chunk;
+        }
+    }
+    
+    private void insertChunk(int index, char key, Chunk chunk) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        size++;
+    }
+    
+    // The lower 16 bits of the ids sharing one key; changes return the chunk to keep, which may be a new one
+    private abstract static class Chunk {
+        
+        abstract int cardinality();
+        
+        abstract boolean contains(char value);
+        
+        abstract Chunk add(char value);
+        
+        abstract Chunk remove(char value);
+        
+        abstract Chunk and(Chunk other);
+        
+        abstract Chunk or(Chunk other);
+        
+        abstract Chunk andNot(Chunk other);
+        
+        abstract Chunk copy();
+        
+        // Writes ids from the skip-th on while the target has room; returns the new target count
+        abstract int copyTo(long base, int skip, long[] target, int count);
+    }
+    
+    private static final class ArrayChunk extends Chunk {
+        
+        private char[] values;
+        private int cardinality;
+        
+        ArrayChunk(char value) {
+            this.values = new char[] { value, 0, 0, 0 };
+            this.cardinality = 1;
+        }
+        
+        ArrayChunk(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+        
+        @Override
+        Chunk add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+        
+        @Override
+        Chunk remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+        
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int j = 0;
+                for (int i = 0; i < cardinality && j < array.cardinality; ) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i++];
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+        
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            ArrayChunk array = (ArrayChunk) other;
+            if (cardinality + array.cardinality > ARRAY_LIMIT) {
+                return toBitmap().or(array);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+        
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+        
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, cardinality), cardinality);
+        }
+        
+        @Override
+        int copyTo(long base, int skip, long[] target, int count) {
+            for (int i = skip; i < cardinality && count < target.length; i++) {
+                target[count++] = base | values[i];
+            }
+            return count;
+        }
+        
+        private BitmapChunk toBitmap() {
+            long[] words = new long[BitmapChunk.WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapChunk(words, cardinality);
+        }
+    }
+    
+    private static final class BitmapChunk extends Chunk {
+        
+        static final int WORDS = 1024;
+        
+        private final long[] words;
+        private int cardinality;
+        
+        BitmapChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+        
+        @Override
+        Chunk add(char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+        
+        @Override
+        Chunk remove(char value) {
+            if (contains(value)) {
+                words[value >>> 6] &= ~(1L << value);
+                cardinality--;
+            }
+            return compact();
+        }
+        
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            long[] result = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+            }
+            return counted(result).compact();
+        }
+        
+        @Override
+        Chunk or(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] otherWords = ((BitmapChunk) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+            // Two overlapping arrays over the limit can still fit one
+            return counted(result).compact();
+        }
+        
+        @Override
+        Chunk andNot(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapChunk) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~otherWords[i];
+                }
+            }
+            return counted(result).compact();
+        }
+        
+        @Override
+        Chunk copy() {
+            return new BitmapChunk(words.clone(), cardinality);
+        }
+        
+        @Override
+        int copyTo(long base, int skip, long[] target, int count) {
+            for (int i = 0; i < WORDS && count < target.length; i++) {
+                long word = words[i];
+                int bits = Long.bitCount(word);
+                if (skip >= bits) {
+                    skip -= bits;
+                    continue;
+                }
+                while (word != 0 && count < target.length) {
+                    long lowest = word & -word;
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        target[count++] = base | ((long) i << 6) | Long.numberOfTrailingZeros(lowest);
+                    }
+                    word ^= lowest;
+                }
+            }
+            return count;
+        }
+        
+        private static BitmapChunk counted(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return new BitmapChunk(words, cardinality);
+        }
+        
+        // Chunks that fall back to the array limit are stored as arrays again
+        private Chunk compact() {
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, count);
+        }
+    }
+}
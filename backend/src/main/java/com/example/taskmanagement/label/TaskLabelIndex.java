@@ -0,0 +1,155 @@
+package com.example.taskmanagement.label;
+
+import com.example.taskmanagement.entity.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from each label to the {@link TaskIdBitmap} of the tasks carrying it, next to
+ * one bitmap per status and per priority. A filter is answered by combining bitmaps, starting
+ * with the smallest required set, so its cost follows the number of chunks involved rather than
+ * the number of tasks. Not thread-safe.
+ */
+public class TaskLabelIndex {
+    
+    private final Map<String, TaskIdBitmap> tasksByLabel = new HashMap<>();
+    private final TaskIdBitmap[] tasksByStatus = bitmaps(Task.TaskStatus.values().length);
+    private final TaskIdBitmap[] tasksByPriority = bitmaps(Task.Priority.values().length);
+    private TaskIdBitmap allTasks = new TaskIdBitmap();
+    
+    // Labels of labeled tasks, to update the label bitmaps when a task changes
+    private final Map<Long, List<String>> labelsByTask = new HashMap<>();
+    
+    public void upsert(long taskId, Task.TaskStatus status, Task.Priority priority, List<String> labels) {
+        remove(taskId);
+        allTasks.add(taskId);
+        tasksByStatus[status.ordinal()].add(taskId);
+        tasksByPriority[priority.ordinal()].add(taskId);
+        if (labels != null && !labels.isEmpty()) {
+            for (String label : labels) {
+                tasksByLabel.computeIfAbsent(label, key -> new TaskIdBitmap()).add(taskId);
+            }
+            labelsByTask.put(taskId, List.copyOf(labels));
+        }
+    }
+    
+    public void remove(long taskId) {
+        if (!allTasks.remove(taskId)) {
+            return;
+        }
+        for (TaskIdBitmap tasks : tasksByStatus) {
+            tasks.remove(taskId);
+        }
+        for (TaskIdBitmap tasks : tasksByPriority) {
+            tasks.remove(taskId);
+        }
+        List<String> labels = labelsByTask.remove(taskId);
+        if (labels != null) {
+            for (String label : labels) {
+                TaskIdBitmap tasks = tasksByLabel.get(label);
+                tasks.remove(taskId);
+                if (tasks.isEmpty()) {
+                    tasksByLabel.remove(label);
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        tasksByLabel.clear();
+        labelsByTask.clear();
+        for (TaskIdBitmap[] bitmaps : List.of(tasksByStatus, tasksByPriority)) {
+            for (int i = 0; i < bitmaps.length; i++) {
+                bitmaps[i] = new TaskIdBitmap();
+            }
+        }
+        allTasks = new TaskIdBitmap();
+    }
+    
+    public long taskCount() {
+        return allTasks.cardinality();
+    }
+    
+    public int labelCount() {
+        return tasksByLabel.size();
+    }
+    
+    // Labels with their task counts, most used first
+    public Map<String, Long> labelCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        tasksByLabel.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().cardinality()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return counts;
+    }
+    
+    /**
+     * Tasks carrying every label of {@code allOf}, at least one of {@code anyOf} and none of
+     * {@code noneOf}, in one of the statuses and one of the priorities. Empty or null arguments
+     * do not restrict the result. The returned bitmap may be one of the index's own; do not modify it.
+     */
+    public TaskIdBitmap match(Collection<String> allOf, Collection<String> anyOf, Collection<String> noneOf,
+                              Collection<Task.TaskStatus> statuses, Collection<Task.Priority> priorities) {
+        List<TaskIdBitmap> required = new ArrayList<>();
+        if (allOf != null) {
+            for (String label : allOf) {
+                TaskIdBitmap tasks = tasksByLabel.get(label);
+                if (tasks == null) {
+                    return new TaskIdBitmap();
+                }
+                required.add(tasks);
+            }
+        }
+        if (anyOf != null && !anyOf.isEmpty()) {
+            required.add(union(anyOf.stream().map(tasksByLabel::get).toList()));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            required.add(union(statuses.stream().map(status -> tasksByStatus[status.ordinal()]).toList()));
+        }
+        if (priorities != null && !priorities.isEmpty()) {
+            required.add(union(priorities.stream().map(priority -> tasksByPriority[priority.ordinal()]).toList()));
+        }
+        
+        // Intersecting the smallest sets first keeps every intermediate result small
+        required.sort(Comparator.comparingLong(TaskIdBitmap::cardinality));
+        TaskIdBitmap result = required.isEmpty() ? allTasks : required.get(0);
+        for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+            result = TaskIdBitmap.and(result, required.get(i));
+        }
+        if (noneOf != null) {
+            for (String label : noneOf) {
+                TaskIdBitmap excluded = tasksByLabel.get(label);
+                if (excluded != null && !result.isEmpty()) {
+                    result = TaskIdBitmap.andNot(result, excluded);
+                }
+            }
+        }
+        return result;
+    }
+    
+    // Missing bitmaps stand for labels no task carries
+    private static TaskIdBitmap union(List<TaskIdBitmap> bitmaps) {
+        TaskIdBitmap result = new TaskIdBitmap();
+        for (TaskIdBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                result = TaskIdBitmap.or(result, bitmap);
+            }
+        }
+        return result;
+    }
+    
+    private static TaskIdBitmap[] bitmaps(int count) {
+        TaskIdBitmap[] bitmaps = new TaskIdBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new TaskIdBitmap();
+        }
+        return bitmaps;
+    }
+}
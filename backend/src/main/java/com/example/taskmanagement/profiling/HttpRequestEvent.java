@@ -0,0 +1,36 @@
+package com.example.taskmanagement.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans one controller invocation on its request thread, so samples taken on that thread
+ * in the meantime can be attributed to the endpoint and user. Costs nothing unless a
+ * recording has it enabled.
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category("Task Management")
+@Description("Handling of one request by a controller")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+    
+    public static final String NAME = "com.example.taskmanagement.HttpRequest";
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Path")
+    @Description("Matched request mapping pattern")
+    public String path;
+    
+    @Label("User")
+    public String user;
+    
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,285 @@
+package com.example.taskmanagement.profiling;
+
+import com.example.taskmanagement.dto.EndpointProfileDto;
+import com.example.taskmanagement.dto.HotSpotDto;
+import com.example.taskmanagement.dto.ProfileSummaryDto;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a bounded Java Flight Recorder session and summarises it in-process. Execution,
+ * allocation and lock samples are attributed to the {@link HttpRequestEvent} that was open
+ * on the same thread at the time, which gives a hot-spot breakdown per endpoint. Only one
+ * session runs at a time. Only created with {@code app.profiling.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.profiling.enabled", havingValue = "true")
+public class RequestProfiler {
+    
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+    
+    // Shorter waits are normal hand-offs rather than contention
+    private static final Duration LOCK_THRESHOLD = Duration.ofMillis(10);
+    private static final String OUTSIDE_REQUESTS = "(outside requests)";
+    private static final int MAX_USERS = 20;
+    
+    private final Duration maxDuration;
+    private final long maxBytes;
+    private final Duration samplePeriod;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public RequestProfiler(@Value("${app.profiling.max-seconds:300}") long maxSeconds,
+                           @Value("${app.profiling.max-bytes:104857600}") long maxBytes,
+                           @Value("${app.profiling.sample-period-ms:10}") long samplePeriodMillis) {
+        this.maxDuration = Duration.ofSeconds(maxSeconds);
+        this.maxBytes = maxBytes;
+        this.samplePeriod = Duration.ofMillis(samplePeriodMillis);
+    }
+    
+    // Blocks the calling thread for the duration of the recording
+    public ProfileSummaryDto profile(Duration duration, int top) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + maxDuration.toSeconds() + " seconds");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("A profiling session is already running");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("task-management-", ".jfr");
+            LocalDateTime startedAt = LocalDateTime.now();
+            record(duration, file);
+            return new ProfileSummaryDto(startedAt, duration.toSeconds(), Files.size(file), summarize(file, top));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(file);
+            running.set(false);
+        }
+    }
+    
+    private void record(Duration duration, Path file) throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.setName("task-management-profile");
+            recording.setToDisk(true);
+            recording.setMaxSize(maxBytes);
+            recording.enable(HttpRequestEvent.class);
+            recording.enable(EXECUTION_SAMPLE).withPeriod(samplePeriod);
+            recording.enable(ALLOCATION_SAMPLE).with("throttle", "300/s").withStackTrace();
+            recording.enable(MONITOR_ENTER).withThreshold(LOCK_THRESHOLD).withStackTrace();
+            recording.enable(THREAD_PARK).withThreshold(LOCK_THRESHOLD).withStackTrace();
+            recording.start();
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                // Summarise what was recorded so far
+                Thread.currentThread().interrupt();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+    }
+    
+    private List<EndpointProfileDto> summarize(Path file, int top) throws IOException {
+        // First pass: request spans per thread; samples may precede their request in the file
+        Map<String, EndpointStats> endpoints = new HashMap<>();
+        Map<Long, List<RequestSpan>> spansByThread = new HashMap<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (!event.getEventType().getName().equals(HttpRequestEvent.NAME) || event.getThread() == null) {
+                    continue;
+                }
+                String endpoint = event.getString("method") + " " + event.getString("path");
+                EndpointStats stats = endpoints.computeIfAbsent(endpoint, EndpointStats::new);
+                stats.addRequest(event.getDuration(), event.getString("user"));
+                spansByThread.computeIfAbsent(event.getThread().getJavaThreadId(), id -> new ArrayList<>())
+                        .add(new RequestSpan(toNanos(event.getStartTime()), toNanos(event.getEndTime()), stats));
+            }
+        }
+        spansByThread.values().forEach(spans -> spans.sort(Comparator.comparingLong(RequestSpan::start)));
+        
+        // Second pass: samples, attributed by thread and time
+        EndpointStats outside = new EndpointStats(OUTSIDE_REQUESTS);
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                switch (type) {
+                    case EXECUTION_SAMPLE -> {
+                        EndpointStats stats = attribute(spansByThread, event.getThread("sampledThread"), event, outside);
+                        stats.hotFrames.merge(frameName(topFrame(event.getStackTrace())), 1L, Long::sum);
+                    }
+                    case ALLOCATION_SAMPLE -> {
+                        EndpointStats stats = attribute(spansByThread, event.getThread(), event, outside);
+                        stats.allocationSites.merge(frameName(topFrame(event.getStackTrace())),
+                                event.getLong("weight"), Long::sum);
+                    }
+                    case MONITOR_ENTER, THREAD_PARK -> {
+                        // Idle pool threads park outside requests, which is not contention
+                        EndpointStats stats = attribute(spansByThread, event.getThread(), event, null);
+                        if (stats != null) {
+                            stats.lockNanos.merge(lockName(event), event.getDuration().toNanos(), Long::sum);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        
+        List<EndpointProfileDto> result = new ArrayList<>();
+        endpoints.values().stream()
+                .sorted(Comparator.comparingLong((EndpointStats stats) -> stats.totalNanos).reversed())
+                .forEach(stats -> result.add(stats.toDto(top)));
+        if (!outside.hotFrames.isEmpty() || !outside.allocationSites.isEmpty()) {
+            result.add(outside.toDto(top));
+        }
+        return result;
+    }
+    
+    private static EndpointStats attribute(Map<Long, List<RequestSpan>> spansByThread, RecordedThread thread,
+                                           RecordedEvent event, EndpointStats fallback) {
+        List<RequestSpan> spans = thread != null ? spansByThread.get(thread.getJavaThreadId()) : null;
+        if (spans == null) {
+            return fallback;
+        }
+        long time = toNanos(event.getStartTime());
+        // Last span starting at or before the sample; spans on one thread never overlap
+        int low = 0;
+        int high = spans.size() - 1;
+        RequestSpan match = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (spans.get(mid).start() <= time) {
+                match = spans.get(mid);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return match != null && time <= match.end() ? match.stats() : fallback;
+    }
+    
+    private static RecordedFrame topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        return stackTrace.getFrames().get(0);
+    }
+    
+    // The lock's class and the first frame above the JDK's locking internals
+    private static String lockName(RecordedEvent event) {
+        RecordedClass lockClass = event.getEventType().getName().equals(MONITOR_ENTER)
+                ? event.getClass("monitorClass")
+                : event.getClass("parkedClass");
+        RecordedFrame waiter = null;
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.util.concurrent.locks.") && !type.startsWith("jdk.internal.misc.")) {
+                    waiter = frame;
+                    break;
+                }
+            }
+        }
+        return (lockClass != null ? lockClass.getName() : "(unknown)") + " in " + frameName(waiter);
+    }
+    
+    private static String frameName(RecordedFrame frame) {
+        if (frame == null) {
+            return "(no stack trace)";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+    
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+    
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+    
+    private record RequestSpan(long start, long end, EndpointStats stats) {
+    }
+    
+    private static class EndpointStats {
+        private final String endpoint;
+        private final TreeSet<String> users = new TreeSet<>();
+        private final Map<String, Long> hotFrames = new HashMap<>();
+        private final Map<String, Long> allocationSites = new HashMap<>();
+        private final Map<String, Long> lockNanos = new HashMap<>();
+        private long requests;
+        private long totalNanos;
+        private long maxNanos;
+        
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+        
+        void addRequest(Duration duration, String user) {
+            requests++;
+            totalNanos += duration.toNanos();
+            maxNanos = Math.max(maxNanos, duration.toNanos());
+            if (user != null && users.size() < MAX_USERS) {
+                users.add(user);
+            }
+        }
+        
+        EndpointProfileDto toDto(int top) {
+            List<HotSpotDto> lockMillis = topEntries(lockNanos, top);
+            lockMillis.forEach(hotSpot -> hotSpot.setValue(Duration.ofNanos(hotSpot.getValue()).toMillis()));
+            return new EndpointProfileDto(
+                    endpoint,
+                    requests,
+                    totalNanos / 1_000_000.0,
+                    maxNanos / 1_000_000.0,
+                    new ArrayList<>(users),
+                    topEntries(hotFrames, top),
+                    topEntries(allocationSites, top),
+                    lockMillis);
+        }
+        
+        private static List<HotSpotDto> topEntries(Map<String, Long> values, int top) {
+            return values.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(top)
+                    .map(entry -> new HotSpotDto(entry.getKey(), entry.getValue()))
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+}
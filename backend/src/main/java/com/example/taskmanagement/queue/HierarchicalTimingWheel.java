@@ -0,0 +1,266 @@
+package com.example.taskmanagement.queue;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of task deadlines. Level 0 has one slot per tick, and each slot of a
+ * higher level spans a full turn of the level below; when a lower wheel wraps, the next slot of
+ * the level above is cascaded down. Scheduling, rescheduling and cancelling a task are O(1), and
+ * advancing costs O(1) per tick plus the entries that expire or cascade. Deadlines beyond the
+ * top level are parked in its furthest slot and placed again each time they cascade.
+ * <p>
+ * Entries are nodes of intrusive doubly linked lists kept in primitive arrays and found by task
+ * id through an open-addressing index, about 50 bytes per entry and no objects.
+ * A deadline never expires early and at most one tick late. Not thread-safe.
+ */
+public class HierarchicalTimingWheel {
+    
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int NONE = -1;
+    
+    private final long tickMillis;
+    private final int levels;
+    private final long spanTicks;
+    private long currentTick;
+    
+    // The first levels * SLOTS nodes are the list heads of the slots; entry nodes follow
+    private long[] taskIds;
+    private long[] deadlines;
+    private int[] next;
+    private int[] prev;
+    private int nodeCount;
+    private int freeNode = NONE;
+    private int size;
+    
+    // Task id to node; node 0 is a list head, so 0 marks an empty bucket
+    private long[] indexKeys;
+    private int[] indexNodes;
+    
+    public HierarchicalTimingWheel(long tickMillis, int levels, long nowMillis) {
+        if (tickMillis < 1 || levels < 1 || SLOT_BITS * levels > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + " ms, " + levels + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.spanTicks = 1L << (SLOT_BITS * levels);
+        int heads = levels * SLOTS;
+        this.taskIds = new long[heads + 16];
+        this.deadlines = new long[heads + 16];
+        this.next = new int[heads + 16];
+        this.prev = new int[heads + 16];
+        this.indexKeys = new long[32];
+        this.indexNodes = new int[32];
+        clear(nowMillis);
+    }
+    
+    // Smallest number of levels whose span covers the given duration
+    public static int levelsFor(long tickMillis, long spanMillis) {
+        int levels = 1;
+        while (levels < 62 / SLOT_BITS && tickMillis << (SLOT_BITS * levels) <= spanMillis) {
+            levels++;
+        }
+        return levels;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public long spanMillis() {
+        return spanTicks * tickMillis;
+    }
+    
+    public boolean contains(long taskId) {
+        return indexNodes[bucketOf(taskId)] != 0;
+    }
+    
+    /**
+     * Schedules the task to expire at the given epoch milli, replacing its previous deadline.
+     * Deadlines that have already passed expire on the next tick.
+     */
+    public void schedule(long taskId, long deadlineMillis) {
+        int bucket = bucketOf(taskId);
+        int node = indexNodes[bucket];
+        if (node != 0) {
+            unlink(node);
+        } else {
+            node = allocate();
+            taskIds[node] = taskId;
+            indexKeys[bucket] = taskId;
+            indexNodes[bucket] = node;
+            if (++size * 2 > indexNodes.length) {
+                resizeIndex(indexNodes.length * 2);
+            }
+        }
+        deadlines[node] = deadlineMillis;
+        place(node, currentTick + 1);
+    }
+    
+    public boolean cancel(long taskId) {
+        int bucket = bucketOf(taskId);
+        int node = indexNodes[bucket];
+        if (node == 0) {
+            return false;
+        }
+        unlink(node);
+        release(node, bucket);
+        return true;
+    }
+    
+    /**
+     * Advances the wheel to the given epoch milli, removing the entries whose deadline has
+     * passed and handing them to the handler tick by tick.
+     */
+    public void advance(long nowMillis, ExpiryHandler handler) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0 && targetTick > currentTick) {
+            currentTick = targetTick;
+            return;
+        }
+        while (currentTick < targetTick) {
+            tick(handler);
+        }
+    }
+    
+    public void clear(long nowMillis) {
+        for (int head = 0; head < levels * SLOTS; head++) {
+            next[head] = head;
+            prev[head] = head;
+        }
+        nodeCount = levels * SLOTS;
+        freeNode = NONE;
+        size = 0;
+        Arrays.fill(indexNodes, 0);
+        currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+    
+    private void tick(ExpiryHandler handler) {
+        currentTick++;
+        // A wrapped wheel pulls the next slot down from the level above, highest level first
+        int wrapped = 0;
+        while (wrapped + 1 < levels && (currentTick & ((1L << (SLOT_BITS * (wrapped + 1))) - 1)) == 0) {
+            wrapped++;
+        }
+        for (int level = wrapped; level > 0; level--) {
+            cascade(level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+        }
+        
+        int head = (int) (currentTick & SLOT_MASK);
+        while (next[head] != head) {
+            int node = next[head];
+            long taskId = taskIds[node];
+            long deadline = deadlines[node];
+            unlink(node);
+            release(node, bucketOf(taskId));
+            handler.expired(taskId, deadline);
+        }
+    }
+    
+    private void cascade(int head) {
+        int node = next[head];
+        next[head] = head;
+        prev[head] = head;
+        while (node != head) {
+            int following = next[node];
+            // Runs before the current slot fires, so entries due this tick still make it
+            place(node, currentTick);
+            node = following;
+        }
+    }
+    
+    private void place(int node, long earliestTick) {
+        long tick = Math.max(Math.floorDiv(deadlines[node] + tickMillis - 1, tickMillis), earliestTick);
+        long delta = Math.min(tick - currentTick, spanTicks - 1);
+        tick = currentTick + delta;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int head = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        int last = prev[head];
+        next[last] = node;
+        prev[node] = last;
+        next[node] = head;
+        prev[head] = node;
+    }
+    
+    private void unlink(int node) {
+        next[prev[node]] = next[node];
+        prev[next[node]] = prev[node];
+    }
+    
+    private int allocate() {
+        if (freeNode != NONE) {
+            int node = freeNode;
+            freeNode = next[node];
+            return node;
+        }
+        if (nodeCount == taskIds.length) {
+            int capacity = nodeCount + (nodeCount >> 1);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+        return nodeCount++;
+    }
+    
+    private void release(int node, int bucket) {
+        next[node] = freeNode;
+        freeNode = node;
+        size--;
+        removeFromIndex(bucket);
+    }
+    
+    // Linear probing: the bucket holding the task, or the empty bucket where it would go
+    private int bucketOf(long taskId) {
+        int mask = indexNodes.length - 1;
+        int bucket = hash(taskId) & mask;
+        while (indexNodes[bucket] != 0 && indexKeys[bucket] != taskId) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+    
+    // Shifts later entries of the probe run back into the gap, so lookups need no tombstones
+    private void removeFromIndex(int bucket) {
+        int mask = indexNodes.length - 1;
+        int gap = bucket;
+        for (int i = (gap + 1) & mask; indexNodes[i] != 0; i = (i + 1) & mask) {
+            int home = hash(indexKeys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                indexKeys[gap] = indexKeys[i];
+                indexNodes[gap] = indexNodes[i];
+                gap = i;
+            }
+        }
+        indexNodes[gap] = 0;
+    }
+    
+    private void resizeIndex(int capacity) {
+        long[] oldKeys = indexKeys;
+        int[] oldNodes = indexNodes;
+        indexKeys = new long[capacity];
+        indexNodes = new int[capacity];
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] != 0) {
+                int bucket = bucketOf(oldKeys[i]);
+                indexKeys[bucket] = oldKeys[i];
+                indexNodes[bucket] = oldNodes[i];
+            }
+        }
+    }
+    
+    private static int hash(long taskId) {
+        long h = taskId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        
+        void expired(long taskId, long deadlineMillis);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.taskmanagement.queue;
+
+import com.example.taskmanagement.dto.NextTaskDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Binary min-heap of tasks with a position index, so a task can be inserted, re-ranked
+ * or removed by id in O(log n). The head is the task to work on next: highest priority
+ * first, then earliest due date (tasks without one last), then lowest id.
+ * Not thread-safe.
+ */
+public class IndexedTaskHeap {
+    
+    public static final Comparator<NextTaskDto> RANKING = Comparator
+            .comparing(NextTaskDto::getPriority, Comparator.reverseOrder())
+            .thenComparing(NextTaskDto::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(NextTaskDto::getId);
+    
+    private NextTaskDto[] heap = new NextTaskDto[16];
+    private int size;
+    private final Map<Long, Integer> positions = new HashMap<>();
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean contains(long taskId) {
+        return positions.containsKey(taskId);
+    }
+    
+    public Set<Long> taskIds() {
+        return positions.keySet();
+    }
+    
+    public void upsert(NextTaskDto task) {
+        Integer position = positions.get(task.getId());
+        if (position == null) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            place(task, size++);
+            siftUp(size - 1);
+            return;
+        }
+        heap[position] = task;
+        siftDown(siftUp(position));
+    }
+    
+    public boolean remove(long taskId) {
+        Integer position = positions.remove(taskId);
+        if (position == null) {
+            return false;
+        }
+        NextTaskDto last = heap[--size];
+        heap[size] = null;
+        if (position < size) {
+            place(last, position);
+            siftDown(siftUp(position));
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the first {@code k} tasks in ranking order without modifying the heap.
+     * Walks the heap with a frontier of candidate positions, so the cost is O(k log k).
+     */
+    public List<NextTaskDto> top(int k) {
+        int limit = Math.min(k, size);
+        List<NextTaskDto> result = new ArrayList<>(limit);
+        if (limit == 0) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(limit * 2, (a, b) -> RANKING.compare(heap[a], heap[b]));
+        frontier.add(0);
+        while (result.size() < limit) {
+            int position = frontier.poll();
+            result.add(heap[position]);
+            int child = 2 * position + 1;
+            if (child < size) {
+                frontier.add(child);
+            }
+            if (child + 1 < size) {
+                frontier.add(child + 1);
+            }
+        }
+        return result;
+    }
+    
+    private int siftUp(int position) {
+        NextTaskDto task = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (RANKING.compare(task, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(task, position);
+        return position;
+    }
+    
+    private void siftDown(int position) {
+        NextTaskDto task = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && RANKING.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (RANKING.compare(task, heap[child]) <= 0) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(task, position);
+    }
+    
+    private void place(NextTaskDto task, int position) {
+        heap[position] = task;
+        positions.put(task.getId(), position);
+    }
+}
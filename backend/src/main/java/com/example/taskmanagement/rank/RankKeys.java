@@ -0,0 +1,219 @@
+package com.example.taskmanagement.rank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fractional rank keys for manual ordering. A key is a base-36 fraction written with
+ * {@code 0-9a-z}, so keys order the same as plain strings under byte order and the common
+ * database collations. Keys are never empty and never end in {@code 0}, which leaves room
+ * between any two keys and before the smallest, so placing an item never touches its neighbours.
+ * <p>
+ * Keys appended after the last or put before the first step by a fixed amount at a width of
+ * at least {@link #MIN_WIDTH} digits and stay short. Keys between two neighbours halve the gap
+ * and grow by a digit about every five insertions into the same gap, until {@link #spread}
+ * renumbers the column.
+ */
+public final class RankKeys {
+    
+    public static final int MIN_WIDTH = 6;
+    
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int MAX_SPREAD_WIDTH = 12;
+    
+    // Appends advance the third digit from the right; the two below it take random jitter,
+    // so tasks appended concurrently after the same key rarely end up with equal keys
+    private static final long STEP = BASE * BASE;
+    
+    private RankKeys() {
+    }
+    
+    public static boolean isValid(String key) {
+        if (key == null || key.isEmpty() || key.charAt(key.length() - 1) == '0') {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * A key strictly between the two; null stands for the start or the end of the column.
+     */
+    public static String between(String lower, String upper) {
+        if (upper == null) {
+            return after(lower);
+        }
+        if (lower == null) {
+            return before(upper);
+        }
+        if (lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not before " + upper);
+        }
+        return midpoint(lower, upper);
+    }
+    
+    // A key after the given one, or the first key of an empty column
+    public static String after(String previous) {
+        if (previous == null) {
+            return midpoint("", null);
+        }
+        int width = Math.max(MIN_WIDTH, previous.length());
+        int[] digits = toDigits(previous, width);
+        long jitter = ThreadLocalRandom.current().nextLong(STEP);
+        if (!add(digits, STEP + jitter)) {
+            // Past the largest key of this width, so one more digit is needed
+            return previous + DIGITS.charAt(1 + (int) (jitter % (BASE - 1)));
+        }
+        return toKey(digits);
+    }
+    
+    // A key before the given one, or the first key of an empty column
+    public static String before(String next) {
+        if (next == null) {
+            return midpoint("", null);
+        }
+        int width = Math.max(MIN_WIDTH, next.length());
+        int[] digits = toDigits(next, width);
+        if (!subtract(digits, STEP + ThreadLocalRandom.current().nextLong(STEP)) || isZero(digits)) {
+            return midpoint("", next);
+        }
+        return toKey(digits);
+    }
+    
+    /**
+     * {@code count} evenly spaced ascending keys, below {@code below} if given and there is room.
+     * The gaps leave room for fixed-width appends and a dozen or so halvings before keys grow.
+     */
+    public static List<String> spread(int count, String below) {
+        int width = MIN_WIDTH;
+        long space = spaceBelow(below, width);
+        while (space / (count + 1L) < STEP && width < MAX_SPREAD_WIDTH) {
+            width++;
+            space = spaceBelow(below, width);
+        }
+        if (space / (count + 1L) < 1) {
+            // Too little room below the bound; use the whole key space instead
+            space = power(width);
+        }
+        long gap = space / (count + 1L);
+        List<String> keys = new ArrayList<>(count);
+        int[] digits = new int[width];
+        for (int i = 1; i <= count; i++) {
+            long value = gap * i;
+            for (int position = width - 1; position >= 0; position--) {
+                digits[position] = (int) (value % BASE);
+                value /= BASE;
+            }
+            keys.add(toKey(digits));
+        }
+        return keys;
+    }
+    
+    // Shortest key between a (empty for the start) and b (null for the end)
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int common = 0;
+            while (common < b.length() && digitAt(a, common) == DIGITS.indexOf(b.charAt(common))) {
+                common++;
+            }
+            if (common > 0) {
+                return b.substring(0, common)
+                        + midpoint(a.length() > common ? a.substring(common) : "", b.substring(common));
+            }
+        }
+        int low = digitAt(a, 0);
+        int high = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (high - low > 1) {
+            return String.valueOf(DIGITS.charAt((low + high) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(low) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+    
+    private static int digitAt(String key, int position) {
+        return position < key.length() ? DIGITS.indexOf(key.charAt(position)) : 0;
+    }
+    
+    private static int[] toDigits(String key, int width) {
+        int[] digits = new int[width];
+        for (int i = 0; i < key.length(); i++) {
+            digits[i] = DIGITS.indexOf(key.charAt(i));
+        }
+        return digits;
+    }
+    
+    private static String toKey(int[] digits) {
+        int length = digits.length;
+        while (length > 1 && digits[length - 1] == 0) {
+            length--;
+        }
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            key.append(DIGITS.charAt(digits[i]));
+        }
+        return key.toString();
+    }
+    
+    // False on overflow past the largest key of this width
+    private static boolean add(int[] digits, long amount) {
+        long carry = amount;
+        for (int position = digits.length - 1; position >= 0 && carry > 0; position--) {
+            long sum = digits[position] + carry;
+            digits[position] = (int) (sum % BASE);
+            carry = sum / BASE;
+        }
+        return carry == 0;
+    }
+    
+    // False on underflow below zero
+    private static boolean subtract(int[] digits, long amount) {
+        long borrow = amount;
+        for (int position = digits.length - 1; position >= 0 && borrow > 0; position--) {
+            long difference = digits[position] - borrow % BASE;
+            borrow /= BASE;
+            if (difference < 0) {
+                difference += BASE;
+                borrow++;
+            }
+            digits[position] = (int) difference;
+        }
+        return borrow == 0;
+    }
+    
+    private static boolean isZero(int[] digits) {
+        for (int digit : digits) {
+            if (digit != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Value of the first width digits of the bound, or the whole key space without one
+    private static long spaceBelow(String below, int width) {
+        if (below == null) {
+            return power(width);
+        }
+        long value = 0;
+        for (int position = 0; position < width; position++) {
+            value = value * BASE + digitAt(below, position);
+        }
+        return value;
+    }
+    
+    private static long power(int width) {
+        long value = 1;
+        for (int i = 0; i < width; i++) {
+            value *= BASE;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.taskmanagement.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The subset of the iCalendar RRULE used by task series: {@code FREQ=DAILY|WEEKLY|MONTHLY|YEARLY},
+ * {@code INTERVAL}, {@code BYDAY} (weekly only, e.g. {@code MO,WE,FR}), and either {@code COUNT} or
+ * {@code UNTIL} ({@code yyyyMMdd'T'HHmmss} or {@code yyyyMMdd}, local time). Occurrences keep the
+ * time of day of the series start; a monthly or yearly occurrence on a day the month does not have
+ * falls on the month's last day. Immutable.
+ */
+public final class RecurrenceRule {
+    
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+    
+    private final ChronoUnit frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDateTime until;
+    
+    private RecurrenceRule(ChronoUnit frequency, int interval, Set<DayOfWeek> byDay, Integer count, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+    
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        String body = rule.trim().toUpperCase(Locale.ROOT);
+        if (body.startsWith("RRULE:")) {
+            body = body.substring("RRULE:".length());
+        }
+        
+        ChronoUnit frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+        for (String part : body.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw invalid(rule);
+            }
+            String value = part.substring(separator + 1);
+            switch (part.substring(0, separator)) {
+                case "FREQ" -> frequency = switch (value) {
+                    case "DAILY" -> ChronoUnit.DAYS;
+                    case "WEEKLY" -> ChronoUnit.WEEKS;
+                    case "MONTHLY" -> ChronoUnit.MONTHS;
+                    case "YEARLY" -> ChronoUnit.YEARS;
+                    default -> throw invalid(rule);
+                };
+                case "INTERVAL" -> interval = positive(value, rule);
+                case "COUNT" -> count = positive(value, rule);
+                case "UNTIL" -> until = parseUntil(value, rule);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day);
+                        if (dayOfWeek == null) {
+                            throw invalid(rule);
+                        }
+                        byDay.add(dayOfWeek);
+                    }
+                }
+                default -> throw invalid(rule);
+            }
+        }
+        if (frequency == null || (count != null && until != null)
+                || (!byDay.isEmpty() && frequency != ChronoUnit.WEEKS)) {
+            throw invalid(rule);
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+    
+    public Integer getCount() {
+        return count;
+    }
+    
+    public LocalDateTime first(LocalDateTime start) {
+        return next(start, start.minusNanos(1), 0);
+    }
+    
+    /**
+     * The occurrence after {@code previous} of a series starting at {@code start} that has
+     * already had {@code occurred} occurrences, or null once the series has ended.
+     */
+    public LocalDateTime next(LocalDateTime start, LocalDateTime previous, int occurred) {
+        if (count != null && occurred >= count) {
+            return null;
+        }
+        LocalDateTime after = previous.isBefore(start) ? start.minusNanos(1) : previous;
+        LocalDateTime candidate = byDay.isEmpty() ? nextPeriod(start, after) : nextWeekday(start, after);
+        return until != null && candidate.isAfter(until) ? null : candidate;
+    }
+    
+    // Each occurrence is computed from the start, so clamped month ends do not drift
+    private LocalDateTime nextPeriod(LocalDateTime start, LocalDateTime after) {
+        long periods = Math.max(0, frequency.between(start, after) / interval);
+        LocalDateTime candidate = start.plus(periods * interval, frequency);
+        while (!candidate.isAfter(after)) {
+            periods++;
+            candidate = start.plus(periods * interval, frequency);
+        }
+        return candidate;
+    }
+    
+    private LocalDateTime nextWeekday(LocalDateTime start, LocalDateTime after) {
+        LocalDate firstMonday = start.toLocalDate().with(DayOfWeek.MONDAY);
+        long weeks = Math.max(0, ChronoUnit.WEEKS.between(firstMonday, after.toLocalDate()));
+        for (long week = weeks - weeks % interval; ; week += interval) {
+            LocalDate monday = firstMonday.plusWeeks(week);
+            for (DayOfWeek day : byDay) {
+                LocalDateTime candidate = monday.plusDays(day.ordinal()).atTime(start.toLocalTime());
+                if (!candidate.isBefore(start) && candidate.isAfter(after)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+    
+    private static int positive(String value, String rule) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw invalid(rule);
+    }
+    
+    private static LocalDateTime parseUntil(String value, String rule) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return local.length() == 8
+                    ? LocalDate.parse(local, UNTIL_DATE).atTime(LocalTime.MAX)
+                    : LocalDateTime.parse(local, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw invalid(rule);
+        }
+    }
+    
+    private static IllegalArgumentException invalid(String rule) {
+        return new IllegalArgumentException("Invalid recurrence rule: " + rule);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanagement.reminder;
+
+import com.example.taskmanagement.dto.TaskDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingReminderSink implements ReminderSink {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+    
+    @Override
+    public void remind(TaskDto task) {
+        log.info("Reminder: task {} \"{}\" is due at {}", task.getId(), task.getTitle(), task.getDueDate());
+    }
+}
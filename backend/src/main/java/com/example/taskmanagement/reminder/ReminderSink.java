@@ -0,0 +1,12 @@
+package com.example.taskmanagement.reminder;
+
+import com.example.taskmanagement.dto.TaskDto;
+
+/**
+ * Receives due-date reminders. Every sink bean gets every reminder, on the scheduler thread,
+ * so implementations that deliver to slow channels should hand the work off.
+ */
+public interface ReminderSink {
+    
+    void remind(TaskDto task);
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.TaskDependency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.taskId = :taskId AND d.blockedById = :blockedById")
+    int deleteDependency(@Param("taskId") Long taskId, @Param("blockedById") Long blockedById);
+    
+    // Both directions, used when tasks are deleted
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.taskId IN :taskIds OR d.blockedById IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+    
+    // Task and blocker ids used to build the dependency graph without loading entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.taskId, d.blockedById FROM TaskDependency d")
+    Stream<Object[]> streamEdges();
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.TaskDescription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Repository
+public interface TaskDescriptionRepository extends JpaRepository<TaskDescription, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM TaskDescription d WHERE d.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+    
+    // Task id, deflated text and length of every compressed description
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT d.taskId, d.compressed, d.originalLength FROM TaskDescription d WHERE d.compressed IS NOT NULL")
+    Stream<Object[]> streamCompressed();
+}
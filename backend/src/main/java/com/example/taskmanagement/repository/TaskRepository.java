@@ -1,19 +1,27 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.NextTaskDto;
 import com.example.taskmanagement.entity.Task;
 import com.example.taskmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     
     List<Task> findByUser(User user);
     
@@ -34,6 +42,87 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                           @Param("startDate") LocalDateTime startDate, 
                                           @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT t FROM Task t WHERE t.title LIKE %:keyword% OR t.description LIKE %:keyword%")
-    List<Task> findByTitleOrDescriptionContaining(@Param("keyword") String keyword);
-} 
\ No newline at end of file
+    // Long descriptions are matched on their uncompressed beginning, and tasks whose compressed
+    // rest matches are passed in (see TaskDescriptionService.findCompressedContaining)
+    @Query("SELECT t FROM Task t WHERE t.title LIKE %:keyword% OR t.id IN :compressedMatches OR EXISTS "
+            + "(SELECT d.taskId FROM TaskDescription d WHERE d.taskId = t.id AND d.content LIKE %:keyword%)")
+    List<Task> findByTitleOrDescriptionContaining(@Param("keyword") String keyword,
+                                                  @Param("compressedMatches") Collection<Long> compressedMatches);
+    
+    // Multi-get: owner and assignee are fetched in the same statement
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.user LEFT JOIN FETCH t.assignedTo WHERE t.id IN :ids")
+    List<Task> findWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Tasks a user owns or is assigned to, due in [from, to)
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.user u LEFT JOIN FETCH t.assignedTo a " +
+           "WHERE (u.id = :userId OR a.id = :userId) AND t.dueDate >= :from AND t.dueDate < :to")
+    List<Task> findWithUsersDueBetween(@Param("userId") Long userId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+    
+    // Open tasks a user should work on: assigned to them, or owned by them and unassigned
+    @Query("SELECT new com.example.taskmanagement.dto.NextTaskDto(t.id, t.title, t.status, t.priority, t.dueDate) " +
+           "FROM Task t WHERE t.status IN :statuses " +
+           "AND (t.assignedTo.id = :userId OR (t.assignedTo IS NULL AND t.user.id = :userId))")
+    List<NextTaskDto> findNextTaskCandidates(@Param("userId") Long userId,
+                                             @Param("statuses") Collection<Task.TaskStatus> statuses);
+    
+    // Flat projection used to build the analytics snapshot without loading entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.status, t.priority, t.dueDate, u.id, a.id FROM Task t LEFT JOIN t.user u LEFT JOIN t.assignedTo a")
+    Stream<Object[]> streamAnalyticsColumns();
+    
+    // Columns of the label index; tasks without labels have a null labels column
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.status, t.priority, t.labels FROM Task t")
+    Stream<Object[]> streamLabelColumns();
+    
+    // Id and due date of tasks in the given statuses due in [from, to), for the reminder wheel
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.dueDate >= :from AND t.dueDate < :to AND t.status IN :statuses")
+    Stream<Object[]> streamDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      @Param("statuses") Collection<Task.TaskStatus> statuses);
+    
+    // Manual column order, served by the (status, rank_key, id) index; the cursor is the last rank and id seen
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.user LEFT JOIN FETCH t.assignedTo " +
+           "WHERE t.status = :status AND t.rankKey >= :rankKey AND (t.rankKey > :rankKey OR t.id > :afterId) " +
+           "ORDER BY t.rankKey, t.id")
+    List<Task> findColumnPage(@Param("status") Task.TaskStatus status, @Param("rankKey") String rankKey,
+                              @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT MAX(t.rankKey) FROM Task t WHERE t.status = :status")
+    String findMaxRankKey(@Param("status") Task.TaskStatus status);
+    
+    @Query("SELECT MIN(t.rankKey) FROM Task t WHERE t.status = :status AND t.rankKey > :rankKey AND t.id <> :excludedId")
+    String findNextRankKey(@Param("status") Task.TaskStatus status, @Param("rankKey") String rankKey,
+                           @Param("excludedId") Long excludedId);
+    
+    @Query("SELECT MAX(t.rankKey) FROM Task t WHERE t.status = :status AND t.rankKey < :rankKey AND t.id <> :excludedId")
+    String findPreviousRankKey(@Param("status") Task.TaskStatus status, @Param("rankKey") String rankKey,
+                               @Param("excludedId") Long excludedId);
+    
+    // Conditional on the status, so a task that left the column meanwhile is not given a rank in it
+    @Modifying
+    @Query("UPDATE Task t SET t.rankKey = :rankKey WHERE t.id = :id AND t.status = :status")
+    int updateRankKey(@Param("id") Long id, @Param("status") Task.TaskStatus status, @Param("rankKey") String rankKey);
+    
+    @Query("SELECT t.id, t.rankKey FROM Task t WHERE t.status = :status AND t.rankKey IS NOT NULL")
+    List<Object[]> findRankKeys(@Param("status") Task.TaskStatus status);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.status = :status AND t.rankKey IS NULL ORDER BY t.id")
+    List<Long> findUnrankedIds(@Param("status") Task.TaskStatus status);
+    
+    boolean existsByStatusAndRankKeyIsNull(Task.TaskStatus status);
+    
+    // Set-based statements used when deleting users, so no task entities are loaded
+    @Modifying
+    @Query("UPDATE Task t SET t.assignedTo = :assignee WHERE t.assignedTo.id IN :userIds")
+    int reassignTasks(@Param("userIds") Collection<Long> userIds, @Param("assignee") User assignee);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.user.id IN :userIds ORDER BY t.id")
+    List<Long> findIdsByUserIdIn(@Param("userIds") Collection<Long> userIds, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.TaskSeries;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskSeriesRepository extends JpaRepository<TaskSeries, Long> {
+    
+    @Query("SELECT s FROM TaskSeries s LEFT JOIN FETCH s.user LEFT JOIN FETCH s.assignedTo WHERE s.id = :id")
+    Optional<TaskSeries> findWithUsersById(@Param("id") Long id);
+    
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u LEFT JOIN FETCH s.assignedTo WHERE u.id = :userId ORDER BY s.id")
+    List<TaskSeries> findWithUsersByUserId(@Param("userId") Long userId);
+    
+    // Running series a user owns or is assigned to
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u LEFT JOIN FETCH s.assignedTo a " +
+           "WHERE (u.id = :userId OR a.id = :userId) AND s.nextOccurrence IS NOT NULL AND u.deletedAt IS NULL")
+    List<TaskSeries> findRunningByUserOrAssignee(@Param("userId") Long userId);
+    
+    // Running series of active owners whose next occurrence is due by the given time, earliest first
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u LEFT JOIN FETCH s.assignedTo " +
+           "WHERE s.nextOccurrence <= :until AND u.deletedAt IS NULL ORDER BY s.nextOccurrence")
+    List<TaskSeries> findDueBy(@Param("until") LocalDateTime until, Pageable pageable);
+    
+    // Set-based statements used when purging users
+    @Modifying
+    @Query("UPDATE TaskSeries s SET s.assignedTo = null WHERE s.assignedTo.id IN :userIds")
+    int unassignSeries(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("DELETE FROM TaskSeries s WHERE s.user.id IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
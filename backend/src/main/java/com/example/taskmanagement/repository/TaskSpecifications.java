@@ -0,0 +1,189 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskDescription;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Building blocks for dynamic task queries. Each method returns {@code null} when its
+ * criterion is absent, so callers can chain them with {@link Specification#and} unconditionally.
+ */
+public final class TaskSpecifications {
+    
+    public enum SortField {
+        DUE_DATE, PRIORITY, STATUS, CREATED_AT, UPDATED_AT, TITLE
+    }
+    
+    private TaskSpecifications() {}
+    
+    public static Specification<Task> hasStatusIn(Collection<Task.TaskStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+    
+    public static Specification<Task> hasPriorityIn(Collection<Task.Priority> priorities) {
+        if (priorities == null || priorities.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+    
+    public static Specification<Task> ownedBy(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    public static Specification<Task> assignedTo(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), userId);
+    }
+    
+    // Lower bound inclusive, upper bound exclusive
+    public static Specification<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> dueDate = root.get("dueDate");
+            if (from == null) {
+                return cb.lessThan(dueDate, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(dueDate, from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(dueDate, from), cb.lessThan(dueDate, to));
+        };
+    }
+    
+    // Same matching as findByTitleOrDescriptionContaining, with LIKE wildcards in the keyword escaped
+    public static Specification<Task> containsKeyword(String keyword, Collection<Long> compressedMatches) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> {
+            Subquery<Long> described = query.subquery(Long.class);
+            Root<TaskDescription> description = described.from(TaskDescription.class);
+            described.select(description.get("taskId")).where(
+                    cb.equal(description.get("taskId"), root.get("id")),
+                    cb.like(description.get("content"), pattern, '\\'));
+            if (compressedMatches.isEmpty()) {
+                return cb.or(cb.like(root.get("title"), pattern, '\\'), cb.exists(described));
+            }
+            return cb.or(cb.like(root.get("title"), pattern, '\\'), root.get("id").in(compressedMatches),
+                    cb.exists(described));
+        };
+    }
+    
+    /**
+     * Fetches owner and assignee in the same statement and applies the ordering. Enums are
+     * stored as strings, so priority and status are ordered by declaration order rather than
+     * alphabetically. Nulls sort last and the task id is always appended, so pages are stable
+     * and match {@link #comparator} on every database.
+     */
+    public static Specification<Task> fetchUsersOrderedBy(SortField field, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            // Spring Data reuses the specification for the page count query
+            if (isCountQuery(query)) {
+                return null;
+            }
+            root.fetch("user", JoinType.LEFT);
+            root.fetch("assignedTo", JoinType.LEFT);
+            
+            List<Order> orders = new ArrayList<>();
+            orders.add(order(cb, sortExpression(root, cb, field), direction));
+            orders.add(order(cb, root.get("id"), direction));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+    
+    // In-memory equivalent of fetchUsersOrderedBy, used to merge pages from several shards
+    public static Comparator<TaskDto> comparator(SortField field, Sort.Direction direction) {
+        Comparator<TaskDto> byField;
+        switch (field) {
+            case PRIORITY:
+                byField = nullsLast(TaskDto::getPriority, direction);
+                break;
+            case STATUS:
+                byField = nullsLast(TaskDto::getStatus, direction);
+                break;
+            case CREATED_AT:
+                byField = nullsLast(TaskDto::getCreatedAt, direction);
+                break;
+            case UPDATED_AT:
+                byField = nullsLast(TaskDto::getUpdatedAt, direction);
+                break;
+            case TITLE:
+                byField = nullsLast(TaskDto::getTitle, direction);
+                break;
+            default:
+                byField = nullsLast(TaskDto::getDueDate, direction);
+        }
+        Comparator<TaskDto> byId = Comparator.comparing(TaskDto::getId);
+        return byField.thenComparing(direction.isAscending() ? byId : byId.reversed());
+    }
+    
+    private static <U extends Comparable<? super U>> Comparator<TaskDto> nullsLast(Function<TaskDto, U> key,
+                                                                                Sort.Direction direction) {
+        Comparator<U> order = direction.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        return Comparator.comparing(key, Comparator.nullsLast(order));
+    }
+    
+    private static Expression<?> sortExpression(Root<Task> root, CriteriaBuilder cb, SortField field) {
+        switch (field) {
+            case PRIORITY:
+                return ordinalOf(cb, root.get("priority"), Task.Priority.values());
+            case STATUS:
+                return ordinalOf(cb, root.get("status"), Task.TaskStatus.values());
+            case CREATED_AT:
+                return root.get("createdAt");
+            case UPDATED_AT:
+                return root.get("updatedAt");
+            case TITLE:
+                return root.get("title");
+            default:
+                return root.get("dueDate");
+        }
+    }
+    
+    private static <E extends Enum<E>> Expression<Integer> ordinalOf(CriteriaBuilder cb, Expression<E> column, E[] values) {
+        CriteriaBuilder.SimpleCase<E, Integer> ordinal = cb.selectCase(column);
+        for (E value : values) {
+            ordinal.when(value, value.ordinal());
+        }
+        return ordinal.otherwise(values.length);
+    }
+    
+    private static Order order(CriteriaBuilder cb, Expression<?> expression, Sort.Direction direction) {
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        return direction.isAscending() ? hcb.asc(expression, false) : hcb.desc(expression, false);
+    }
+    
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return query.getResultType() == Long.class || query.getResultType() == long.class;
+    }
+}
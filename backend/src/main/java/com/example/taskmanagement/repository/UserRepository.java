@@ -1,19 +1,59 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.config.HibernateCacheConfig;
 import com.example.taskmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Lookups by unique key go through the query cache; entries are invalidated on any users write
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LOOKUPS_REGION)
+    })
     Optional<User> findByUsername(String username);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LOOKUPS_REGION)
+    })
     Optional<User> findByEmail(String email);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LOOKUPS_REGION)
+    })
     boolean existsByUsername(String username);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LOOKUPS_REGION)
+    })
     boolean existsByEmail(String email);
+    
+    // Soft-deleted users are hidden from everything except the purge job
+    List<User> findByDeletedAtIsNull();
+    
+    // Goes through findById so the lookup is served from the second-level cache
+    default Optional<User> findActiveById(Long id) {
+        return findById(id).filter(user -> user.getDeletedAt() == null);
+    }
+    
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.deletedAt IS NULL")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.id FROM User u WHERE u.deletedAt IS NOT NULL ORDER BY u.id")
+    List<Long> findDeletedUserIds(Pageable pageable);
 } 
\ No newline at end of file
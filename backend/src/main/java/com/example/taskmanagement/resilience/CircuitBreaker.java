@@ -0,0 +1,167 @@
+package com.example.taskmanagement.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to a failing dependency. While closed, the outcomes of the last calls are kept
+ * in a ring; once enough are recorded and the share of failed or of slow calls reaches its
+ * threshold, the breaker opens and rejects every call for {@code openMs}. The next call after
+ * that turns it half-open: a few probe calls are let through, and the breaker closes if all
+ * of them succeed in time and opens again on the first one that does not.
+ *
+ * <p>{@link #tryAcquire} hands out a ticket that the outcome is recorded with, so calls
+ * started before a state change do not count towards the new state. Thread-safe.
+ */
+public class CircuitBreaker {
+    
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    public static final long REJECTED = -1;
+    
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+    
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    
+    // Ring of the last outcomes while closed
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    
+    private State state = State.CLOSED;
+    // Changes with every state transition; tickets from an earlier one are ignored
+    private long epoch;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long rejectedCalls;
+    
+    public CircuitBreaker(String name, CircuitBreakerProperties properties) {
+        this(name, properties, System::nanoTime);
+    }
+    
+    public CircuitBreaker(String name, CircuitBreakerProperties properties, LongSupplier nanoClock) {
+        int windowSize = Math.max(1, properties.getWindowSize());
+        this.name = name;
+        this.minimumCalls = Math.min(windowSize, Math.max(1, properties.getMinimumCalls()));
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallMs());
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenMs());
+        this.halfOpenCalls = Math.max(1, properties.getHalfOpenCalls());
+        this.nanoClock = nanoClock;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+    
+    // The clock call durations are measured with
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+    
+    // A ticket for recording the call's outcome, or REJECTED if the call must not be made
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                rejectedCalls++;
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenCalls) {
+                rejectedCalls++;
+                return REJECTED;
+            }
+            probesStarted++;
+        }
+        return epoch;
+    }
+    
+    public synchronized void record(long ticket, long durationNanos, boolean failure) {
+        if (ticket != epoch) {
+            return;
+        }
+        boolean slowCall = slowCallNanos > 0 && durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure || slowCall) {
+                open("probe call " + (failure ? "failed" : "was slow"));
+            } else if (++probesSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failures += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+        
+        if (recorded >= minimumCalls
+                && (failures * 100L >= (long) failureRateThreshold * recorded
+                || slowCalls * 100L >= (long) slowCallRateThreshold * recorded)) {
+            open("of the last " + recorded + " calls " + failures + " failed and " + slowCalls + " were slow");
+        }
+    }
+    
+    // Gives back a ticket whose call ended without an outcome to record, e.g. on an Error
+    public synchronized void release(long ticket) {
+        if (ticket == epoch && state == State.HALF_OPEN) {
+            probesStarted--;
+        }
+    }
+    
+    private void open(String reason) {
+        openedAt = nanoClock.getAsLong();
+        transition(State.OPEN);
+        log.warn("Circuit breaker {} opened for {} ms: {}", name, TimeUnit.NANOSECONDS.toMillis(openNanos), reason);
+    }
+    
+    private void transition(State target) {
+        if (target != State.OPEN) {
+            log.info("Circuit breaker {} is {}", name, target == State.CLOSED ? "closed" : "half-open, probing");
+        }
+        state = target;
+        epoch++;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.taskmanagement.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.circuit-breaker")
+public class CircuitBreakerProperties {
+    
+    private boolean enabled = true;
+    
+    // Outcomes of this many most recent calls are counted
+    private int windowSize = 20;
+    
+    // Calls recorded before the breaker may open
+    private int minimumCalls = 10;
+    
+    // Percentage of failed calls in the window that opens the breaker
+    private int failureRateThreshold = 50;
+    
+    // Calls taking at least this long count as slow; 0 never counts a call as slow
+    private long slowCallMs = 5000;
+    
+    // Percentage of slow calls in the window that opens the breaker
+    private int slowCallRateThreshold = 80;
+    
+    // How long an open breaker rejects calls before letting probes through
+    private long openMs = 10000;
+    
+    // Probe calls let through when half-open; the breaker closes once all of them succeed
+    private int halfOpenCalls = 3;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getWindowSize() {
+        return windowSize;
+    }
+    
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+    
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+    
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+    
+    public long getSlowCallMs() {
+        return slowCallMs;
+    }
+    
+    public void setSlowCallMs(long slowCallMs) {
+        this.slowCallMs = slowCallMs;
+    }
+    
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+    
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+    
+    public long getOpenMs() {
+        return openMs;
+    }
+    
+    public void setOpenMs(long openMs) {
+        this.openMs = openMs;
+    }
+    
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+    
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+}
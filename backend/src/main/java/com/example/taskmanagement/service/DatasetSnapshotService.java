@@ -0,0 +1,394 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.DatasetSnapshotDto;
+import com.example.taskmanagement.entity.TaskDescription;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.sharding.ShardDataSources;
+import com.example.taskmanagement.sharding.ShardRouter;
+import com.example.taskmanagement.snapshot.SnapshotColumn;
+import com.example.taskmanagement.snapshot.SnapshotReader;
+import com.example.taskmanagement.snapshot.SnapshotWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshots of the users and tasks tables in a compact binary file (see {@link SnapshotWriter}),
+ * and restore from one, so a large dataset is loaded without going through JPA. A restore
+ * replaces every user and task and drops task series and dependencies, which refer to them.
+ * It reads the file through memory-mapped windows and inserts JDBC batches of
+ * {@code app.snapshot.batch-size} rows, each in its own transaction: users on every shard,
+ * tasks on their owner's shard. Identity columns then continue after the restored ids.
+ * <p>
+ * Take and restore snapshots while the application takes no writes. A restore that fails
+ * part-way leaves the rows inserted so far; restoring again starts over. Only created with
+ * {@code app.snapshot.enabled=true}, as restores replace the whole dataset.
+ */
+@Service
+@ConditionalOnProperty(name = "app.snapshot.enabled", havingValue = "true")
+public class DatasetSnapshotService implements SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(DatasetSnapshotService.class);
+    
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+    
+    private static final String USERS = "users";
+    private static final String TASKS = "tasks";
+    // Stored apart from tasks (see TaskDescription), but kept inline as plain text in snapshots
+    private static final SnapshotColumn DESCRIPTION = new SnapshotColumn("description", SnapshotColumn.Type.STRING);
+    
+    // Columns in the current schema; snapshots of older schemas may lack some of them
+    private static final Map<String, List<SnapshotColumn>> TABLES = Map.of(
+            USERS, List.of(
+                    new SnapshotColumn("id", SnapshotColumn.Type.LONG),
+                    new SnapshotColumn("username", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("email", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("password", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("name", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("role", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("created_at", SnapshotColumn.Type.TIMESTAMP),
+                    new SnapshotColumn("updated_at", SnapshotColumn.Type.TIMESTAMP),
+                    new SnapshotColumn("deleted_at", SnapshotColumn.Type.TIMESTAMP)),
+            TASKS, List.of(
+                    new SnapshotColumn("id", SnapshotColumn.Type.LONG),
+                    new SnapshotColumn("title", SnapshotColumn.Type.STRING),
+                    DESCRIPTION,
+                    new SnapshotColumn("status", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("priority", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("due_date", SnapshotColumn.Type.TIMESTAMP),
+                    new SnapshotColumn("user_id", SnapshotColumn.Type.LONG),
+                    new SnapshotColumn("assigned_to", SnapshotColumn.Type.LONG),
+                    new SnapshotColumn("created_at", SnapshotColumn.Type.TIMESTAMP),
+                    new SnapshotColumn("updated_at", SnapshotColumn.Type.TIMESTAMP),
+                    new SnapshotColumn("series_id", SnapshotColumn.Type.LONG),
+                    new SnapshotColumn("rank_key", SnapshotColumn.Type.STRING),
+                    new SnapshotColumn("labels", SnapshotColumn.Type.STRING)));
+    
+    private final ShardDataSources shardDataSources;
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskDescriptionService taskDescriptionService;
+    private final Path directory;
+    private final int batchSize;
+    private final String restoreOnStartup;
+    
+    public DatasetSnapshotService(ShardDataSources shardDataSources, ShardRouter shardRouter,
+                                  EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                                  TaskDescriptionService taskDescriptionService,
+                                  @Value("${app.snapshot.directory:snapshots}") String directory,
+                                  @Value("${app.snapshot.batch-size:5000}") int batchSize,
+                                  @Value("${app.snapshot.restore-on-startup:}") String restoreOnStartup) {
+        this.shardDataSources = shardDataSources;
+        this.shardRouter = shardRouter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.taskDescriptionService = taskDescriptionService;
+        this.directory = Path.of(directory);
+        this.batchSize = Math.max(1, batchSize);
+        this.restoreOnStartup = restoreOnStartup;
+    }
+    
+    // Runs before the web server starts, so no request sees a partly restored dataset
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (restoreOnStartup.isBlank()) {
+            return;
+        }
+        Path file = Path.of(restoreOnStartup);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException("Snapshot to restore at startup not found: " + file.toAbsolutePath());
+        }
+        restore(file, file.getFileName().toString());
+    }
+    
+    public synchronized DatasetSnapshotDto createSnapshot(String name) {
+        Path file = resolve(name);
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        long started = System.nanoTime();
+        long users;
+        long tasks;
+        try {
+            Files.createDirectories(directory);
+            try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(partial))) {
+                writer.beginTable(USERS, TABLES.get(USERS));
+                exportRows(ShardRouter.USERS_SHARD, USERS, writer);
+                users = writer.endTable();
+                writer.beginTable(TASKS, TABLES.get(TASKS));
+                for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                    exportRows(shard, TASKS, writer);
+                }
+                tasks = writer.endTable();
+                writer.finish();
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            DatasetSnapshotDto snapshot = new DatasetSnapshotDto(name, users, tasks, Files.size(file), millisSince(started));
+            log.info("Snapshot {} written: {} users, {} tasks, {} bytes in {} ms",
+                    name, users, tasks, snapshot.getSizeBytes(), snapshot.getDurationMs());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + name, e);
+        }
+    }
+    
+    public DatasetSnapshotDto restoreSnapshot(String name) {
+        Path file = resolve(name);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Snapshot not found: " + name);
+        }
+        return restore(file, name);
+    }
+    
+    private synchronized DatasetSnapshotDto restore(Path file, String name) {
+        long started = System.nanoTime();
+        long users = 0;
+        long tasks = 0;
+        try (SnapshotReader reader = new SnapshotReader(file)) {
+            clearDataset();
+            String table;
+            while ((table = reader.nextTable()) != null) {
+                if (table.equals(USERS)) {
+                    users = importRows(reader, USERS);
+                } else if (table.equals(TASKS)) {
+                    tasks = importRows(reader, TASKS);
+                } else {
+                    log.warn("Snapshot {} has an unknown table {}, skipped", name, table);
+                }
+            }
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                restartIdentity(shard, USERS);
+                restartIdentity(shard, TASKS);
+            }
+            DatasetSnapshotDto snapshot = new DatasetSnapshotDto(name, users, tasks, Files.size(file), millisSince(started));
+            log.info("Snapshot {} restored: {} users, {} tasks in {} ms", name, users, tasks, snapshot.getDurationMs());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not restore snapshot " + name, e);
+        } finally {
+            // Cached users and everything derived from tasks may describe rows that are gone
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+            eventPublisher.publishEvent(TaskChangedEvent.bulk());
+        }
+    }
+    
+    // Streams the table of one shard in id order; the transaction lets drivers fetch with a cursor
+    private void exportRows(int shard, String table, SnapshotWriter writer) {
+        List<SnapshotColumn> columns = TABLES.get(table);
+        String select = "SELECT " + columns.stream()
+                .map(column -> column.equals(DESCRIPTION) ? "d.content, d.compressed, d.original_length" : "t." + column.name())
+                .collect(Collectors.joining(", "))
+                + " FROM " + table + " t"
+                + (columns.contains(DESCRIPTION) ? " LEFT JOIN task_descriptions d ON d.task_id = t.id" : "")
+                + " ORDER BY t.id";
+        Object[] values = new Object[columns.size()];
+        inTransaction(shard, true, jdbc -> {
+            jdbc.setFetchSize(batchSize);
+            jdbc.query(select, resultSet -> {
+                readRow(resultSet, columns, values);
+                try {
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        });
+    }
+    
+    private long importRows(SnapshotReader reader, String table) throws IOException {
+        List<SnapshotColumn> columns = reader.getColumns();
+        List<SnapshotColumn> known = TABLES.get(table);
+        for (SnapshotColumn column : columns) {
+            if (!known.contains(column)) {
+                throw new IllegalArgumentException("Snapshot column " + table + "." + column.name()
+                        + " (" + column.type() + ") is not in the schema");
+            }
+        }
+        // Descriptions are inserted into their own table, on the shard of their task
+        int description = columns.indexOf(DESCRIPTION);
+        List<SnapshotColumn> stored = columns.stream().filter(column -> !column.equals(DESCRIPTION)).toList();
+        String insert = "INSERT INTO " + table + " ("
+                + stored.stream().map(SnapshotColumn::name).collect(Collectors.joining(", "))
+                + ") VALUES (" + String.join(", ", Collections.nCopies(stored.size(), "?")) + ")";
+        int[] types = stored.stream().mapToInt(column -> switch (column.type()) {
+            case LONG -> Types.BIGINT;
+            case STRING -> Types.VARCHAR;
+            case TIMESTAMP -> Types.TIMESTAMP;
+        }).toArray();
+        boolean replicated = table.equals(USERS);
+        int owner = stored.indexOf(new SnapshotColumn("user_id", SnapshotColumn.Type.LONG));
+        int id = stored.indexOf(new SnapshotColumn("id", SnapshotColumn.Type.LONG));
+        
+        List<List<Object[]>> batches = new ArrayList<>();
+        List<List<Object[]>> descriptionBatches = new ArrayList<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            batches.add(new ArrayList<>(batchSize));
+            descriptionBatches.add(new ArrayList<>());
+        }
+        long rows = 0;
+        Object[] values = new Object[columns.size()];
+        while (reader.nextRow(values)) {
+            Object[] args = toJdbcArgs(values, description);
+            if (replicated) {
+                for (List<Object[]> batch : batches) {
+                    batch.add(args);
+                }
+            } else {
+                int shard = shardRouter.shardForUser(owner >= 0 ? (Long) args[owner] : null);
+                batches.get(shard).add(args);
+                Object[] descriptionArgs = description >= 0
+                        ? taskDescriptionService.insertArgs((Long) args[id], (String) values[description])
+                        : null;
+                if (descriptionArgs != null) {
+                    descriptionBatches.get(shard).add(descriptionArgs);
+                }
+            }
+            for (int shard = 0; shard < batches.size(); shard++) {
+                if (batches.get(shard).size() == batchSize) {
+                    insertBatch(shard, insert, batches.get(shard), types, descriptionBatches.get(shard));
+                }
+            }
+            rows++;
+        }
+        for (int shard = 0; shard < batches.size(); shard++) {
+            if (!batches.get(shard).isEmpty()) {
+                insertBatch(shard, insert, batches.get(shard), types, descriptionBatches.get(shard));
+            }
+        }
+        return rows;
+    }
+    
+    private void insertBatch(int shard, String insert, List<Object[]> batch, int[] types, List<Object[]> descriptions) {
+        inTransaction(shard, false, jdbc -> {
+            jdbc.batchUpdate(insert, batch, types);
+            if (!descriptions.isEmpty()) {
+                jdbc.batchUpdate(TaskDescriptionService.INSERT_SQL, descriptions, TaskDescriptionService.INSERT_TYPES);
+            }
+        });
+        batch.clear();
+        descriptions.clear();
+    }
+    
+    // Truncated rather than deleted, which would keep every old row until commit; users are
+    // referenced by foreign keys, so they are deleted once nothing references them any more
+    private void clearDataset() {
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            inTransaction(shard, false, jdbc -> {
+                jdbc.execute("TRUNCATE TABLE task_dependencies");
+                jdbc.execute("TRUNCATE TABLE task_descriptions");
+                jdbc.execute("TRUNCATE TABLE tasks");
+                jdbc.execute("TRUNCATE TABLE task_series");
+                jdbc.update("DELETE FROM users");
+            });
+        }
+    }
+    
+    // Next id after the restored rows, kept in the shard's residue class when ids step by a stride (see ShardingConfig)
+    private void restartIdentity(int shard, String table) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+        String increment = jdbcTemplate.queryForObject(
+                "SELECT CAST(identity_increment AS VARCHAR(20)) FROM information_schema.columns " +
+                "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = ? AND LOWER(column_name) = 'id'",
+                String.class, table);
+        long stride = increment != null ? Long.parseLong(increment.trim()) : 1;
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long next = maxId + 1;
+        long offset = Math.floorMod(next - (shard + 1), stride);
+        if (offset != 0) {
+            next += stride - offset;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+    
+    private void inTransaction(int shard, boolean readOnly, Consumer<JdbcTemplate> work) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(shardDataSources.get(shard));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.executeWithoutResult(status -> work.accept(jdbcTemplate));
+    }
+    
+    private Path resolve(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot name: " + name);
+        }
+        return directory.resolve(name);
+    }
+    
+    private static void readRow(ResultSet resultSet, List<SnapshotColumn> columns, Object[] values) throws SQLException {
+        int index = 1;
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equals(DESCRIPTION)) {
+                values[i] = readDescription(resultSet, index);
+                index += 3;
+                continue;
+            }
+            switch (columns.get(i).type()) {
+                case LONG -> {
+                    long value = resultSet.getLong(index);
+                    values[i] = resultSet.wasNull() ? null : value;
+                }
+                case STRING -> values[i] = resultSet.getString(index);
+                case TIMESTAMP -> {
+                    Timestamp value = resultSet.getTimestamp(index);
+                    values[i] = value != null ? value.toLocalDateTime() : null;
+                }
+            }
+            index++;
+        }
+    }
+    
+    private static String readDescription(ResultSet resultSet, int index) throws SQLException {
+        String content = resultSet.getString(index);
+        if (content == null) {
+            return null;
+        }
+        TaskDescription description = new TaskDescription();
+        description.setContent(content);
+        description.setCompressed(resultSet.getBytes(index + 1));
+        description.setOriginalLength(resultSet.getInt(index + 2));
+        return description.getText();
+    }
+    
+    // Without the value at the skipped index, if any
+    private static Object[] toJdbcArgs(Object[] values, int skipped) {
+        Object[] args = new Object[skipped >= 0 ? values.length - 1 : values.length];
+        int index = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i != skipped) {
+                args[index++] = values[i] instanceof LocalDateTime value ? Timestamp.valueOf(value) : values[i];
+            }
+        }
+        return args;
+    }
+    
+    private static long millisSince(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
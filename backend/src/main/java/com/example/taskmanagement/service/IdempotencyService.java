@@ -0,0 +1,341 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.exception.IdempotencyKeyInProgressException;
+import com.example.taskmanagement.exception.IdempotencyKeyReusedException;
+import com.example.taskmanagement.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes creating requests safe to retry. The response to a request sent with an
+ * {@code Idempotency-Key} is kept for {@code app.idempotency.ttl-hours}, and a retry with the
+ * same key gets it back without running the request again. A duplicate arriving while the
+ * first request is still running waits for its result. Reusing a key for a different request
+ * is rejected. A failed request keeps nothing, so its retry runs again.
+ * <p>
+ * Responses are held in memory, bounded by {@code app.idempotency.max-entries}. With
+ * {@code app.idempotency.persistent} they are also stored on the users shard, so retries
+ * reaching another instance or arriving after a restart are answered too; a duplicate that
+ * another instance is still processing gets a 409. A response that cannot be stored after its
+ * request succeeded is still returned, and kept in memory until a retry of the store succeeds,
+ * so that the request is not run a second time.
+ */
+@Service
+public class IdempotencyService {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SecretKeySpec fingerprintKey;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final boolean persistent;
+    
+    private final Cache<String, Completed> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+    // Responses of succeeded requests not yet in the store, by cache key
+    private final ConcurrentHashMap<String, Unstored> unstored = new ConcurrentHashMap<>();
+    
+    public IdempotencyService(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry, @Value("${jwt.secret}") String secret,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.max-entries:100000}") long maxEntries,
+                              @Value("${app.idempotency.lock-timeout-seconds:60}") long lockTimeoutSeconds,
+                              @Value("${app.idempotency.persistent:false}") boolean persistent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.fingerprintKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockTimeout = Duration.ofSeconds(lockTimeoutSeconds);
+        this.persistent = persistent;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+    
+    /**
+     * Runs the action once per key within the scope, returning its result to every request
+     * with that key. Without a key the action simply runs.
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        String cacheKey = scope + ' ' + key;
+        Completed done = completed.getIfPresent(cacheKey);
+        if (done != null) {
+            return replay(done, fingerprint, type, "memory");
+        }
+        
+        CompletableFuture<Completed> mine = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint, type, "in-flight");
+        }
+        try {
+            // It may have completed between the lookup and joining the in-flight requests
+            done = completed.getIfPresent(cacheKey);
+            if (done == null) {
+                Unstored pending = unstored.get(cacheKey);
+                done = pending != null ? pending.done() : null;
+            }
+            if (done == null && persistent) {
+                done = claim(scope, key, fingerprint);
+            }
+            if (done != null) {
+                completed.put(cacheKey, done);
+                mine.complete(done);
+                return replay(done, fingerprint, type, "store");
+            }
+            
+            T body;
+            try {
+                body = action.get();
+            } catch (RuntimeException e) {
+                if (persistent) {
+                    release(scope, key);
+                }
+                throw e;
+            }
+            done = new Completed(fingerprint, body, null);
+            completed.put(cacheKey, done);
+            if (persistent) {
+                storeOrRetryLater(cacheKey, new Unstored(scope, key, done, LocalDateTime.now()));
+            }
+            mine.complete(done);
+            return new Result<>(body, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE created_at < ?", cutoff));
+    }
+    
+    /**
+     * Stores the responses whose store failed. Runs well within the lock timeout, so that no other
+     * instance takes over a claim whose request already succeeded unless the store stays down
+     * that long.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.store-retry-ms:5000}",
+               initialDelayString = "${app.idempotency.store-retry-ms:5000}")
+    public void retryFailedStores() {
+        LocalDateTime expired = LocalDateTime.now().minus(ttl);
+        Iterator<Map.Entry<String, Unstored>> entries = unstored.entrySet().iterator();
+        while (entries.hasNext()) {
+            Unstored pending = entries.next().getValue();
+            if (pending.failedAt().isBefore(expired)) {
+                entries.remove();
+                continue;
+            }
+            try {
+                store(pending.scope(), pending.key(), pending.done().json(objectMapper));
+                entries.remove();
+            } catch (RuntimeException e) {
+                // The store is most likely still down; try the rest next time
+                log.debug("Storing idempotent response for key {} failed again", pending.key(), e);
+                return;
+            }
+        }
+    }
+    
+    private <T> Result<T> replay(Completed done, String fingerprint, Class<T> type, String source) {
+        if (!done.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(HEADER + " was already used for a different request");
+        }
+        meterRegistry.counter("app.idempotency.replayed", "source", source).increment();
+        return new Result<>(done.body(objectMapper, type), true);
+    }
+    
+    // A duplicate of a failed request fails the same way
+    private static Completed await(CompletableFuture<Completed> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Claims the key for this instance, or returns the response stored for it. A claim left
+     * by an instance that stopped mid-request can be taken over after the lock timeout.
+     */
+    private Completed claim(String scope, String key, String fingerprint) {
+        try {
+            return shardRouter.onShard(ShardRouter.USERS_SHARD, false, () -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Completed> rows = jdbcTemplate.query(
+                        "SELECT fingerprint, response_body, created_at FROM idempotency_keys"
+                                + " WHERE scope = ? AND idempotency_key = ?",
+                        (rs, rowNum) -> rs.getString("response_body") != null
+                                || rs.getTimestamp("created_at").toLocalDateTime().isAfter(now.minus(lockTimeout))
+                                ? new Completed(rs.getString("fingerprint"), null, rs.getString("response_body"))
+                                : null,
+                        scope, key);
+                if (rows.isEmpty()) {
+                    jdbcTemplate.update("INSERT INTO idempotency_keys (scope, idempotency_key, fingerprint, created_at)"
+                            + " VALUES (?, ?, ?, ?)", scope, key, fingerprint, now);
+                    return null;
+                }
+                Completed row = rows.get(0);
+                if (row == null) {
+                    int claimed = jdbcTemplate.update("UPDATE idempotency_keys SET fingerprint = ?, created_at = ?"
+                                    + " WHERE scope = ? AND idempotency_key = ? AND response_body IS NULL AND created_at < ?",
+                            fingerprint, now, scope, key, now.minus(lockTimeout));
+                    if (claimed == 1) {
+                        return null;
+                    }
+                } else if (row.json() != null) {
+                    return row;
+                }
+                throw inProgress();
+            });
+        } catch (DuplicateKeyException e) {
+            throw inProgress();
+        }
+    }
+    
+    // The request has succeeded, so failing to store its response must not fail it
+    private void storeOrRetryLater(String cacheKey, Unstored pending) {
+        try {
+            store(pending.scope(), pending.key(), pending.done().json(objectMapper));
+        } catch (RuntimeException e) {
+            log.warn("Storing idempotent response for key {} failed, retrying later", pending.key(), e);
+            meterRegistry.counter("app.idempotency.store-failed").increment();
+            unstored.put(cacheKey, pending);
+        }
+    }
+    
+    private void store(String scope, String key, String json) {
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> jdbcTemplate.update(
+                "UPDATE idempotency_keys SET response_body = ?, created_at = ? WHERE scope = ? AND idempotency_key = ?",
+                json, LocalDateTime.now(), scope, key));
+    }
+    
+    private void release(String scope, String key) {
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND response_body IS NULL",
+                scope, key));
+    }
+    
+    private static IdempotencyKeyInProgressException inProgress() {
+        return new IdempotencyKeyInProgressException("A request with this " + HEADER + " is still being processed");
+    }
+    
+    // Keyed, so a stored fingerprint of a user request reveals nothing about its password
+    private String fingerprint(Object request) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            return HexFormat.of().formatHex(mac.doFinal(objectMapper.writeValueAsBytes(request)));
+        } catch (GeneralSecurityException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+    
+    public record Result<T>(T body, boolean replayed) {
+    }
+    
+    private record Unstored(String scope, String key, Completed done, LocalDateTime failedAt) {
+    }
+    
+    // Completed here holds the body; read from the store it holds the JSON until first replayed
+    private static final class Completed {
+        
+        private final String fingerprint;
+        private volatile Object body;
+        private volatile String json;
+        
+        Completed(String fingerprint, Object body, String json) {
+            this.fingerprint = fingerprint;
+            this.body = body;
+            this.json = json;
+        }
+        
+        String fingerprint() {
+            return fingerprint;
+        }
+        
+        String json() {
+            return json;
+        }
+        
+        String json(ObjectMapper objectMapper) {
+            try {
+                return objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot store idempotent response", e);
+            }
+        }
+        
+        <T> T body(ObjectMapper objectMapper, Class<T> type) {
+            Object value = body;
+            if (value == null) {
+                try {
+                    value = objectMapper.readValue(json, type);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot read idempotent response", e);
+                }
+                body = value;
+            }
+            return type.cast(value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.NextTaskDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.queue.IndexedTaskHeap;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "what should I work on next" from per-user heaps of open tasks. A user's heap is
+ * loaded on first request and then kept current by task change events; the least recently
+ * used heaps are dropped once more than {@code app.next-task.max-users} are resident.
+ * A task belongs to its assignee, or to its owner while unassigned.
+ */
+@Service
+public class NextTaskService {
+    
+    private static final Set<Task.TaskStatus> OPEN_STATUSES = EnumSet.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS);
+    
+    // Loads retried this many times when events race with them before the result is served uncached
+    private static final int LOAD_ATTEMPTS = 3;
+    
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    
+    private final Object lock = new Object();
+    private final Map<Long, IndexedTaskHeap> heapsByUser;
+    private final Map<Long, Long> userByTask = new HashMap<>();
+    
+    // Bumped by every event, so a load can tell whether it raced with a change
+    private long generation;
+    
+    public NextTaskService(TaskRepository taskRepository, UserRepository userRepository, ShardRouter shardRouter,
+                           @Value("${app.next-task.max-users:10000}") int maxUsers) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.heapsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IndexedTaskHeap> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                eldest.getValue().taskIds().forEach(userByTask::remove);
+                return true;
+            }
+        };
+    }
+    
+    public List<NextTaskDto> getNextTasks(Long userId, int limit) {
+        synchronized (lock) {
+            IndexedTaskHeap heap = heapsByUser.get(userId);
+            if (heap != null) {
+                return heap.top(limit);
+            }
+        }
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId)));
+        
+        // The query runs outside the lock; the heap is only kept if no event arrived meanwhile
+        IndexedTaskHeap loaded = null;
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            long startGeneration;
+            synchronized (lock) {
+                startGeneration = generation;
+            }
+            loaded = new IndexedTaskHeap();
+            // Assigned tasks can live on any shard
+            for (NextTaskDto task : shardRouter.fanOut(() -> taskRepository.findNextTaskCandidates(userId, OPEN_STATUSES))) {
+                loaded.upsert(task);
+            }
+            synchronized (lock) {
+                IndexedTaskHeap resident = heapsByUser.get(userId);
+                if (resident != null) {
+                    return resident.top(limit);
+                }
+                if (generation == startGeneration) {
+                    for (Long taskId : loaded.taskIds()) {
+                        userByTask.put(taskId, userId);
+                    }
+                    heapsByUser.put(userId, loaded);
+                    return loaded.top(limit);
+                }
+            }
+        }
+        return loaded.top(limit);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            generation++;
+            if (event.getType() == TaskChangedEvent.Type.BULK) {
+                heapsByUser.clear();
+                userByTask.clear();
+                return;
+            }
+            
+            Long previousUser = userByTask.remove(event.getTaskId());
+            if (previousUser != null) {
+                heapsByUser.get(previousUser).remove(event.getTaskId());
+            }
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                return;
+            }
+            
+            TaskDto task = event.getTask();
+            Long userId = responsibleUser(task);
+            IndexedTaskHeap heap = userId != null ? heapsByUser.get(userId) : null;
+            if (heap != null && OPEN_STATUSES.contains(task.getStatus())) {
+                heap.upsert(NextTaskDto.fromDto(task));
+                userByTask.put(task.getId(), userId);
+            }
+        }
+    }
+    
+    private static Long responsibleUser(TaskDto task) {
+        if (task.getAssignedTo() != null) {
+            return task.getAssignedTo().getId();
+        }
+        return task.getUser() != null ? task.getUser().getId() : null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.analytics.TaskColumnarSnapshot;
+import com.example.taskmanagement.dto.AssigneeTaskCountDto;
+import com.example.taskmanagement.dto.TaskAnalyticsFilter;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+@Service
+public class TaskAnalyticsService {
+    
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    
+    private final TaskRepository taskRepository;
+    private final ShardRouter shardRouter;
+    private final TaskColumnarSnapshot snapshot = new TaskColumnarSnapshot(1024, ForkJoinPool.commonPool());
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+    
+    public TaskAnalyticsService(TaskRepository taskRepository, ShardRouter shardRouter) {
+        this.taskRepository = taskRepository;
+        this.shardRouter = shardRouter;
+    }
+    
+    public long countTasks(TaskAnalyticsFilter filter) {
+        ensureLoaded();
+        return snapshot.count(toSnapshotFilter(filter));
+    }
+    
+    public Map<Task.TaskStatus, Long> countByStatus(TaskAnalyticsFilter filter) {
+        ensureLoaded();
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        long[] counts = snapshot.countByStatus(toSnapshotFilter(filter), statuses.length);
+        Map<Task.TaskStatus, Long> result = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : statuses) {
+            result.put(status, counts[status.ordinal()]);
+        }
+        return result;
+    }
+    
+    public Map<Task.Priority, Long> countByPriority(TaskAnalyticsFilter filter) {
+        ensureLoaded();
+        Task.Priority[] priorities = Task.Priority.values();
+        long[] counts = snapshot.countByPriority(toSnapshotFilter(filter), priorities.length);
+        Map<Task.Priority, Long> result = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority priority : priorities) {
+            result.put(priority, counts[priority.ordinal()]);
+        }
+        return result;
+    }
+    
+    public Map<LocalDate, Long> countByDueDay(TaskAnalyticsFilter filter, LocalDate from, int days) {
+        ensureLoaded();
+        long origin = from.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long[] counts = snapshot.countByDueDate(toSnapshotFilter(filter), origin, SECONDS_PER_DAY, days);
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        for (int day = 0; day < days; day++) {
+            result.put(from.plusDays(day), counts[day]);
+        }
+        return result;
+    }
+    
+    public List<AssigneeTaskCountDto> getTopAssignees(TaskAnalyticsFilter filter, int limit) {
+        ensureLoaded();
+        List<AssigneeTaskCountDto> result = new ArrayList<>();
+        for (long[] entry : snapshot.topAssignees(toSnapshotFilter(filter), limit)) {
+            result.add(new AssigneeTaskCountDto(entry[0], entry[1]));
+        }
+        return result;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (loadLock) {
+            // Not loaded yet, the first query will read the committed state
+            if (!loaded) {
+                return;
+            }
+            if (event.getType() == TaskChangedEvent.Type.BULK) {
+                loaded = false;
+            } else if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                snapshot.remove(event.getTaskId());
+            } else {
+                apply(event.getTask());
+            }
+        }
+    }
+    
+    // Builds the snapshot on first use, streaming each shard in its own read-only transaction
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            snapshot.clear();
+            shardRouter.onEachShard(true, () -> {
+                try (Stream<Object[]> rows = taskRepository.streamAnalyticsColumns()) {
+                    rows.forEach(row -> snapshot.upsert(
+                            (Long) row[0],
+                            ((Task.TaskStatus) row[1]).ordinal(),
+                            ((Task.Priority) row[2]).ordinal(),
+                            toEpochSecond((LocalDateTime) row[3]),
+                            (Long) row[4],
+                            (Long) row[5]));
+                }
+                return null;
+            });
+            loaded = true;
+        }
+    }
+    
+    private void apply(TaskDto task) {
+        snapshot.upsert(
+                task.getId(),
+                task.getStatus().ordinal(),
+                task.getPriority().ordinal(),
+                toEpochSecond(task.getDueDate()),
+                task.getUser() != null ? task.getUser().getId() : null,
+                task.getAssignedTo() != null ? task.getAssignedTo().getId() : null);
+    }
+    
+    private TaskColumnarSnapshot.Filter toSnapshotFilter(TaskAnalyticsFilter filter) {
+        if (filter == null) {
+            return TaskColumnarSnapshot.Filter.all();
+        }
+        int statusMask = 0;
+        if (filter.getStatuses() != null) {
+            for (Task.TaskStatus status : filter.getStatuses()) {
+                statusMask |= 1 << status.ordinal();
+            }
+        }
+        int priorityMask = 0;
+        if (filter.getPriorities() != null) {
+            for (Task.Priority priority : filter.getPriorities()) {
+                priorityMask |= 1 << priority.ordinal();
+            }
+        }
+        return new TaskColumnarSnapshot.Filter(
+                statusMask,
+                priorityMask,
+                toEpochSecond(filter.getDueFrom()),
+                toEpochSecond(filter.getDueTo()),
+                snapshot.userCode(filter.getOwnerId()),
+                snapshot.userCode(filter.getAssigneeId()));
+    }
+    
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : TaskColumnarSnapshot.NONE;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskLookupDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-get of tasks by id, with concurrent requests collapsed into one query. The first
+ * request to arrive opens a batch and waits {@code app.task-batch.window-ms} for others to
+ * join; it then loads the union of their ids with a single {@code IN} query and every request
+ * takes its own tasks from the result. An id requested several times in one window is read
+ * once. A batch closes early once it holds {@code app.task-batch.max-ids} ids.
+ */
+@Service
+public class TaskBatchLoader {
+    
+    private final TaskService taskService;
+    private final int maxIds;
+    private final long windowNanos;
+    private final Object lock = new Object();
+    private Batch open;
+    
+    public TaskBatchLoader(TaskService taskService,
+                           @Value("${app.task-batch.max-ids:100}") int maxIds,
+                           @Value("${app.task-batch.window-ms:2}") long windowMillis) {
+        this.taskService = taskService;
+        this.maxIds = maxIds;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+    
+    // One entry per distinct id, in request order, marking ids that have no task
+    public List<TaskLookupDto> lookUp(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Task ids must not be null");
+        }
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " task ids can be requested at once");
+        }
+        Map<Long, TaskDto> tasks = load(distinct);
+        List<TaskLookupDto> results = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            results.add(TaskLookupDto.of(id, tasks.get(id)));
+        }
+        return results;
+    }
+    
+    private Map<Long, TaskDto> load(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (windowNanos <= 0) {
+            return byId(taskService.getTasksByIds(ids));
+        }
+        
+        Batch batch;
+        boolean leader;
+        synchronized (lock) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch();
+            }
+            batch = open;
+            batch.ids.addAll(ids);
+            if (batch.ids.size() >= maxIds) {
+                open = null;
+            }
+        }
+        if (leader) {
+            long deadline = System.nanoTime() + windowNanos;
+            for (long remaining = windowNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+            synchronized (lock) {
+                if (open == batch) {
+                    open = null;
+                }
+            }
+            // The leader runs the query on its own thread, so it counts against its request's statement budget
+            try {
+                batch.result.complete(byId(taskService.getTasksByIds(batch.ids)));
+            } catch (RuntimeException e) {
+                batch.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return batch.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private static Map<Long, TaskDto> byId(Collection<TaskDto> tasks) {
+        Map<Long, TaskDto> byId = new HashMap<>();
+        for (TaskDto task : tasks) {
+            byId.put(task.getId(), task);
+        }
+        return byId;
+    }
+    
+    // Ids are only added while the batch is open, under the loader's lock
+    private static class Batch {
+        
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final CompletableFuture<Map<Long, TaskDto>> result = new CompletableFuture<>();
+    }
+}
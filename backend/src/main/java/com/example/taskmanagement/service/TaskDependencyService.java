@@ -0,0 +1,310 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dependency.TaskDependencyGraph;
+import com.example.taskmanagement.dto.CriticalPathDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskDependency;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.DependencyCycleException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Blocked-by relations between tasks. The relations are stored on the users shard and held in
+ * memory as a {@link TaskDependencyGraph} of all tasks, loaded on first use and kept current by
+ * task changes, so ready, blocked and critical path queries never run recursive SQL. A new
+ * relation is checked for cycles against the graph before it is stored. The graph reflects
+ * the relations and task changes made through this instance.
+ * <p>
+ * A graph is built without holding the lock, so task changes and queries on other threads
+ * are not held up by a load: changes arriving meanwhile are queued and applied to the new
+ * graph before it is swapped in, and a bulk change discards it so that it is built again.
+ */
+@Service
+public class TaskDependencyService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskDependencyService.class);
+    
+    public static final int MAX_LISTED_TASKS = 500;
+    
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final TaskRepository taskRepository;
+    private final ShardRouter shardRouter;
+    private final Object lock = new Object();
+    private final Object loadLock = new Object();
+    
+    // Guarded by lock. Null until loaded and after a bulk change
+    private TaskDependencyGraph graph;
+    // Changes seen while a graph is being built; null when none is
+    private List<Consumer<TaskDependencyGraph>> pending;
+    // Counts bulk changes, which invalidate a graph being built
+    private long generation;
+    
+    public TaskDependencyService(TaskDependencyRepository taskDependencyRepository, TaskRepository taskRepository,
+                                 ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.taskRepository = taskRepository;
+        this.shardRouter = shardRouter;
+        Gauge.builder("app.task-dependencies.ready", this, service -> service.readyCount())
+                .description("Open tasks without open blockers")
+                .register(meterRegistry);
+    }
+    
+    // Idempotent: adding an existing relation changes nothing
+    public void addBlocker(Long taskId, Long blockerId) {
+        withGraph(graph -> {
+            ensureInGraph(graph, taskId);
+            ensureInGraph(graph, blockerId);
+            switch (graph.addEdge(taskId, blockerId)) {
+                case EXISTS -> {
+                    return null;
+                }
+                case CYCLE -> throw new DependencyCycleException(taskId.equals(blockerId)
+                        ? "A task cannot block itself"
+                        : "Task " + taskId + " already blocks task " + blockerId + ", directly or through other tasks");
+                case ADDED -> {
+                }
+            }
+            try {
+                shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> {
+                    TaskDependency dependency = new TaskDependency();
+                    dependency.setTaskId(taskId);
+                    dependency.setBlockedById(blockerId);
+                    taskDependencyRepository.saveAndFlush(dependency);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Stored meanwhile through another instance
+                log.debug("Dependency of task {} on task {} already stored", taskId, blockerId);
+            } catch (RuntimeException e) {
+                graph.removeEdge(taskId, blockerId);
+                throw e;
+            }
+            return null;
+        });
+    }
+    
+    public void removeBlocker(Long taskId, Long blockerId) {
+        synchronized (lock) {
+            int deleted = shardRouter.onShard(ShardRouter.USERS_SHARD, false,
+                    () -> taskDependencyRepository.deleteDependency(taskId, blockerId));
+            if (deleted == 0) {
+                throw new ResourceNotFoundException("Task " + taskId + " is not blocked by task " + blockerId);
+            }
+            if (graph != null) {
+                graph.removeEdge(taskId, blockerId);
+            } else if (pending != null) {
+                pending.add(graph -> graph.removeEdge(taskId, blockerId));
+            }
+        }
+    }
+    
+    // Drops the relations of deleted tasks; called within the deleting transaction
+    public void deleteDependenciesOf(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> taskDependencyRepository.deleteByTaskIdIn(taskIds));
+        }
+    }
+    
+    // Direct blockers of the task, done or not
+    public List<TaskDto> getBlockers(Long taskId) {
+        long[] blockerIds = withGraph(graph -> {
+            ensureInGraph(graph, taskId);
+            return graph.blockersOf(taskId);
+        });
+        return loadTasks(blockerIds);
+    }
+    
+    // Open tasks whose blockers are all done; for a user, those the user is responsible for
+    public List<TaskDto> getReadyTasks(Long userId, int limit) {
+        long[] taskIds = withGraph(graph -> graph.readyTasks(userId, Math.min(limit, MAX_LISTED_TASKS)));
+        return loadTasks(taskIds);
+    }
+    
+    public List<TaskDto> getBlockedTasks(Long userId, int limit) {
+        long[] taskIds = withGraph(graph -> graph.blockedTasks(userId, Math.min(limit, MAX_LISTED_TASKS)));
+        return loadTasks(taskIds);
+    }
+    
+    public CriticalPathDto getCriticalPath(Long taskId, int limit) {
+        long[] path = withGraph(graph -> {
+            ensureInGraph(graph, taskId);
+            return graph.criticalPath(taskId);
+        });
+        return new CriticalPathDto(path.length,
+                loadTasks(Arrays.copyOf(path, Math.min(path.length, Math.min(limit, MAX_LISTED_TASKS)))));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            if (event.getType() == TaskChangedEvent.Type.BULK) {
+                graph = null;
+                generation++;
+            } else if (graph != null) {
+                apply(graph, event);
+            } else if (pending != null) {
+                pending.add(graph -> apply(graph, event));
+            }
+            // Otherwise not loaded yet, and the first query will read the committed state
+        }
+    }
+    
+    private int readyCount() {
+        synchronized (lock) {
+            return graph != null ? graph.readyCount() : 0;
+        }
+    }
+    
+    // Runs the call under the lock, loading the graph first if there is none
+    private <T> T withGraph(Function<TaskDependencyGraph, T> call) {
+        while (true) {
+            synchronized (lock) {
+                if (graph != null) {
+                    return call.apply(graph);
+                }
+            }
+            load();
+        }
+    }
+    
+    // Builds a graph and swaps it in, unless a bulk change made it stale meanwhile
+    private void load() {
+        synchronized (loadLock) {
+            long startedGeneration;
+            synchronized (lock) {
+                if (graph != null) {
+                    return;
+                }
+                pending = new ArrayList<>();
+                startedGeneration = generation;
+            }
+            
+            TaskDependencyGraph built = null;
+            try {
+                built = build();
+            } finally {
+                synchronized (lock) {
+                    if (built != null && generation == startedGeneration) {
+                        for (Consumer<TaskDependencyGraph> change : pending) {
+                            change.accept(built);
+                        }
+                        graph = built;
+                    }
+                    pending = null;
+                }
+            }
+        }
+    }
+    
+    // Every task, then every relation, each shard in its own read-only transaction
+    private TaskDependencyGraph build() {
+        TaskDependencyGraph built = new TaskDependencyGraph(1024);
+        shardRouter.onEachShard(true, () -> {
+            try (Stream<Object[]> rows = taskRepository.streamAnalyticsColumns()) {
+                rows.forEach(row -> built.upsertTask(
+                        (Long) row[0],
+                        isOpen((Task.TaskStatus) row[1]),
+                        row[5] != null ? (Long) row[5] : (Long) row[4]));
+            }
+            return null;
+        });
+        int[] skipped = new int[1];
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, true, () -> {
+            try (Stream<Object[]> rows = taskDependencyRepository.streamEdges()) {
+                rows.forEach(row -> {
+                    Long taskId = (Long) row[0];
+                    Long blockerId = (Long) row[1];
+                    if (built.contains(taskId) && built.contains(blockerId)) {
+                        built.addEdgeUnchecked(taskId, blockerId);
+                    } else {
+                        skipped[0]++;
+                    }
+                });
+            }
+        });
+        int cyclic = built.rebuildOrder();
+        if (cyclic > 0) {
+            log.warn("{} tasks are on or behind a dependency cycle", cyclic);
+        }
+        if (skipped[0] > 0) {
+            log.warn("Skipped {} dependencies on tasks that no longer exist", skipped[0]);
+        }
+        return built;
+    }
+    
+    private static void apply(TaskDependencyGraph graph, TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            graph.removeTask(event.getTaskId());
+        } else {
+            TaskDto task = event.getTask();
+            graph.upsertTask(task.getId(), isOpen(task.getStatus()), responsibleUser(task));
+        }
+    }
+    
+    // A task created through another instance may not have reached this graph yet
+    private void ensureInGraph(TaskDependencyGraph graph, Long taskId) {
+        if (graph.contains(taskId)) {
+            return;
+        }
+        int shard = shardRouter.locateTask(taskId, () -> taskRepository.existsById(taskId))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        TaskDto task = shardRouter.onShard(shard, true, () -> taskRepository.findById(taskId)
+                .map(TaskDto::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId)));
+        graph.upsertTask(taskId, isOpen(task.getStatus()), responsibleUser(task));
+    }
+    
+    // In the given order, skipping tasks deleted since the graph was read
+    private List<TaskDto> loadTasks(long[] taskIds) {
+        if (taskIds.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.stream(taskIds).boxed().collect(Collectors.toList());
+        Map<Long, TaskDto> tasks = shardRouter.fanOut(() -> taskRepository.findWithUsersByIdIn(ids)
+                        .stream()
+                        .map(TaskDto::fromEntity)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        List<TaskDto> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskDto task = tasks.get(id);
+            if (task != null) {
+                ordered.add(task);
+            }
+        }
+        return ordered;
+    }
+    
+    private static boolean isOpen(Task.TaskStatus status) {
+        return status == Task.TaskStatus.TODO || status == Task.TaskStatus.IN_PROGRESS;
+    }
+    
+    // A task counts for its assignee, or for its owner while unassigned
+    private static Long responsibleUser(TaskDto task) {
+        if (task.getAssignedTo() != null) {
+            return task.getAssignedTo().getId();
+        }
+        return task.getUser() != null ? task.getUser().getId() : null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.TaskDescription;
+import com.example.taskmanagement.repository.TaskDescriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Task descriptions, read and written only where a single task or an explicit request needs
+ * them. Every method runs in the caller's transaction, on the shard of the tasks.
+ */
+@Service
+public class TaskDescriptionService {
+    
+    // For bulk inserts that write the rows themselves, with the arguments from insertArgs
+    public static final String INSERT_SQL =
+            "INSERT INTO task_descriptions (task_id, content, compressed, original_length) VALUES (?, ?, ?, ?)";
+    public static final int[] INSERT_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARBINARY, Types.INTEGER };
+    
+    private final TaskDescriptionRepository taskDescriptionRepository;
+    private final int compressThreshold;
+    
+    public TaskDescriptionService(TaskDescriptionRepository taskDescriptionRepository,
+                                  @Value("${app.task-description.compress-threshold:1024}") int compressThreshold) {
+        this.taskDescriptionRepository = taskDescriptionRepository;
+        this.compressThreshold = Math.max(1, compressThreshold);
+    }
+    
+    public String getDescription(Long taskId) {
+        return taskDescriptionRepository.findById(taskId)
+                .map(TaskDescription::getText)
+                .orElse(null);
+    }
+    
+    // Sets the descriptions of the given tasks in place
+    public void fillDescriptions(List<TaskDto> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Map<Long, String> descriptions = taskDescriptionRepository
+                .findAllById(tasks.stream().map(TaskDto::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(TaskDescription::getTaskId, TaskDescription::getText));
+        tasks.forEach(task -> task.setDescription(descriptions.get(task.getId())));
+    }
+    
+    /**
+     * Tasks whose compressed description contains the keyword, which a LIKE on the stored
+     * beginning cannot tell. Inflates every compressed description on the shard, one at a time.
+     */
+    public List<Long> findCompressedContaining(String keyword) {
+        try (Stream<Object[]> rows = taskDescriptionRepository.streamCompressed()) {
+            return rows
+                    .filter(row -> TaskDescription.inflate((byte[]) row[1], (Integer) row[2]).contains(keyword))
+                    .map(row -> (Long) row[0])
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    // An empty description removes the stored one
+    public void setDescription(Long taskId, String text) {
+        if (text == null || text.isEmpty()) {
+            taskDescriptionRepository.deleteById(taskId);
+            return;
+        }
+        taskDescriptionRepository.save(TaskDescription.of(taskId, text, compressThreshold));
+    }
+    
+    public void deleteDescriptions(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskDescriptionRepository.deleteByTaskIdIn(taskIds);
+        }
+    }
+    
+    // Null when there is no description to store
+    public Object[] insertArgs(Long taskId, String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        TaskDescription description = TaskDescription.of(taskId, text, compressThreshold);
+        return new Object[] { taskId, description.getContent(), description.getCompressed(), description.getOriginalLength() };
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.CreateTaskRequest;
+import com.example.taskmanagement.dto.TaskImportJobDto;
+import com.example.taskmanagement.entity.TaskLabelsConverter;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.importer.TaskImportFormat;
+import com.example.taskmanagement.importer.TaskImportJob;
+import com.example.taskmanagement.importer.TaskImportRow;
+import com.example.taskmanagement.importer.TaskRowReader;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk task import. The upload is parsed as it arrives; valid rows are inserted in
+ * fixed-size chunks, each a single JDBC batch in its own transaction on the owner's shard,
+ * so a failure part-way through keeps every chunk committed before it. Rows that fail to
+ * parse, validate or insert are reported on the job and do not stop the import.
+ */
+@Service
+public class TaskImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+    
+    // Width of the title column
+    private static final int MAX_TEXT_LENGTH = 255;
+    
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO tasks (title, status, priority, due_date, user_id, assigned_to, created_at, updated_at, rank_key, labels) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TaskRankService taskRankService;
+    private final TaskDescriptionService taskDescriptionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final long retentionMinutes;
+    private final Map<String, TaskImportJob> jobs = new ConcurrentHashMap<>();
+    
+    public TaskImportService(UserRepository userRepository, JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                             TaskRankService taskRankService, TaskDescriptionService taskDescriptionService,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator, ObjectMapper objectMapper,
+                             @Value("${app.task-import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.task-import.max-errors:1000}") int maxErrors,
+                             @Value("${app.task-import.retention-minutes:60}") long retentionMinutes) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.taskRankService = taskRankService;
+        this.taskDescriptionService = taskDescriptionService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retentionMinutes = retentionMinutes;
+    }
+    
+    public TaskImportJobDto createJob(Long ownerId) {
+        evictExpiredJobs();
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveById(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + ownerId)));
+        
+        TaskImportJob job = new TaskImportJob(UUID.randomUUID().toString(), ownerId, maxErrors);
+        jobs.put(job.getId(), job);
+        return TaskImportJobDto.fromJob(job);
+    }
+    
+    public TaskImportJobDto getJob(String id) {
+        return TaskImportJobDto.fromJob(findJob(id));
+    }
+    
+    // Runs on the uploading request's thread; progress is visible through getJob meanwhile
+    public TaskImportJobDto runImport(String id, MediaType contentType, InputStream body) {
+        TaskImportJob job = findJob(id);
+        TaskImportFormat format = TaskImportFormat.forContentType(contentType);
+        if (!job.start(format)) {
+            throw new IllegalArgumentException("Import job has already received its data: " + id);
+        }
+        
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try (TaskRowReader reader = format.open(new InputStreamReader(body, charset), objectMapper)) {
+            importRows(job, reader);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Task import {} stopped after {} rows", id, job.getRowsRead(), e);
+            job.fail(e.getMessage());
+        }
+        log.info("Task import {} {}: {} rows read, {} imported, {} failed",
+                id, job.getStatus(), job.getRowsRead(), job.getImported(), job.getFailed());
+        return TaskImportJobDto.fromJob(job);
+    }
+    
+    private void importRows(TaskImportJob job, TaskRowReader reader) throws IOException {
+        Map<Long, Boolean> activeAssignees = new HashMap<>();
+        List<TaskImportRow> chunk = new ArrayList<>(chunkSize);
+        TaskImportRow row;
+        while ((row = reader.next()) != null) {
+            job.rowRead();
+            String error = row.getError() != null ? row.getError() : validate(row.getRequest());
+            if (error != null) {
+                job.rowFailed(row.getRowNumber(), error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                insertChunk(job, chunk, activeAssignees);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(job, chunk, activeAssignees);
+        }
+    }
+    
+    private String validate(CreateTaskRequest request) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<CreateTaskRequest> violation : validator.validate(request)) {
+            messages.add(violation.getMessage());
+        }
+        if (request.getTitle() != null && request.getTitle().length() > MAX_TEXT_LENGTH) {
+            messages.add("Title must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        messages.sort(null);
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+    
+    private void insertChunk(TaskImportJob job, List<TaskImportRow> chunk, Map<Long, Boolean> activeAssignees) {
+        List<TaskImportRow> rows = withActiveAssignees(job, chunk, activeAssignees);
+        if (rows.isEmpty()) {
+            return;
+        }
+        int shard = shardRouter.shardForUser(job.getOwnerId());
+        try {
+            shardRouter.runOnShard(shard, false, () -> insertRows(job.getOwnerId(), rows));
+            job.rowsImported(rows.size());
+        } catch (DataAccessException e) {
+            // The chunk was rolled back; retry its rows one at a time to find the ones the database rejects
+            for (TaskImportRow row : rows) {
+                try {
+                    shardRouter.runOnShard(shard, false, () -> insertRows(job.getOwnerId(), List.of(row)));
+                    job.rowsImported(1);
+                } catch (DataAccessException rowFailure) {
+                    job.rowFailed(row.getRowNumber(), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+    
+    // Assignees not seen earlier in the job are looked up with one query per chunk
+    private List<TaskImportRow> withActiveAssignees(TaskImportJob job, List<TaskImportRow> chunk,
+                                                    Map<Long, Boolean> activeAssignees) {
+        Set<Long> unknown = new HashSet<>();
+        for (TaskImportRow row : chunk) {
+            Long assigneeId = row.getRequest().getAssignedToId();
+            if (assigneeId != null && !activeAssignees.containsKey(assigneeId)) {
+                unknown.add(assigneeId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            unknown.forEach(assigneeId -> activeAssignees.put(assigneeId, false));
+            shardRouter.onShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveIdsByIdIn(unknown))
+                    .forEach(assigneeId -> activeAssignees.put(assigneeId, true));
+        }
+        
+        List<TaskImportRow> rows = new ArrayList<>(chunk.size());
+        for (TaskImportRow row : chunk) {
+            Long assigneeId = row.getRequest().getAssignedToId();
+            if (assigneeId == null || activeAssignees.get(assigneeId)) {
+                rows.add(row);
+            } else {
+                job.rowFailed(row.getRowNumber(), "Assigned user not found with id: " + assigneeId);
+            }
+        }
+        return rows;
+    }
+    
+    private void insertRows(Long ownerId, List<TaskImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Imported tasks go to the end of their columns in file order
+        Iterator<String> rankKeys = taskRankService.appendKeys(rows.stream()
+                .map(row -> row.getRequest().getStatus())
+                .collect(Collectors.toList())).iterator();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_TASK_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        CreateTaskRequest request = rows.get(i).getRequest();
+                        statement.setString(1, request.getTitle());
+                        statement.setString(2, request.getStatus().name());
+                        statement.setString(3, request.getPriority().name());
+                        statement.setTimestamp(4, request.getDueDate() != null ? Timestamp.valueOf(request.getDueDate()) : null);
+                        statement.setLong(5, ownerId);
+                        statement.setObject(6, request.getAssignedToId(), Types.BIGINT);
+                        statement.setTimestamp(7, now);
+                        statement.setTimestamp(8, now);
+                        statement.setString(9, rankKeys.next());
+                        statement.setString(10, TaskLabelsConverter.format(TaskLabelsConverter.normalize(request.getLabels())));
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        
+        // Descriptions go to their own table, keyed by the generated task ids
+        List<Map<String, Object>> taskIds = keys.getKeyList();
+        List<Object[]> descriptions = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Long taskId = ((Number) taskIds.get(i).values().iterator().next()).longValue();
+            Object[] description = taskDescriptionService.insertArgs(taskId, rows.get(i).getRequest().getDescription());
+            if (description != null) {
+                descriptions.add(description);
+            }
+        }
+        if (!descriptions.isEmpty()) {
+            jdbcTemplate.batchUpdate(TaskDescriptionService.INSERT_SQL, descriptions, TaskDescriptionService.INSERT_TYPES);
+        }
+        // One rebuild signal per chunk instead of an event per inserted task
+        eventPublisher.publishEvent(TaskChangedEvent.bulk());
+    }
+    
+    private TaskImportJob findJob(String id) {
+        TaskImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + id);
+        }
+        return job;
+    }
+    
+    // Finished jobs are kept for the retention period, jobs that never received data likewise
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getStatus() != TaskImportJob.Status.RUNNING
+                && (job.isFinished() ? job.getFinishedAt() : job.getCreatedAt()).isBefore(cutoff));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.LabelCountDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskLabelFilter;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskLabelsConverter;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.label.TaskIdBitmap;
+import com.example.taskmanagement.label.TaskLabelIndex;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Filters tasks by label combinations with a {@link TaskLabelIndex} of all tasks, loaded on first
+ * use and kept current by task changes. Filters are evaluated on the bitmaps, and only the
+ * requested page of ids is read from the database, so the cost of a filter does not depend on
+ * how many tasks match it. The index reflects the task changes made through this instance.
+ * <p>
+ * Filters share a read lock and changes take the write lock only to apply themselves. An index
+ * is built without holding either: changes arriving meanwhile are queued and applied to it
+ * before it is swapped in, and a bulk change discards it so that it is built again.
+ */
+@Service
+public class TaskLabelService {
+    
+    private final TaskRepository taskRepository;
+    private final ShardRouter shardRouter;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    
+    // Guarded by lock. Null until loaded and after a bulk change
+    private TaskLabelIndex index;
+    // Changes seen while an index is being built; null when none is
+    private List<TaskChangedEvent> pending;
+    // Counts bulk changes, which invalidate an index being built
+    private long generation;
+    
+    public TaskLabelService(TaskRepository taskRepository, ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.shardRouter = shardRouter;
+        Gauge.builder("app.task-labels.labels", this, service -> service.labelCount())
+                .description("Distinct labels in use")
+                .register(meterRegistry);
+    }
+    
+    public List<LabelCountDto> getLabels() {
+        Map<String, Long> counts = withIndex(TaskLabelIndex::labelCounts);
+        return counts.entrySet().stream()
+                .map(entry -> new LabelCountDto(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+    
+    // Matching tasks ordered by id
+    public TaskPageDto findTasks(TaskLabelFilter filter) {
+        int page = Math.max(0, filter.getPage());
+        int size = Math.max(1, Math.min(filter.getSize(), TaskService.MAX_QUERY_PAGE_SIZE));
+        Matches matches = withIndex(index -> {
+            TaskIdBitmap ids = index.match(
+                    TaskLabelsConverter.normalize(filter.getAll()),
+                    TaskLabelsConverter.normalize(filter.getAny()),
+                    TaskLabelsConverter.normalize(filter.getNone()),
+                    filter.getStatuses(),
+                    filter.getPriorities());
+            return new Matches(ids.cardinality(), ids.select((long) page * size, size));
+        });
+        long total = matches.total();
+        return new TaskPageDto(loadTasks(matches.ids()), page, size, total, (int) ((total + size - 1) / size));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == TaskChangedEvent.Type.BULK) {
+                index = null;
+                generation++;
+            } else if (index != null) {
+                apply(index, event);
+            } else if (pending != null) {
+                pending.add(event);
+            }
+            // Otherwise not loaded yet, and the first query will read the committed state
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private int labelCount() {
+        lock.readLock().lock();
+        try {
+            return index != null ? index.labelCount() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Runs the query under the read lock, loading the index first if there is none
+    private <T> T withIndex(Function<TaskLabelIndex, T> query) {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (index != null) {
+                    return query.apply(index);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            load();
+        }
+    }
+    
+    // Builds an index and swaps it in, unless a bulk change made it stale meanwhile
+    private void load() {
+        synchronized (loadLock) {
+            long startedGeneration;
+            lock.writeLock().lock();
+            try {
+                if (index != null) {
+                    return;
+                }
+                pending = new ArrayList<>();
+                startedGeneration = generation;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            TaskLabelIndex built = null;
+            try {
+                built = build();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (built != null && generation == startedGeneration) {
+                        for (TaskChangedEvent event : pending) {
+                            apply(built, event);
+                        }
+                        index = built;
+                    }
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+    
+    // Streams every shard in its own read-only transaction
+    @SuppressWarnings("unchecked")
+    private TaskLabelIndex build() {
+        TaskLabelIndex built = new TaskLabelIndex();
+        shardRouter.onEachShard(true, () -> {
+            try (Stream<Object[]> rows = taskRepository.streamLabelColumns()) {
+                rows.forEach(row -> built.upsert(
+                        (Long) row[0],
+                        (Task.TaskStatus) row[1],
+                        (Task.Priority) row[2],
+                        (List<String>) row[3]));
+            }
+            return null;
+        });
+        return built;
+    }
+    
+    private static void apply(TaskLabelIndex index, TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            index.remove(event.getTaskId());
+        } else {
+            TaskDto task = event.getTask();
+            index.upsert(task.getId(), task.getStatus(), task.getPriority(), task.getLabels());
+        }
+    }
+    
+    // In the given order, skipping tasks deleted since the index was read
+    private List<TaskDto> loadTasks(long[] taskIds) {
+        if (taskIds.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.stream(taskIds).boxed().collect(Collectors.toList());
+        Map<Long, TaskDto> tasks = shardRouter.fanOut(() -> taskRepository.findWithUsersByIdIn(ids)
+                        .stream()
+                        .map(TaskDto::fromEntity)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        List<TaskDto> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskDto task = tasks.get(id);
+            if (task != null) {
+                ordered.add(task);
+            }
+        }
+        return ordered;
+    }
+    
+    private record Matches(long total, long[] ids) {
+    }
+}
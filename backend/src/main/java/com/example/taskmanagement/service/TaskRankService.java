@@ -0,0 +1,323 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.MoveTaskRequest;
+import com.example.taskmanagement.dto.TaskColumnPageDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.rank.RankKeys;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manual order of tasks within their status column, kept as fractional rank keys (see
+ * {@link RankKeys}). A move computes a key between the new neighbours and rewrites only the
+ * moved task. New tasks, and tasks whose status changes, go to the end of their column.
+ * <p>
+ * A background rebalancer gives keys to tasks that have none, such as those that existed before
+ * ranks were introduced, appending them by id. It also renumbers a column once a move or append
+ * produced a key longer than {@code app.task-rank.max-key-length}, or met two tasks with the
+ * same key. Renumbering reads the ids and keys of the whole column into memory and rewrites
+ * them in batches, below the column's old largest key, so tasks appended meanwhile stay last.
+ * Moves, appends and page reads in a column wait while it is renumbered on this instance. A
+ * cursor taken before a renumber may skip or repeat tasks on the pages after it.
+ */
+@Service
+public class TaskRankService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskRankService.class);
+    
+    public static final int MAX_COLUMN_PAGE_SIZE = 500;
+    
+    private static final int UPDATE_BATCH_SIZE = 1000;
+    private static final Comparator<RankedTask> BY_RANK = Comparator
+            .comparing(RankedTask::rankKey)
+            .thenComparing(RankedTask::id);
+    
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+    private final int maxKeyLength;
+    
+    private final Map<Task.TaskStatus, ReentrantReadWriteLock> locks = new EnumMap<>(Task.TaskStatus.class);
+    private final Set<Task.TaskStatus> renumberPending = ConcurrentHashMap.newKeySet();
+    
+    public TaskRankService(TaskRepository taskRepository, JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.task-rank.max-key-length:16}") int maxKeyLength) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+        this.maxKeyLength = maxKeyLength;
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            locks.put(status, new ReentrantReadWriteLock());
+        }
+    }
+    
+    // Tasks of the column in manual order, a page at a time
+    public TaskColumnPageDto getColumn(Task.TaskStatus status, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_COLUMN_PAGE_SIZE));
+        String rankKey = "";
+        long afterId = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            int separator = cursor.lastIndexOf('.');
+            try {
+                rankKey = cursor.substring(0, separator);
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid column cursor: " + cursor);
+            }
+        }
+        String fromRank = rankKey;
+        long fromId = afterId;
+        List<RankedTask> ranked;
+        Lock lock = locks.get(status).readLock();
+        lock.lock();
+        try {
+            ranked = shardRouter.fanOut(() -> taskRepository
+                    .findColumnPage(status, fromRank, fromId, PageRequest.of(0, limit))
+                    .stream()
+                    .map(task -> new RankedTask(task.getId(), task.getRankKey(), TaskDto.fromEntity(task)))
+                    .collect(Collectors.toList()), BY_RANK);
+        } finally {
+            lock.unlock();
+        }
+        
+        List<RankedTask> page = ranked.subList(0, Math.min(limit, ranked.size()));
+        RankedTask last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = page.size() == limit ? last.rankKey() + "." + last.id() : null;
+        return new TaskColumnPageDto(page.stream().map(RankedTask::task).collect(Collectors.toList()), nextCursor);
+    }
+    
+    /**
+     * Places the task directly after {@code afterId}, directly before {@code beforeId}, or
+     * between both. The neighbours must be in the task's column.
+     */
+    public void moveTask(Long id, MoveTaskRequest request) {
+        Long afterId = request.getAfterId();
+        Long beforeId = request.getBeforeId();
+        if (afterId == null && beforeId == null) {
+            throw new IllegalArgumentException("Either afterId or beforeId is required");
+        }
+        if (id.equals(afterId) || id.equals(beforeId)) {
+            throw new IllegalArgumentException("A task cannot be placed next to itself");
+        }
+        int shard = shardOfTask(id);
+        Task.TaskStatus status = shardRouter.onShard(shard, true, () -> findTask(id).getStatus());
+        
+        Lock lock = locks.get(status).readLock();
+        lock.lock();
+        try {
+            String after = afterId != null ? rankOf(afterId, status) : null;
+            String before = beforeId != null ? rankOf(beforeId, status) : null;
+            String lower = after != null
+                    ? after
+                    : neighbour(() -> taskRepository.findPreviousRankKey(status, before, id), true);
+            String upper = before != null
+                    ? before
+                    : neighbour(() -> taskRepository.findNextRankKey(status, after, id), false);
+            if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+                if (lower.equals(upper)) {
+                    renumberPending.add(status);
+                }
+                throw new IllegalArgumentException("Task " + afterId + " is not before task " + beforeId + " in the column");
+            }
+            
+            String rankKey = RankKeys.between(lower, upper);
+            int updated = shardRouter.onShard(shard, false, () -> taskRepository.updateRankKey(id, status, rankKey));
+            if (updated == 0) {
+                throw new IllegalArgumentException("Task " + id + " left the " + status + " column while being moved");
+            }
+            checkLength(status, rankKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public String appendKey(Task.TaskStatus status) {
+        return appendKeys(List.of(status)).get(0);
+    }
+    
+    // One key per entry, each at the end of its column, in list order within a column
+    public List<String> appendKeys(List<Task.TaskStatus> statuses) {
+        Map<Task.TaskStatus, String> last = new EnumMap<>(Task.TaskStatus.class);
+        List<String> keys = new ArrayList<>(statuses.size());
+        for (Task.TaskStatus status : statuses) {
+            Lock lock = locks.get(status).readLock();
+            lock.lock();
+            try {
+                String previous = last.containsKey(status) ? last.get(status) : maxRank(status);
+                String rankKey = RankKeys.after(previous);
+                last.put(status, rankKey);
+                keys.add(rankKey);
+                checkLength(status, rankKey);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return keys;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.task-rank.rebalance-interval-ms:60000}",
+               initialDelayString = "${app.task-rank.rebalance-interval-ms:60000}")
+    public void rebalance() {
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            boolean renumber = renumberPending.remove(status);
+            boolean unranked = shardRouter.onEachShard(true, () -> taskRepository.existsByStatusAndRankKeyIsNull(status))
+                    .contains(true);
+            if (!renumber && !unranked) {
+                continue;
+            }
+            Lock lock = locks.get(status).writeLock();
+            lock.lock();
+            try {
+                if (unranked) {
+                    rankUnranked(status);
+                }
+                if (renumber) {
+                    renumber(status);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    // Appends tasks without a key to the end of their column, by id
+    private void rankUnranked(Task.TaskStatus status) {
+        List<List<Long>> idsByShard = shardRouter.onEachShard(true, () -> taskRepository.findUnrankedIds(status));
+        List<RankedTask> unranked = new ArrayList<>();
+        for (int shard = 0; shard < idsByShard.size(); shard++) {
+            for (Long id : idsByShard.get(shard)) {
+                unranked.add(new RankedTask(id, null, null, shard));
+            }
+        }
+        unranked.sort(Comparator.comparing(RankedTask::id));
+        
+        List<RankedTask> ranked = new ArrayList<>(unranked.size());
+        String previous = maxRank(status);
+        for (RankedTask task : unranked) {
+            previous = RankKeys.after(previous);
+            ranked.add(new RankedTask(task.id(), previous, null, task.shard()));
+        }
+        write(status, ranked, "unranked");
+        if (previous != null && previous.length() > maxKeyLength) {
+            renumber(status);
+        }
+    }
+    
+    // Gives the column evenly spaced short keys in its current order
+    private void renumber(Task.TaskStatus status) {
+        List<List<Object[]>> rowsByShard = shardRouter.onEachShard(true, () -> taskRepository.findRankKeys(status));
+        List<RankedTask> column = new ArrayList<>();
+        for (int shard = 0; shard < rowsByShard.size(); shard++) {
+            for (Object[] row : rowsByShard.get(shard)) {
+                column.add(new RankedTask((Long) row[0], (String) row[1], null, shard));
+            }
+        }
+        if (column.isEmpty()) {
+            return;
+        }
+        column.sort(BY_RANK);
+        
+        List<String> keys = RankKeys.spread(column.size(), column.get(column.size() - 1).rankKey());
+        List<RankedTask> renumbered = new ArrayList<>(column.size());
+        for (int i = 0; i < column.size(); i++) {
+            RankedTask task = column.get(i);
+            renumbered.add(new RankedTask(task.id(), keys.get(i), null, task.shard()));
+        }
+        write(status, renumbered, "renumbered");
+    }
+    
+    private void write(Task.TaskStatus status, List<RankedTask> tasks, String reason) {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int target = shard;
+            List<Object[]> rows = tasks.stream()
+                    .filter(task -> task.shard() == target)
+                    .map(task -> new Object[] { task.rankKey(), task.id(), status.name() })
+                    .collect(Collectors.toList());
+            // One transaction per shard, so readers see the column either before or after
+            shardRouter.runOnShard(target, false, () -> {
+                for (int start = 0; start < rows.size(); start += UPDATE_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate("UPDATE tasks SET rank_key = ? WHERE id = ? AND status = ?",
+                            rows.subList(start, Math.min(start + UPDATE_BATCH_SIZE, rows.size())));
+                }
+            });
+        }
+        meterRegistry.counter("app.task-rank.rewritten", "reason", reason).increment(tasks.size());
+        log.info("Wrote rank keys of {} {} tasks in the {} column", tasks.size(), reason, status);
+    }
+    
+    private void checkLength(Task.TaskStatus status, String rankKey) {
+        if (rankKey.length() > maxKeyLength) {
+            renumberPending.add(status);
+        }
+    }
+    
+    private String maxRank(Task.TaskStatus status) {
+        return shardRouter.fanOut(() -> Stream.ofNullable(taskRepository.findMaxRankKey(status)).collect(Collectors.toList()))
+                .stream()
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+    
+    // The nearest key across all shards, or null at the start or end of the column
+    private String neighbour(Supplier<String> query, boolean previous) {
+        Stream<String> keys = shardRouter.fanOut(() -> Stream.ofNullable(query.get()).collect(Collectors.toList())).stream();
+        return (previous ? keys.max(Comparator.naturalOrder()) : keys.min(Comparator.naturalOrder())).orElse(null);
+    }
+    
+    private String rankOf(Long id, Task.TaskStatus status) {
+        Task task = shardRouter.onShard(shardOfTask(id), true, () -> findTask(id));
+        if (task.getStatus() != status) {
+            throw new IllegalArgumentException("Task " + id + " is not in the " + status + " column");
+        }
+        if (task.getRankKey() == null) {
+            throw new IllegalArgumentException("Task " + id + " has no place in its column yet");
+        }
+        return task.getRankKey();
+    }
+    
+    private Task findTask(Long id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+    
+    private int shardOfTask(Long id) {
+        return shardRouter.locateTask(id, () -> taskRepository.existsById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+    
+    private record RankedTask(Long id, String rankKey, TaskDto task, int shard) {
+        
+        RankedTask(Long id, String rankKey, TaskDto task) {
+            this(id, rankKey, task, 0);
+        }
+    }
+}
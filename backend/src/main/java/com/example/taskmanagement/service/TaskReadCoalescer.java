@@ -0,0 +1,174 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.UserChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Task list reads with identical concurrent calls coalesced. The first call for a query and
+ * its arguments runs it; calls with the same arguments arriving meanwhile wait for and share
+ * its result, as do calls within {@code app.task-coalescing.ttl-ms} after it completed. So
+ * under a burst of identical requests the database sees one query per distinct query. A task
+ * or user change discards every result and running query started before it, so a read never
+ * returns data older than a change this instance has committed. Failures are shared with the
+ * waiting calls but not kept. Shared lists are unmodifiable.
+ */
+@Service
+public class TaskReadCoalescer {
+    
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+    private final long ttlNanos;
+    private final Executor expiry;
+    
+    private final ConcurrentHashMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    
+    public TaskReadCoalescer(TaskService taskService, MeterRegistry meterRegistry,
+                             @Value("${app.task-coalescing.ttl-ms:50}") long ttlMillis) {
+        this.taskService = taskService;
+        this.meterRegistry = meterRegistry;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.expiry = CompletableFuture.delayedExecutor(Math.max(ttlMillis, 0), TimeUnit.MILLISECONDS);
+        Gauge.builder("app.task-coalescing.flights", flights, ConcurrentHashMap::size)
+                .description("Task queries running or holding a result for sharing")
+                .register(meterRegistry);
+    }
+    
+    public List<TaskDto> getAllTasks() {
+        return coalesceList("all", null, taskService::getAllTasks);
+    }
+    
+    public Page<TaskDto> getAllTasksPaginated(Pageable pageable) {
+        return coalesce("page", pageable, () -> taskService.getAllTasksPaginated(pageable));
+    }
+    
+    public List<TaskDto> getTasksByUser(Long userId) {
+        return coalesceList("user", userId, () -> taskService.getTasksByUser(userId));
+    }
+    
+    public List<TaskDto> getTasksAssignedTo(Long userId) {
+        return coalesceList("assignee", userId, () -> taskService.getTasksAssignedTo(userId));
+    }
+    
+    public List<TaskDto> getTasksByStatus(Task.TaskStatus status) {
+        return coalesceList("status", status, () -> taskService.getTasksByStatus(status));
+    }
+    
+    public List<TaskDto> getTasksByPriority(Task.Priority priority) {
+        return coalesceList("priority", priority, () -> taskService.getTasksByPriority(priority));
+    }
+    
+    public List<TaskDto> searchTasks(String keyword) {
+        return coalesceList("search", keyword, () -> taskService.searchTasks(keyword));
+    }
+    
+    public List<TaskDto> getOverdueTasks() {
+        return coalesceList("overdue", null, taskService::getOverdueTasks);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate();
+    }
+    
+    // Tasks embed their owner and assignee
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate();
+    }
+    
+    private void invalidate() {
+        generation.incrementAndGet();
+        flights.clear();
+    }
+    
+    private List<TaskDto> coalesceList(String query, Object argument, Supplier<List<TaskDto>> load) {
+        return coalesce(query, argument, () -> Collections.unmodifiableList(load.get()));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(String query, Object argument, Supplier<T> load) {
+        Key key = new Key(query, argument);
+        Flight mine = new Flight(generation.get());
+        Flight flight = flights.compute(key, (k, existing) ->
+                existing != null && existing.shareableWith(mine, ttlNanos) ? existing : mine);
+        if (flight != mine) {
+            count(query, flight.result.isDone() ? "reused" : "joined");
+            return (T) flight.await();
+        }
+        
+        count(query, "executed");
+        try {
+            T result = load.get();
+            mine.completedAt = System.nanoTime();
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (ttlNanos > 0 && !mine.result.isCompletedExceptionally()) {
+                expiry.execute(() -> flights.remove(key, mine));
+            } else {
+                flights.remove(key, mine);
+            }
+        }
+    }
+    
+    private void count(String query, String outcome) {
+        meterRegistry.counter("app.task-coalescing.calls", "query", query, "outcome", outcome).increment();
+    }
+    
+    private record Key(String query, Object argument) {
+    }
+    
+    private static final class Flight {
+        
+        final long generation;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long completedAt;
+        
+        Flight(long generation) {
+            this.generation = generation;
+        }
+        
+        // Running, or completed within the TTL, and not older than any change the caller may have seen
+        boolean shareableWith(Flight caller, long ttlNanos) {
+            if (generation < caller.generation || result.isCompletedExceptionally()) {
+                return false;
+            }
+            return !result.isDone() || System.nanoTime() - completedAt < ttlNanos;
+        }
+        
+        // Waiters get the failure of the call they joined
+        Object await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.queue.HierarchicalTimingWheel;
+import com.example.taskmanagement.reminder.ReminderSink;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sends a reminder {@code app.reminders.lead-minutes} before an open task is due. Reminders for
+ * tasks due within {@code app.reminders.horizon-hours} are held in a timing wheel, loaded at
+ * startup, kept current by task change events and extended by a periodic refill, so the
+ * database is only read in bulk and never polled for due tasks. Tasks are re-read when their
+ * reminder fires, and a reminder is only sent if the task is still open and due at that time.
+ */
+@Service
+public class TaskReminderService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderService.class);
+    
+    private static final Set<Task.TaskStatus> OPEN_STATUSES = EnumSet.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS);
+    
+    // Rows inserted into the wheel per lock acquisition while loading, and tasks re-read per query when firing
+    private static final int CHUNK_SIZE = 1000;
+    
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final ShardRouter shardRouter;
+    private final List<ReminderSink> sinks;
+    private final long leadMillis;
+    private final long horizonMillis;
+    
+    private final Object lock = new Object();
+    private final HierarchicalTimingWheel wheel;
+    
+    // Every open task due before this epoch milli has its reminder in the wheel
+    private long loadedUntil = Long.MIN_VALUE;
+    private boolean reloadPending;
+    
+    public TaskReminderService(TaskRepository taskRepository, TaskService taskService, ShardRouter shardRouter,
+                               List<ReminderSink> sinks, MeterRegistry meterRegistry,
+                               @Value("${app.reminders.lead-minutes:60}") long leadMinutes,
+                               @Value("${app.reminders.horizon-hours:24}") long horizonHours,
+                               @Value("${app.reminders.tick-ms:1000}") long tickMillis,
+                               @Value("${app.reminders.refill-interval-ms:900000}") long refillIntervalMillis) {
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+        this.shardRouter = shardRouter;
+        this.sinks = sinks;
+        this.leadMillis = TimeUnit.MINUTES.toMillis(leadMinutes);
+        this.horizonMillis = TimeUnit.HOURS.toMillis(horizonHours);
+        if (refillIntervalMillis >= horizonMillis) {
+            throw new IllegalArgumentException("The reminder refill interval must be shorter than the horizon");
+        }
+        this.wheel = new HierarchicalTimingWheel(tickMillis,
+                HierarchicalTimingWheel.levelsFor(tickMillis, horizonMillis + refillIntervalMillis),
+                System.currentTimeMillis());
+        Gauge.builder("app.reminders.pending", this, TaskReminderService::pendingReminders)
+                .description("Reminders scheduled in the timing wheel")
+                .register(meterRegistry);
+    }
+    
+    public int pendingReminders() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long now = System.currentTimeMillis();
+        long from;
+        synchronized (lock) {
+            reloadPending = false;
+            wheel.clear(now);
+            from = now;
+            loadedUntil = now + leadMillis + horizonMillis;
+        }
+        int loaded = load(from, now + leadMillis + horizonMillis);
+        log.info("Loaded {} task reminders", loaded);
+    }
+    
+    // Extends the loaded range so it again reaches a full horizon ahead
+    @Scheduled(fixedDelayString = "${app.reminders.refill-interval-ms:900000}",
+               initialDelayString = "${app.reminders.refill-interval-ms:900000}")
+    public void refill() {
+        long to = System.currentTimeMillis() + leadMillis + horizonMillis;
+        long from;
+        synchronized (lock) {
+            if (reloadPending || loadedUntil == Long.MIN_VALUE) {
+                return;
+            }
+            from = loadedUntil;
+            loadedUntil = to;
+        }
+        int loaded = load(from, to);
+        log.debug("Refilled {} task reminders", loaded);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reminders.tick-ms:1000}")
+    public void fireDueReminders() {
+        boolean reload;
+        synchronized (lock) {
+            reload = reloadPending;
+        }
+        if (reload) {
+            reload();
+        }
+        
+        Map<Long, Long> due = new HashMap<>();
+        synchronized (lock) {
+            wheel.advance(System.currentTimeMillis(), due::put);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(due.keySet());
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            for (TaskDto task : taskService.getTasksByIds(ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size())))) {
+                // Skips reminders made stale by a change the wheel has not seen, e.g. during a load
+                if (OPEN_STATUSES.contains(task.getStatus()) && task.getDueDate() != null
+                        && toEpochMilli(task.getDueDate()) - leadMillis == due.get(task.getId())) {
+                    send(task);
+                }
+            }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            if (event.getType() == TaskChangedEvent.Type.BULK) {
+                wheel.clear(System.currentTimeMillis());
+                reloadPending = true;
+                return;
+            }
+            wheel.cancel(event.getTaskId());
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                return;
+            }
+            
+            TaskDto task = event.getTask();
+            if (task.getDueDate() != null && OPEN_STATUSES.contains(task.getStatus())) {
+                long dueAt = toEpochMilli(task.getDueDate());
+                // Later due dates are picked up by the refill that reaches them
+                if (dueAt >= System.currentTimeMillis() && dueAt < loadedUntil) {
+                    wheel.schedule(task.getId(), dueAt - leadMillis);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Streams the tasks due in [from, to) from every shard into the wheel. The range is already
+     * marked loaded, so events for it are applied meanwhile and take precedence over the rows read.
+     */
+    private int load(long from, long to) {
+        LocalDateTime fromDate = toLocalDateTime(from);
+        LocalDateTime toDate = toLocalDateTime(to);
+        List<Integer> counts = shardRouter.onEachShard(true, () -> {
+            long[] ids = new long[CHUNK_SIZE];
+            long[] remindAt = new long[CHUNK_SIZE];
+            int count = 0;
+            int pending = 0;
+            try (Stream<Object[]> rows = taskRepository.streamDueBetween(fromDate, toDate, OPEN_STATUSES)) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    ids[pending] = (Long) row[0];
+                    remindAt[pending] = toEpochMilli((LocalDateTime) row[1]) - leadMillis;
+                    if (++pending == CHUNK_SIZE) {
+                        count += insertAbsent(ids, remindAt, pending);
+                        pending = 0;
+                    }
+                }
+            }
+            return count + insertAbsent(ids, remindAt, pending);
+        });
+        return counts.stream().mapToInt(Integer::intValue).sum();
+    }
+    
+    private int insertAbsent(long[] ids, long[] remindAt, int count) {
+        int inserted = 0;
+        synchronized (lock) {
+            // A reload started meanwhile, its own load reads these rows again
+            if (reloadPending) {
+                return 0;
+            }
+            for (int i = 0; i < count; i++) {
+                if (!wheel.contains(ids[i])) {
+                    wheel.schedule(ids[i], remindAt[i]);
+                    inserted++;
+                }
+            }
+        }
+        return inserted;
+    }
+    
+    private void send(TaskDto task) {
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.remind(task);
+            } catch (RuntimeException e) {
+                log.warn("Reminder sink {} failed for task {}", sink.getClass().getSimpleName(), task.getId(), e);
+            }
+        }
+    }
+    
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.CreateTaskSeriesRequest;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskSeriesDto;
+import com.example.taskmanagement.dto.UserDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskSeries;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.recurrence.RecurrenceRule;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskSeriesRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring tasks. A series creates its occurrences as ordinary tasks once they are due within
+ * {@code app.task-series.materialize-ahead-hours}; later occurrences are never stored, they are
+ * computed from the recurrence rule for upcoming and overdue listings. A background roller
+ * advances due series shard by shard in batches of {@code app.task-series.batch-size}, each in
+ * its own transaction. A series lives on its owner's shard, next to the tasks it creates.
+ */
+@Service
+public class TaskSeriesService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskSeriesService.class);
+    
+    public static final int MAX_PROJECTED_DAYS = 366;
+    
+    // Bounds the work per series in one transaction after a long pause of the roller
+    private static final int MAX_OCCURRENCES_PER_ROLL = 100;
+    private static final int MAX_PROJECTED_PER_SERIES = 1000;
+    
+    private final TaskSeriesRepository taskSeriesRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final TaskRankService taskRankService;
+    private final TaskDescriptionService taskDescriptionService;
+    private final long materializeAheadHours;
+    private final int batchSize;
+    
+    public TaskSeriesService(TaskSeriesRepository taskSeriesRepository, TaskRepository taskRepository,
+                             UserRepository userRepository, ApplicationEventPublisher eventPublisher, ShardRouter shardRouter,
+                             TaskRankService taskRankService, TaskDescriptionService taskDescriptionService,
+                             @Value("${app.task-series.materialize-ahead-hours:24}") long materializeAheadHours,
+                             @Value("${app.task-series.batch-size:500}") int batchSize) {
+        this.taskSeriesRepository = taskSeriesRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.taskRankService = taskRankService;
+        this.taskDescriptionService = taskDescriptionService;
+        this.materializeAheadHours = materializeAheadHours;
+        this.batchSize = batchSize;
+    }
+    
+    public TaskSeriesDto createSeries(CreateTaskSeriesRequest request, Long userId) {
+        RecurrenceRule rule = RecurrenceRule.parse(request.getRecurrenceRule());
+        return shardRouter.onShard(shardRouter.shardForUser(userId), false, () -> {
+            User user = userRepository.findActiveById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            
+            TaskSeries series = new TaskSeries();
+            series.setTitle(request.getTitle());
+            series.setDescription(request.getDescription());
+            series.setPriority(request.getPriority());
+            series.setRecurrenceRule(request.getRecurrenceRule().trim());
+            series.setStartsAt(request.getStartsAt());
+            series.setUser(user);
+            if (request.getAssignedToId() != null) {
+                User assignedTo = userRepository.findActiveById(request.getAssignedToId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Assigned user not found with id: " + request.getAssignedToId()));
+                series.setAssignedTo(assignedTo);
+            }
+            skipPastOccurrences(series, rule, LocalDateTime.now());
+            
+            TaskSeries savedSeries = taskSeriesRepository.save(series);
+            materialize(savedSeries, rule, LocalDateTime.now().plusHours(materializeAheadHours));
+            return TaskSeriesDto.fromEntity(savedSeries);
+        });
+    }
+    
+    public TaskSeriesDto getSeriesById(Long id) {
+        return shardRouter.onShard(shardOfSeries(id), true, () -> TaskSeriesDto.fromEntity(findSeries(id)));
+    }
+    
+    public List<TaskSeriesDto> getSeriesByUser(Long userId) {
+        return shardRouter.onShard(shardRouter.shardForUser(userId), true, () -> {
+            userRepository.findActiveById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            return taskSeriesRepository.findWithUsersByUserId(userId)
+                    .stream()
+                    .map(TaskSeriesDto::fromEntity)
+                    .collect(Collectors.toList());
+        });
+    }
+    
+    // Stops the series; tasks it already created are kept
+    public void deleteSeries(Long id) {
+        shardRouter.runOnShard(shardOfSeries(id), false, () -> taskSeriesRepository.delete(findSeries(id)));
+    }
+    
+    // Occurrences of the series due in [now, now + days) that are not tasks yet
+    public List<TaskDto> getProjectedOccurrences(Long id, int days) {
+        LocalDateTime from = LocalDateTime.now();
+        return shardRouter.onShard(shardOfSeries(id), true, () -> {
+            List<TaskDto> occurrences = new ArrayList<>();
+            project(findSeries(id), from, from.plusDays(days), occurrences);
+            return occurrences;
+        });
+    }
+    
+    // Occurrences due in [from, to) of running series the user owns or is assigned to, not tasks yet
+    public List<TaskDto> projectForUser(Long userId, LocalDateTime from, LocalDateTime to) {
+        return shardRouter.fanOut(() -> {
+            List<TaskDto> occurrences = new ArrayList<>();
+            for (TaskSeries series : taskSeriesRepository.findRunningByUserOrAssignee(userId)) {
+                project(series, from, to, occurrences);
+            }
+            return occurrences;
+        });
+    }
+    
+    // Occurrences due before now that the roller has not created yet
+    public List<TaskDto> projectOverdue(LocalDateTime now) {
+        return shardRouter.fanOut(() -> {
+            List<TaskDto> occurrences = new ArrayList<>();
+            for (TaskSeries series : taskSeriesRepository.findDueBy(now, Pageable.unpaged())) {
+                project(series, series.getNextOccurrence(), now, occurrences);
+            }
+            return occurrences;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${app.task-series.roll-interval-ms:60000}",
+               initialDelayString = "${app.task-series.roll-interval-ms:60000}")
+    public void rollSeries() {
+        LocalDateTime until = LocalDateTime.now().plusHours(materializeAheadHours);
+        long created = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            RollResult batch;
+            do {
+                batch = shardRouter.onShard(shard, false, () -> rollBatch(until));
+                created += batch.occurrences();
+            } while (batch.series() == batchSize);
+        }
+        if (created > 0) {
+            log.info("Created {} tasks from recurring series", created);
+        }
+    }
+    
+    private RollResult rollBatch(LocalDateTime until) {
+        List<TaskSeries> due = taskSeriesRepository.findDueBy(until, PageRequest.of(0, batchSize));
+        int created = 0;
+        for (TaskSeries series : due) {
+            created += materialize(series, RecurrenceRule.parse(series.getRecurrenceRule()), until);
+        }
+        return new RollResult(due.size(), created);
+    }
+    
+    // Creates the occurrences due by the given time and moves the series past them
+    private int materialize(TaskSeries series, RecurrenceRule rule, LocalDateTime until) {
+        List<Task> occurrences = new ArrayList<>();
+        while (series.getNextOccurrence() != null && !series.getNextOccurrence().isAfter(until)
+                && occurrences.size() < MAX_OCCURRENCES_PER_ROLL) {
+            Task task = new Task();
+            task.setTitle(series.getTitle());
+            task.setStatus(Task.TaskStatus.TODO);
+            task.setPriority(series.getPriority());
+            task.setDueDate(series.getNextOccurrence());
+            task.setUser(series.getUser());
+            task.setAssignedTo(series.getAssignedTo());
+            task.setSeriesId(series.getId());
+            occurrences.add(task);
+            series.setOccurrenceCount(series.getOccurrenceCount() + 1);
+            series.setNextOccurrence(rule.next(series.getStartsAt(), series.getNextOccurrence(), series.getOccurrenceCount()));
+        }
+        List<String> rankKeys = taskRankService.appendKeys(Collections.nCopies(occurrences.size(), Task.TaskStatus.TODO));
+        for (int i = 0; i < occurrences.size(); i++) {
+            occurrences.get(i).setRankKey(rankKeys.get(i));
+        }
+        for (Task task : taskRepository.saveAll(occurrences)) {
+            taskDescriptionService.setDescription(task.getId(), series.getDescription());
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskDto.fromEntity(task)));
+        }
+        return occurrences.size();
+    }
+    
+    // A series starting in the past begins with its first occurrence from now on; skipped ones count towards a COUNT
+    private static void skipPastOccurrences(TaskSeries series, RecurrenceRule rule, LocalDateTime now) {
+        LocalDateTime start = series.getStartsAt();
+        LocalDateTime next = rule.first(start);
+        int occurred = 0;
+        if (next != null && next.isBefore(now) && rule.getCount() == null) {
+            next = rule.next(start, now.minusNanos(1), 0);
+        }
+        while (next != null && next.isBefore(now)) {
+            occurred++;
+            next = rule.next(start, next, occurred);
+        }
+        series.setNextOccurrence(next);
+        series.setOccurrenceCount(occurred);
+    }
+    
+    private static void project(TaskSeries series, LocalDateTime from, LocalDateTime to, List<TaskDto> into) {
+        RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrenceRule());
+        LocalDateTime occurrence = series.getNextOccurrence();
+        int occurred = series.getOccurrenceCount();
+        int projected = 0;
+        while (occurrence != null && occurrence.isBefore(to) && projected < MAX_PROJECTED_PER_SERIES) {
+            if (!occurrence.isBefore(from)) {
+                into.add(toProjectedTask(series, occurrence));
+                projected++;
+            }
+            occurred++;
+            occurrence = rule.next(series.getStartsAt(), occurrence, occurred);
+        }
+    }
+    
+    // Not stored yet, so it has no id or timestamps
+    private static TaskDto toProjectedTask(TaskSeries series, LocalDateTime dueDate) {
+        TaskDto task = new TaskDto(null, series.getTitle(), null, Task.TaskStatus.TODO,
+                series.getPriority(), dueDate,
+                series.getUser() != null ? UserDto.fromEntity(series.getUser()) : null,
+                series.getAssignedTo() != null ? UserDto.fromEntity(series.getAssignedTo()) : null,
+                null, null);
+        task.setSeriesId(series.getId());
+        return task;
+    }
+    
+    private TaskSeries findSeries(Long id) {
+        return taskSeriesRepository.findWithUsersById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task series not found with id: " + id));
+    }
+    
+    // Series ids are striped by shard like task ids
+    private int shardOfSeries(Long id) {
+        return shardRouter.locateTask(id, () -> taskSeriesRepository.existsById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Task series not found with id: " + id));
+    }
+    
+    private record RollResult(int series, int occurrences) {
+    }
+}
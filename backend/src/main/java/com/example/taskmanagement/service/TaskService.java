@@ -2,138 +2,298 @@ package com.example.taskmanagement.service;
 
 import com.example.taskmanagement.dto.CreateTaskRequest;
 import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.dto.TaskQuery;
 import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskLabelsConverter;
 import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.event.TaskChangedEvent;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskSpecifications;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Task operations. Every call runs in a transaction on the shard that holds the data
+ * (see {@link ShardRouter}); queries that span users fan out to all shards.
+ */
 @Service
-@Transactional
 public class TaskService {
     
+    public static final int MAX_QUERY_PAGE_SIZE = 100;
+    
+    private static final Comparator<TaskDto> BY_ID = Comparator.comparing(TaskDto::getId);
+    
+    // Projected series occurrences have no id and sort after stored tasks due at the same time
+    private static final Comparator<TaskDto> BY_DUE_DATE = Comparator
+            .comparing(TaskDto::getDueDate)
+            .thenComparing(TaskDto::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskDto::getSeriesId, Comparator.nullsLast(Comparator.naturalOrder()));
+    
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final TaskSeriesService taskSeriesService;
+    private final TaskRankService taskRankService;
+    private final TaskDependencyService taskDependencyService;
+    private final TaskDescriptionService taskDescriptionService;
     
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher, ShardRouter shardRouter,
+                       TaskSeriesService taskSeriesService, TaskRankService taskRankService,
+                       TaskDependencyService taskDependencyService, TaskDescriptionService taskDescriptionService) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.taskSeriesService = taskSeriesService;
+        this.taskRankService = taskRankService;
+        this.taskDependencyService = taskDependencyService;
+        this.taskDescriptionService = taskDescriptionService;
     }
     
     public List<TaskDto> getAllTasks() {
-        return taskRepository.findAll()
+        return shardRouter.fanOut(() -> taskRepository.findAll()
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID);
     }
     
     public Page<TaskDto> getAllTasksPaginated(Pageable pageable) {
-        return taskRepository.findAll(pageable)
-                .map(TaskDto::fromEntity);
+        // Ordered by id so pages from several shards can be merged
+        Pageable byId = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+        return shardRouter.fanOutPage(page -> taskRepository.findAll(page)
+                .map(TaskDto::fromEntity), byId, BY_ID);
     }
     
     public TaskDto getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        return TaskDto.fromEntity(task);
+        return shardRouter.onShard(shardOfTask(id), true, () -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            TaskDto dto = TaskDto.fromEntity(task);
+            dto.setDescription(taskDescriptionService.getDescription(id));
+            return dto;
+        });
+    }
+    
+    // Tasks with the given ids; ids without a task are left out
+    public List<TaskDto> getTasksByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return shardRouter.fanOut(() -> taskRepository.findWithUsersByIdIn(ids)
+                .stream()
+                .map(TaskDto::fromEntity)
+                .collect(Collectors.toList()));
     }
     
     public List<TaskDto> getTasksByUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        return shardRouter.onShard(shardRouter.shardForUser(userId), true, () -> {
+            User user = userRepository.findActiveById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            
+            return taskRepository.findByUser(user)
+                    .stream()
+                    .map(TaskDto::fromEntity)
+                    .collect(Collectors.toList());
+        });
+    }
+    
+    public List<TaskDto> getTasksAssignedTo(Long userId) {
+        User user = shardRouter.onShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId)));
         
-        return taskRepository.findByUser(user)
+        return shardRouter.fanOut(() -> taskRepository.findByAssignedTo(user)
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID);
+    }
+    
+    // Tasks a user owns or is assigned to due in the next days, with the occurrences their series will create
+    public List<TaskDto> getUpcomingTasks(Long userId, int days) {
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId)));
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(days);
+        
+        List<TaskDto> tasks = new ArrayList<>(shardRouter.fanOut(() -> taskRepository.findWithUsersDueBetween(userId, from, to)
+                .stream()
+                .map(TaskDto::fromEntity)
+                .collect(Collectors.toList())));
+        tasks.addAll(taskSeriesService.projectForUser(userId, from, to));
+        tasks.sort(BY_DUE_DATE);
+        return tasks;
+    }
+    
+    public TaskPageDto queryTasks(TaskQuery query) {
+        Specification<Task> specification = Specification
+                .where(TaskSpecifications.hasStatusIn(query.getStatuses()))
+                .and(TaskSpecifications.hasPriorityIn(query.getPriorities()))
+                .and(TaskSpecifications.ownedBy(query.getOwnerId()))
+                .and(TaskSpecifications.assignedTo(query.getAssigneeId()))
+                .and(TaskSpecifications.dueBetween(query.getDueFrom(), query.getDueTo()))
+                .and(TaskSpecifications.fetchUsersOrderedBy(query.getSortBy(), query.getDirection()));
+        
+        // Ordering is part of the specification, so the page request stays unsorted
+        int size = Math.max(1, Math.min(query.getSize(), MAX_QUERY_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(Math.max(0, query.getPage()), size);
+        boolean hasKeyword = query.getKeyword() != null && !query.getKeyword().isBlank();
+        Function<Pageable, Page<TaskDto>> search = page -> {
+            Specification<Task> matching = specification;
+            if (hasKeyword) {
+                // On each shard, where its compressed descriptions are
+                matching = matching.and(TaskSpecifications.containsKeyword(query.getKeyword(),
+                        taskDescriptionService.findCompressedContaining(query.getKeyword())));
+            }
+            Page<TaskDto> tasks = taskRepository.findAll(matching, page).map(TaskDto::fromEntity);
+            if (query.isIncludeDescriptions()) {
+                taskDescriptionService.fillDescriptions(tasks.getContent());
+            }
+            return tasks;
+        };
+        
+        // An owner's tasks all live on the owner's shard
+        Page<TaskDto> result = query.getOwnerId() != null
+                ? shardRouter.onShard(shardRouter.shardForUser(query.getOwnerId()), true, () -> search.apply(pageable))
+                : shardRouter.fanOutPage(search, pageable, TaskSpecifications.comparator(query.getSortBy(), query.getDirection()));
+        return TaskPageDto.fromPage(result);
     }
     
     public List<TaskDto> getTasksByStatus(Task.TaskStatus status) {
-        return taskRepository.findByStatus(status)
+        return shardRouter.fanOut(() -> taskRepository.findByStatus(status)
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID);
     }
     
     public List<TaskDto> getTasksByPriority(Task.Priority priority) {
-        return taskRepository.findByPriority(priority)
+        return shardRouter.fanOut(() -> taskRepository.findByPriority(priority)
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID);
     }
     
     public TaskDto createTask(CreateTaskRequest request, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setUser(user);
-        
-        // Set assigned user if provided
-        if (request.getAssignedToId() != null) {
-            User assignedTo = userRepository.findById(request.getAssignedToId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Assigned user not found with id: " + request.getAssignedToId()));
-            task.setAssignedTo(assignedTo);
-        }
-        
-        Task savedTask = taskRepository.save(task);
-        return TaskDto.fromEntity(savedTask);
+        return shardRouter.onShard(shardRouter.shardForUser(userId), false, () -> {
+            User user = userRepository.findActiveById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            
+            Task task = new Task();
+            task.setTitle(request.getTitle());
+            task.setStatus(request.getStatus());
+            task.setPriority(request.getPriority());
+            task.setDueDate(request.getDueDate());
+            task.setUser(user);
+            task.setLabels(TaskLabelsConverter.normalize(request.getLabels()));
+            task.setRankKey(taskRankService.appendKey(request.getStatus()));
+            
+            // Set assigned user if provided
+            if (request.getAssignedToId() != null) {
+                User assignedTo = userRepository.findActiveById(request.getAssignedToId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Assigned user not found with id: " + request.getAssignedToId()));
+                task.setAssignedTo(assignedTo);
+            }
+            
+            Task savedTask = taskRepository.save(task);
+            taskDescriptionService.setDescription(savedTask.getId(), request.getDescription());
+            TaskDto createdTask = TaskDto.fromEntity(savedTask);
+            createdTask.setDescription(emptyToNull(request.getDescription()));
+            eventPublisher.publishEvent(TaskChangedEvent.created(createdTask));
+            return createdTask;
+        });
     }
     
     public TaskDto updateTask(Long id, CreateTaskRequest request) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        
-        // Update assigned user if provided
-        if (request.getAssignedToId() != null) {
-            User assignedTo = userRepository.findById(request.getAssignedToId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Assigned user not found with id: " + request.getAssignedToId()));
-            task.setAssignedTo(assignedTo);
-        } else {
-            task.setAssignedTo(null);
-        }
-        
-        Task updatedTask = taskRepository.save(task);
-        return TaskDto.fromEntity(updatedTask);
+        return shardRouter.onShard(shardOfTask(id), false, () -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            
+            // A task moved to another column goes to its end
+            if (task.getStatus() != request.getStatus()) {
+                task.setRankKey(taskRankService.appendKey(request.getStatus()));
+            }
+            task.setTitle(request.getTitle());
+            task.setStatus(request.getStatus());
+            task.setPriority(request.getPriority());
+            task.setDueDate(request.getDueDate());
+            if (request.getLabels() != null) {
+                task.setLabels(TaskLabelsConverter.normalize(request.getLabels()));
+            }
+            
+            // Update assigned user if provided
+            if (request.getAssignedToId() != null) {
+                User assignedTo = userRepository.findActiveById(request.getAssignedToId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Assigned user not found with id: " + request.getAssignedToId()));
+                task.setAssignedTo(assignedTo);
+            } else {
+                task.setAssignedTo(null);
+            }
+            
+            taskDescriptionService.setDescription(id, request.getDescription());
+            // Flushed first so updatedAt, set on flush, is the new version the JSON cache keys on
+            TaskDto updatedTask = TaskDto.fromEntity(taskRepository.saveAndFlush(task));
+            updatedTask.setDescription(emptyToNull(request.getDescription()));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(updatedTask));
+            return updatedTask;
+        });
     }
     
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+        shardRouter.runOnShard(shardOfTask(id), false, () -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            TaskDto deletedTask = TaskDto.fromEntity(task);
+            taskRepository.delete(task);
+            taskDescriptionService.deleteDescriptions(List.of(id));
+            taskDependencyService.deleteDependenciesOf(List.of(id));
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(deletedTask));
+        });
     }
     
     public List<TaskDto> searchTasks(String keyword) {
-        return taskRepository.findByTitleOrDescriptionContaining(keyword)
+        return shardRouter.fanOut(() -> taskRepository.findByTitleOrDescriptionContaining(keyword,
+                        taskDescriptionService.findCompressedContaining(keyword))
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID);
     }
     
+    // Stored tasks by id, then series occurrences the roller has not created yet by due date
     public List<TaskDto> getOverdueTasks() {
-        return taskRepository.findByDueDateBefore(LocalDateTime.now())
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskDto> tasks = new ArrayList<>(shardRouter.fanOut(() -> taskRepository.findByDueDateBefore(now)
                 .stream()
                 .map(TaskDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), BY_ID));
+        List<TaskDto> projected = new ArrayList<>(taskSeriesService.projectOverdue(now));
+        projected.sort(BY_DUE_DATE);
+        tasks.addAll(projected);
+        return tasks;
+    }
+    
+    private static String emptyToNull(String text) {
+        return text == null || text.isEmpty() ? null : text;
+    }
+    
+    private int shardOfTask(Long id) {
+        return shardRouter.locateTask(id, () -> taskRepository.existsById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
     }
-} 
\ No newline at end of file
+}
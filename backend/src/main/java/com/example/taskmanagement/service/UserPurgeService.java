@@ -0,0 +1,101 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskSeriesRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Removes soft-deleted users and the tasks they own. Tasks are deleted in fixed-size
+ * chunks, each in its own short transaction, so no single statement holds locks for long.
+ */
+@Service
+public class UserPurgeService {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+    
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskSeriesRepository taskSeriesRepository;
+    private final TaskDependencyService taskDependencyService;
+    private final TaskDescriptionService taskDescriptionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final int userBatchSize;
+    private final int taskChunkSize;
+    
+    public UserPurgeService(UserRepository userRepository, TaskRepository taskRepository,
+                            TaskSeriesRepository taskSeriesRepository, TaskDependencyService taskDependencyService,
+                            TaskDescriptionService taskDescriptionService, ApplicationEventPublisher eventPublisher, ShardRouter shardRouter,
+                            @Value("${app.user-purge.user-batch-size:50}") int userBatchSize,
+                            @Value("${app.user-purge.task-chunk-size:500}") int taskChunkSize) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.taskSeriesRepository = taskSeriesRepository;
+        this.taskDependencyService = taskDependencyService;
+        this.taskDescriptionService = taskDescriptionService;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.userBatchSize = userBatchSize;
+        this.taskChunkSize = taskChunkSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.user-purge.interval-ms:60000}",
+               initialDelayString = "${app.user-purge.interval-ms:60000}")
+    public void purgeDeletedUsers() {
+        List<Long> userIds;
+        while (!(userIds = userRepository.findDeletedUserIds(PageRequest.of(0, userBatchSize))).isEmpty()) {
+            purgeUsers(userIds);
+        }
+    }
+    
+    private void purgeUsers(List<Long> userIds) {
+        // Owned tasks live on the owner's shard, but a rebalance may have left some elsewhere
+        long purgedTasks = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int deleted;
+            while ((deleted = deleteTaskChunk(shard, userIds)) > 0) {
+                purgedTasks += deleted;
+            }
+        }
+        
+        // Users are replicated to every shard, so each copy goes
+        shardRouter.onEachShard(false, () -> {
+            // Catch assignments made to these users after they were soft-deleted
+            if (taskRepository.reassignTasks(userIds, null) > 0) {
+                eventPublisher.publishEvent(TaskChangedEvent.bulk());
+            }
+            // Series are templates, not tasks: owned ones go, assigned ones fall back to their owner
+            taskSeriesRepository.unassignSeries(userIds);
+            taskSeriesRepository.deleteByUserIdIn(userIds);
+            userRepository.deleteAllByIdInBatch(userIds);
+            return null;
+        });
+        log.info("Purged {} deleted users and {} owned tasks", userIds.size(), purgedTasks);
+    }
+    
+    private int deleteTaskChunk(int shard, List<Long> userIds) {
+        Integer deleted = shardRouter.onShard(shard, false, () -> {
+            List<Long> taskIds = taskRepository.findIdsByUserIdIn(userIds, PageRequest.of(0, taskChunkSize));
+            if (taskIds.isEmpty()) {
+                return 0;
+            }
+            int count = taskRepository.deleteByIdIn(taskIds);
+            taskDescriptionService.deleteDescriptions(taskIds);
+            taskDependencyService.deleteDependenciesOf(taskIds);
+            taskIds.forEach(taskId -> eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId)));
+            return count;
+        });
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -3,90 +3,159 @@ package com.example.taskmanagement.service;
 import com.example.taskmanagement.dto.CreateUserRequest;
 import com.example.taskmanagement.dto.UserDto;
 import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.UserChangedEvent;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
     
+    // Soft-deleted users give up their username and email for these, so both can be registered again
+    private static final String TOMBSTONE_USERNAME_PREFIX = "deleted:";
+    private static final String TOMBSTONE_EMAIL_DOMAIN = "@deleted.invalid";
+    
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, TaskRepository taskRepository,
+                       PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher,
+                       ShardRouter shardRouter) {
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
     }
     
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll()
+        return shardRouter.onShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findByDeletedAtIsNull()
                 .stream()
                 .map(UserDto::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
     
     public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return UserDto.fromEntity(user);
+        return shardRouter.onShard(ShardRouter.USERS_SHARD, true, () -> userRepository.findActiveById(id)
+                .map(UserDto::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id)));
     }
     
     public UserDto createUser(CreateUserRequest request) {
-        // Check if username or email already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already exists: " + request.getUsername());
-        }
-        
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists: " + request.getEmail());
-        }
+        checkNotReserved(request);
         
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setName(request.getName());
-        user.setRole(request.getRole());
-        
-        User savedUser = userRepository.save(user);
-        return UserDto.fromEntity(savedUser);
+        return shardRouter.onShard(ShardRouter.USERS_SHARD, false, () -> {
+            // Check if username or email already exists
+            if (userRepository.existsByUsername(request.getUsername())) {
+                throw new IllegalArgumentException("Username already exists: " + request.getUsername());
+            }
+            
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new IllegalArgumentException("Email already exists: " + request.getEmail());
+            }
+            
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setName(request.getName());
+            user.setRole(request.getRole());
+            
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+            return UserDto.fromEntity(savedUser);
+        });
     }
     
     public UserDto updateUser(Long id, CreateUserRequest request) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        
-        // Check if new username or email conflicts with existing users
-        if (!user.getUsername().equals(request.getUsername()) && 
-            userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already exists: " + request.getUsername());
-        }
-        
-        if (!user.getEmail().equals(request.getEmail()) && 
-            userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists: " + request.getEmail());
-        }
-        
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
-        }
-        user.setName(request.getName());
-        user.setRole(request.getRole());
-        
-        User savedUser = userRepository.save(user);
-        return UserDto.fromEntity(savedUser);
+        return shardRouter.onShard(ShardRouter.USERS_SHARD, false, () -> {
+            User user = userRepository.findActiveById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            
+            checkNotReserved(request);
+            
+            // Check if new username or email conflicts with existing users
+            if (!user.getUsername().equals(request.getUsername()) && 
+                userRepository.existsByUsername(request.getUsername())) {
+                throw new IllegalArgumentException("Username already exists: " + request.getUsername());
+            }
+            
+            if (!user.getEmail().equals(request.getEmail()) && 
+                userRepository.existsByEmail(request.getEmail())) {
+                throw new IllegalArgumentException("Email already exists: " + request.getEmail());
+            }
+            
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            if (request.getPassword() != null && !request.getPassword().isEmpty()) {
+                user.setPassword(passwordEncoder.encode(request.getPassword()));
+            }
+            user.setName(request.getName());
+            user.setRole(request.getRole());
+            
+            // Flushed first so the returned updatedAt is the new version, as for tasks
+            User savedUser = userRepository.saveAndFlush(user);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+            return UserDto.fromEntity(savedUser);
+        });
+    }
+    
+    /**
+     * Soft-deletes a user. Tasks assigned to the user are handed to {@code reassignToId},
+     * or left unassigned when it is null; tasks owned by the user are purged later by
+     * {@link UserPurgeService}. The username and email are released at once.
+     */
+    public void deleteUser(Long id, Long reassignToId) {
+        shardRouter.runOnShard(ShardRouter.USERS_SHARD, false, () -> {
+            User user = userRepository.findActiveById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            
+            User assignee = null;
+            if (reassignToId != null) {
+                if (reassignToId.equals(id)) {
+                    throw new IllegalArgumentException("Cannot reassign tasks to the user being deleted: " + id);
+                }
+                assignee = userRepository.findActiveById(reassignToId)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + reassignToId));
+            }
+            
+            // Assigned tasks can live on any shard; other shards commit independently of this transaction
+            User newAssignee = assignee;
+            int reassigned = shardRouter.onEachShard(false, () -> taskRepository.reassignTasks(List.of(id), newAssignee))
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+            if (reassigned > 0) {
+                eventPublisher.publishEvent(TaskChangedEvent.bulk());
+            }
+            
+            user.setDeletedAt(LocalDateTime.now());
+            user.setUsername(TOMBSTONE_USERNAME_PREFIX + id);
+            user.setEmail("user" + id + TOMBSTONE_EMAIL_DOMAIN);
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+        });
     }
     
-    public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+    private static void checkNotReserved(CreateUserRequest request) {
+        if (request.getUsername().startsWith(TOMBSTONE_USERNAME_PREFIX)) {
+            throw new IllegalArgumentException("Usernames starting with '" + TOMBSTONE_USERNAME_PREFIX + "' are reserved");
+        }
+        if (request.getEmail().toLowerCase(Locale.ROOT).endsWith(TOMBSTONE_EMAIL_DOMAIN)) {
+            throw new IllegalArgumentException("Email addresses " + TOMBSTONE_EMAIL_DOMAIN + " are reserved");
         }
-        userRepository.deleteById(id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.taskmanagement.sharding;
+
+/**
+ * Shard selected for the current thread. Read by {@link ShardRoutingDataSource} when a
+ * transaction acquires its connection, so it must be set before the transaction begins.
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {}
+    
+    public static Integer current() {
+        return CURRENT.get();
+    }
+    
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
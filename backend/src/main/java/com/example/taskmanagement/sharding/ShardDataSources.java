@@ -0,0 +1,25 @@
+package com.example.taskmanagement.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The physical data source of every shard, indexed by shard number. Without sharding
+ * this holds the application data source alone.
+ */
+public class ShardDataSources {
+    
+    private final List<DataSource> dataSources;
+    
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+    
+    public int size() {
+        return dataSources.size();
+    }
+    
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+}
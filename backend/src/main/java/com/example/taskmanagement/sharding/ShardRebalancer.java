@@ -0,0 +1,141 @@
+package com.example.taskmanagement.sharding;
+
+import com.example.taskmanagement.dto.ShardRebalanceDto;
+import com.example.taskmanagement.dto.ShardStatusDto;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Moves tasks, with their descriptions, and task series to the shard their owner hashes to
+ * under the current shard count. Run it after adding shards, while task writes are paused: a row is copied to its new
+ * shard and then deleted from the old one, and a row updated in between would lose that update.
+ * Re-running after a failure is safe.
+ */
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardRebalancer {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final ShardDataSources shardDataSources;
+    private final ShardRouter shardRouter;
+    private final UserReplicator userReplicator;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public ShardRebalancer(ShardDataSources shardDataSources, ShardRouter shardRouter,
+                           UserReplicator userReplicator, ApplicationEventPublisher eventPublisher) {
+        this.shardDataSources = shardDataSources;
+        this.shardRouter = shardRouter;
+        this.userReplicator = userReplicator;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    public List<ShardStatusDto> getStatus() {
+        List<ShardStatusDto> status = new ArrayList<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+            status.add(new ShardStatusDto(
+                shard,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)
+            ));
+        }
+        return status;
+    }
+    
+    public synchronized ShardRebalanceDto rebalance() {
+        // New shards need every user before tasks referencing them can land there
+        long usersReplicated = userReplicator.replicateAll();
+        long tasksMoved = 0;
+        long seriesMoved = 0;
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            tasksMoved += moveMisplacedRows(shard, "tasks");
+            seriesMoved += moveMisplacedRows(shard, "task_series");
+        }
+        if (tasksMoved > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk());
+        }
+        log.info("Shard rebalance replicated {} users and moved {} tasks and {} task series",
+                usersReplicated, tasksMoved, seriesMoved);
+        return new ShardRebalanceDto(usersReplicated, tasksMoved, seriesMoved);
+    }
+    
+    private long moveMisplacedRows(int source, String table) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(shardDataSources.get(source));
+        long moved = 0;
+        long lastId = 0;
+        List<Map<String, Object>> rows;
+        while (!(rows = sourceJdbc.queryForList("SELECT * FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?", lastId, BATCH_SIZE)).isEmpty()) {
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            
+            Map<Integer, List<Map<String, Object>>> byTarget = new HashMap<>();
+            for (Map<String, Object> row : rows) {
+                Object owner = row.get("user_id");
+                int target = shardRouter.shardForUser(owner != null ? ((Number) owner).longValue() : null);
+                if (target != source) {
+                    byTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(row);
+                }
+            }
+            for (Map.Entry<Integer, List<Map<String, Object>>> entry : byTarget.entrySet()) {
+                List<Object> ids = entry.getValue().stream().map(row -> row.get("id")).toList();
+                copyRows(entry.getKey(), table, "id", entry.getValue(), ids);
+                if (table.equals("tasks")) {
+                    moveDescriptions(source, entry.getKey(), ids);
+                }
+                inTransaction(source, jdbc -> jdbc.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray()));
+                moved += ids.size();
+            }
+        }
+        return moved;
+    }
+    
+    private void moveDescriptions(int source, int target, List<Object> taskIds) {
+        List<Map<String, Object>> rows = new JdbcTemplate(shardDataSources.get(source)).queryForList(
+                "SELECT * FROM task_descriptions WHERE task_id IN (" + placeholders(taskIds.size()) + ")", taskIds.toArray());
+        if (!rows.isEmpty()) {
+            copyRows(target, "task_descriptions", "task_id", rows, rows.stream().map(row -> row.get("task_id")).toList());
+        }
+        inTransaction(source, jdbc -> jdbc.update(
+                "DELETE FROM task_descriptions WHERE task_id IN (" + placeholders(taskIds.size()) + ")", taskIds.toArray()));
+    }
+    
+    // Replaces any copy left behind by an interrupted earlier run
+    private void copyRows(int target, String table, String key, List<Map<String, Object>> rows, List<Object> ids) {
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders(columns.size()) + ")";
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            batch.add(row.values().toArray());
+        }
+        inTransaction(target, jdbc -> {
+            jdbc.update("DELETE FROM " + table + " WHERE " + key + " IN (" + placeholders(ids.size()) + ")", ids.toArray());
+            jdbc.batchUpdate(insert, batch);
+        });
+    }
+    
+    private void inTransaction(int shard, Consumer<JdbcTemplate> work) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(shardDataSources.get(shard));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.accept(jdbcTemplate));
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
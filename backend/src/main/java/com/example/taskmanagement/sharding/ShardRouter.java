@@ -0,0 +1,266 @@
+package com.example.taskmanagement.sharding;
+
+import com.example.taskmanagement.exception.DatabaseUnavailableException;
+import com.example.taskmanagement.resilience.CircuitBreaker;
+import com.example.taskmanagement.sql.RequestStatements;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs work against one shard or all of them. Tasks live on the shard of their owner;
+ * users are written to {@link #USERS_SHARD} and replicated to the others. With a single
+ * shard every call runs in place, so callers need no separate unsharded code path.
+ * Each shard may have a {@link CircuitBreaker}: while it is open, calls on that shard fail
+ * at once with {@link DatabaseUnavailableException} instead of waiting for the database.
+ */
+public class ShardRouter implements AutoCloseable {
+    
+    public static final int USERS_SHARD = 0;
+    
+    private final int shardCount;
+    private final int idStride;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService fanOutExecutor;
+    // One per shard, or none
+    private final List<CircuitBreaker> circuitBreakers;
+    
+    public ShardRouter(int shardCount, int idStride, int fanOutThreads, PlatformTransactionManager transactionManager,
+                       List<CircuitBreaker> circuitBreakers) {
+        if (shardCount < 1 || shardCount > idStride) {
+            throw new IllegalArgumentException("Shard count must be between 1 and the id stride " + idStride + ": " + shardCount);
+        }
+        if (!circuitBreakers.isEmpty() && circuitBreakers.size() != shardCount) {
+            throw new IllegalArgumentException("Expected one circuit breaker per shard: " + circuitBreakers.size());
+        }
+        this.shardCount = shardCount;
+        this.idStride = idStride;
+        this.transactionManager = transactionManager;
+        this.fanOutExecutor = shardCount > 1 ? Executors.newFixedThreadPool(fanOutThreads, new FanOutThreadFactory()) : null;
+        this.circuitBreakers = List.copyOf(circuitBreakers);
+    }
+    
+    public int shardCount() {
+        return shardCount;
+    }
+    
+    public int shardForUser(Long userId) {
+        if (shardCount == 1 || userId == null) {
+            return 0;
+        }
+        // Murmur3 finalizer, so consecutive user ids spread evenly
+        long h = userId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shardCount);
+    }
+    
+    /**
+     * Finds the shard holding a task. The shard that generated the id is checked first;
+     * the others are only probed for tasks moved there by a rebalance.
+     */
+    public OptionalInt locateTask(long taskId, BooleanSupplier existsOnCurrentShard) {
+        if (shardCount == 1) {
+            return OptionalInt.of(0);
+        }
+        int home = (int) Math.floorMod(taskId - 1, (long) idStride);
+        if (home < shardCount && onShard(home, true, existsOnCurrentShard::getAsBoolean)) {
+            return OptionalInt.of(home);
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (shard != home && onShard(shard, true, existsOnCurrentShard::getAsBoolean)) {
+                return OptionalInt.of(shard);
+            }
+        }
+        return OptionalInt.empty();
+    }
+    
+    /**
+     * Runs the callback in a transaction on the given shard. A caller already in a
+     * transaction on another shard gets a separate, independently committed one.
+     * Only that outermost call on a shard is passed through its circuit breaker.
+     */
+    public <T> T onShard(int shard, boolean readOnly, Supplier<T> callback) {
+        Integer previous = ShardContext.current();
+        int current = previous != null ? previous : 0;
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        if (shard != current && inTransaction) {
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        ShardContext.set(shard);
+        try {
+            if (circuitBreakers.isEmpty() || (previous != null && shard == current && inTransaction)) {
+                return template.execute(status -> callback.get());
+            }
+            return guarded(shard, () -> template.execute(status -> callback.get()));
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+    
+    public void runOnShard(int shard, boolean readOnly, Runnable callback) {
+        onShard(shard, readOnly, () -> {
+            callback.run();
+            return null;
+        });
+    }
+    
+    // Runs the callback on every shard in turn, each in its own transaction
+    public <T> List<T> onEachShard(boolean readOnly, Supplier<T> callback) {
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(onShard(shard, readOnly, callback));
+        }
+        return results;
+    }
+    
+    /**
+     * Runs a read-only query on all shards in parallel and concatenates the results.
+     * Merged results from several shards are put in the given order; a single shard's
+     * result is returned as the database ordered it.
+     */
+    public <T> List<T> fanOut(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (shardCount == 1) {
+            return onShard(0, true, query);
+        }
+        List<T> merged = new ArrayList<>();
+        for (List<T> result : collect(query)) {
+            merged.addAll(result);
+        }
+        if (order != null) {
+            merged.sort(order);
+        }
+        return merged;
+    }
+    
+    public <T> List<T> fanOut(Supplier<List<T>> query) {
+        return fanOut(query, null);
+    }
+    
+    /**
+     * Reads one page across all shards. Each shard returns its first {@code offset + size}
+     * rows in the same order the comparator imposes, the rows are merged and the requested
+     * page is cut out, so deep pages cost more than shallow ones.
+     */
+    public <T> Page<T> fanOutPage(Function<Pageable, Page<T>> query, Pageable pageable, Comparator<? super T> order) {
+        if (shardCount == 1) {
+            return onShard(0, true, () -> query.apply(pageable));
+        }
+        int window = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        Pageable head = PageRequest.of(0, window, pageable.getSort());
+        
+        List<T> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<T> page : collect(() -> query.apply(head))) {
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        merged.sort(order);
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+    
+    // Failures of the database or the connection to it, as opposed to failures of a statement
+    public static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof TransactionSystemException;
+    }
+    
+    @Override
+    public void close() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+    
+    private <T> T guarded(int shard, Supplier<T> call) {
+        CircuitBreaker breaker = circuitBreakers.get(shard);
+        long ticket = breaker.tryAcquire();
+        if (ticket == CircuitBreaker.REJECTED) {
+            throw new DatabaseUnavailableException((shardCount == 1 ? "The database" : "Database shard " + shard)
+                    + " is unavailable, try again later");
+        }
+        long started = breaker.nanoTime();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            breaker.record(ticket, breaker.nanoTime() - started, false);
+            recorded = true;
+            return result;
+        } catch (RuntimeException e) {
+            breaker.record(ticket, breaker.nanoTime() - started, isDatabaseFailure(e));
+            recorded = true;
+            throw e;
+        } finally {
+            if (!recorded) {
+                breaker.release(ticket);
+            }
+        }
+    }
+    
+    private <R> List<R> collect(Supplier<R> query) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    RequestStatements.propagate(() -> onShard(target, true, query)), fanOutExecutor));
+        }
+        List<R> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+    
+    private static class FanOutThreadFactory implements ThreadFactory {
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskmanagement.sharding;
+
+import com.example.taskmanagement.resilience.CircuitBreaker;
+import com.example.taskmanagement.resilience.CircuitBreakerProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task storage split across several databases by owning user. Disabled by default; the
+ * {@code sharded} profile runs three in-memory H2 shards. Every shard carries the full
+ * schema, users are replicated to all of them, and each shard's task identity column
+ * hands out ids from its own residue class so ids stay unique across shards. Each shard
+ * gets a circuit breaker configured by {@code app.circuit-breaker.*}.
+ */
+@Configuration
+@EnableConfigurationProperties({ShardingProperties.class, CircuitBreakerProperties.class})
+public class ShardingConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+    
+    @Bean
+    public ShardRouter shardRouter(ShardDataSources shardDataSources, ShardingProperties properties,
+                                   CircuitBreakerProperties circuitBreakerProperties,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        List<CircuitBreaker> circuitBreakers = new ArrayList<>();
+        if (circuitBreakerProperties.isEnabled()) {
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                CircuitBreaker breaker = new CircuitBreaker("shard-" + shard, circuitBreakerProperties);
+                Gauge.builder("app.circuit-breaker.state", breaker, b -> b.getState().ordinal())
+                        .description("Database circuit breaker state: 0 closed, 1 half-open, 2 open")
+                        .tag("shard", String.valueOf(shard))
+                        .register(meterRegistry);
+                FunctionCounter.builder("app.circuit-breaker.rejected", breaker, CircuitBreaker::getRejectedCalls)
+                        .description("Database calls rejected by an open circuit breaker")
+                        .tag("shard", String.valueOf(shard))
+                        .register(meterRegistry);
+                circuitBreakers.add(breaker);
+            }
+        }
+        return new ShardRouter(shardDataSources.size(), properties.getIdStride(),
+                properties.getFanOutThreads(), transactionManager, circuitBreakers);
+    }
+    
+    @Configuration
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    static class SingleDataSourceConfig {
+        
+        @Bean
+        public ShardDataSources shardDataSources(DataSource dataSource) {
+            return new ShardDataSources(List.of(dataSource));
+        }
+    }
+    
+    @Configuration
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+        
+        @Bean
+        public ShardDataSources shardDataSources(
+                ShardingProperties properties,
+                @Value("${spring.flyway.baseline-on-migrate:false}") boolean baselineOnMigrate,
+                @Value("${spring.flyway.baseline-version:1}") String baselineVersion) {
+            if (properties.getShards().isEmpty()) {
+                throw new IllegalStateException("app.sharding.enabled is set but no app.sharding.shards are configured");
+            }
+            if (properties.getShards().size() > properties.getIdStride()) {
+                throw new IllegalStateException("At most " + properties.getIdStride() + " shards are supported");
+            }
+            
+            List<DataSource> dataSources = new ArrayList<>();
+            for (int shard = 0; shard < properties.getShards().size(); shard++) {
+                ShardingProperties.Shard config = properties.getShards().get(shard);
+                DataSource dataSource = DataSourceBuilder.create()
+                        .url(config.getUrl())
+                        .username(config.getUsername())
+                        .password(config.getPassword())
+                        .build();
+                // Migrated here rather than by Spring Boot, which only sees the routing data source
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .baselineOnMigrate(baselineOnMigrate)
+                        .baselineVersion(baselineVersion)
+                        .load()
+                        .migrate();
+                configureIds(dataSource, "tasks", shard, properties.getIdStride());
+                configureIds(dataSource, "task_series", shard, properties.getIdStride());
+                dataSources.add(dataSource);
+            }
+            log.info("Task storage sharded across {} databases", dataSources.size());
+            return new ShardDataSources(dataSources);
+        }
+        
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            Map<Object, Object> targets = new HashMap<>();
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                targets.put(shard, shardDataSources.get(shard));
+            }
+            ShardRoutingDataSource routing = new ShardRoutingDataSource();
+            routing.setTargetDataSources(targets);
+            routing.setDefaultTargetDataSource(shardDataSources.get(0));
+            return routing;
+        }
+        
+        // Shard i generates ids i + 1, i + 1 + stride, ...; left alone once the stride is in place
+        private void configureIds(DataSource dataSource, String table, int shard, int stride) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            String increment = jdbcTemplate.queryForObject(
+                    "SELECT CAST(identity_increment AS VARCHAR(20)) FROM information_schema.columns " +
+                    "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = ? AND LOWER(column_name) = 'id'",
+                    String.class, table);
+            if (increment != null && Long.parseLong(increment.trim()) == stride) {
+                return;
+            }
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long next = maxId + 1;
+            long offset = Math.floorMod(next - (shard + 1), (long) stride);
+            if (offset != 0) {
+                next += stride - offset;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + stride + " RESTART WITH " + next);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskmanagement.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+    
+    private boolean enabled;
+    
+    // Upper bound on the number of shards; task ids on shard i are congruent to i + 1 modulo this value
+    private int idStride = 64;
+    
+    private int fanOutThreads = 16;
+    
+    private List<Shard> shards = new ArrayList<>();
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getIdStride() {
+        return idStride;
+    }
+    
+    public void setIdStride(int idStride) {
+        this.idStride = idStride;
+    }
+    
+    public int getFanOutThreads() {
+        return fanOutThreads;
+    }
+    
+    public void setFanOutThreads(int fanOutThreads) {
+        this.fanOutThreads = fanOutThreads;
+    }
+    
+    public List<Shard> getShards() {
+        return shards;
+    }
+    
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+    
+    public static class Shard {
+        
+        private String url;
+        private String username;
+        private String password;
+        
+        // Getters and Setters
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanagement.sharding;
+
+import com.example.taskmanagement.event.UserChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies user rows from {@link ShardRouter#USERS_SHARD} to every other shard, so tasks on
+ * any shard can reference and join their owner and assignee. Rows are copied column by
+ * column, so schema changes to {@code users} need no changes here.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class UserReplicator {
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final ShardDataSources shardDataSources;
+    
+    public UserReplicator(ShardDataSources shardDataSources) {
+        this.shardDataSources = shardDataSources;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        List<Map<String, Object>> rows = source().queryForList("SELECT * FROM users WHERE id = ?", event.getUserId());
+        copyToReplicas(rows);
+    }
+    
+    // Full copy, used before a rebalance and after adding shards
+    public long replicateAll() {
+        long copied = 0;
+        long lastId = 0;
+        List<Map<String, Object>> rows;
+        while (!(rows = source().queryForList("SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?", lastId, BATCH_SIZE)).isEmpty()) {
+            copyToReplicas(rows);
+            copied += rows.size();
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+        return copied;
+    }
+    
+    private JdbcTemplate source() {
+        return new JdbcTemplate(shardDataSources.get(ShardRouter.USERS_SHARD));
+    }
+    
+    // Update in place rather than delete and insert, since replica tasks reference the row
+    private void copyToReplicas(List<Map<String, Object>> rows) {
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            if (shard == ShardRouter.USERS_SHARD) {
+                continue;
+            }
+            JdbcTemplate replica = new JdbcTemplate(shardDataSources.get(shard));
+            for (Map<String, Object> row : rows) {
+                List<String> columns = new ArrayList<>(row.keySet());
+                List<Object> values = new ArrayList<>(row.values());
+                
+                StringBuilder assignments = new StringBuilder();
+                for (String column : columns) {
+                    assignments.append(assignments.length() > 0 ? ", " : "").append(column).append(" = ?");
+                }
+                List<Object> updateArgs = new ArrayList<>(values);
+                updateArgs.add(row.get("id"));
+                if (replica.update("UPDATE users SET " + assignments + " WHERE id = ?", updateArgs.toArray()) == 0) {
+                    String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+                    replica.update("INSERT INTO users (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")",
+                            values.toArray());
+                }
+            }
+        }
+    }
+}
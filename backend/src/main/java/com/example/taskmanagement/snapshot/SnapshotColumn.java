@@ -0,0 +1,31 @@
+package com.example.taskmanagement.snapshot;
+
+/**
+ * A column of a snapshot table. Values are {@link Long}, {@link String} or
+ * {@link java.time.LocalDateTime} according to the type, or null.
+ */
+public record SnapshotColumn(String name, Type type) {
+    
+    public enum Type {
+        LONG(1), STRING(2), TIMESTAMP(3);
+        
+        private final int code;
+        
+        Type(int code) {
+            this.code = code;
+        }
+        
+        public int getCode() {
+            return code;
+        }
+        
+        public static Type fromCode(int code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown snapshot column type: " + code);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.taskmanagement.snapshot;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}. The file is memory-mapped in windows
+ * of up to {@link #WINDOW_SIZE} bytes, so files of any size are read without copying them
+ * through a stream buffer. Not thread-safe.
+ */
+public class SnapshotReader implements Closeable {
+    
+    private static final long WINDOW_SIZE = 256L << 20;
+    
+    private final FileChannel channel;
+    private final long size;
+    private final long createdAt;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] scratch = new byte[256];
+    
+    private String table;
+    private List<SnapshotColumn> columns;
+    private long rows;
+    
+    public SnapshotReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            map(0);
+            if (size < 16 || readInt() != SnapshotWriter.MAGIC) {
+                throw new IOException("Not a dataset snapshot: " + path);
+            }
+            int version = readInt();
+            if (version > SnapshotWriter.VERSION) {
+                throw new IOException("Snapshot format version " + version + " is newer than this application supports ("
+                        + SnapshotWriter.VERSION + "): " + path);
+            }
+            this.createdAt = readLong();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    // Epoch milliseconds
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    /**
+     * Moves to the next table and returns its name, or null after the last one. Rows of the
+     * current table not read yet are skipped.
+     */
+    public String nextTable() throws IOException {
+        while (columns != null) {
+            skipRow();
+        }
+        int marker = readByte();
+        if (marker == SnapshotWriter.END_OF_FILE) {
+            return null;
+        }
+        if (marker != SnapshotWriter.TABLE) {
+            throw new IOException("Corrupt snapshot: expected a table at byte " + position());
+        }
+        table = readString();
+        int columnCount = (int) readVarLong();
+        if (columnCount < 1 || columnCount > SnapshotWriter.MAX_COLUMNS) {
+            throw new IOException("Corrupt snapshot: table " + table + " has " + columnCount + " columns");
+        }
+        List<SnapshotColumn> tableColumns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String name = readString();
+            tableColumns.add(new SnapshotColumn(name, SnapshotColumn.Type.fromCode(readByte())));
+        }
+        columns = List.copyOf(tableColumns);
+        rows = 0;
+        return table;
+    }
+    
+    public List<SnapshotColumn> getColumns() {
+        return columns;
+    }
+    
+    /**
+     * Reads the next row of the current table into {@code values}, in column order. Returns
+     * false at the end of the table, after checking its row count.
+     */
+    public boolean nextRow(Object[] values) throws IOException {
+        long nulls = startRow();
+        if (nulls < 0) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if ((nulls & (1L << i)) != 0) {
+                values[i] = null;
+                continue;
+            }
+            switch (columns.get(i).type()) {
+                case LONG -> values[i] = unzigzag(readVarLong());
+                case STRING -> values[i] = readString();
+                case TIMESTAMP -> values[i] = fromMicros(unzigzag(readVarLong()));
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private void skipRow() throws IOException {
+        long nulls = startRow();
+        if (nulls < 0) {
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if ((nulls & (1L << i)) == 0) {
+                long value = readVarLong();
+                if (columns.get(i).type() == SnapshotColumn.Type.STRING) {
+                    skip((int) value);
+                }
+            }
+        }
+    }
+    
+    // Null flags of the next row, or -1 at the end of the table
+    private long startRow() throws IOException {
+        int marker = readByte();
+        if (marker == SnapshotWriter.END_OF_TABLE) {
+            long expected = readVarLong();
+            if (expected != rows) {
+                throw new IOException("Corrupt snapshot: table " + table + " has " + rows + " rows, " + expected + " expected");
+            }
+            columns = null;
+            return -1;
+        }
+        if (marker != SnapshotWriter.ROW) {
+            throw new IOException("Corrupt snapshot: expected a row of table " + table + " at byte " + position());
+        }
+        rows++;
+        long nulls = readVarLong();
+        if (nulls >>> columns.size() != 0) {
+            throw new IOException("Corrupt snapshot: bad null flags in table " + table + " at byte " + position());
+        }
+        return nulls;
+    }
+    
+    private String readString() throws IOException {
+        int length = (int) readVarLong();
+        ensure(length);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt snapshot: malformed number at byte " + position());
+    }
+    
+    private int readByte() throws IOException {
+        ensure(1);
+        return window.get() & 0xFF;
+    }
+    
+    private int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return window.getInt();
+    }
+    
+    private long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return window.getLong();
+    }
+    
+    private void skip(int length) throws IOException {
+        ensure(length);
+        window.position(window.position() + length);
+    }
+    
+    // Maps the next window once fewer than the needed bytes remain in the current one
+    private void ensure(int length) throws IOException {
+        if (window.remaining() >= length) {
+            return;
+        }
+        long position = position();
+        if (position + length > size) {
+            throw new EOFException("Snapshot is truncated at byte " + position);
+        }
+        map(position);
+    }
+    
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+    }
+    
+    private long position() {
+        return windowStart + window.position();
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.taskmanagement.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes a dataset snapshot: a sequence of tables, each described by its column names and
+ * types and followed by its rows. The layout, with numbers big-endian and varints in
+ * seven-bit groups, least significant first:
+ * <pre>
+ * file  := MAGIC:int VERSION:int createdAt:long table* END_OF_FILE:byte
+ * table := TABLE:byte name:string columnCount:varint (name:string type:byte)* row* END_OF_TABLE:byte rowCount:varint
+ * row   := ROW:byte nulls:varint value*   one value per column whose bit in nulls is clear
+ * value := zigzag varint for LONG, and for TIMESTAMP as microseconds since 1970-01-01T00:00
+ *          (no time zone) | length:varint UTF-8 bytes for STRING
+ * </pre>
+ * Tables are self-describing, so a reader can map columns by name when the schema has
+ * changed since the snapshot was written.
+ */
+public class SnapshotWriter implements Closeable {
+    
+    static final int MAGIC = 0x544D534E;
+    static final int VERSION = 1;
+    static final int TABLE = 1;
+    static final int ROW = 2;
+    static final int END_OF_TABLE = 3;
+    static final int END_OF_FILE = 4;
+    
+    // The null flags of a row are one non-negative varint
+    static final int MAX_COLUMNS = 63;
+    
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final DataOutputStream out;
+    private List<SnapshotColumn> columns;
+    private long rows;
+    
+    public SnapshotWriter(OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+    }
+    
+    public void beginTable(String name, List<SnapshotColumn> tableColumns) throws IOException {
+        if (columns != null) {
+            throw new IllegalStateException("Table " + name + " started before the previous one ended");
+        }
+        if (tableColumns.isEmpty() || tableColumns.size() > MAX_COLUMNS) {
+            throw new IllegalArgumentException("A snapshot table has 1 to " + MAX_COLUMNS + " columns");
+        }
+        out.writeByte(TABLE);
+        writeString(name);
+        writeVarLong(tableColumns.size());
+        for (SnapshotColumn column : tableColumns) {
+            writeString(column.name());
+            out.writeByte(column.type().getCode());
+        }
+        columns = List.copyOf(tableColumns);
+        rows = 0;
+    }
+    
+    // Values in column order
+    public void writeRow(Object[] values) throws IOException {
+        long nulls = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            if (values[i] == null) {
+                nulls |= 1L << i;
+            }
+        }
+        out.writeByte(ROW);
+        writeVarLong(nulls);
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            switch (columns.get(i).type()) {
+                case LONG -> writeVarLong(zigzag((Long) value));
+                case STRING -> writeString((String) value);
+                case TIMESTAMP -> writeVarLong(zigzag(toMicros((LocalDateTime) value)));
+            }
+        }
+        rows++;
+    }
+    
+    // Returns the number of rows written to the table
+    public long endTable() throws IOException {
+        out.writeByte(END_OF_TABLE);
+        writeVarLong(rows);
+        columns = null;
+        return rows;
+    }
+    
+    // Marks the file complete; a snapshot closed without it is read as truncated
+    public void finish() throws IOException {
+        out.writeByte(END_OF_FILE);
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+    
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+    
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanagement.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Remembers which repository method the current thread is inside, so statements can be
+ * attributed to it. Repository methods calling each other are attributed to the outermost.
+ */
+public class RepositoryMethodTracker implements MethodInterceptor {
+    
+    private static final ThreadLocal<Invocation> CURRENT = new ThreadLocal<>();
+    
+    private final String repository;
+    
+    public RepositoryMethodTracker(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+    
+    // Null outside repository methods
+    public static Invocation current() {
+        return CURRENT.get();
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (CURRENT.get() != null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(new Invocation(repository, invocation.getMethod().getName()));
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+    
+    public record Invocation(String repository, String method) {
+    }
+}
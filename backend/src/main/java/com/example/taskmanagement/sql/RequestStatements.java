@@ -0,0 +1,89 @@
+package com.example.taskmanagement.sql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SQL statements run on behalf of the current HTTP request. Bound to the request thread,
+ * and carried over to worker threads with {@link #propagate(Supplier)}.
+ */
+public final class RequestStatements {
+    
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    
+    private final String endpoint;
+    // Negative when the endpoint is unbounded
+    private final int budget;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong elapsedMillis = new AtomicLong();
+    
+    private RequestStatements(String endpoint, int budget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+    
+    public static RequestStatements begin(String endpoint, int budget) {
+        RequestStatements statements = new RequestStatements(endpoint, budget);
+        CURRENT.set(statements);
+        return statements;
+    }
+    
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    // Wraps work handed to another thread so its statements count against the calling request
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        RequestStatements statements = CURRENT.get();
+        if (statements == null) {
+            return work;
+        }
+        return () -> {
+            RequestStatements previous = CURRENT.get();
+            CURRENT.set(statements);
+            try {
+                return work.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+    
+    // Returns whether this statement takes the request over its budget
+    boolean started() {
+        return count.incrementAndGet() > budget && budget >= 0;
+    }
+    
+    void finished(long millis) {
+        elapsedMillis.addAndGet(millis);
+    }
+    
+    public boolean isOverBudget() {
+        return budget >= 0 && count.get() > budget;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public int getBudget() {
+        return budget;
+    }
+    
+    public int getCount() {
+        return count.get();
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis.get();
+    }
+}
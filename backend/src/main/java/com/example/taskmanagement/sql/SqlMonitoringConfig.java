@@ -0,0 +1,60 @@
+package com.example.taskmanagement.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes every DataSource bean through a JDBC proxy reporting to {@link StatementMonitor},
+ * and tags repository calls so statements can be attributed to repository methods. With
+ * sharding the routing DataSource is the one wrapped, so statements on every shard count.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+    
+    @Bean
+    public StatementMonitor statementMonitor(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        return new StatementMonitor(properties, meterRegistry);
+    }
+    
+    // Static and lazily resolved so that post-processing does not initialise the monitor's dependencies early
+    @Bean
+    public static BeanPostProcessor statementMonitoringDataSourcePostProcessor(ObjectProvider<StatementMonitor> statementMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(statementMonitor.getObject())
+                        .build();
+            }
+        };
+    }
+    
+    @Bean
+    public static BeanPostProcessor repositoryMethodTrackingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryMethodTracker(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
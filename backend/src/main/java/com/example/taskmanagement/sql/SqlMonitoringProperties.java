@@ -0,0 +1,94 @@
+package com.example.taskmanagement.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.sql")
+public class SqlMonitoringProperties {
+    
+    // Statements slower than this are logged with their bound parameters redacted
+    private long slowQueryMs = 200;
+    
+    private BudgetMode budgetMode = BudgetMode.WARN;
+    
+    // Statements allowed per request on endpoints without their own budget
+    private int defaultBudget = 20;
+    
+    private List<EndpointBudget> budgets = new ArrayList<>();
+    
+    public enum BudgetMode {
+        // Log requests over budget once they complete
+        WARN,
+        // Fail the statement that goes over budget, and with it the request
+        FAIL
+    }
+    
+    // Getters and Setters
+    public long getSlowQueryMs() {
+        return slowQueryMs;
+    }
+    
+    public void setSlowQueryMs(long slowQueryMs) {
+        this.slowQueryMs = slowQueryMs;
+    }
+    
+    public BudgetMode getBudgetMode() {
+        return budgetMode;
+    }
+    
+    public void setBudgetMode(BudgetMode budgetMode) {
+        this.budgetMode = budgetMode;
+    }
+    
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+    
+    public void setDefaultBudget(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+    
+    public List<EndpointBudget> getBudgets() {
+        return budgets;
+    }
+    
+    public void setBudgets(List<EndpointBudget> budgets) {
+        this.budgets = budgets;
+    }
+    
+    public static class EndpointBudget {
+        
+        private String method;
+        // Request mapping pattern, e.g. /api/tasks/{id}
+        private String path;
+        // Negative to leave the endpoint unbounded
+        private int maxStatements;
+        
+        // Getters and Setters
+        public String getMethod() {
+            return method;
+        }
+        
+        public void setMethod(String method) {
+            this.method = method;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public void setPath(String path) {
+            this.path = path;
+        }
+        
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+        
+        public void setMaxStatements(int maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskmanagement.sql;
+
+import com.example.taskmanagement.exception.StatementBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Sees every JDBC statement the application runs. Counts it against the current request's
+ * budget, times it per repository method under {@code app.sql.statements}, and logs it when
+ * slow. Logged SQL never contains bound values, and string literals are masked as well.
+ */
+public class StatementMonitor implements QueryExecutionListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(StatementMonitor.class);
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final RepositoryMethodTracker.Invocation OUTSIDE_REPOSITORIES =
+            new RepositoryMethodTracker.Invocation("none", "none");
+    
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<RepositoryMethodTracker.Invocation, Timer> timers = new ConcurrentHashMap<>();
+    
+    public StatementMonitor(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements == null) {
+            return;
+        }
+        if (statements.started() && properties.getBudgetMode() == SqlMonitoringProperties.BudgetMode.FAIL) {
+            throw new StatementBudgetExceededException(
+                    statements.getEndpoint() + " exceeded its budget of " + statements.getBudget() + " SQL statements");
+        }
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long millis = execInfo.getElapsedTime();
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            statements.finished(millis);
+        }
+        RepositoryMethodTracker.Invocation invocation = RepositoryMethodTracker.current();
+        if (invocation == null) {
+            invocation = OUTSIDE_REPOSITORIES;
+        }
+        timers.computeIfAbsent(invocation, this::timer).record(millis, TimeUnit.MILLISECONDS);
+        
+        if (millis >= properties.getSlowQueryMs()) {
+            log.warn("Slow SQL ({} ms, {}.{}, {}, {} bound parameters redacted): {}",
+                    millis,
+                    invocation.repository(),
+                    invocation.method(),
+                    statements != null ? statements.getEndpoint() : "no request",
+                    countParameters(queryInfoList),
+                    redact(queryInfoList));
+        }
+    }
+    
+    private Timer timer(RepositoryMethodTracker.Invocation invocation) {
+        return Timer.builder("app.sql.statements")
+                .description("JDBC statements by the repository method that issued them")
+                .tag("repository", invocation.repository())
+                .tag("method", invocation.method())
+                .register(meterRegistry);
+    }
+    
+    private static int countParameters(List<QueryInfo> queryInfoList) {
+        int count = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (var parameters : queryInfo.getParametersList()) {
+                count += parameters.size();
+            }
+        }
+        return count;
+    }
+    
+    private static String redact(List<QueryInfo> queryInfoList) {
+        StringBuilder sql = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!sql.isEmpty()) {
+                sql.append("; ");
+            }
+            sql.append(STRING_LITERAL.matcher(queryInfo.getQuery()).replaceAll("'?'"));
+        }
+        return sql.toString().replaceAll("\\s+", " ");
+    }
+}
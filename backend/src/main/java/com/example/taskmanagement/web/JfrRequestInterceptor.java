@@ -0,0 +1,49 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.profiling.HttpRequestEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+
+/**
+ * Emits an {@link HttpRequestEvent} around every controller method, tagged with the
+ * matched mapping and the calling user.
+ */
+public class JfrRequestInterceptor implements HandlerInterceptor {
+    
+    private static final String EVENT_ATTRIBUTE = JfrRequestInterceptor.class.getName() + ".event";
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof HttpRequestEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Principal principal = request.getUserPrincipal();
+            event.method = request.getMethod();
+            event.path = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.user = principal != null ? principal.getName() : "anonymous";
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
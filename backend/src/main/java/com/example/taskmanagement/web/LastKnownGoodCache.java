@@ -0,0 +1,71 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.dto.TaskColumnPageDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * The last successful response body of each task read, by request URL, for serving while
+ * the database is unavailable. Unlike the other caches it is not invalidated by changes: its
+ * entries are only ever served marked as stale. Bounded by the number of tasks the bodies
+ * hold, {@code app.stale-reads.max-tasks}; bodies larger than that are not kept.
+ */
+@Component
+public class LastKnownGoodCache {
+    
+    private final long maxTasks;
+    private final Cache<String, Entry> cache;
+    
+    public LastKnownGoodCache(MeterRegistry meterRegistry,
+                              @Value("${app.stale-reads.max-tasks:100000}") long maxTasks,
+                              @Value("${app.stale-reads.max-age-minutes:60}") long maxAgeMinutes) {
+        this.maxTasks = maxTasks;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxTasks)
+                .weigher((String key, Entry entry) -> entry.weight)
+                .expireAfterWrite(Duration.ofMinutes(maxAgeMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "last-known-good");
+    }
+    
+    public void put(String url, Object body) {
+        int weight = weight(body);
+        if (weight > maxTasks) {
+            cache.invalidate(url);
+            return;
+        }
+        cache.put(url, new Entry(body, Instant.now(), weight));
+    }
+    
+    public Entry get(String url) {
+        return cache.getIfPresent(url);
+    }
+    
+    // Tasks in the body, at least 1
+    private static int weight(Object body) {
+        int tasks;
+        if (body instanceof Collection<?> collection) {
+            tasks = collection.size();
+        } else if (body instanceof TaskPageDto page) {
+            tasks = page.getContent().size();
+        } else if (body instanceof TaskColumnPageDto column) {
+            tasks = column.getTasks().size();
+        } else {
+            tasks = 1;
+        }
+        return Math.max(1, tasks);
+    }
+    
+    public record Entry(Object body, Instant readAt, int weight) {
+    }
+}
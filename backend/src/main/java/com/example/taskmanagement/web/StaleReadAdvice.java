@@ -0,0 +1,86 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.controller.TaskController;
+import com.example.taskmanagement.exception.DatabaseUnavailableException;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Keeps task reads answering while the database is unavailable. Every successful GET on
+ * {@link TaskController} leaves its body in the {@link LastKnownGoodCache}; when a later GET
+ * for the same URL fails because the circuit breaker is open or the database could not be
+ * reached, that body is returned instead, with {@value #STALE_HEADER} giving the time it was
+ * read. Other requests, and reads without a cached body, fail as they would otherwise.
+ */
+@RestControllerAdvice(assignableTypes = TaskController.class)
+public class StaleReadAdvice implements ResponseBodyAdvice<Object> {
+    
+    public static final String STALE_HEADER = "X-Data-Stale-Since";
+    
+    private final LastKnownGoodCache cache;
+    private final Counter staleReads;
+    
+    public StaleReadAdvice(LastKnownGoodCache cache, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.staleReads = Counter.builder("app.stale-reads.served")
+                .description("Task reads answered from the last known good result while the database was unavailable")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(GetMapping.class);
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body != null
+                && request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value()) {
+            cache.put(url(servletRequest.getServletRequest()), body);
+        }
+        return body;
+    }
+    
+    // Rethrowing hands the exception back to the default handling
+    @ExceptionHandler({DatabaseUnavailableException.class, DataAccessException.class, TransactionException.class})
+    public ResponseEntity<Object> serveStale(RuntimeException e, HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())
+                || !(e instanceof DatabaseUnavailableException || ShardRouter.isDatabaseFailure(e))) {
+            throw e;
+        }
+        LastKnownGoodCache.Entry entry = cache.get(url(request));
+        if (entry == null) {
+            throw e;
+        }
+        staleReads.increment();
+        return ResponseEntity.ok()
+                .header(STALE_HEADER, entry.readAt().toString())
+                .body(entry.body());
+    }
+    
+    private static String url(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+    }
+}
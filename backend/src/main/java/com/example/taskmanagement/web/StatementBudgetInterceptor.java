@@ -0,0 +1,80 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.sql.RequestStatements;
+import com.example.taskmanagement.sql.SqlMonitoringProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each controller request runs, including those issued while the
+ * response is written, against the endpoint's budget from {@code app.sql.*}. Statement
+ * counts and JDBC time per endpoint are published as {@code app.sql.request.statements}
+ * and {@code app.sql.request.time}.
+ */
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+    
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> budgets = new HashMap<>();
+    
+    public StatementBudgetInterceptor(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (SqlMonitoringProperties.EndpointBudget budget : properties.getBudgets()) {
+            budgets.put(endpoint(budget.getMethod(), budget.getPath()), budget.getMaxStatements());
+        }
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = endpoint(request.getMethod(), pattern != null ? pattern.toString() : request.getRequestURI());
+            RequestStatements.begin(endpoint, budgets.getOrDefault(endpoint, properties.getDefaultBudget()));
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements == null) {
+            return;
+        }
+        RequestStatements.end();
+        
+        DistributionSummary.builder("app.sql.request.statements")
+                .description("SQL statements per request")
+                .tag("endpoint", statements.getEndpoint())
+                .register(meterRegistry)
+                .record(statements.getCount());
+        Timer.builder("app.sql.request.time")
+                .description("Time spent in SQL statements per request")
+                .tag("endpoint", statements.getEndpoint())
+                .register(meterRegistry)
+                .record(statements.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        
+        if (statements.isOverBudget()) {
+            log.warn("{} ran {} SQL statements in {} ms, over its budget of {}",
+                    statements.getEndpoint(), statements.getCount(), statements.getElapsedMillis(), statements.getBudget());
+        }
+    }
+    
+    private static String endpoint(String method, String path) {
+        return method.toUpperCase() + " " + path;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.UserDto;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.UserChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of individual tasks, so hot reads skip Jackson. An entry is only used
+ * while the task, its owner and its assignee are at the versions it was built from, so a
+ * stale entry is never served even if it was written after an invalidation. Events evict
+ * entries early to free the space.
+ */
+@Component
+public class TaskJsonCache {
+    
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> cache;
+    
+    public TaskJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${app.task-json-cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry entry) -> entry.json.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "task-json");
+    }
+    
+    public byte[] json(TaskDto task) {
+        return entry(task).json;
+    }
+    
+    public byte[] gzippedJson(TaskDto task) {
+        Entry entry = entry(task);
+        byte[] gzipped = entry.gzipped;
+        if (gzipped == null) {
+            gzipped = gzip(entry.json);
+            entry.gzipped = gzipped;
+        }
+        return gzipped;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.BULK) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.getTaskId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.asMap().values().removeIf(entry -> entry.references(event.getUserId()));
+    }
+    
+    private Entry entry(TaskDto task) {
+        // Projected series occurrences are not stored yet and have no id to cache them under;
+        // descriptions only come with single tasks, which are not worth the space
+        if (task.getId() == null || task.getDescription() != null) {
+            return new Entry(task, serialize(task));
+        }
+        Entry entry = cache.getIfPresent(task.getId());
+        if (entry != null && entry.matches(task)) {
+            return entry;
+        }
+        entry = new Entry(task, serialize(task));
+        cache.put(task.getId(), entry);
+        return entry;
+    }
+    
+    private byte[] serialize(TaskDto task) {
+        try {
+            return objectMapper.writeValueAsBytes(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    private static final class Entry {
+        
+        private final LocalDateTime taskVersion;
+        private final Long ownerId;
+        private final LocalDateTime ownerVersion;
+        private final Long assigneeId;
+        private final LocalDateTime assigneeVersion;
+        private final byte[] json;
+        private volatile byte[] gzipped;
+        
+        Entry(TaskDto task, byte[] json) {
+            this.taskVersion = task.getUpdatedAt();
+            this.ownerId = idOf(task.getUser());
+            this.ownerVersion = versionOf(task.getUser());
+            this.assigneeId = idOf(task.getAssignedTo());
+            this.assigneeVersion = versionOf(task.getAssignedTo());
+            this.json = json;
+        }
+        
+        // Bulk reassignments change the assignee without touching the task's updatedAt
+        boolean matches(TaskDto task) {
+            return Objects.equals(taskVersion, task.getUpdatedAt())
+                    && Objects.equals(ownerId, idOf(task.getUser()))
+                    && Objects.equals(ownerVersion, versionOf(task.getUser()))
+                    && Objects.equals(assigneeId, idOf(task.getAssignedTo()))
+                    && Objects.equals(assigneeVersion, versionOf(task.getAssignedTo()));
+        }
+        
+        boolean references(Long userId) {
+            return userId.equals(ownerId) || userId.equals(assigneeId);
+        }
+        
+        private static Long idOf(UserDto user) {
+            return user != null ? user.getId() : null;
+        }
+        
+        private static LocalDateTime versionOf(UserDto user) {
+            return user != null ? user.getUpdatedAt() : null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes tasks, task lists and task pages by concatenating per-task JSON from
+ * {@link TaskJsonCache}. The output is byte-for-byte what Jackson would produce. Single
+ * tasks can be sent pre-gzipped to clients that accept it. Reading is left to Jackson.
+ */
+public class TaskJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    
+    private static final byte[] COMMA = { ',' };
+    
+    private final TaskJsonCache taskJsonCache;
+    private final boolean gzip;
+    
+    public TaskJsonHttpMessageConverter(TaskJsonCache taskJsonCache, boolean gzip) {
+        super(MediaType.APPLICATION_JSON);
+        this.taskJsonCache = taskJsonCache;
+        this.gzip = gzip;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TaskDto.class || clazz == TaskPageDto.class;
+    }
+    
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (supports(clazz)) {
+            return true;
+        }
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        return ResolvableType.forType(type).asCollection().resolveGeneric(0) == TaskDto.class;
+    }
+    
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof TaskDto task && gzip && acceptsGzip()) {
+            outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            outputMessage.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            outputMessage.getBody().write(taskJsonCache.gzippedJson(task));
+            return;
+        }
+        OutputStream out = outputMessage.getBody();
+        if (body instanceof TaskDto task) {
+            out.write(taskJsonCache.json(task));
+        } else if (body instanceof TaskPageDto page) {
+            write(out, "{\"content\":");
+            writeArray(out, page.getContent());
+            write(out, ",\"page\":" + page.getPage()
+                    + ",\"size\":" + page.getSize()
+                    + ",\"totalElements\":" + page.getTotalElements()
+                    + ",\"totalPages\":" + page.getTotalPages() + "}");
+        } else {
+            writeArray(out, (Collection<?>) body);
+        }
+    }
+    
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException();
+    }
+    
+    private void writeArray(OutputStream out, Collection<?> tasks) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (Object task : tasks) {
+            if (!first) {
+                out.write(COMMA);
+            }
+            out.write(taskJsonCache.json((TaskDto) task));
+            first = false;
+        }
+        out.write(']');
+    }
+    
+    private static void write(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        String acceptEncoding = attributes.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
@@ -0,0 +1,13 @@
+-- Soft deletion of users (see UserPurgeService). Databases baselined at V1 may already have the
+-- column from ddl-auto=update
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- Required by the entities and always written by the application, but left nullable by Hibernate
+ALTER TABLE users ALTER COLUMN username SET NOT NULL;
+ALTER TABLE users ALTER COLUMN email SET NOT NULL;
+ALTER TABLE users ALTER COLUMN password SET NOT NULL;
+ALTER TABLE users ALTER COLUMN name SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN title SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN priority SET NOT NULL;
@@ -0,0 +1,30 @@
+-- The schema Hibernate created with ddl-auto=update before migrations were introduced. Existing
+-- databases are baselined at this version, so it must not change; later changes go in later
+-- migrations. Ids are identity columns where Hibernate used bigserial: both default to the next
+-- value of a sequence, but only identity columns let ShardingConfig step ids per shard
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) UNIQUE,
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    name VARCHAR(255),
+    role VARCHAR(255) CHECK (role IN ('USER', 'ADMIN')),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(255) CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE', 'CANCELLED')),
+    priority VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    due_date TIMESTAMP(6),
+    user_id BIGINT,
+    assigned_to BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    FOREIGN KEY (user_id) REFERENCES users (id),
+    FOREIGN KEY (assigned_to) REFERENCES users (id)
+);
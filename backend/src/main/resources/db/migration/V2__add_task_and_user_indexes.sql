@@ -0,0 +1,13 @@
+-- Kept separate from V1 so databases baselined from a Hibernate-managed schema still get them
+
+-- Owner and assignee lookups, user purge
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks (user_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to ON tasks (assigned_to);
+
+-- Status and priority listings, overdue scans
+CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks (priority);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+
+-- Pending purges of soft-deleted users
+CREATE INDEX IF NOT EXISTS idx_users_deleted_at ON users (deleted_at);
@@ -0,0 +1,6 @@
+-- Composite indexes for /api/tasks/query: owner or assignee narrowed by status,
+-- and status narrowed by due date range
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks (user_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to_status ON tasks (assigned_to, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date);
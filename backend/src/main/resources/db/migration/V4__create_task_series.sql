@@ -0,0 +1,27 @@
+-- Recurring task templates. Instances are materialized into tasks shortly before they are due;
+-- next_occurrence is the first one not yet materialized, NULL once the series has ended
+
+CREATE TABLE IF NOT EXISTS task_series (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    priority VARCHAR(255) NOT NULL,
+    recurrence_rule VARCHAR(255) NOT NULL,
+    starts_at TIMESTAMP(6) NOT NULL,
+    next_occurrence TIMESTAMP(6),
+    occurrence_count INTEGER NOT NULL,
+    user_id BIGINT,
+    assigned_to BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_task_series_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_task_series_assigned_to FOREIGN KEY (assigned_to) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_series_next_occurrence ON task_series (next_occurrence);
+CREATE INDEX IF NOT EXISTS idx_task_series_user_id ON task_series (user_id);
+CREATE INDEX IF NOT EXISTS idx_task_series_assigned_to ON task_series (assigned_to);
+
+-- No foreign key: a shard rebalance moves tasks and series independently
+ALTER TABLE tasks ADD COLUMN series_id BIGINT;
+CREATE INDEX IF NOT EXISTS idx_tasks_series_id ON tasks (series_id);
@@ -0,0 +1,14 @@
+-- Responses of requests sent with an Idempotency-Key, used when app.idempotency.persistent is on.
+-- A row without a response_body is a request still being processed; created_at is when it was
+-- claimed or completed and drives expiry
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,5 @@
+-- Manual order of tasks within their status column (see RankKeys). Existing tasks are ranked
+-- by id at startup; the index serves column pages and the first and last rank of a column
+
+ALTER TABLE tasks ADD COLUMN rank_key VARCHAR(255);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_rank ON tasks (status, rank_key, id);
@@ -0,0 +1,12 @@
+-- Blocked-by relations: task_id cannot start before blocked_by_id is done. Stored on the users
+-- shard; no foreign keys, since the two tasks may live on different shards
+
+CREATE TABLE IF NOT EXISTS task_dependencies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    blocked_by_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_task_dependencies_task_blocked_by UNIQUE (task_id, blocked_by_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_dependencies_blocked_by_id ON task_dependencies (blocked_by_id);
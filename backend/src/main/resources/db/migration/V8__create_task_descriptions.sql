@@ -0,0 +1,15 @@
+-- Descriptions move out of tasks so that task lists no longer read them. Longer texts are
+-- stored deflated in compressed, with their beginning in content for keyword search.
+-- Stored on the task's shard; no foreign key, so tasks can still be truncated on restore
+
+CREATE TABLE IF NOT EXISTS task_descriptions (
+    task_id BIGINT PRIMARY KEY,
+    content VARCHAR NOT NULL,
+    compressed BYTEA,
+    original_length INTEGER NOT NULL
+);
+
+INSERT INTO task_descriptions (task_id, content, original_length)
+SELECT id, description, LENGTH(description) FROM tasks WHERE description IS NOT NULL AND description <> '';
+
+ALTER TABLE tasks DROP COLUMN description;
@@ -0,0 +1,4 @@
+-- Task labels as a sorted, comma-separated list (see TaskLabelsConverter). Label filters are
+-- answered by the in-memory bitmap index of TaskLabelService, so the column is not indexed
+
+ALTER TABLE tasks ADD COLUMN labels VARCHAR(1024);
@@ -0,0 +1,22 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.sql.SqlMonitoringProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskManagementApplicationTests {
+    
+    @Autowired
+    private SqlMonitoringProperties sqlMonitoringProperties;
+    
+    @Test
+    void contextLoadsWithStatementBudgetsEnforced() {
+        assertThat(sqlMonitoringProperties.getBudgetMode()).isEqualTo(SqlMonitoringProperties.BudgetMode.FAIL);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanagement.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntMapTest {
+    
+    @Test
+    void putsGetsAndRemovesLikeAHashMap() {
+        SplittableRandom random = new SplittableRandom(1);
+        // Starts small so that it resizes, and removals shift entries across probe runs
+        LongIntMap map = new LongIntMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextLong(-5_000, 5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, LongIntMap.MISSING));
+                expected.remove(key);
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+        
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -5_000; key < 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, LongIntMap.MISSING));
+        }
+    }
+    
+    @Test
+    void holdsZeroKeysAndValuesAndForgetsEverythingOnClear() {
+        LongIntMap map = new LongIntMap(16);
+        map.put(0L, 0);
+        map.put(Long.MIN_VALUE, 7);
+        
+        assertThat(map.get(0L)).isZero();
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(7);
+        assertThat(map.get(1L)).isEqualTo(LongIntMap.MISSING);
+        
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(0L)).isEqualTo(LongIntMap.MISSING);
+        // Sized for the expected entries at no more than three quarters full
+        assertThat(new LongIntMap(1_000_000).residentBytes()).isEqualTo((1L << 21) * (Long.BYTES + Integer.BYTES));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskmanagement.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Coalescing is off so that every list request reaches the database
+@SpringBootTest(properties = "app.task-coalescing.ttl-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserSecondLevelCacheTest {
+    
+    private static final Pattern READS_USERS = Pattern.compile("^select\\b.*\\b(from|join) users\\b", Pattern.DOTALL);
+    private static final Pattern READS_TASKS = Pattern.compile("^select\\b.*\\bfrom tasks\\b", Pattern.DOTALL);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private final QueryExecutionListener recorder = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+        
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            queryInfoList.forEach(query -> statements.add(query.getQuery().toLowerCase(Locale.ROOT)));
+        }
+    };
+    
+    @BeforeEach
+    void recordStatements() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(recorder);
+    }
+    
+    @AfterEach
+    void stopRecording() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(recorder);
+    }
+    
+    @Test
+    void secondTaskListReadsOwnersAndAssigneesFromTheCache() throws Exception {
+        createUser("owner", "owner@example.com");
+        createUser("assignee", "assignee@example.com");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"task " + i + "\",\"status\":\"TODO\",\"priority\":\"HIGH\",\"assignedToId\":2}"))
+                    .andExpect(status().isCreated());
+        }
+        entityManagerFactory.getCache().evictAll();
+        
+        statements.clear();
+        listTasks();
+        assertThat(statements).anyMatch(sql -> READS_USERS.matcher(sql).find());
+        
+        statements.clear();
+        listTasks();
+        assertThat(statements).anyMatch(sql -> READS_TASKS.matcher(sql).find());
+        assertThat(statements).noneMatch(sql -> READS_USERS.matcher(sql).find());
+    }
+    
+    private void createUser(String username, String email) throws Exception {
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + email
+                                + "\",\"password\":\"secret\",\"name\":\"" + username + "\"}"))
+                .andExpect(status().isCreated());
+    }
+    
+    private void listTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].assignedTo.username").value("assignee"));
+    }
+}
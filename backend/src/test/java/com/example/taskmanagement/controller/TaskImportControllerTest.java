@@ -0,0 +1,63 @@
+package com.example.taskmanagement.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Coalescing is off so that the owner's task list is read after the import
+@SpringBootTest(properties = "app.task-coalescing.ttl-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskImportControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void importsTasksForTheRequestedOwner() throws Exception {
+        createUser("bystander");
+        long ownerId = createUser("importer");
+        
+        String job = mockMvc.perform(post("/api/tasks/imports").param("userId", String.valueOf(ownerId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(put("/api/tasks/imports/{id}", JsonPath.<String>read(job, "$.id"))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Imported task\",\"status\":\"TODO\",\"priority\":\"LOW\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        
+        mockMvc.perform(get("/api/tasks/user/{userId}", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Imported task")));
+    }
+    
+    @Test
+    void rejectsAMissingOrUnknownOwner() throws Exception {
+        mockMvc.perform(post("/api/tasks/imports"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tasks/imports").param("userId", String.valueOf(Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+    
+    private long createUser(String username) throws Exception {
+        String user = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret\",\"name\":\"" + username + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(user, "$.id").longValue();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.taskmanagement.label;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskIdBitmapTest {
+    
+    private static final long CHUNK = 1 << 16;
+    
+    @Test
+    void addsRemovesAndSelectsLikeASortedSet() {
+        SplittableRandom random = new SplittableRandom(1);
+        TaskIdBitmap bitmap = new TaskIdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextLong(4 * CHUNK);
+            if (random.nextInt(4) == 0) {
+                assertThat(bitmap.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(bitmap.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+        
+        assertContents(bitmap, expected);
+        assertThat(bitmap.contains(expected.first())).isTrue();
+        assertThat(bitmap.contains(4 * CHUNK)).isFalse();
+    }
+    
+    @Test
+    void combinesSparseAndDenseChunks() {
+        SplittableRandom random = new SplittableRandom(2);
+        // Per chunk: dense in both, dense and sparse, sparse in both, in one only
+        TreeSet<Long> left = ids(random, 0, 30_000, CHUNK, 20_000, 2 * CHUNK, 500, 3 * CHUNK, 100);
+        TreeSet<Long> right = ids(random, 0, 25_000, CHUNK, 300, 2 * CHUNK, 700, 4 * CHUNK, 100);
+        TaskIdBitmap leftBitmap = bitmap(left);
+        TaskIdBitmap rightBitmap = bitmap(right);
+        
+        assertContents(TaskIdBitmap.and(leftBitmap, rightBitmap), intersection(left, right));
+        assertContents(TaskIdBitmap.or(leftBitmap, rightBitmap), union(left, right));
+        assertContents(TaskIdBitmap.andNot(leftBitmap, rightBitmap), difference(left, right));
+        assertContents(TaskIdBitmap.andNot(rightBitmap, leftBitmap), difference(right, left));
+        
+        // Operands are left unchanged
+        assertContents(leftBitmap, left);
+        assertContents(rightBitmap, right);
+    }
+    
+    @Test
+    void switchesChunkRepresentationAtTheArrayLimit() {
+        TaskIdBitmap bitmap = new TaskIdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (long id = 0; id < TaskIdBitmap.ARRAY_LIMIT; id++) {
+            bitmap.add(id * 2);
+            expected.add(id * 2);
+        }
+        assertContents(bitmap, expected);
+        
+        // One past the limit turns the chunk into a bitmap, one removal turns it back
+        bitmap.add(1);
+        expected.add(1L);
+        assertContents(bitmap, expected);
+        bitmap.remove(1);
+        expected.remove(1L);
+        assertContents(bitmap, expected);
+        bitmap.remove(0);
+        expected.remove(0L);
+        assertContents(bitmap, expected);
+        
+        // Adding to the array chunk again after it shrank
+        bitmap.add(3);
+        bitmap.add(5);
+        expected.add(3L);
+        expected.add(5L);
+        assertContents(bitmap, expected);
+    }
+    
+    @Test
+    void combinesChunksAcrossTheArrayLimit() {
+        int half = TaskIdBitmap.ARRAY_LIMIT / 2;
+        // Two arrays whose union exceeds the limit, and two that overlap enough to stay under it
+        TreeSet<Long> evens = range(0, TaskIdBitmap.ARRAY_LIMIT, 2);
+        TreeSet<Long> odds = range(1, TaskIdBitmap.ARRAY_LIMIT, 2);
+        TreeSet<Long> lowEvens = range(0, half, 2);
+        TreeSet<Long> overlapping = range(0, half + 200, 2);
+        
+        assertContents(TaskIdBitmap.or(bitmap(evens), bitmap(odds)), union(evens, odds));
+        assertContents(TaskIdBitmap.or(bitmap(lowEvens), bitmap(overlapping)), union(lowEvens, overlapping));
+        
+        // Dense operands whose results fit an array again
+        TreeSet<Long> dense = range(0, 3 * TaskIdBitmap.ARRAY_LIMIT, 1);
+        TreeSet<Long> denseShifted = range(3 * TaskIdBitmap.ARRAY_LIMIT - 10, 5 * TaskIdBitmap.ARRAY_LIMIT, 1);
+        assertContents(TaskIdBitmap.and(bitmap(dense), bitmap(denseShifted)), intersection(dense, denseShifted));
+        assertContents(TaskIdBitmap.andNot(bitmap(dense), bitmap(range(10, 3 * TaskIdBitmap.ARRAY_LIMIT, 1))),
+                range(0, 10, 1));
+        assertContents(TaskIdBitmap.or(bitmap(dense), bitmap(evens)), union(dense, evens));
+    }
+    
+    @Test
+    void selectsPagesAcrossChunks() {
+        TreeSet<Long> expected = ids(new SplittableRandom(3), 0, 5_000, CHUNK, 10, 3 * CHUNK, 6_000);
+        TaskIdBitmap bitmap = bitmap(expected);
+        List<Long> all = List.copyOf(expected);
+        
+        for (int offset : new int[] { 0, 4_995, 5_000, 5_008, 5_010, all.size() - 3 }) {
+            assertThat(boxed(bitmap.select(offset, 20)))
+                    .containsExactlyElementsOf(all.subList(offset, Math.min(all.size(), offset + 20)));
+        }
+        assertThat(bitmap.select(all.size(), 20)).isEmpty();
+        assertThat(bitmap.select(all.size() + 100L, 20)).isEmpty();
+    }
+    
+    @Test
+    void rejectsIdsOutsideTheRange() {
+        TaskIdBitmap bitmap = new TaskIdBitmap();
+        bitmap.add(0xFFFF_FFFFL);
+        
+        assertThat(bitmap.contains(0xFFFF_FFFFL)).isTrue();
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bitmap.add(1L << 32)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThat(bitmap.remove(1L << 32)).isFalse();
+    }
+    
+    // Pairs of chunk base and count, each count drawn at random from that chunk
+    private static TreeSet<Long> ids(SplittableRandom random, long... baseAndCount) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (int i = 0; i < baseAndCount.length; i += 2) {
+            TreeSet<Long> chunk = new TreeSet<>();
+            while (chunk.size() < baseAndCount[i + 1]) {
+                chunk.add(baseAndCount[i] + random.nextInt((int) CHUNK));
+            }
+            ids.addAll(chunk);
+        }
+        return ids;
+    }
+    
+    private static TreeSet<Long> range(long from, long to, long step) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (long id = from; id < to; id += step) {
+            ids.add(id);
+        }
+        return ids;
+    }
+    
+    private static TaskIdBitmap bitmap(TreeSet<Long> ids) {
+        TaskIdBitmap bitmap = new TaskIdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+    
+    private static void assertContents(TaskIdBitmap bitmap, TreeSet<Long> expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(bitmap.isEmpty()).isEqualTo(expected.isEmpty());
+        assertThat(boxed(bitmap.select(0, expected.size() + 1))).containsExactlyElementsOf(expected);
+        for (Long id : expected) {
+            assertThat(bitmap.contains(id)).isTrue();
+            assertThat(bitmap.contains(id + 1)).isEqualTo(expected.contains(id + 1));
+        }
+    }
+    
+    private static List<Long> boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().collect(Collectors.toList());
+    }
+    
+    private static TreeSet<Long> intersection(TreeSet<Long> left, TreeSet<Long> right) {
+        TreeSet<Long> result = new TreeSet<>(left);
+        result.retainAll(right);
+        return result;
+    }
+    
+    private static TreeSet<Long> union(TreeSet<Long> left, TreeSet<Long> right) {
+        TreeSet<Long> result = new TreeSet<>(left);
+        result.addAll(right);
+        return result;
+    }
+    
+    private static TreeSet<Long> difference(TreeSet<Long> left, TreeSet<Long> right) {
+        TreeSet<Long> result = new TreeSet<>(left);
+        result.removeAll(right);
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.taskmanagement.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", properties(), clock::get);
+    
+    @Test
+    void staysClosedUntilEnoughCallsAreRecorded() {
+        call(true);
+        call(true);
+        call(true);
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void opensAtTheFailureRateAndRejectsCalls() {
+        call(false);
+        call(false);
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.getRejectedCalls()).isEqualTo(2);
+    }
+    
+    @Test
+    void opensAtTheSlowCallRate() {
+        for (int i = 0; i < 3; i++) {
+            breaker.record(breaker.tryAcquire(), SLOW_NANOS, false);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        breaker.record(breaker.tryAcquire(), SLOW_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void countsOnlyTheCallsInTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        call(true);
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        // The oldest success leaves the window of 6, so 3 of 6 calls failed
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void closesAfterAllProbesSucceed() {
+        trip();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(first).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(second).isNotEqualTo(CircuitBreaker.REJECTED);
+        // Only two probes at a time
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        
+        breaker.record(first, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.record(second, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+    
+    @Test
+    void reopensOnAFailedOrSlowProbe() {
+        trip();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        breaker.record(breaker.tryAcquire(), FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        breaker.record(breaker.tryAcquire(), SLOW_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void releasedProbeFreesItsSlot() {
+        trip();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        long first = breaker.tryAcquire();
+        breaker.tryAcquire();
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        
+        breaker.release(first);
+        assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+    
+    @Test
+    void ignoresOutcomesOfCallsStartedBeforeAStateChange() {
+        long stale = breaker.tryAcquire();
+        trip();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        long probe = breaker.tryAcquire();
+        
+        // A late failure from before the breaker opened does not reopen it
+        breaker.record(stale, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.record(probe, FAST_NANOS, false);
+        breaker.record(breaker.tryAcquire(), FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+    
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    private void call(boolean failure) {
+        long ticket = breaker.tryAcquire();
+        assertThat(ticket).isNotEqualTo(CircuitBreaker.REJECTED);
+        breaker.record(ticket, FAST_NANOS, failure);
+    }
+    
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(6);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallMs(100);
+        properties.setSlowCallRateThreshold(100);
+        properties.setOpenMs(1000);
+        properties.setHalfOpenCalls(2);
+        return properties;
+    }
+}
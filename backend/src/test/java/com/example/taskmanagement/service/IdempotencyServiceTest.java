@@ -0,0 +1,74 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+    
+    private static final String STORE = "UPDATE idempotency_keys SET response_body";
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ShardRouter shardRouter = new ShardRouter(1, 1, 1, mock(PlatformTransactionManager.class), List.of());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyService service = new IdempotencyService(jdbcTemplate, shardRouter, new ObjectMapper(),
+            meterRegistry, "secret", 24, 100, 60, true);
+    
+    @AfterEach
+    void shutDown() {
+        shardRouter.close();
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsTheResponseWhenItCannotBeStoredAndStoresItLater() {
+        // The key is unclaimed, and the store fails twice before it works again
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.update(startsWith(STORE), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(1);
+        AtomicInteger runs = new AtomicInteger();
+        Map<String, String> request = Map.of("title", "Write report");
+        
+        IdempotencyService.Result<String> first = service.execute("tasks:1", "key-1", request, String.class,
+                () -> "created " + runs.incrementAndGet());
+        
+        assertThat(first).isEqualTo(new IdempotencyService.Result<>("created 1", false));
+        assertThat(meterRegistry.get("app.idempotency.store-failed").counter().count()).isEqualTo(1);
+        
+        // A retry is answered from memory rather than running the request again
+        IdempotencyService.Result<String> retry = service.execute("tasks:1", "key-1", request, String.class,
+                () -> "created " + runs.incrementAndGet());
+        assertThat(retry).isEqualTo(new IdempotencyService.Result<>("created 1", true));
+        assertThat(runs).hasValue(1);
+        
+        service.retryFailedStores();
+        service.retryFailedStores();
+        service.retryFailedStores();
+        
+        // Failed once more, then stored, then nothing left to store
+        verify(jdbcTemplate, times(3)).update(startsWith(STORE), eq("\"created 1\""), any(), eq("tasks:1"), eq("key-1"));
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO idempotency_keys"), any(Object[].class));
+    }
+}
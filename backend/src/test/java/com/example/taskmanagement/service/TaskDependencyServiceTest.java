@@ -0,0 +1,126 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskDependencyServiceTest {
+    
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskDependencyRepository taskDependencyRepository = mock(TaskDependencyRepository.class);
+    private final ShardRouter shardRouter = new ShardRouter(1, 1, 1, mock(PlatformTransactionManager.class), List.of());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskDependencyService service =
+            new TaskDependencyService(taskDependencyRepository, taskRepository, shardRouter, meterRegistry);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    
+    // Released by each test; the first task scan waits for it
+    private final CountDownLatch building = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        executor.shutdownNow();
+        shardRouter.close();
+    }
+    
+    @Test
+    void appliesTaskChangesMadeWhileTheGraphIsBuilding() throws Exception {
+        // Task 1 is blocked by task 2, both open
+        when(taskRepository.streamAnalyticsColumns())
+                .thenAnswer(invocation -> blockedScan(row(1L, Task.TaskStatus.TODO), row(2L, Task.TaskStatus.TODO)));
+        when(taskDependencyRepository.streamEdges()).thenAnswer(invocation -> Stream.<Object[]>of(new Object[] {1L, 2L}));
+        when(taskRepository.findWithUsersByIdIn(any())).thenReturn(List.of());
+        
+        Future<List<TaskDto>> ready = executor.submit(() -> service.getReadyTasks(null, 10));
+        assertThat(building.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        // Neither the write nor the gauge waits for the build
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            service.onTaskChanged(TaskChangedEvent.created(task(3L, Task.TaskStatus.TODO)));
+            service.onTaskChanged(TaskChangedEvent.updated(task(1L, Task.TaskStatus.DONE)));
+            assertThat(readyCount()).isZero();
+        });
+        release.countDown();
+        ready.get(10, TimeUnit.SECONDS);
+        
+        assertThat(readyCount()).isEqualTo(2);
+        assertThat(readyIdsLoaded()).containsExactlyInAnyOrder(2L, 3L);
+    }
+    
+    @Test
+    void loadsAgainAfterABulkChangeDuringTheBuild() throws Exception {
+        when(taskRepository.streamAnalyticsColumns())
+                .thenAnswer(invocation -> blockedScan(row(1L, Task.TaskStatus.TODO)))
+                .thenAnswer(invocation -> Stream.of(row(1L, Task.TaskStatus.TODO), row(2L, Task.TaskStatus.TODO)));
+        when(taskDependencyRepository.streamEdges()).thenAnswer(invocation -> Stream.empty());
+        when(taskRepository.findWithUsersByIdIn(any())).thenReturn(List.of());
+        
+        Future<List<TaskDto>> ready = executor.submit(() -> service.getReadyTasks(null, 10));
+        assertThat(building.await(10, TimeUnit.SECONDS)).isTrue();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.onTaskChanged(TaskChangedEvent.bulk()));
+        release.countDown();
+        ready.get(10, TimeUnit.SECONDS);
+        
+        // The graph built before the bulk change was discarded
+        verify(taskRepository, times(2)).streamAnalyticsColumns();
+        assertThat(readyCount()).isEqualTo(2);
+        assertThat(readyIdsLoaded()).containsExactlyInAnyOrder(1L, 2L);
+    }
+    
+    private Stream<Object[]> blockedScan(Object[]... rows) throws InterruptedException {
+        building.countDown();
+        assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+        return Stream.of(rows);
+    }
+    
+    private double readyCount() {
+        return meterRegistry.get("app.task-dependencies.ready").gauge().value();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Collection<Long> readyIdsLoaded() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository).findWithUsersByIdIn(ids.capture());
+        return ids.getValue();
+    }
+    
+    // id, status, priority, due date, owner, assignee
+    private static Object[] row(Long id, Task.TaskStatus status) {
+        return new Object[] {id, status, Task.Priority.MEDIUM, null, 10L, null};
+    }
+    
+    private static TaskDto task(Long id, Task.TaskStatus status) {
+        TaskDto task = new TaskDto();
+        task.setId(id);
+        task.setStatus(status);
+        return task;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Coalescing is off so that every search reaches the database
+@SpringBootTest(properties = "app.task-coalescing.ttl-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskDescriptionSearchTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void findsKeywordsInTheCompressedPartOfLongDescriptions() throws Exception {
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"searcher\",\"email\":\"searcher@example.com\","
+                                + "\"password\":\"secret\",\"name\":\"searcher\"}"))
+                .andExpect(status().isCreated());
+        String description = "Quarterly numbers. ".repeat(200) + "Ends with a haystack needle";
+        createTask("Long report", description);
+        createTask("Short note", "A needle near the start");
+        createTask("Unrelated", "Quarterly numbers. ".repeat(200));
+        
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_descriptions WHERE compressed IS NOT NULL", Integer.class)).isEqualTo(2);
+        
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "haystack needle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Long report")));
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "needle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Long report", "Short note")));
+        mockMvc.perform(get("/api/tasks/query").param("keyword", "needle").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[*].title", contains("Long report")));
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "pin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+    
+    private void createTask(String title, String description) throws Exception {
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"description\":\"" + description
+                                + "\",\"status\":\"TODO\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated());
+    }
+}
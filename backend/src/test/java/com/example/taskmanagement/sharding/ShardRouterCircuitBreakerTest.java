@@ -0,0 +1,141 @@
+package com.example.taskmanagement.sharding;
+
+import com.example.taskmanagement.exception.DatabaseUnavailableException;
+import com.example.taskmanagement.resilience.CircuitBreaker;
+import com.example.taskmanagement.resilience.CircuitBreakerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRouterCircuitBreakerTest {
+    
+    private final AtomicLong clock = new AtomicLong();
+    private final FaultyDataSource dataSource = new FaultyDataSource();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final CircuitBreaker breaker = new CircuitBreaker("shard-0", properties(), clock::get);
+    private final ShardRouter shardRouter = new ShardRouter(1, 1, 1,
+            new DataSourceTransactionManager(dataSource), List.of(breaker));
+    
+    @AfterEach
+    void closeRouter() {
+        shardRouter.close();
+    }
+    
+    @Test
+    void opensOnConnectionFailuresAndThenRejectsWithoutTouchingTheDatabase() {
+        dataSource.failing = true;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::selectOne).isInstanceOf(CannotCreateTransactionException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        
+        int attempts = dataSource.connections.get();
+        assertThatThrownBy(this::selectOne)
+                .isInstanceOf(DatabaseUnavailableException.class)
+                .hasMessageContaining("The database is unavailable");
+        assertThat(dataSource.connections.get()).isEqualTo(attempts);
+        assertThat(breaker.getRejectedCalls()).isEqualTo(1);
+    }
+    
+    @Test
+    void opensOnSlowCalls() {
+        dataSource.delayNanos = TimeUnit.MILLISECONDS.toNanos(250);
+        for (int i = 0; i < 4; i++) {
+            assertThat(selectOne()).isEqualTo(1);
+        }
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(this::selectOne).isInstanceOf(DatabaseUnavailableException.class);
+    }
+    
+    @Test
+    void recoversThroughHalfOpenOnceTheDatabaseIsBack() {
+        dataSource.failing = true;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::selectOne).isInstanceOf(CannotCreateTransactionException.class);
+        }
+        dataSource.failing = false;
+        assertThatThrownBy(this::selectOne).isInstanceOf(DatabaseUnavailableException.class);
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(selectOne()).isEqualTo(1);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(selectOne()).isEqualTo(1);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+    
+    @Test
+    void reopensWhenAProbeFails() {
+        dataSource.failing = true;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::selectOne).isInstanceOf(CannotCreateTransactionException.class);
+        }
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThatThrownBy(this::selectOne).isInstanceOf(CannotCreateTransactionException.class);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(this::selectOne).isInstanceOf(DatabaseUnavailableException.class);
+    }
+    
+    @Test
+    void statementErrorsDoNotCountAsDatabaseFailures() {
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> shardRouter.onShard(0, true,
+                    () -> jdbcTemplate.queryForObject("SELECT missing FROM nowhere", Integer.class)))
+                    .isInstanceOf(BadSqlGrammarException.class);
+        }
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+    
+    private Integer selectOne() {
+        return shardRouter.onShard(0, true, () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+    }
+    
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setSlowCallMs(200);
+        properties.setOpenMs(10_000);
+        properties.setHalfOpenCalls(2);
+        return properties;
+    }
+    
+    // In-memory H2 that can refuse connections, or take a while to hand one out on the test clock
+    private class FaultyDataSource extends DelegatingDataSource {
+        
+        volatile boolean failing;
+        volatile long delayNanos;
+        final AtomicInteger connections = new AtomicInteger();
+        
+        FaultyDataSource() {
+            super(new DriverManagerDataSource("jdbc:h2:mem:shard-router-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            if (failing) {
+                throw new SQLException("Connection refused", "08001");
+            }
+            clock.addAndGet(delayNanos);
+            return super.getConnection();
+        }
+    }
+}
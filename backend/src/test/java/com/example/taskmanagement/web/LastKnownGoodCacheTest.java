@@ -0,0 +1,62 @@
+package com.example.taskmanagement.web;
+
+import com.example.taskmanagement.dto.TaskColumnPageDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LastKnownGoodCacheTest {
+    
+    private final LastKnownGoodCache cache = new LastKnownGoodCache(new SimpleMeterRegistry(), 10, 60);
+    
+    @Test
+    void keepsTheLastBodyPerUrlWithItsReadTime() {
+        Instant before = Instant.now();
+        TaskDto first = new TaskDto();
+        TaskDto second = new TaskDto();
+        cache.put("/api/tasks/1", first);
+        cache.put("/api/tasks/1", second);
+        
+        LastKnownGoodCache.Entry entry = cache.get("/api/tasks/1");
+        assertThat(entry.body()).isSameAs(second);
+        assertThat(entry.readAt()).isBetween(before, Instant.now());
+        assertThat(entry.weight()).isEqualTo(1);
+        assertThat(cache.get("/api/tasks/2")).isNull();
+    }
+    
+    @Test
+    void weighsBodiesByTheTasksTheyHold() {
+        cache.put("/api/tasks", tasks(3));
+        cache.put("/api/tasks/query", new TaskPageDto(tasks(4), 0, 4, 10, 3));
+        cache.put("/api/tasks/board/TODO", new TaskColumnPageDto(tasks(2), null));
+        cache.put("/api/tasks/user/1", List.of());
+        
+        assertThat(cache.get("/api/tasks").weight()).isEqualTo(3);
+        assertThat(cache.get("/api/tasks/query").weight()).isEqualTo(4);
+        assertThat(cache.get("/api/tasks/board/TODO").weight()).isEqualTo(2);
+        assertThat(cache.get("/api/tasks/user/1").weight()).isEqualTo(1);
+    }
+    
+    @Test
+    void dropsBodiesLargerThanTheWholeCache() {
+        cache.put("/api/tasks", tasks(10));
+        assertThat(cache.get("/api/tasks")).isNotNull();
+        
+        // The older, smaller body is not served in place of the newer one
+        cache.put("/api/tasks", tasks(11));
+        assertThat(cache.get("/api/tasks")).isNull();
+        cache.put("/api/tasks/query", new TaskPageDto(tasks(11), 0, 11, 11, 1));
+        assertThat(cache.get("/api/tasks/query")).isNull();
+    }
+    
+    private static List<TaskDto> tasks(int count) {
+        return Collections.nCopies(count, new TaskDto());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.taskmanagement.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The breaker opens after two failed calls and stays open. No other test shares these properties,
+// so none gets this context; it is not closed early either, as that would close the second-level
+// cache manager that other contexts share
+@SpringBootTest(properties = {
+        "app.task-coalescing.ttl-ms=0",
+        "app.circuit-breaker.window-size=2",
+        "app.circuit-breaker.minimum-calls=2",
+        "app.circuit-breaker.open-ms=600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StaleReadAdviceTest {
+    
+    private static volatile boolean databaseDown;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @AfterEach
+    void bringTheDatabaseBack() {
+        databaseDown = false;
+    }
+    
+    @Test
+    void servesTheLastGoodReadWhileTheDatabaseIsDown() throws Exception {
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"owner\",\"email\":\"owner@example.com\","
+                                + "\"password\":\"secret\",\"name\":\"owner\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Write report\",\"status\":\"TODO\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated());
+        
+        Instant before = Instant.now();
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(StaleReadAdvice.STALE_HEADER))
+                .andExpect(jsonPath("$[0].title").value("Write report"));
+        Instant after = Instant.now();
+        double served = staleReadsServed();
+        
+        databaseDown = true;
+        // The first failure comes from the connection, the ones after it from the open breaker
+        for (int i = 0; i < 3; i++) {
+            MvcResult result = mockMvc.perform(get("/api/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].title").value("Write report"))
+                    .andReturn();
+            assertThat(Instant.parse(result.getResponse().getHeader(StaleReadAdvice.STALE_HEADER)))
+                    .isBetween(before, after);
+        }
+        assertThat(meterRegistry.get("app.circuit-breaker.state").tag("shard", "0").gauge().value())
+                .isEqualTo(2);
+        assertThat(staleReadsServed() - served).isEqualTo(3);
+        
+        // Nothing to fall back on for a URL never read, and writes are never answered stale
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "report"))
+                .andExpect(status().isServiceUnavailable());
+        // Reads that start with the user are rejected by the breaker too, not left to time out
+        mockMvc.perform(get("/api/tasks/assigned/1"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/tasks/upcoming").param("userId", "1"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Ship release\",\"status\":\"TODO\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(StaleReadAdvice.STALE_HEADER));
+        assertThat(staleReadsServed() - served).isEqualTo(3);
+    }
+    
+    private double staleReadsServed() {
+        return meterRegistry.get("app.stale-reads.served").counter().count();
+    }
+    
+    @TestConfiguration
+    static class FailingDatabaseConfig {
+        
+        // Wraps the application's data source so that it refuses connections while the database is down
+        @Bean
+        static BeanPostProcessor failingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            if (databaseDown) {
+                                throw new SQLException("Connection refused", "08001");
+                            }
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.analytics.TaskColumnarSnapshot;
+import com.example.taskmanagement.entity.Task;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Measures scans of the columnar task snapshot behind {@code /api/tasks/analytics/*} in
+ * process, without the application or a database. Fills a snapshot with {@code --rows}
+ * generated tasks, distributed like {@link DatasetGenerator}'s, then runs each analytics
+ * query {@code --samples} times after a warmup and prints the latency percentiles.
+ *
+ * <pre>
+ * MAVEN_OPTS=-Xmx1g mvn -q compile exec:java -Dexec.mainClass=com.example.taskmanagement.loadtest.AnalyticsScanBenchmark \
+ *     -Dexec.args="--rows 10000000"
+ * </pre>
+ */
+public class AnalyticsScanBenchmark {
+    
+    private static final int WARMUP_RUNS = 10;
+    private static final long DAY_SECONDS = 86_400;
+    private static final int STATUS_COUNT = Task.TaskStatus.values().length;
+    private static final int PRIORITY_COUNT = Task.Priority.values().length;
+    
+    public static void main(String[] args) {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int rows = config.getRows();
+        int users = Math.max(1, rows / DatasetGenerator.TASKS_PER_USER);
+        long today = LocalDate.now().toEpochDay() * DAY_SECONDS;
+        
+        long started = System.nanoTime();
+        TaskColumnarSnapshot snapshot = fill(rows, users, today, config.getSeed(), pool);
+        System.out.printf("Filled %,d rows for %,d users in %d ms, scanning on %d threads%n",
+                snapshot.rowCount(), users, (System.nanoTime() - started) / 1_000_000, pool.getParallelism());
+        long resident = snapshot.residentBytes();
+        System.out.printf("Snapshot holds %,d MB, %.1f bytes per row%n",
+                resident >> 20, (double) resident / snapshot.rowCount());
+        
+        int open = 1 << Task.TaskStatus.TODO.ordinal() | 1 << Task.TaskStatus.IN_PROGRESS.ordinal();
+        int urgent = 1 << Task.Priority.HIGH.ordinal() | 1 << Task.Priority.URGENT.ordinal();
+        TaskColumnarSnapshot.Filter all = TaskColumnarSnapshot.Filter.all();
+        TaskColumnarSnapshot.Filter openUrgent = new TaskColumnarSnapshot.Filter(
+                open, urgent, TaskColumnarSnapshot.NONE, TaskColumnarSnapshot.NONE,
+                TaskColumnarSnapshot.NO_USER, TaskColumnarSnapshot.NO_USER);
+        TaskColumnarSnapshot.Filter overdue = new TaskColumnarSnapshot.Filter(
+                open, 0, TaskColumnarSnapshot.NONE, today,
+                TaskColumnarSnapshot.NO_USER, TaskColumnarSnapshot.NO_USER);
+        TaskColumnarSnapshot.Filter topOwner = new TaskColumnarSnapshot.Filter(
+                0, 0, TaskColumnarSnapshot.NONE, TaskColumnarSnapshot.NONE,
+                snapshot.userCode(1L), TaskColumnarSnapshot.NO_USER);
+        
+        Map<String, Function<TaskColumnarSnapshot, Object>> queries = new LinkedHashMap<>();
+        queries.put("count (all)", s -> s.count(all));
+        queries.put("count (open, high/urgent)", s -> s.count(openUrgent));
+        queries.put("count (overdue)", s -> s.count(overdue));
+        queries.put("count (owner 1)", s -> s.count(topOwner));
+        queries.put("status counts (all)", s -> s.countByStatus(all, STATUS_COUNT));
+        queries.put("priority counts (open)", s -> s.countByPriority(overdue, PRIORITY_COUNT));
+        queries.put("due histogram (90 days)", s -> s.countByDueDate(all, today, DAY_SECONDS, 90));
+        queries.put("top 10 assignees (open, high/urgent)", s -> s.topAssignees(openUrgent, 10));
+        
+        System.out.printf("%n%-40s %10s %10s %10s %10s%n", "Query", "p50 ms", "p90 ms", "max ms", "mean ms");
+        for (Map.Entry<String, Function<TaskColumnarSnapshot, Object>> query : queries.entrySet()) {
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                query.getValue().apply(snapshot);
+            }
+            long[] nanos = new long[Math.max(1, config.getSamples())];
+            for (int i = 0; i < nanos.length; i++) {
+                long start = System.nanoTime();
+                query.getValue().apply(snapshot);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-40s %10.1f %10.1f %10.1f %10.1f%n", query.getKey(),
+                    millis(nanos[nanos.length / 2]), millis(nanos[(int) (nanos.length * 0.9)]),
+                    millis(nanos[nanos.length - 1]), millis((long) Arrays.stream(nanos).average().orElse(0)));
+        }
+    }
+    
+    // Zipf-distributed owners, a quarter of the tasks unassigned and a fifth without a due date
+    private static TaskColumnarSnapshot fill(int rows, int users, long today, long seed, ForkJoinPool pool) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] userPopularity = DatasetGenerator.zipfCumulative(users, DatasetGenerator.USER_ZIPF_EXPONENT);
+        TaskColumnarSnapshot snapshot = new TaskColumnarSnapshot(rows, pool);
+        for (int id = 1; id <= rows; id++) {
+            long owner = DatasetGenerator.sample(random, userPopularity) + 1;
+            Long assignee = random.nextInt(4) == 0 ? null : (long) DatasetGenerator.sample(random, userPopularity) + 1;
+            long dueDate = random.nextInt(5) == 0
+                    ? TaskColumnarSnapshot.NONE
+                    : today + random.nextLong(-180 * DAY_SECONDS, 365 * DAY_SECONDS);
+            snapshot.upsert(id, random.nextInt(STATUS_COUNT), random.nextInt(PRIORITY_COUNT), dueDate, owner, assignee);
+        }
+        return snapshot;
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
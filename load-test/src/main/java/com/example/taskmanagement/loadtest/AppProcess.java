@@ -0,0 +1,125 @@
+package com.example.taskmanagement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, started as a separate JVM on the in-memory H2 defaults
+ * so the harness and the server do not share heap or GC. Also starts the reactive read API
+ * for {@link ConcurrencyBenchmark}.
+ */
+public class AppProcess {
+    
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    
+    // Quiet logs, and requests that go over their SQL statement budget fail instead of only logging
+    static final List<String> APP_ARGS = List.of(
+            "--spring.jpa.show-sql=false",
+            "--logging.level.org.springframework.security=WARN",
+            "--app.sql.budget-mode=FAIL");
+    
+    private final Process process;
+    private final String baseUrl;
+    private final String readinessPath;
+    
+    private AppProcess(Process process, String baseUrl, String readinessPath) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.readinessPath = readinessPath;
+    }
+    
+    public static AppProcess start(LoadTestConfig config) throws IOException, InterruptedException {
+        return start(config, List.of(), STARTUP_TIMEOUT);
+    }
+    
+    // With extra application arguments, e.g. a snapshot to restore, which may need a longer startup
+    public static AppProcess start(LoadTestConfig config, List<String> extraArgs, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        List<String> args = new ArrayList<>(APP_ARGS);
+        args.addAll(extraArgs);
+        args.addAll(config.getAppArgs());
+        List<String> jvmArgs = config.getAppHeap() != null ? List.of("-Xmx" + config.getAppHeap()) : List.of();
+        return start(config.getAppJar(), config.getPort(), jvmArgs, args, "/api/users", "app-under-test.log", startupTimeout);
+    }
+    
+    public static AppProcess start(String jarPath, int port, List<String> args, String readinessPath, String logName)
+            throws IOException, InterruptedException {
+        return start(jarPath, port, List.of(), args, readinessPath, logName, STARTUP_TIMEOUT);
+    }
+    
+    public static AppProcess start(String jarPath, int port, List<String> jvmArgs, List<String> args,
+                                   String readinessPath, String logName, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        File jar = new File(jarPath);
+        if (!jar.isFile()) {
+            throw new IllegalStateException("Application jar not found: " + jar.getAbsolutePath()
+                    + " (run mvn package in its module first)");
+        }
+        
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.getAbsolutePath());
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.com.example.taskmanagement=WARN");
+        command.addAll(args);
+        
+        File log = new File("target/" + logName);
+        log.getParentFile().mkdirs();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        
+        AppProcess app = new AppProcess(process, "http://localhost:" + port, readinessPath);
+        app.awaitReady(log, startupTimeout);
+        return app;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    public void stop() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+    
+    public boolean isRunning() {
+        return process.isAlive();
+    }
+    
+    private void awaitReady(File log, Duration startupTimeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + readinessPath)).GET().build();
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited during startup, see " + log.getAbsolutePath());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("Application did not become ready within " + startupTimeout);
+    }
+}
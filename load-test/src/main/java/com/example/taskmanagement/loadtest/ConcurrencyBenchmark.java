@@ -0,0 +1,255 @@
+package com.example.taskmanagement.loadtest;
+
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the servlet API with the reactive read API under many concurrent clients. Both
+ * read one H2 server process seeded through the servlet API. Each application is measured
+ * alone by the same closed-loop clients (every client sends its next request as soon as the
+ * previous one completes), while its database pool and live threads are sampled from actuator.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.taskmanagement.loadtest.ConcurrencyBenchmark \
+ *     -Dexec.args="--clients 10000 --warmup 15 --duration 60"
+ * </pre>
+ */
+public class ConcurrencyBenchmark {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DATABASE_STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final long ERROR_BACKOFF_MILLIS = 100;
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Process database = startDatabase(config.getDatabasePort());
+        String databaseUrl = "tcp://localhost:" + config.getDatabasePort() + "/mem:taskdb;DB_CLOSE_DELAY=-1";
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<String> servletArgs = new ArrayList<>();
+            servletArgs.add("--spring.datasource.url=jdbc:h2:" + databaseUrl);
+            servletArgs.addAll(AppProcess.APP_ARGS);
+            servletArgs.addAll(config.getAppArgs());
+            AppProcess servlet = AppProcess.start(config.getAppJar(), config.getPort(), servletArgs,
+                    "/api/users", "app-under-test.log");
+            SeedData data;
+            Measurement servletResult;
+            try {
+                data = new DataSeeder(newClient(executor), servlet.getBaseUrl(), config).seed();
+                servletResult = measure("servlet (JDBC)", servlet.getBaseUrl(), config, data, executor,
+                        "hikaricp.connections.active", "hikaricp.connections.pending");
+            } finally {
+                servlet.stop();
+            }
+            
+            // The schema belongs to the servlet API, which migrated it on startup. r2dbc-h2 has no
+            // tcp protocol, so the server address is passed as a raw H2 URL
+            List<String> reactiveArgs = List.of(
+                    "--spring.r2dbc.url=r2dbc:h2:///?url=" + URLEncoder.encode(databaseUrl, StandardCharsets.UTF_8),
+                    "--spring.flyway.enabled=false");
+            AppProcess reactive = AppProcess.start(config.getReactiveJar(), config.getReactivePort(), reactiveArgs,
+                    "/actuator/health", "reactive-under-test.log");
+            Measurement reactiveResult;
+            try {
+                reactiveResult = measure("reactive (R2DBC)", reactive.getBaseUrl(), config, data, executor,
+                        "r2dbc.pool.acquired", "r2dbc.pool.pending");
+            } finally {
+                reactive.stop();
+            }
+            
+            System.out.println();
+            System.out.printf(Locale.ROOT, "%-18s %10s %8s %10s %11s %13s %13s%n",
+                    "application", "requests", "errors", "req/s", "peak conns", "peak waiting", "peak threads");
+            servletResult.print();
+            reactiveResult.print();
+        } finally {
+            executor.shutdownNow();
+            database.destroy();
+            database.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    private static Measurement measure(String name, String baseUrl, LoadTestConfig config, SeedData data,
+                                       ExecutorService executor, String activeGauge, String pendingGauge)
+            throws InterruptedException {
+        // A fresh client per application, so no connections are carried over from the previous run
+        ClosedLoop loop = new ClosedLoop(newClient(executor), baseUrl, config, data);
+        if (config.getWarmupSeconds() > 0) {
+            System.out.printf("%s: warming up %d clients for %d s%n", name, config.getClients(), config.getWarmupSeconds());
+            loop.run(Duration.ofSeconds(config.getWarmupSeconds()));
+        }
+        System.out.printf("%s: measuring %d clients for %d s%n", name, config.getClients(), config.getDurationSeconds());
+        Workload.Result result;
+        Map<String, Double> peaks;
+        try (PoolMonitor monitor = new PoolMonitor(baseUrl, List.of(activeGauge, pendingGauge, "jvm.threads.live"))) {
+            result = loop.run(Duration.ofSeconds(config.getDurationSeconds()));
+            peaks = monitor.getPeaks();
+        }
+        new Report(result).print(System.out);
+        return new Measurement(name, result, peaks.get(activeGauge), peaks.get(pendingGauge), peaks.get("jvm.threads.live"));
+    }
+    
+    private static HttpClient newClient(ExecutorService executor) {
+        return HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+    
+    // A separate JVM, so neither the harness nor the applications pay for the database's CPU and GC
+    private static Process startDatabase(int port) throws Exception {
+        String classpath = Path.of(Server.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classpath, Server.class.getName(),
+                "-tcp", "-tcpPort", String.valueOf(port), "-ifNotExists")
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "h2-server.log").toFile())
+                .start();
+        long deadline = System.nanoTime() + DATABASE_STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("H2 server exited during startup, see target/h2-server.log");
+            }
+            try (Socket socket = new Socket("localhost", port)) {
+                return process;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("H2 server did not start within " + DATABASE_STARTUP_TIMEOUT);
+    }
+    
+    /**
+     * Fixed population of clients, each alternating between fetching a task and a page of a
+     * user's tasks. Failed requests are retried after a short pause rather than in a tight loop.
+     */
+    private static class ClosedLoop {
+        
+        private final HttpClient client;
+        private final String baseUrl;
+        private final LoadTestConfig config;
+        private final SeedData data;
+        private final SplittableRandom random;
+        
+        ClosedLoop(HttpClient client, String baseUrl, LoadTestConfig config, SeedData data) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.config = config;
+            this.data = data;
+            this.random = new SplittableRandom(config.getSeed() + 2);
+        }
+        
+        Workload.Result run(Duration duration) throws InterruptedException {
+            Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+            AtomicInteger inFlight = new AtomicInteger();
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            for (int i = 0; i < config.getClients(); i++) {
+                send(random.split(), i % 2 == 0, end, stats, inFlight);
+            }
+            
+            while (System.nanoTime() < end) {
+                Thread.sleep(10);
+            }
+            long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Workload.Result(new TreeMap<>(stats), elapsedSeconds, 0);
+        }
+        
+        private void send(SplittableRandom clientRandom, boolean single, long end, Map<String, EndpointStats> stats,
+                          AtomicInteger inFlight) {
+            if (System.nanoTime() >= end) {
+                return;
+            }
+            String endpoint;
+            String pathAndQuery;
+            if (single) {
+                endpoint = "GET /api/tasks/{id}";
+                pathAndQuery = "/api/tasks/" + data.getTaskIds()[clientRandom.nextInt(data.getTaskIds().length)];
+            } else {
+                endpoint = "GET /api/tasks/query";
+                pathAndQuery = "/api/tasks/query?size=20&ownerId="
+                        + data.getUserIds()[clientRandom.nextInt(data.getUserIds().length)];
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+            long sent = System.nanoTime();
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean ok = error == null && response.statusCode() < 400;
+                        if (ok) {
+                            endpointStats.recordSuccess(System.nanoTime() - sent);
+                        } else {
+                            endpointStats.recordError();
+                        }
+                        inFlight.decrementAndGet();
+                        if (ok) {
+                            send(clientRandom, !single, end, stats, inFlight);
+                        } else {
+                            CompletableFuture.delayedExecutor(ERROR_BACKOFF_MILLIS, TimeUnit.MILLISECONDS)
+                                    .execute(() -> send(clientRandom, !single, end, stats, inFlight));
+                        }
+                    });
+        }
+    }
+    
+    private static class Measurement {
+        
+        private final String name;
+        private final Workload.Result result;
+        private final double peakConnections;
+        private final double peakWaiting;
+        private final double peakThreads;
+        
+        Measurement(String name, Workload.Result result, double peakConnections, double peakWaiting, double peakThreads) {
+            this.name = name;
+            this.result = result;
+            this.peakConnections = peakConnections;
+            this.peakWaiting = peakWaiting;
+            this.peakThreads = peakThreads;
+        }
+        
+        void print() {
+            long requests = 0;
+            long errors = 0;
+            for (EndpointStats stats : result.getStats().values()) {
+                requests += stats.getCount();
+                errors += stats.getErrors();
+            }
+            System.out.printf(Locale.ROOT, "%-18s %10d %8d %10.1f %11.0f %13.0f %13.0f%n",
+                    name, requests, errors, requests / result.getElapsedSeconds(),
+                    peakConnections, peakWaiting, peakThreads);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskmanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates users and tasks through the public API so the data goes through the same
+ * validation and indexes as production writes.
+ */
+public class DataSeeder {
+    
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int CONCURRENCY = 32;
+    private static final String[] STATUSES = { "TODO", "IN_PROGRESS", "DONE", "CANCELLED" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final SplittableRandom random;
+    
+    public DataSeeder(HttpClient client, String baseUrl, LoadTestConfig config) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.random = new SplittableRandom(config.getSeed());
+    }
+    
+    public SeedData seed() {
+        long started = System.nanoTime();
+        List<String> userBodies = new ArrayList<>();
+        for (int i = 0; i < config.getUsers(); i++) {
+            userBodies.add(String.format(
+                    "{\"username\":\"load%d\",\"email\":\"load%d@example.com\",\"password\":\"secret\",\"name\":\"Load User %d\"}",
+                    i, i, i));
+        }
+        long[] userIds = post("/api/users", userBodies);
+        
+        List<String> taskBodies = new ArrayList<>();
+        for (int i = 0; i < config.getTasks(); i++) {
+            taskBodies.add(taskJson(this.random, userIds, i));
+        }
+        long[] taskIds = post("/api/tasks", taskBodies);
+        
+        System.out.printf("Seeded %d users and %d tasks in %d ms%n",
+                userIds.length, taskIds.length, (System.nanoTime() - started) / 1_000_000);
+        return new SeedData(userIds, taskIds);
+    }
+    
+    // Shared with the workload so written tasks look like the seeded ones
+    static String taskJson(SplittableRandom random, long[] userIds, int sequence) {
+        String word = SeedData.VOCABULARY.get(random.nextInt(SeedData.VOCABULARY.size()));
+        String other = SeedData.VOCABULARY.get(random.nextInt(SeedData.VOCABULARY.size()));
+        LocalDateTime due = LocalDateTime.now().plusHours(random.nextInt(-24 * 60, 24 * 60));
+        String assignee = userIds.length > 0 && random.nextInt(4) != 0
+                ? String.valueOf(userIds[random.nextInt(userIds.length)])
+                : "null";
+        return String.format(
+                "{\"title\":\"%s %s #%d\",\"description\":\"Generated %s task for %s\",\"status\":\"%s\","
+                        + "\"priority\":\"%s\",\"dueDate\":\"%s\",\"assignedToId\":%s}",
+                word, other, sequence, word, other,
+                STATUSES[random.nextInt(STATUSES.length)],
+                PRIORITIES[random.nextInt(PRIORITIES.length)],
+                due.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME).substring(0, 19),
+                assignee);
+    }
+    
+    private long[] post(String path, List<String> bodies) {
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (String body : bodies) {
+            permits.acquireUninterruptibly();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            results.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> permits.release())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 201) {
+                            throw new IllegalStateException("Seeding " + path + " failed with "
+                                    + response.statusCode() + ": " + response.body());
+                        }
+                        Matcher matcher = ID.matcher(response.body());
+                        if (!matcher.find()) {
+                            throw new IllegalStateException("No id in response: " + response.body());
+                        }
+                        return Long.parseLong(matcher.group(1));
+                    }));
+        }
+        return results.stream().map(CompletableFuture::join).mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.snapshot.SnapshotColumn;
+import com.example.taskmanagement.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Writes a synthetic dataset as a snapshot file the application restores at startup
+ * ({@code app.snapshot.restore-on-startup}), so millions of rows load without going through the
+ * API. The same seed, size and day give the same file. Shaped like real usage:
+ * <ul>
+ *   <li>one user per {@link #TASKS_PER_USER} tasks; owners and assignees are drawn from a Zipf
+ *       distribution, so a few users hold many tasks and most hold few. Users are numbered by the
+ *       tasks they own, user 1 owning the most; assignees follow a shuffled order</li>
+ *   <li>a quarter of the tasks are unassigned and a fifth have no due date; due dates spread from
+ *       half a year ago to a year ahead, and past-due tasks are mostly done</li>
+ *   <li>titles pair two {@link SeedData#VOCABULARY} words, descriptions draw Zipf-distributed words,
+ *       so search keywords range from very common to rare</li>
+ *   <li>tasks carry up to three Zipf-distributed {@link #LABELS}; a quarter carry none</li>
+ *   <li>tasks are ranked within their status column, so the rank rebalancer stays idle</li>
+ * </ul>
+ */
+public class DatasetGenerator {
+    
+    public static final int TASKS_PER_USER = 100;
+    
+    // Words for descriptions, most frequent first
+    public static final List<String> DESCRIPTION_WORDS = List.of(
+            "update", "check", "team", "client", "follow", "draft", "fix", "plan", "share", "prepare",
+            "sync", "notes", "docs", "approve", "schedule", "ticket", "sprint", "feedback", "contract", "vendor",
+            "quarterly", "roadmap", "hiring", "benchmark", "dashboard", "compliance", "warehouse", "forecast",
+            "latency", "firmware", "procurement", "localization", "accessibility", "kubernetes", "reconciliation",
+            "escalation", "telemetry", "sandbox", "retention", "encryption", "throttling", "payroll", "sharding",
+            "postmortem", "handover", "whitepaper", "webinar", "greenfield");
+    
+    // Task labels, most frequent first
+    public static final List<String> LABELS = List.of(
+            "backend", "frontend", "bug", "feature", "customer", "blocked", "infra", "design", "docs", "security",
+            "performance", "tech-debt", "mobile", "api", "billing", "onboarding", "release", "qa", "ops", "research");
+    
+    // Matches what the API stores for the password "secret"
+    private static final String PASSWORD_HASH = "$2a$10$UGQ99ChN9YW9P/5wQdqTvulC7kPhKPDeJZZVLDLEMR/fvX.tdEJb.";
+    // A user's share of tasks falls with their rank; the top user of 100k owns about 2%
+    static final double USER_ZIPF_EXPONENT = 0.8;
+    private static final double WORD_ZIPF_EXPONENT = 1.07;
+    private static final double LABEL_ZIPF_EXPONENT = 1.0;
+    private static final int RANK_WIDTH = 6;
+    private static final String RANK_DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    
+    private static final List<SnapshotColumn> USER_COLUMNS = List.of(
+            new SnapshotColumn("id", SnapshotColumn.Type.LONG),
+            new SnapshotColumn("username", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("email", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("password", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("name", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("role", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("created_at", SnapshotColumn.Type.TIMESTAMP),
+            new SnapshotColumn("updated_at", SnapshotColumn.Type.TIMESTAMP));
+    
+    private static final List<SnapshotColumn> TASK_COLUMNS = List.of(
+            new SnapshotColumn("id", SnapshotColumn.Type.LONG),
+            new SnapshotColumn("title", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("description", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("status", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("priority", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("due_date", SnapshotColumn.Type.TIMESTAMP),
+            new SnapshotColumn("user_id", SnapshotColumn.Type.LONG),
+            new SnapshotColumn("assigned_to", SnapshotColumn.Type.LONG),
+            new SnapshotColumn("created_at", SnapshotColumn.Type.TIMESTAMP),
+            new SnapshotColumn("updated_at", SnapshotColumn.Type.TIMESTAMP),
+            new SnapshotColumn("rank_key", SnapshotColumn.Type.STRING),
+            new SnapshotColumn("labels", SnapshotColumn.Type.STRING));
+    
+    private static final String[] STATUSES = { "TODO", "IN_PROGRESS", "DONE", "CANCELLED" };
+    // Cumulative percentages per status, for tasks due in the past and for the rest
+    private static final int[] PAST_DUE_STATUS_WEIGHTS = { 15, 25, 95, 100 };
+    private static final int[] OPEN_STATUS_WEIGHTS = { 50, 75, 95, 100 };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    private static final int[] PRIORITY_WEIGHTS = { 30, 75, 95, 100 };
+    
+    private final int tasks;
+    private final int users;
+    private final SplittableRandom random;
+    private final LocalDateTime today;
+    
+    public DatasetGenerator(int tasks, long seed) {
+        this.tasks = tasks;
+        this.users = Math.max(10, tasks / TASKS_PER_USER);
+        this.random = new SplittableRandom(seed);
+        this.today = LocalDate.now().atStartOfDay();
+    }
+    
+    public static void main(String[] args) throws IOException {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Path file = generate(Path.of(config.getDataDir()), config.getTasks(), config.getSeed());
+        System.out.println("Dataset: " + file.toAbsolutePath());
+    }
+    
+    // Reuses a file generated earlier today for the same size and seed
+    public static Path generate(Path directory, int tasks, long seed) throws IOException {
+        Path file = directory.resolve("tasks-" + tasks + "-seed" + seed + "-" + LocalDate.now() + ".snapshot");
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+        Files.createDirectories(directory);
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        long started = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(tasks, seed);
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(partial))) {
+            generator.write(writer);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        System.out.printf("Generated %d tasks of %d users (%d MB) in %d ms%n", tasks, generator.getUsers(),
+                Files.size(file) >> 20, (System.nanoTime() - started) / 1_000_000);
+        return file;
+    }
+    
+    public void write(SnapshotWriter writer) throws IOException {
+        writer.beginTable("users", USER_COLUMNS);
+        Object[] user = new Object[USER_COLUMNS.size()];
+        LocalDateTime joined = today.minusYears(3);
+        for (int id = 1; id <= users; id++) {
+            LocalDateTime createdAt = joined.plusMinutes(random.nextLong(3L * 365 * 24 * 60));
+            user[0] = (long) id;
+            user[1] = "user" + id;
+            user[2] = "user" + id + "@example.com";
+            user[3] = PASSWORD_HASH;
+            user[4] = "User " + id;
+            user[5] = "USER";
+            user[6] = createdAt;
+            user[7] = createdAt;
+            writer.writeRow(user);
+        }
+        writer.endTable();
+        
+        double[] popularity = zipfCumulative(users, USER_ZIPF_EXPONENT);
+        long[] assignees = shuffledUserIds();
+        double[] wordFrequency = zipfCumulative(DESCRIPTION_WORDS.size(), WORD_ZIPF_EXPONENT);
+        double[] labelFrequency = zipfCumulative(LABELS.size(), LABEL_ZIPF_EXPONENT);
+        long[] columnSizes = new long[STATUSES.length];
+        
+        writer.beginTable("tasks", TASK_COLUMNS);
+        Object[] task = new Object[TASK_COLUMNS.size()];
+        StringBuilder description = new StringBuilder(128);
+        for (int id = 1; id <= tasks; id++) {
+            LocalDateTime dueDate = random.nextInt(5) == 0
+                    ? null
+                    : today.minusDays(180).plusMinutes(random.nextLong(545L * 24 * 60));
+            boolean pastDue = dueDate != null && dueDate.isBefore(today);
+            int status = pick(pastDue ? PAST_DUE_STATUS_WEIGHTS : OPEN_STATUS_WEIGHTS);
+            LocalDateTime createdAt = (dueDate != null ? dueDate : today).minusHours(1 + random.nextInt(60 * 24));
+            
+            description.setLength(0);
+            int words = 3 + random.nextInt(6);
+            for (int i = 0; i < words; i++) {
+                description.append(i > 0 ? " " : "").append(DESCRIPTION_WORDS.get(sample(random, wordFrequency)));
+            }
+            
+            task[0] = (long) id;
+            task[1] = SeedData.VOCABULARY.get(random.nextInt(SeedData.VOCABULARY.size())) + " "
+                    + SeedData.VOCABULARY.get(random.nextInt(SeedData.VOCABULARY.size())) + " #" + id;
+            task[2] = description.toString();
+            task[3] = STATUSES[status];
+            task[4] = PRIORITIES[pick(PRIORITY_WEIGHTS)];
+            task[5] = dueDate;
+            task[6] = sample(random, popularity) + 1L;
+            task[7] = random.nextInt(4) == 0 ? null : assignees[sample(random, popularity)];
+            task[8] = createdAt;
+            task[9] = createdAt.plusMinutes(random.nextInt(7 * 24 * 60));
+            task[10] = rankKey(columnSizes[status]++);
+            task[11] = labels(labelFrequency);
+            writer.writeRow(task);
+        }
+        writer.endTable();
+        writer.finish();
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    // Index into the cumulative percentages
+    private int pick(int[] cumulativeWeights) {
+        int value = random.nextInt(100);
+        int index = 0;
+        while (value >= cumulativeWeights[index]) {
+            index++;
+        }
+        return index;
+    }
+    
+    // Stored form of the labels column: sorted and comma-separated, null for none
+    private String labels(double[] labelFrequency) {
+        int count = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(3);
+        TreeSet<String> labels = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            labels.add(LABELS.get(sample(random, labelFrequency)));
+        }
+        return labels.isEmpty() ? null : String.join(",", labels);
+    }
+    
+    // Rank 0 is the most popular
+    static int sample(SplittableRandom random, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+    
+    private long[] shuffledUserIds() {
+        long[] ids = new long[users];
+        for (int i = 0; i < users; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+    
+    static double[] zipfCumulative(int count, double exponent) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int rank = 0; rank < count; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < count; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+    
+    // Fixed-width base-36 keys ending in a non-zero digit, ascending with the position in the column
+    private static String rankKey(long position) {
+        long value = position * RANK_DIGITS.length() + RANK_DIGITS.length() / 2;
+        char[] digits = new char[RANK_WIDTH];
+        for (int i = RANK_WIDTH - 1; i >= 0; i--) {
+            digits[i] = RANK_DIGITS.charAt((int) (value % RANK_DIGITS.length()));
+            value /= RANK_DIGITS.length();
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies for one endpoint, in microseconds. Latency is measured from the intended send
+ * time of the request, so a stalled server is not hidden by the client waiting on it.
+ */
+public class EndpointStats {
+    
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private final String endpoint;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public void recordSuccess(long latencyNanos) {
+        histogram.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+    
+    public void recordError() {
+        errors.increment();
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    public double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+}
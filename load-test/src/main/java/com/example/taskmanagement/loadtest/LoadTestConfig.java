@@ -0,0 +1,229 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options. Every option is {@code --name value}; anything after {@code --}
+ * is passed to the application when the harness starts it.
+ */
+public class LoadTestConfig {
+    
+    private String appJar = "../backend/target/task-management-api-0.0.1-SNAPSHOT.jar";
+    private String baseUrl;
+    private int port = 18080;
+    private int users = 50;
+    private int tasks = 5000;
+    private double rate = 200;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int maxInFlight = 1000;
+    private boolean poisson = true;
+    private long seed = 42;
+    private Map<String, Integer> mix = parseMix("list=50,get=20,search=20,write=10");
+    private String reactiveJar = "../reactive-api/target/task-management-reactive-api-0.0.1-SNAPSHOT.jar";
+    private int reactivePort = 18081;
+    private int databasePort = 19092;
+    private int clients = 10000;
+    private int columnSize = 100_000;
+    private int moves = 2000;
+    private int rows = 10_000_000;
+    private List<Integer> sizes = List.of(10_000, 1_000_000, 10_000_000);
+    private int samples = 30;
+    private int queryTimeoutSeconds = 60;
+    private int queryBudgetSeconds = 20;
+    private String dataDir = "target/scale-data";
+    private String appHeap;
+    private String reportFile;
+    private String baselineFile;
+    private final List<String> appArgs = new ArrayList<>();
+    
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--")) {
+                config.appArgs.addAll(List.of(args).subList(i + 1, args.length));
+                break;
+            }
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        options.forEach(config::set);
+        return config;
+    }
+    
+    private void set(String name, String value) {
+        switch (name) {
+            case "app-jar" -> appJar = value;
+            case "base-url" -> baseUrl = value;
+            case "port" -> port = Integer.parseInt(value);
+            case "users" -> users = Integer.parseInt(value);
+            case "tasks" -> tasks = Integer.parseInt(value);
+            case "rate" -> rate = Double.parseDouble(value);
+            case "warmup" -> warmupSeconds = Integer.parseInt(value);
+            case "duration" -> durationSeconds = Integer.parseInt(value);
+            case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+            case "arrivals" -> poisson = value.equals("poisson");
+            case "seed" -> seed = Long.parseLong(value);
+            case "mix" -> mix = parseMix(value);
+            case "reactive-jar" -> reactiveJar = value;
+            case "reactive-port" -> reactivePort = Integer.parseInt(value);
+            case "db-port" -> databasePort = Integer.parseInt(value);
+            case "clients" -> clients = Integer.parseInt(value);
+            case "column-size" -> columnSize = Integer.parseInt(value);
+            case "moves" -> moves = Integer.parseInt(value);
+            case "rows" -> rows = Integer.parseInt(value);
+            case "sizes" -> sizes = parseSizes(value);
+            case "samples" -> samples = Integer.parseInt(value);
+            case "query-timeout" -> queryTimeoutSeconds = Integer.parseInt(value);
+            case "query-budget" -> queryBudgetSeconds = Integer.parseInt(value);
+            case "data-dir" -> dataDir = value;
+            case "app-heap" -> appHeap = value;
+            case "report" -> reportFile = value;
+            case "baseline" -> baselineFile = value;
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+    
+    // "list=70,search=20,write=10" -> ordered weights per operation group
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            String group = pair[0].trim();
+            if (!List.of("list", "get", "search", "write").contains(group)) {
+                throw new IllegalArgumentException("Unknown operation group in mix: " + group);
+            }
+            weights.put(group, Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+    
+    // "10000,1000000" -> ascending task counts
+    private static List<Integer> parseSizes(String value) {
+        List<Integer> parsed = new ArrayList<>();
+        for (String part : value.split(",")) {
+            parsed.add(Integer.parseInt(part.trim()));
+        }
+        parsed.sort(null);
+        return List.copyOf(parsed);
+    }
+    
+    public String getAppJar() {
+        return appJar;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    public int getTasks() {
+        return tasks;
+    }
+    
+    public double getRate() {
+        return rate;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public boolean isPoisson() {
+        return poisson;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+    
+    public String getReactiveJar() {
+        return reactiveJar;
+    }
+    
+    public int getReactivePort() {
+        return reactivePort;
+    }
+    
+    public int getDatabasePort() {
+        return databasePort;
+    }
+    
+    public int getClients() {
+        return clients;
+    }
+    
+    public int getColumnSize() {
+        return columnSize;
+    }
+    
+    public int getMoves() {
+        return moves;
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public List<Integer> getSizes() {
+        return sizes;
+    }
+    
+    public int getSamples() {
+        return samples;
+    }
+    
+    public int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+    
+    public int getQueryBudgetSeconds() {
+        return queryBudgetSeconds;
+    }
+    
+    public String getDataDir() {
+        return dataDir;
+    }
+    
+    public String getAppHeap() {
+        return appHeap;
+    }
+    
+    public String getReportFile() {
+        return reportFile;
+    }
+    
+    public String getBaselineFile() {
+        return baselineFile;
+    }
+    
+    public List<String> getAppArgs() {
+        return appArgs;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanagement.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application on H2 (unless {@code --base-url} points at a running instance),
+ * seeds users and tasks, runs a warmup and a measured phase, and reports per-endpoint results.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.args="--rate 300 --duration 60 --report run.csv --baseline main.csv"
+ * </pre>
+ */
+public class LoadTestMain {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        AppProcess app = config.getBaseUrl() == null ? AppProcess.start(config) : null;
+        String baseUrl = app != null ? app.getBaseUrl() : config.getBaseUrl();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            
+            SeedData data = new DataSeeder(client, baseUrl, config).seed();
+            Workload workload = new Workload(client, baseUrl, config, data);
+            if (config.getWarmupSeconds() > 0) {
+                System.out.printf("Warming up for %d s%n", config.getWarmupSeconds());
+                workload.run(Duration.ofSeconds(config.getWarmupSeconds()));
+            }
+            System.out.printf("Measuring for %d s at %.0f req/s%n", config.getDurationSeconds(), config.getRate());
+            Report report = new Report(workload.run(Duration.ofSeconds(config.getDurationSeconds())));
+            
+            report.print(System.out);
+            if (config.getBaselineFile() != null) {
+                report.compareWith(Path.of(config.getBaselineFile()), System.out);
+            }
+            if (config.getReportFile() != null) {
+                report.writeCsv(Path.of(config.getReportFile()));
+            }
+        } finally {
+            executor.shutdownNow();
+            if (app != null) {
+                app.stop();
+            }
+        }
+    }
+}
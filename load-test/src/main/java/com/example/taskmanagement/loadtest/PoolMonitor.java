@@ -0,0 +1,88 @@
+package com.example.taskmanagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Samples gauges from the actuator metrics endpoint of an application under load and keeps
+ * the highest value seen for each. Runs on its own thread and connection, so samples still
+ * arrive (late) when the server is saturated; samples that time out are skipped.
+ */
+public class PoolMonitor implements AutoCloseable {
+    
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(200);
+    private static final Duration SAMPLE_TIMEOUT = Duration.ofSeconds(5);
+    
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(SAMPLE_TIMEOUT).build();
+    private final String baseUrl;
+    private final List<String> gauges;
+    private final Map<String, Double> peaks = new LinkedHashMap<>();
+    private final Thread sampler;
+    private volatile boolean running = true;
+    
+    public PoolMonitor(String baseUrl, List<String> gauges) {
+        this.baseUrl = baseUrl;
+        this.gauges = gauges;
+        for (String gauge : gauges) {
+            peaks.put(gauge, Double.NaN);
+        }
+        this.sampler = new Thread(this::sample, "pool-monitor");
+        this.sampler.setDaemon(true);
+        this.sampler.start();
+    }
+    
+    public synchronized Map<String, Double> getPeaks() {
+        return new LinkedHashMap<>(peaks);
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+    }
+    
+    private void sample() {
+        while (running) {
+            for (String gauge : gauges) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + gauge))
+                        .timeout(SAMPLE_TIMEOUT)
+                        .GET()
+                        .build();
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    Matcher matcher = VALUE.matcher(response.body());
+                    if (response.statusCode() == 200 && matcher.find()) {
+                        record(gauge, Double.parseDouble(matcher.group(1)));
+                    }
+                } catch (IOException e) {
+                    // Timed out or refused while saturated
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(SAMPLE_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+    
+    private synchronized void record(String gauge, double value) {
+        double peak = peaks.get(gauge);
+        if (Double.isNaN(peak) || value > peak) {
+            peaks.put(gauge, value);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.taskmanagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures moving tasks within one large board column. Fills the TODO column through the
+ * import API, reads its order page by page, then moves tasks one at a time: first to random
+ * places, then repeatedly into the same gap, the case that makes rank keys grow until the
+ * rebalancer renumbers the column. A local copy of the order is kept in step with the moves
+ * and compared with the column at the end.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.taskmanagement.loadtest.RankMoveBenchmark \
+ *     -Dexec.args="--column-size 100000 --moves 2000"
+ * </pre>
+ */
+public class RankMoveBenchmark {
+    
+    private static final String COLUMN = "TODO";
+    private static final int PAGE_SIZE = 500;
+    private static final int IMPORT_ROWS_PER_REQUEST = 50_000;
+    private static final int VERIFY_ATTEMPTS = 3;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+    
+    private static final Pattern USER_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern JOB_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern IMPORTED = Pattern.compile("\"imported\"\\s*:\\s*(\\d+)");
+    private static final Pattern TASK_ID = Pattern.compile("\\{\"id\"\\s*:\\s*(\\d+)\\s*,\\s*\"title\"");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\"\\s*:\\s*(null|\"([^\"]*)\")");
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final SplittableRandom random;
+    private final TreeMap<String, EndpointStats> stats = new TreeMap<>();
+    
+    RankMoveBenchmark(String baseUrl, LoadTestConfig config) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.random = new SplittableRandom(config.getSeed());
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        AppProcess app = config.getBaseUrl() == null ? AppProcess.start(config) : null;
+        String baseUrl = app != null ? app.getBaseUrl() : config.getBaseUrl();
+        try {
+            new RankMoveBenchmark(baseUrl, config).run();
+        } finally {
+            if (app != null) {
+                app.stop();
+            }
+        }
+    }
+    
+    private void run() throws IOException, InterruptedException {
+        fillColumn();
+        long started = System.nanoTime();
+        List<Long> order = readColumn("GET /api/tasks/board/{status}");
+        System.out.printf("Read %d tasks of the %s column in %d ms%n",
+                order.size(), COLUMN, (System.nanoTime() - started) / 1_000_000);
+        if (order.size() < 3) {
+            throw new IllegalStateException("The column needs at least 3 tasks to move them");
+        }
+        
+        started = System.nanoTime();
+        for (int i = 0; i < config.getMoves(); i++) {
+            int from = random.nextInt(order.size());
+            Long id = order.remove(from);
+            move(order, id, random.nextInt(order.size() + 1), "PUT /api/tasks/{id}/rank (random)");
+        }
+        // Alternately move two tasks right behind the head of the column, halving the same gap every time
+        for (int i = 0; i < config.getMoves(); i++) {
+            Long id = order.remove(1 + i % 2);
+            move(order, id, 1, "PUT /api/tasks/{id}/rank (same gap)");
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        
+        new Report(new Workload.Result(stats, elapsedSeconds, 0)).print(System.out);
+        // Pages read while the rebalancer renumbers the column can skip or repeat tasks, so a mismatch is read again
+        List<Long> actual = readColumn("GET /api/tasks/board/{status} (after moves)");
+        for (int attempt = 1; attempt < VERIFY_ATTEMPTS && !actual.equals(order); attempt++) {
+            actual = readColumn("GET /api/tasks/board/{status} (after moves)");
+        }
+        System.out.println(actual.equals(order)
+                ? "Column order matches the moves"
+                : "Column order DIFFERS from the moves (" + actual.size() + " tasks read, " + order.size() + " expected)");
+        System.out.printf("Rank keys rewritten by the rebalancer so far: %.0f%n", metric("app.task-rank.rewritten"));
+    }
+    
+    // Imports the tasks as NDJSON, owned by a user created for the run
+    private void fillColumn() throws IOException, InterruptedException {
+        String userId = match(USER_ID, send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"rank" + System.nanoTime()
+                        + "\",\"email\":\"rank" + System.nanoTime() + "@example.com\",\"password\":\"secret\",\"name\":\"Rank User\"}"))), "user id");
+        long started = System.nanoTime();
+        int imported = 0;
+        while (imported < config.getColumnSize()) {
+            int rows = Math.min(IMPORT_ROWS_PER_REQUEST, config.getColumnSize() - imported);
+            StringBuilder body = new StringBuilder(rows * 64);
+            for (int i = 0; i < rows; i++) {
+                body.append("{\"title\":\"Column task ").append(imported + i)
+                        .append("\",\"status\":\"").append(COLUMN).append("\",\"priority\":\"MEDIUM\"}\n");
+            }
+            String job = match(JOB_ID, send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/imports?userId=" + userId))
+                    .POST(HttpRequest.BodyPublishers.noBody())), "import job id");
+            String result = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/imports/" + job))
+                    .header("Content-Type", "application/x-ndjson")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString())));
+            imported += Integer.parseInt(match(IMPORTED, result, "imported count"));
+        }
+        System.out.printf("Imported %d tasks into the %s column in %d ms%n",
+                imported, COLUMN, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private List<Long> readColumn(String endpoint) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String query = "?size=" + PAGE_SIZE
+                    + (cursor != null ? "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            String page = timed(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/board/" + COLUMN + query)).GET());
+            Matcher task = TASK_ID.matcher(page);
+            while (task.find()) {
+                ids.add(Long.parseLong(task.group(1)));
+            }
+            Matcher next = NEXT_CURSOR.matcher(page);
+            cursor = next.find() ? next.group(2) : null;
+        } while (cursor != null);
+        return ids;
+    }
+    
+    // Moves the task to the given index of the order, naming the tasks on both sides of it
+    private void move(List<Long> order, Long id, int index, String endpoint) throws IOException, InterruptedException {
+        Long after = index > 0 ? order.get(index - 1) : null;
+        Long before = index < order.size() ? order.get(index) : null;
+        String body = "{\"afterId\":" + after + ",\"beforeId\":" + before + "}";
+        timed(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + id + "/rank"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)));
+        order.add(index, id);
+    }
+    
+    private String timed(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long sent = System.nanoTime();
+        try {
+            String body = send(request);
+            endpointStats.recordSuccess(System.nanoTime() - sent);
+            return body;
+        } catch (IllegalStateException e) {
+            endpointStats.recordError();
+            throw e;
+        }
+    }
+    
+    private double metric(String name) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = VALUE.matcher(response.body());
+        return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : 0;
+    }
+    
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+    
+    private static String match(Pattern pattern, String body, String what) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + what + " in response: " + body);
+        }
+        return matcher.group(1);
+    }
+}
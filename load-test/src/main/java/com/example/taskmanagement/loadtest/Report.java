@@ -0,0 +1,88 @@
+package com.example.taskmanagement.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints per-endpoint throughput and latency percentiles, writes them as CSV, and compares
+ * them with a CSV from an earlier run.
+ */
+public class Report {
+    
+    private static final String CSV_HEADER = "endpoint,count,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+    
+    private final Workload.Result result;
+    
+    public Report(Workload.Result result) {
+        this.result = result;
+    }
+    
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-32s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (EndpointStats stats : result.getStats().values()) {
+            total += stats.getCount();
+            out.printf(Locale.ROOT, "%-32s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getEndpoint(), stats.getCount(), stats.getErrors(), throughput(stats),
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(99.9), stats.maxMillis());
+        }
+        out.printf(Locale.ROOT, "total %d requests in %.1f s (%.1f req/s), %d dropped by the client in-flight limit%n",
+                total, result.getElapsedSeconds(), total / result.getElapsedSeconds(), result.getDropped());
+    }
+    
+    public void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (EndpointStats stats : result.getStats().values()) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    stats.getEndpoint(), stats.getCount(), stats.getErrors(), throughput(stats),
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(99.9), stats.maxMillis()));
+        }
+        Files.write(file, lines);
+    }
+    
+    public void compareWith(Path baselineFile, PrintStream out) throws IOException {
+        Map<String, String[]> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(baselineFile);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            baseline.put(columns[0], columns);
+        }
+        
+        out.println();
+        out.println("Compared with " + baselineFile + " (negative latency change is better)");
+        out.printf(Locale.ROOT, "%-32s %12s %12s %12s%n", "endpoint", "req/s", "p50", "p99");
+        for (EndpointStats stats : result.getStats().values()) {
+            String[] previous = baseline.get(stats.getEndpoint());
+            if (previous == null) {
+                out.printf(Locale.ROOT, "%-32s %12s%n", stats.getEndpoint(), "new");
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-32s %12s %12s %12s%n", stats.getEndpoint(),
+                    change(throughput(stats), Double.parseDouble(previous[3])),
+                    change(stats.percentileMillis(50), Double.parseDouble(previous[4])),
+                    change(stats.percentileMillis(99), Double.parseDouble(previous[6])));
+        }
+    }
+    
+    private double throughput(EndpointStats stats) {
+        return stats.getCount() / result.getElapsedSeconds();
+    }
+    
+    private static String change(double current, double previous) {
+        if (previous == 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (current - previous) * 100 / previous);
+    }
+}
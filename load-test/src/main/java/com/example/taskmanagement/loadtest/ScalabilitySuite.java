@@ -0,0 +1,383 @@
+package com.example.taskmanagement.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Times every task query at growing dataset sizes to show how each one scales. For every size
+ * a dataset is generated by {@link DatasetGenerator}, the application is started restoring it,
+ * and the queries run one request at a time with random but seeded parameters. The report shows
+ * the median latency per size and the growth exponent between the two largest sizes measured:
+ * near 0 the query does not depend on the table size, near 1 it grows linearly with it.
+ * <p>
+ * A query that failed or timed out is not run at larger sizes, nor is one whose median, grown
+ * linearly, would exceed the request timeout. Queries run cheapest first, by their median at
+ * the previous size, so an unbounded query that exhausts the application runs last.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.taskmanagement.loadtest.ScalabilitySuite \
+ *     -Dexec.args="--sizes 10000,1000000 --samples 20"
+ * </pre>
+ */
+public class ScalabilitySuite {
+    
+    private static final int MIN_SAMPLES = 3;
+    private static final int WARMUP_REQUESTS = 3;
+    private static final int MAX_FAILURES = 3;
+    private static final Duration BASE_STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration STARTUP_TIMEOUT_PER_MILLION = Duration.ofMinutes(2);
+    private static final Duration IDLE_PROBE_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MAX_RECOVERY = Duration.ofMinutes(5);
+    private static final String[] STATUSES = { "TODO", "IN_PROGRESS", "DONE", "CANCELLED" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    
+    // A request template; writes run after all reads
+    private record Query(String endpoint, String method, Function<SplittableRandom, String> path,
+                         Function<SplittableRandom, String> body) {
+        
+        static Query get(String endpoint, Function<SplittableRandom, String> path) {
+            return new Query(endpoint, "GET", path, null);
+        }
+        
+        boolean isWrite() {
+            return !method.equals("GET");
+        }
+    }
+    
+    // One query at one size: measured, or why it was not
+    private record Measurement(EndpointStats stats, String skipped) {
+        
+        boolean usable() {
+            return skipped == null && stats.getCount() > 0;
+        }
+        
+        double p50() {
+            return stats.percentileMillis(50);
+        }
+    }
+    
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final LoadTestConfig config;
+    private final Map<String, Map<Integer, Measurement>> results = new LinkedHashMap<>();
+    
+    private String baseUrl;
+    private int size;
+    private int users;
+    private double[] userPopularity;
+    private int writes;
+    private boolean responsive;
+    
+    ScalabilitySuite(LoadTestConfig config) {
+        this.config = config;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        if (config.getBaseUrl() != null) {
+            throw new IllegalArgumentException("The suite starts the application for every size; --base-url is not supported");
+        }
+        ScalabilitySuite suite = new ScalabilitySuite(config);
+        suite.run();
+        suite.print(System.out);
+        if (config.getReportFile() != null) {
+            suite.writeCsv(Path.of(config.getReportFile()));
+            System.out.println("Report written to " + config.getReportFile());
+        }
+    }
+    
+    private void run() throws IOException, InterruptedException {
+        List<Query> catalog = catalog();
+        Integer previousSize = null;
+        for (int tasks : config.getSizes()) {
+            Path dataset = DatasetGenerator.generate(Path.of(config.getDataDir()), tasks, config.getSeed());
+            size = tasks;
+            users = new DatasetGenerator(tasks, config.getSeed()).getUsers();
+            userPopularity = DatasetGenerator.zipfCumulative(users, DatasetGenerator.USER_ZIPF_EXPONENT);
+            
+            Duration startupTimeout = BASE_STARTUP_TIMEOUT.plus(STARTUP_TIMEOUT_PER_MILLION.multipliedBy(tasks / 1_000_000));
+            long started = System.nanoTime();
+            // Without the circuit breaker, so slow queries are timed rather than rejected or answered stale
+            AppProcess app = AppProcess.start(config,
+                    List.of("--app.snapshot.restore-on-startup=" + dataset.toAbsolutePath(),
+                            "--app.circuit-breaker.enabled=false"), startupTimeout);
+            System.out.printf("%n== %,d tasks, %,d users: application ready in %d s%n",
+                    tasks, users, (System.nanoTime() - started) / 1_000_000_000);
+            baseUrl = app.getBaseUrl();
+            responsive = true;
+            try {
+                for (Query query : ordered(catalog, previousSize)) {
+                    Measurement measurement = measure(query, previousSize, app);
+                    results.computeIfAbsent(query.endpoint(), endpoint -> new HashMap<>()).put(tasks, measurement);
+                    System.out.printf("  %-60s %s%n", query.endpoint(), describe(measurement));
+                }
+            } finally {
+                app.stop();
+            }
+            previousSize = tasks;
+        }
+    }
+    
+    private List<Query> catalog() {
+        List<Query> queries = new ArrayList<>();
+        // Bounded lookups, expected to stay flat
+        queries.add(Query.get("GET /api/tasks/{id}", random -> "/api/tasks/" + taskId(random)));
+        queries.add(Query.get("GET /api/tasks?ids= (20)", random -> {
+            StringBuilder ids = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                ids.append(i > 0 ? "," : "").append(taskId(random));
+            }
+            return "/api/tasks?ids=" + ids;
+        }));
+        queries.add(Query.get("GET /api/users/{id}", random -> "/api/users/" + (1 + random.nextInt(users))));
+        queries.add(Query.get("GET /api/tasks?page&size=20", random -> "/api/tasks?size=20&page=" + random.nextInt(100)));
+        queries.add(Query.get("GET /api/tasks/board/{status}?size=50",
+                random -> "/api/tasks/board/" + STATUSES[random.nextInt(2)] + "?size=50"));
+        // Pages and counts of one user's tasks, users weighted by how many tasks they own
+        queries.add(Query.get("GET /api/tasks/query?ownerId&statuses",
+                random -> "/api/tasks/query?ownerId=" + userId(random) + "&statuses=TODO,IN_PROGRESS"));
+        queries.add(Query.get("GET /api/tasks/query?assigneeId",
+                random -> "/api/tasks/query?assigneeId=" + userId(random)));
+        queries.add(Query.get("GET /api/tasks/user/{userId}/next", random -> "/api/tasks/user/" + userId(random) + "/next"));
+        queries.add(Query.get("GET /api/tasks/upcoming?userId", random -> "/api/tasks/upcoming?userId=" + userId(random)));
+        queries.add(Query.get("GET /api/tasks/ready?userId", random -> "/api/tasks/ready?userId=" + userId(random)));
+        queries.add(Query.get("GET /api/tasks/analytics/status-counts?ownerId",
+                random -> "/api/tasks/analytics/status-counts?ownerId=" + userId(random)));
+        queries.add(Query.get("GET /api/tasks/user/{userId}", random -> "/api/tasks/user/" + userId(random)));
+        queries.add(Query.get("GET /api/tasks/assigned/{userId}", random -> "/api/tasks/assigned/" + userId(random)));
+        // Pages and aggregates over the whole table
+        queries.add(Query.get("GET /api/tasks/query?statuses&dueFrom&dueTo", random -> {
+            LocalDate from = LocalDate.now().plusDays(random.nextInt(-180, 358));
+            return "/api/tasks/query?statuses=" + STATUSES[random.nextInt(2)]
+                    + "&dueFrom=" + from + "T00:00:00&dueTo=" + from.plusDays(7) + "T00:00:00";
+        }));
+        queries.add(Query.get("GET /api/tasks/query?keyword", random -> "/api/tasks/query?keyword=" + keyword(random)));
+        queries.add(Query.get("GET /api/tasks/labeled?all&none&statuses", random -> "/api/tasks/labeled?all="
+                + DatasetGenerator.LABELS.get(random.nextInt(5)) + "&none=blocked&statuses=TODO,IN_PROGRESS"));
+        queries.add(Query.get("GET /api/tasks/analytics/count?statuses",
+                random -> "/api/tasks/analytics/count?statuses=" + STATUSES[random.nextInt(STATUSES.length)]));
+        queries.add(Query.get("GET /api/tasks/analytics/due-histogram", random -> "/api/tasks/analytics/due-histogram"));
+        queries.add(Query.get("GET /api/tasks/analytics/top-assignees", random -> "/api/tasks/analytics/top-assignees"));
+        // Unbounded lists, expected to grow with the table
+        queries.add(Query.get("GET /api/tasks/search?keyword", random -> "/api/tasks/search?keyword=" + keyword(random)));
+        queries.add(Query.get("GET /api/tasks/overdue", random -> "/api/tasks/overdue"));
+        queries.add(Query.get("GET /api/tasks/priority/{priority}",
+                random -> "/api/tasks/priority/" + PRIORITIES[random.nextInt(PRIORITIES.length)]));
+        queries.add(Query.get("GET /api/tasks/status/{status}",
+                random -> "/api/tasks/status/" + STATUSES[random.nextInt(STATUSES.length)]));
+        queries.add(Query.get("GET /api/users", random -> "/api/users"));
+        queries.add(Query.get("GET /api/tasks", random -> "/api/tasks"));
+        // Writes, which also pay for index maintenance and cache updates
+        queries.add(new Query("POST /api/tasks", "POST", random -> "/api/tasks", this::taskJson));
+        queries.add(new Query("PUT /api/tasks/{id}", "PUT", random -> "/api/tasks/" + taskId(random), this::taskJson));
+        return queries;
+    }
+    
+    // Catalog order at the first size, then cheapest first by the previous median
+    private List<Query> ordered(List<Query> catalog, Integer previousSize) {
+        if (previousSize == null) {
+            return catalog;
+        }
+        List<Query> ordered = new ArrayList<>(catalog);
+        ordered.sort(Comparator.comparing(Query::isWrite).thenComparingDouble(query -> {
+            Measurement previous = results.get(query.endpoint()).get(previousSize);
+            return previous.usable() ? previous.p50() : Double.MAX_VALUE;
+        }));
+        return ordered;
+    }
+    
+    private Measurement measure(Query query, Integer previousSize, AppProcess app) throws InterruptedException {
+        EndpointStats stats = new EndpointStats(query.endpoint());
+        if (!app.isRunning()) {
+            return new Measurement(stats, "application exited");
+        }
+        if (!responsive) {
+            return new Measurement(stats, "application unresponsive");
+        }
+        if (previousSize != null) {
+            Measurement previous = results.get(query.endpoint()).get(previousSize);
+            if (!previous.usable()) {
+                return new Measurement(stats, previous.skipped() != null ? previous.skipped() : "failed at " + previousSize);
+            }
+            double projectedMillis = previous.p50() * size / previousSize;
+            if (projectedMillis > config.getQueryTimeoutSeconds() * 1000.0) {
+                return new Measurement(stats, String.format("projected %.0f s", projectedMillis / 1000));
+            }
+        }
+        SplittableRandom random = new SplittableRandom(config.getSeed() ^ query.endpoint().hashCode());
+        long budgetNanos = Duration.ofSeconds(config.getQueryBudgetSeconds()).toNanos();
+        long started = System.nanoTime();
+        // A few unrecorded requests warm the JIT, the plans and the caches, within a quarter of the budget
+        int warmup = 0;
+        int failures = 0;
+        while (stats.getCount() < config.getSamples()) {
+            if (stats.getCount() >= MIN_SAMPLES && System.nanoTime() - started > budgetNanos) {
+                break;
+            }
+            long sent = System.nanoTime();
+            try {
+                send(query, random);
+                if (warmup < WARMUP_REQUESTS && System.nanoTime() - started < budgetNanos / 4) {
+                    warmup++;
+                } else {
+                    warmup = WARMUP_REQUESTS;
+                    stats.recordSuccess(System.nanoTime() - sent);
+                }
+            } catch (HttpTimeoutException e) {
+                stats.recordError();
+                responsive = awaitRecovery();
+                return new Measurement(stats, "timed out");
+            } catch (IOException | IllegalStateException e) {
+                stats.recordError();
+                if (++failures >= MAX_FAILURES || !app.isRunning()) {
+                    System.out.println("  " + query.endpoint() + ": " + e.getMessage());
+                    return new Measurement(stats, "failed");
+                }
+            }
+        }
+        return new Measurement(stats, null);
+    }
+    
+    // The server keeps working on a request the client gave up on; wait until a lookup is quick again
+    private boolean awaitRecovery() throws InterruptedException {
+        long deadline = System.nanoTime() + MAX_RECOVERY.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/1"))
+                        .timeout(IDLE_PROBE_TIMEOUT).GET().build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // Still busy
+            }
+            Thread.sleep(1000);
+        }
+        System.out.println("  The application did not recover within " + MAX_RECOVERY.toMinutes() + " minutes");
+        return false;
+    }
+    
+    private void send(Query query, SplittableRandom random) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + query.path().apply(random)))
+                .timeout(Duration.ofSeconds(config.getQueryTimeoutSeconds()));
+        if (query.body() != null) {
+            request.header("Content-Type", "application/json")
+                    .method(query.method(), HttpRequest.BodyPublishers.ofString(query.body().apply(random)));
+        } else {
+            request.method(query.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        // The body is read and dropped, so transfer is timed but not kept
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(query.method() + " " + response.uri() + " failed with " + response.statusCode());
+        }
+    }
+    
+    private long taskId(SplittableRandom random) {
+        return 1 + random.nextInt(size);
+    }
+    
+    private long userId(SplittableRandom random) {
+        return DatasetGenerator.sample(random, userPopularity) + 1L;
+    }
+    
+    private String keyword(SplittableRandom random) {
+        String word = DatasetGenerator.DESCRIPTION_WORDS.get(random.nextInt(DatasetGenerator.DESCRIPTION_WORDS.size()));
+        return URLEncoder.encode(word, StandardCharsets.UTF_8);
+    }
+    
+    private String taskJson(SplittableRandom random) {
+        long[] assignees = { userId(random) };
+        return DataSeeder.taskJson(random, assignees, ++writes);
+    }
+    
+    private void print(PrintStream out) {
+        List<Integer> sizes = config.getSizes();
+        out.println();
+        out.println("Median latency (ms) by number of tasks");
+        StringBuilder header = new StringBuilder(String.format("%-50s", "endpoint"));
+        for (int tasks : sizes) {
+            header.append(String.format(" %12s", String.format("%,d", tasks)));
+        }
+        out.println(header.append("   growth"));
+        for (Map.Entry<String, Map<Integer, Measurement>> entry : results.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("%-50s", entry.getKey()));
+            for (int tasks : sizes) {
+                Measurement measurement = entry.getValue().get(tasks);
+                String cell = measurement == null ? "-"
+                        : measurement.usable() ? String.format("%.2f", measurement.p50())
+                        : measurement.skipped().startsWith("projected") ? "skipped" : measurement.skipped();
+                line.append(String.format(" %12s", cell));
+            }
+            out.println(line.append("   ").append(growth(entry.getValue())));
+        }
+        out.println();
+        out.println("growth: exponent k of latency ~ tasks^k between the two largest sizes measured;");
+        out.println("flat < 0.3, sublinear < 0.8, linear <= 1.2, above that SUPERLINEAR");
+    }
+    
+    private String growth(Map<Integer, Measurement> measurements) {
+        List<Integer> measured = config.getSizes().stream()
+                .filter(tasks -> measurements.containsKey(tasks) && measurements.get(tasks).usable())
+                .toList();
+        if (measured.size() < 2) {
+            return "-";
+        }
+        int small = measured.get(measured.size() - 2);
+        int large = measured.get(measured.size() - 1);
+        double exponent = Math.log(measurements.get(large).p50() / measurements.get(small).p50())
+                / Math.log((double) large / small);
+        String verdict = exponent < 0.3 ? "flat" : exponent < 0.8 ? "sublinear" : exponent <= 1.2 ? "linear" : "SUPERLINEAR";
+        return String.format("%5.2f %s", exponent, verdict);
+    }
+    
+    private void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("endpoint,tasks,samples,errors,p50_ms,p90_ms,p99_ms,max_ms,skipped");
+            for (Map.Entry<String, Map<Integer, Measurement>> entry : results.entrySet()) {
+                for (int tasks : config.getSizes()) {
+                    Measurement measurement = entry.getValue().get(tasks);
+                    if (measurement == null) {
+                        continue;
+                    }
+                    EndpointStats stats = measurement.stats();
+                    boolean usable = measurement.usable();
+                    out.printf("\"%s\",%d,%d,%d,%s,%s,%s,%s,%s%n", entry.getKey(), tasks, stats.getCount(), stats.getErrors(),
+                            usable ? String.format("%.3f", stats.percentileMillis(50)) : "",
+                            usable ? String.format("%.3f", stats.percentileMillis(90)) : "",
+                            usable ? String.format("%.3f", stats.percentileMillis(99)) : "",
+                            usable ? String.format("%.3f", stats.maxMillis()) : "",
+                            measurement.skipped() != null ? measurement.skipped() : "");
+                }
+            }
+        }
+    }
+    
+    private static String describe(Measurement measurement) {
+        if (!measurement.usable()) {
+            return measurement.skipped() != null ? measurement.skipped() : "no samples";
+        }
+        EndpointStats stats = measurement.stats();
+        return String.format("p50 %8.2f ms  p99 %8.2f ms  (%d samples)",
+                measurement.p50(), stats.percentileMillis(99), stats.getCount());
+    }
+}
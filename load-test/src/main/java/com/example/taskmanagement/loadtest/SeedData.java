@@ -0,0 +1,30 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.List;
+
+/**
+ * Ids created by {@link DataSeeder} and the vocabulary used in task titles,
+ * so the workload only requests entities and keywords that exist.
+ */
+public class SeedData {
+    
+    public static final List<String> VOCABULARY = List.of(
+            "deploy", "review", "invoice", "release", "migration", "backup", "report", "onboarding",
+            "refactor", "security", "audit", "design", "meeting", "budget", "customer", "outage");
+    
+    private final long[] userIds;
+    private final long[] taskIds;
+    
+    public SeedData(long[] userIds, long[] taskIds) {
+        this.userIds = userIds;
+        this.taskIds = taskIds;
+    }
+    
+    public long[] getUserIds() {
+        return userIds;
+    }
+    
+    public long[] getTaskIds() {
+        return taskIds;
+    }
+}
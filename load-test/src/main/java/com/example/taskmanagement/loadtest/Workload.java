@@ -0,0 +1,212 @@
+package com.example.taskmanagement.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model traffic generator: requests are issued on an arrival schedule derived from the
+ * target rate, independent of how fast the server answers. Each request picks an operation
+ * group from the configured mix and then a concrete endpoint within the group.
+ */
+public class Workload {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] STATUSES = { "TODO", "IN_PROGRESS", "DONE", "CANCELLED" };
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final SeedData data;
+    private final SplittableRandom random;
+    private final String[] groups;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger writeSequence = new AtomicInteger();
+    
+    public Workload(HttpClient client, String baseUrl, LoadTestConfig config, SeedData data) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.data = data;
+        this.random = new SplittableRandom(config.getSeed() + 1);
+        this.groups = config.getMix().keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[groups.length];
+        int total = 0;
+        for (int i = 0; i < groups.length; i++) {
+            total += config.getMix().get(groups[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    public Result run(Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong dropped = new AtomicLong();
+        double meanIntervalNanos = 1_000_000_000.0 / config.getRate();
+        
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                dropped.incrementAndGet();
+            } else {
+                send(nextRequest(), intended, stats, inFlight);
+            }
+            intended += nextInterval(meanIntervalNanos);
+        }
+        
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Result(new TreeMap<>(stats), elapsedSeconds, dropped.get());
+    }
+    
+    private void send(Request request, long intended, Map<String, EndpointStats> stats, AtomicInteger inFlight) {
+        EndpointStats endpointStats = stats.computeIfAbsent(request.endpoint, EndpointStats::new);
+        inFlight.incrementAndGet();
+        client.sendAsync(request.httpRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    if (error == null && response.statusCode() < 400) {
+                        endpointStats.recordSuccess(latency);
+                    } else {
+                        endpointStats.recordError();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+    
+    private long nextInterval(double meanNanos) {
+        if (!config.isPoisson()) {
+            return (long) meanNanos;
+        }
+        // Exponential inter-arrival times give Poisson arrivals
+        return (long) (-Math.log(1.0 - random.nextDouble()) * meanNanos);
+    }
+    
+    private Request nextRequest() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        String group = groups[groups.length - 1];
+        for (int i = 0; i < groups.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                group = groups[i];
+                break;
+            }
+        }
+        switch (group) {
+            case "list":
+                return nextList();
+            case "get":
+                return nextGet();
+            case "search":
+                String keyword = SeedData.VOCABULARY.get(random.nextInt(SeedData.VOCABULARY.size()));
+                return get("GET /api/tasks/search", "/api/tasks/search?keyword="
+                        + URLEncoder.encode(keyword, StandardCharsets.UTF_8));
+            default:
+                return nextWrite();
+        }
+    }
+    
+    private Request nextList() {
+        int kind = random.nextInt(10);
+        if (kind < 5) {
+            return get("GET /api/tasks?page&size", "/api/tasks?page=" + random.nextInt(20) + "&size=20");
+        }
+        if (kind < 8) {
+            return get("GET /api/tasks/status/{status}", "/api/tasks/status/" + STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        if (kind < 9) {
+            return get("GET /api/tasks/user/{userId}", "/api/tasks/user/" + randomId(data.getUserIds()));
+        }
+        return get("GET /api/users", "/api/users");
+    }
+    
+    private Request nextGet() {
+        if (random.nextInt(5) == 0) {
+            return get("GET /api/users/{id}", "/api/users/" + randomId(data.getUserIds()));
+        }
+        return get("GET /api/tasks/{id}", "/api/tasks/" + randomId(data.getTaskIds()));
+    }
+    
+    private Request nextWrite() {
+        String body = DataSeeder.taskJson(random, data.getUserIds(), writeSequence.incrementAndGet());
+        if (random.nextInt(5) < 3) {
+            return new Request("POST /api/tasks", HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+        long id = randomId(data.getTaskIds());
+        return new Request("PUT /api/tasks/{id}", HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + id))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+    
+    private Request get(String endpoint, String pathAndQuery) {
+        return new Request(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build());
+    }
+    
+    private long randomId(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+    
+    private static class Request {
+        
+        private final String endpoint;
+        private final HttpRequest httpRequest;
+        
+        Request(String endpoint, HttpRequest httpRequest) {
+            this.endpoint = endpoint;
+            this.httpRequest = httpRequest;
+        }
+    }
+    
+    public static class Result {
+        
+        private final Map<String, EndpointStats> stats;
+        private final double elapsedSeconds;
+        private final long dropped;
+        
+        Result(Map<String, EndpointStats> stats, double elapsedSeconds, long dropped) {
+            this.stats = stats;
+            this.elapsedSeconds = elapsedSeconds;
+            this.dropped = dropped;
+        }
+        
+        public Map<String, EndpointStats> getStats() {
+            return stats;
+        }
+        
+        public double getElapsedSeconds() {
+            return elapsedSeconds;
+        }
+        
+        public long getDropped() {
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.taskmanagement.reactive.controller;
+
+import com.example.taskmanagement.dto.NextTaskDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskLookupDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.dto.TaskQuery;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.reactive.service.TaskReadService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The GET endpoints of the main API's task controller. Lists are written as the rows arrive,
+ * as a JSON array or, with {@code Accept: application/x-ndjson}, one task per line.
+ */
+@RestController
+@RequestMapping(path = "/api/tasks", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskReadController {
+    
+    private final TaskReadService taskReadService;
+    
+    public TaskReadController(TaskReadService taskReadService) {
+        this.taskReadService = taskReadService;
+    }
+    
+    @GetMapping
+    public Flux<TaskDto> getAllTasks(@RequestParam(defaultValue = "0") int page,
+                                     @RequestParam(defaultValue = "10") int size) {
+        // Same contract as the main API: the default page means all tasks
+        if (page == 0 && size == 10) {
+            return taskReadService.getAllTasks();
+        }
+        return taskReadService.getAllTasksPaginated(page, size);
+    }
+    
+    @GetMapping(params = "ids")
+    public Flux<TaskLookupDto> getTasksByIds(@RequestParam List<Long> ids) {
+        return taskReadService.getTasksByIds(ids);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<TaskDto> getTaskById(@PathVariable Long id) {
+        return taskReadService.getTaskById(id);
+    }
+    
+    @GetMapping("/user/{userId}")
+    public Flux<TaskDto> getTasksByUser(@PathVariable Long userId) {
+        return taskReadService.getTasksByUser(userId);
+    }
+    
+    @GetMapping("/user/{userId}/next")
+    public Flux<NextTaskDto> getNextTasks(@PathVariable Long userId,
+                                          @RequestParam(defaultValue = "5") int limit) {
+        return taskReadService.getNextTasks(userId, Math.max(1, Math.min(limit, TaskReadService.MAX_NEXT_TASKS)));
+    }
+    
+    @GetMapping("/assigned/{userId}")
+    public Flux<TaskDto> getTasksAssignedToUser(@PathVariable Long userId) {
+        return taskReadService.getTasksAssignedToUser(userId);
+    }
+    
+    @GetMapping("/query")
+    public Mono<TaskPageDto> queryTasks(TaskQuery query) {
+        return taskReadService.queryTasks(query);
+    }
+    
+    @GetMapping("/status/{status}")
+    public Flux<TaskDto> getTasksByStatus(@PathVariable Task.TaskStatus status) {
+        return taskReadService.getTasksByStatus(status);
+    }
+    
+    @GetMapping("/priority/{priority}")
+    public Flux<TaskDto> getTasksByPriority(@PathVariable Task.Priority priority) {
+        return taskReadService.getTasksByPriority(priority);
+    }
+    
+    @GetMapping("/search")
+    public Flux<TaskDto> searchTasks(@RequestParam String keyword) {
+        return taskReadService.searchTasks(keyword);
+    }
+    
+    @GetMapping("/overdue")
+    public Flux<TaskDto> getOverdueTasks() {
+        return taskReadService.getOverdueTasks();
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.taskmanagement.reactive.repository;
+
+import com.example.taskmanagement.dto.NextTaskDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskQuery;
+import com.example.taskmanagement.dto.UserDto;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskDescription;
+import com.example.taskmanagement.entity.TaskLabelsConverter;
+import com.example.taskmanagement.entity.User;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only queries against the tables owned by the main API. Rows are mapped straight to
+ * the shared DTOs, with owner and assignee joined in the same statement, and results are
+ * emitted as the driver fetches them rather than collected first.
+ */
+@Repository
+public class TaskReadRepository {
+    
+    private static final String TASK_COLUMNS =
+            "SELECT t.id, t.title, t.status, t.priority, t.due_date, t.series_id, t.labels, t.created_at, t.updated_at, " +
+            "o.id AS o_id, o.username AS o_username, o.email AS o_email, o.name AS o_name, o.role AS o_role, " +
+            "o.created_at AS o_created_at, o.updated_at AS o_updated_at, " +
+            "a.id AS a_id, a.username AS a_username, a.email AS a_email, a.name AS a_name, a.role AS a_role, " +
+            "a.created_at AS a_created_at, a.updated_at AS a_updated_at ";
+    
+    private static final String FROM_TASKS =
+            "FROM tasks t LEFT JOIN users o ON o.id = t.user_id LEFT JOIN users a ON a.id = t.assigned_to";
+    
+    // Lists leave descriptions out, like the main API
+    private static final String SELECT_TASKS = TASK_COLUMNS + FROM_TASKS;
+    
+    private static final String SELECT_TASK_WITH_DESCRIPTION = TASK_COLUMNS +
+            ", d.content AS d_content, d.compressed AS d_compressed, d.original_length AS d_original_length " +
+            FROM_TASKS + " LEFT JOIN task_descriptions d ON d.task_id = t.id";
+    
+    // Long descriptions match on their uncompressed beginning, the rest is matched by findCompressedContaining;
+    // completed with the pattern and a closing parenthesis
+    private static final String DESCRIPTION_MATCHES =
+            "EXISTS (SELECT 1 FROM task_descriptions d WHERE d.task_id = t.id AND d.content LIKE ";
+    
+    private final DatabaseClient databaseClient;
+    
+    public TaskReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Flux<TaskDto> findAll() {
+        return databaseClient.sql(SELECT_TASKS + " ORDER BY t.id")
+                .map(TaskReadRepository::toTask)
+                .all();
+    }
+    
+    public Flux<TaskDto> findPage(int page, int size) {
+        return databaseClient.sql(SELECT_TASKS + " ORDER BY t.id LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(TaskReadRepository::toTask)
+                .all();
+    }
+    
+    public Mono<TaskDto> findById(Long id) {
+        return databaseClient.sql(SELECT_TASK_WITH_DESCRIPTION + " WHERE t.id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    TaskDto task = toTask(row);
+                    task.setDescription(toDescription(row));
+                    return task;
+                })
+                .one();
+    }
+    
+    public Flux<TaskDto> findByIdIn(Collection<Long> ids) {
+        return findWhere("t.id IN (:value)", ids);
+    }
+    
+    public Flux<TaskDto> findByUserId(Long userId) {
+        return findWhere("t.user_id = :value", userId);
+    }
+    
+    public Flux<TaskDto> findByAssignedToId(Long userId) {
+        return findWhere("t.assigned_to = :value", userId);
+    }
+    
+    public Flux<TaskDto> findByStatus(Task.TaskStatus status) {
+        return findWhere("t.status = :value", status.name());
+    }
+    
+    public Flux<TaskDto> findByPriority(Task.Priority priority) {
+        return findWhere("t.priority = :value", priority.name());
+    }
+    
+    public Flux<TaskDto> findByDueDateBefore(LocalDateTime dueDate) {
+        return findWhere("t.due_date < :value", dueDate);
+    }
+    
+    // Same matching as the main API's keyword search, wildcards in the keyword included
+    public Flux<TaskDto> findByTitleOrDescriptionContaining(String keyword) {
+        return findCompressedContaining(keyword).flatMapMany(compressedMatches -> {
+            Map<String, Object> bindings = new LinkedHashMap<>();
+            bindings.put("keyword", "%" + keyword + "%");
+            String condition = "t.title LIKE :keyword OR " + DESCRIPTION_MATCHES + ":keyword)";
+            if (!compressedMatches.isEmpty()) {
+                condition += " OR t.id IN (:compressedMatches)";
+                bindings.put("compressedMatches", compressedMatches);
+            }
+            return bind(databaseClient.sql(SELECT_TASKS + " WHERE " + condition + " ORDER BY t.id"), bindings)
+                    .map(TaskReadRepository::toTask)
+                    .all();
+        });
+    }
+    
+    /**
+     * Ids of tasks whose compressed description contains the keyword, which a LIKE on the
+     * stored beginning cannot tell. Inflates every compressed description, one row at a time.
+     */
+    public Mono<List<Long>> findCompressedContaining(String keyword) {
+        return databaseClient.sql("SELECT task_id, compressed, original_length FROM task_descriptions " +
+                        "WHERE compressed IS NOT NULL")
+                .map(row -> Map.entry(row.get("task_id", Long.class),
+                        TaskDescription.inflate(row.get("compressed", byte[].class), row.get("original_length", Integer.class))))
+                .all()
+                .filter(description -> description.getValue().contains(keyword))
+                .map(Map.Entry::getKey)
+                .collectList();
+    }
+    
+    // Open tasks a user should work on, most urgent first: highest priority, then earliest due date
+    public Flux<NextTaskDto> findNextTasks(Long userId, Collection<Task.TaskStatus> statuses, int limit) {
+        return databaseClient.sql("SELECT t.id, t.title, t.status, t.priority, t.due_date FROM tasks t " +
+                        "WHERE t.status IN (:statuses) " +
+                        "AND (t.assigned_to = :userId OR (t.assigned_to IS NULL AND t.user_id = :userId)) " +
+                        "ORDER BY " + ordinalOf("t.priority", Task.Priority.values()) + " DESC, " +
+                        "t.due_date ASC NULLS LAST, t.id LIMIT :limit")
+                .bind("statuses", statuses.stream().map(Enum::name).toList())
+                .bind("userId", userId)
+                .bind("limit", limit)
+                .map(row -> new NextTaskDto(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        Task.TaskStatus.valueOf(row.get("status", String.class)),
+                        Task.Priority.valueOf(row.get("priority", String.class)),
+                        row.get("due_date", LocalDateTime.class)))
+                .all();
+    }
+    
+    public Mono<Boolean> existsActiveUser(Long userId) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id AND deleted_at IS NULL")
+                .bind("id", userId)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+    
+    /**
+     * Filters and ordering of the main API's task query. Enums are stored as strings, so priority
+     * and status are ordered by declaration order; nulls sort last and the id breaks ties.
+     */
+    public Flux<TaskDto> query(TaskQuery query, Collection<Long> compressedMatches, int page, int size) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String where = queryConditions(query, compressedMatches, bindings);
+        String direction = query.getDirection().isAscending() ? "ASC" : "DESC";
+        String sql = SELECT_TASKS + where +
+                " ORDER BY " + sortExpression(query) + " " + direction + " NULLS LAST, t.id " + direction +
+                " LIMIT :limit OFFSET :offset";
+        bindings.put("limit", size);
+        bindings.put("offset", (long) page * size);
+        return bind(databaseClient.sql(sql), bindings)
+                .map(TaskReadRepository::toTask)
+                .all();
+    }
+    
+    public Mono<Long> count(TaskQuery query, Collection<Long> compressedMatches) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = "SELECT COUNT(*) AS total FROM tasks t" + queryConditions(query, compressedMatches, bindings);
+        return bind(databaseClient.sql(sql), bindings)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+    
+    private Flux<TaskDto> findWhere(String condition, Object value) {
+        return databaseClient.sql(SELECT_TASKS + " WHERE " + condition + " ORDER BY t.id")
+                .bind("value", value)
+                .map(TaskReadRepository::toTask)
+                .all();
+    }
+    
+    // The compressed matches are those of the query's keyword, see findCompressedContaining
+    private static String queryConditions(TaskQuery query, Collection<Long> compressedMatches, Map<String, Object> bindings) {
+        List<String> conditions = new ArrayList<>();
+        if (query.getStatuses() != null && !query.getStatuses().isEmpty()) {
+            conditions.add("t.status IN (:statuses)");
+            bindings.put("statuses", query.getStatuses().stream().map(Enum::name).toList());
+        }
+        if (query.getPriorities() != null && !query.getPriorities().isEmpty()) {
+            conditions.add("t.priority IN (:priorities)");
+            bindings.put("priorities", query.getPriorities().stream().map(Enum::name).toList());
+        }
+        if (query.getOwnerId() != null) {
+            conditions.add("t.user_id = :ownerId");
+            bindings.put("ownerId", query.getOwnerId());
+        }
+        if (query.getAssigneeId() != null) {
+            conditions.add("t.assigned_to = :assigneeId");
+            bindings.put("assigneeId", query.getAssigneeId());
+        }
+        // Lower bound inclusive, upper bound exclusive
+        if (query.getDueFrom() != null) {
+            conditions.add("t.due_date >= :dueFrom");
+            bindings.put("dueFrom", query.getDueFrom());
+        }
+        if (query.getDueTo() != null) {
+            conditions.add("t.due_date < :dueTo");
+            bindings.put("dueTo", query.getDueTo());
+        }
+        if (query.getKeyword() != null && !query.getKeyword().isBlank()) {
+            String matches = "t.title LIKE :keyword ESCAPE '\\' OR " + DESCRIPTION_MATCHES + ":keyword ESCAPE '\\')";
+            if (!compressedMatches.isEmpty()) {
+                matches += " OR t.id IN (:compressedMatches)";
+                bindings.put("compressedMatches", compressedMatches);
+            }
+            conditions.add("(" + matches + ")");
+            String keyword = query.getKeyword().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            bindings.put("keyword", "%" + keyword + "%");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+    
+    private static String sortExpression(TaskQuery query) {
+        switch (query.getSortBy()) {
+            case PRIORITY:
+                return ordinalOf("t.priority", Task.Priority.values());
+            case STATUS:
+                return ordinalOf("t.status", Task.TaskStatus.values());
+            case CREATED_AT:
+                return "t.created_at";
+            case UPDATED_AT:
+                return "t.updated_at";
+            case TITLE:
+                return "t.title";
+            default:
+                return "t.due_date";
+        }
+    }
+    
+    private static String ordinalOf(String column, Enum<?>[] values) {
+        StringBuilder ordinal = new StringBuilder("CASE ").append(column);
+        for (Enum<?> value : values) {
+            ordinal.append(" WHEN '").append(value.name()).append("' THEN ").append(value.ordinal());
+        }
+        return ordinal.append(" ELSE ").append(values.length).append(" END").toString();
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+    
+    private static TaskDto toTask(Readable row) {
+        TaskDto task = new TaskDto(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                null,
+                Task.TaskStatus.valueOf(row.get("status", String.class)),
+                Task.Priority.valueOf(row.get("priority", String.class)),
+                row.get("due_date", LocalDateTime.class),
+                toUser(row, "o_"),
+                toUser(row, "a_"),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+        task.setSeriesId(row.get("series_id", Long.class));
+        task.setLabels(TaskLabelsConverter.parse(row.get("labels", String.class)));
+        return task;
+    }
+    
+    private static String toDescription(Readable row) {
+        String content = row.get("d_content", String.class);
+        if (content == null) {
+            return null;
+        }
+        TaskDescription description = new TaskDescription();
+        description.setContent(content);
+        description.setCompressed(row.get("d_compressed", byte[].class));
+        description.setOriginalLength(row.get("d_original_length", Integer.class));
+        return description.getText();
+    }
+    
+    private static UserDto toUser(Readable row, String prefix) {
+        Long id = row.get(prefix + "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        String role = row.get(prefix + "role", String.class);
+        return new UserDto(
+                id,
+                row.get(prefix + "username", String.class),
+                row.get(prefix + "email", String.class),
+                row.get(prefix + "name", String.class),
+                role != null ? User.Role.valueOf(role) : null,
+                row.get(prefix + "created_at", LocalDateTime.class),
+                row.get(prefix + "updated_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskmanagement.reactive.service;
+
+import com.example.taskmanagement.dto.NextTaskDto;
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.dto.TaskLookupDto;
+import com.example.taskmanagement.dto.TaskPageDto;
+import com.example.taskmanagement.dto.TaskQuery;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.reactive.repository.TaskReadRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class TaskReadService {
+    
+    // Same limits as the main API
+    public static final int MAX_QUERY_PAGE_SIZE = 100;
+    public static final int MAX_NEXT_TASKS = 50;
+    public static final int MAX_LOOKUP_IDS = 100;
+    
+    private static final Set<Task.TaskStatus> OPEN_STATUSES = EnumSet.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS);
+    
+    private final TaskReadRepository taskReadRepository;
+    
+    public TaskReadService(TaskReadRepository taskReadRepository) {
+        this.taskReadRepository = taskReadRepository;
+    }
+    
+    public Flux<TaskDto> getAllTasks() {
+        return taskReadRepository.findAll();
+    }
+    
+    public Flux<TaskDto> getAllTasksPaginated(int page, int size) {
+        if (page < 0 || size < 1) {
+            return Flux.error(new IllegalArgumentException("Page index must not be negative and page size must be positive"));
+        }
+        return taskReadRepository.findPage(page, size);
+    }
+    
+    public Mono<TaskDto> getTaskById(Long id) {
+        return taskReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with id: " + id)));
+    }
+    
+    // One entry per distinct id, in request order, marking ids that have no task
+    public Flux<TaskLookupDto> getTasksByIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            return Flux.error(new IllegalArgumentException("Task ids must not be null"));
+        }
+        if (distinct.size() > MAX_LOOKUP_IDS) {
+            return Flux.error(new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " task ids can be requested at once"));
+        }
+        if (distinct.isEmpty()) {
+            return Flux.empty();
+        }
+        return taskReadRepository.findByIdIn(distinct)
+                .collectMap(TaskDto::getId)
+                .flatMapMany(tasks -> Flux.fromIterable(distinct).map(id -> TaskLookupDto.of(id, tasks.get(id))));
+    }
+    
+    public Flux<TaskDto> getTasksByUser(Long userId) {
+        return requireActiveUser(userId).thenMany(taskReadRepository.findByUserId(userId));
+    }
+    
+    public Flux<TaskDto> getTasksAssignedToUser(Long userId) {
+        return requireActiveUser(userId).thenMany(taskReadRepository.findByAssignedToId(userId));
+    }
+    
+    public Flux<NextTaskDto> getNextTasks(Long userId, int limit) {
+        return requireActiveUser(userId).thenMany(taskReadRepository.findNextTasks(userId, OPEN_STATUSES, limit));
+    }
+    
+    public Mono<TaskPageDto> queryTasks(TaskQuery query) {
+        int size = Math.max(1, Math.min(query.getSize(), MAX_QUERY_PAGE_SIZE));
+        int page = Math.max(0, query.getPage());
+        Mono<List<Long>> compressedMatches = query.getKeyword() != null && !query.getKeyword().isBlank()
+                ? taskReadRepository.findCompressedContaining(query.getKeyword())
+                : Mono.just(List.of());
+        return compressedMatches
+                .flatMap(matches -> Mono.zip(taskReadRepository.query(query, matches, page, size).collectList(),
+                        taskReadRepository.count(query, matches)))
+                .map(result -> new TaskPageDto(result.getT1(), page, size, result.getT2(),
+                        (int) ((result.getT2() + size - 1) / size)));
+    }
+    
+    public Flux<TaskDto> getTasksByStatus(Task.TaskStatus status) {
+        return taskReadRepository.findByStatus(status);
+    }
+    
+    public Flux<TaskDto> getTasksByPriority(Task.Priority priority) {
+        return taskReadRepository.findByPriority(priority);
+    }
+    
+    public Flux<TaskDto> searchTasks(String keyword) {
+        return taskReadRepository.findByTitleOrDescriptionContaining(keyword);
+    }
+    
+    public Flux<TaskDto> getOverdueTasks() {
+        return Flux.defer(() -> taskReadRepository.findByDueDateBefore(LocalDateTime.now()));
+    }
+    
+    private Mono<Void> requireActiveUser(Long userId) {
+        return taskReadRepository.existsActiveUser(userId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("User not found with id: " + userId)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.taskmanagement.reactive.controller;
+
+import com.example.taskmanagement.dto.TaskDto;
+import com.example.taskmanagement.entity.TaskDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Against the in-memory H2 database over R2DBC, with the schema migrated by Flyway on startup
+@SpringBootTest
+@AutoConfigureWebTestClient
+class TaskReadControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @BeforeEach
+    void seed() {
+        Flux.concat(
+                execute("DELETE FROM task_descriptions"),
+                execute("DELETE FROM tasks"),
+                execute("DELETE FROM users"),
+                execute("INSERT INTO users (id, username, email, password, name, role, created_at, updated_at) VALUES " +
+                        "(1, 'alice', 'alice@example.com', 'x', 'Alice', 'USER', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                        "(2, 'bob', 'bob@example.com', 'x', 'Bob', 'USER', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"),
+                execute("INSERT INTO users (id, username, email, password, name, role, created_at, updated_at, deleted_at) " +
+                        "VALUES (3, 'deleted:3', 'user3@deleted.invalid', 'x', 'Gone', 'USER', " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"),
+                execute("INSERT INTO tasks (id, title, status, priority, due_date, user_id, assigned_to, created_at, updated_at) VALUES " +
+                        "(1, 'Write report', 'TODO', 'HIGH', TIMESTAMP '2020-01-01 10:00:00', 1, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                        "(2, 'Review report', 'IN_PROGRESS', 'LOW', NULL, 1, NULL, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), " +
+                        "(3, 'Ship release', 'DONE', 'URGENT', NULL, 2, NULL, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"),
+                execute("INSERT INTO task_descriptions (task_id, content, original_length) VALUES (1, 'Quarterly numbers', 17)"))
+                .blockLast();
+    }
+    
+    @Test
+    void listsAllTasksWithOwnerAndAssignee() {
+        webTestClient.get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].user.username").isEqualTo("alice")
+                .jsonPath("$[0].assignedTo.username").isEqualTo("bob")
+                .jsonPath("$[0].description").doesNotExist()
+                .jsonPath("$[1].assignedTo").doesNotExist();
+    }
+    
+    @Test
+    void streamsTasksAsNdjson() {
+        List<String> lines = webTestClient.get().uri("/api/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(2)).contains("\"title\":\"Ship release\"");
+    }
+    
+    @Test
+    void getsOneTaskWithItsDescription() {
+        webTestClient.get().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Write report")
+                .jsonPath("$.description").isEqualTo("Quarterly numbers");
+        
+        webTestClient.get().uri("/api/tasks/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+    
+    @Test
+    void looksUpTasksByIdsMarkingMissingOnes() {
+        webTestClient.get().uri("/api/tasks?ids=3,99,1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].task.title").isEqualTo("Ship release")
+                .jsonPath("$[1].id").isEqualTo(99)
+                .jsonPath("$[1].found").isEqualTo(false)
+                .jsonPath("$[2].found").isEqualTo(true);
+    }
+    
+    @Test
+    void listsTasksOfActiveUsersOnly() {
+        assertThat(ids("/api/tasks/user/1")).containsExactly(1L, 2L);
+        assertThat(ids("/api/tasks/assigned/2")).containsExactly(1L);
+        
+        webTestClient.get().uri("/api/tasks/user/3")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+    
+    @Test
+    void filtersByStatusPriorityKeywordAndDueDate() {
+        assertThat(ids("/api/tasks/status/DONE")).containsExactly(3L);
+        assertThat(ids("/api/tasks/priority/LOW")).containsExactly(2L);
+        assertThat(ids("/api/tasks/search?keyword=numbers")).containsExactly(1L);
+        assertThat(ids("/api/tasks/overdue")).containsExactly(1L);
+    }
+    
+    @Test
+    void queriesAPageWithTotals() {
+        webTestClient.get().uri("/api/tasks/query?ownerId=1&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.totalPages").isEqualTo(2);
+    }
+    
+    @Test
+    void searchesTheCompressedPartOfLongDescriptions() {
+        TaskDescription description = TaskDescription.of(2L, "Quarterly numbers. ".repeat(200) + "Ends with a needle", 1024);
+        assertThat(description.getCompressed()).isNotNull();
+        databaseClient.sql("INSERT INTO task_descriptions (task_id, content, compressed, original_length) " +
+                        "VALUES (:taskId, :content, :compressed, :length)")
+                .bind("taskId", 2L)
+                .bind("content", description.getContent())
+                .bind("compressed", description.getCompressed())
+                .bind("length", description.getOriginalLength())
+                .then()
+                .block();
+        
+        assertThat(ids("/api/tasks/search?keyword=needle")).containsExactly(2L);
+        assertThat(ids("/api/tasks/search?keyword=numbers")).containsExactly(1L, 2L);
+        webTestClient.get().uri("/api/tasks/query?keyword=needle")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(2);
+    }
+    
+    private List<Long> ids(String uri) {
+        return webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .returnResult()
+                .getResponseBody()
+                .stream()
+                .map(TaskDto::getId)
+                .toList();
+    }
+    
+    private Flux<Long> execute(String sql) {
+        return databaseClient.sql(sql).fetch().rowsUpdated().flux();
+    }
+}